@@ -1,5 +1,6 @@
 package controller;
 
+import javafx.application.Platform;
 import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
@@ -7,21 +8,50 @@ import javafx.scene.layout.VBox;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import model.Column;
+import model.ReferencePolicy;
 import model.Relationship;
+import model.SchemaChangeEvent;
+import model.SchemaChangeListener;
 import model.SchemaModel;
+import model.SchemaSnapshot;
 import model.Table;
 import model.exception.SchemaParsingException;
 import model.factory.ParserFactory;
+import model.parser.JsonImport;
+import model.parser.ParseCache;
+import model.parser.SchemaIngest;
+import model.parser.SchemaInput;
 import model.parser.SchemaParser;
+import model.validation.Diagnostic;
+import model.validation.SchemaValidator;
 import view.SchemaView;
 import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The SchemaController class serves as the controller in the MVC architecture,
  * managing the interaction between the SchemaModel and the SchemaView.
  * It handles user actions, processes schema files, and updates the view
  * accordingly.
+ *
+ * <p>The view follows the model through {@link SchemaChangeEvent}s delivered on the
+ * JavaFX application thread. Components are cached per snapshot table, and since
+ * snapshots share unchanged tables, only the components of changed tables are
+ * rebuilt.</p>
+ *
+ * <p>Uploaded schema files go through a {@link ParseCache}, so uploading the same
+ * schema again does not parse it again. A JSON file uploaded over a model that was
+ * itself uploaded from JSON is imported incrementally through a {@link JsonImport},
+ * so only the changed tables are parsed and shown again. Several files uploaded at
+ * once are parsed concurrently and merged by a {@link SchemaIngest}.</p>
+ *
+ * <p>A {@link SchemaValidator} follows the same changes, re-checking only the edited
+ * tables and those that refer to them. A script is only generated from a schema
+ * without validation errors.</p>
  */
 public class SchemaController {
     private SchemaModel schemaModel;
@@ -31,6 +61,13 @@ public class SchemaController {
 
     private static final String SELECT_TABLE_PROMPT = "Select Table:";
 
+    private final SchemaChangeListener changeListener = this::onSchemaChanged;
+    private final Map<Table, VBox> tableComponents = new IdentityHashMap<>();
+    private final ParseCache parseCache = new ParseCache();
+    private final SchemaIngest schemaIngest = new SchemaIngest(SchemaIngest.DEFAULT_PARALLELISM, parseCache);
+    private final SchemaValidator schemaValidator = new SchemaValidator();
+    private JsonImport jsonImport;
+
     /**
      * Constructs a SchemaController with the specified model and view.
      *
@@ -57,19 +94,38 @@ public class SchemaController {
         setupAddColumnButtonHandler();
         setupEditOperationsHandlers();
         setupDeleteOperationsHandlers();
+        setupHistoryHandlers();
+        listenForChanges();
+        if (!schemaModel.getTables().isEmpty()) {
+            enableActionButtons();
+            updateViewWithTables();
+            logger.info("Recovered schema with {} tables displayed.", schemaModel.getTables().size());
+        }
+    }
+
+    /**
+     * Writes any pending schema changes to disk. Called when the application exits.
+     */
+    public void shutdown() {
+        schemaModel.close();
+        logger.info("Pending schema changes flushed.");
     }
 
     private void setupUploadButtonHandler() {
         schemaView.getUploadButton().setOnAction(e -> {
-            File schemaFile = schemaView.handleFileUpload();
-            if (schemaFile != null) {
+            List<File> schemaFiles = schemaView.handleFileUpload();
+            if (!schemaFiles.isEmpty()) {
+                File schemaFile = schemaFiles.get(0);
                 schemaModel.setFile(schemaFile);
-                handleSchemaUpload(schemaFile);
+                boolean modelReplaced = schemaFiles.size() == 1
+                        ? handleSchemaUpload(schemaFile) : handleSchemaIngest(schemaFiles);
                 if (!schemaModel.getTables().isEmpty()) {
                     enableActionButtons();
                 }
-                updateViewWithTables();
-                logger.info("Schema file uploaded and processed: {}", schemaFile.getAbsolutePath());
+                if (modelReplaced) {
+                    updateViewWithTables();
+                }
+                logger.info("Schema files uploaded and processed: {}", schemaFiles);
             } else {
                 logger.warn("No file selected for upload.");
             }
@@ -137,6 +193,13 @@ public class SchemaController {
     private void setupGenerateSQLButtonHandler() {
         schemaView.getGenerateSQLButton().setOnAction(e -> {
             if (schemaModel.getFile() != null) {
+                for (Diagnostic diagnostic : schemaValidator.getDiagnostics()) {
+                    schemaView.addMessage((diagnostic.isError() ? "Error: " : "Warning: ") + diagnostic.message());
+                }
+                if (schemaValidator.hasErrors()) {
+                    schemaView.addMessage("Fix the errors above before generating the script.");
+                    return;
+                }
                 String selectedSQLType = schemaView.getSqlTypePicker().getValue();
                 String message = schemaModel.toScript(selectedSQLType);
                 schemaView.addMessage(message != null ? message : "Populate all tables");
@@ -189,19 +252,102 @@ public class SchemaController {
         });
     }
 
-    private void handleSchemaUpload(File schemaFile) {
+    private void setupHistoryHandlers() {
+        schemaView.getUndoButton().setOnAction(e -> {
+            if (!schemaModel.undo()) {
+                schemaView.addMessage("Nothing to undo.");
+            }
+        });
+        schemaView.getRedoButton().setOnAction(e -> {
+            if (!schemaModel.redo()) {
+                schemaView.addMessage("Nothing to redo.");
+            }
+        });
+    }
+
+    /**
+     * Parses an uploaded schema file into a new model, or patches the current model
+     * with the changed tables of a JSON file.
+     *
+     * @param schemaFile the uploaded file
+     * @return {@code true} if the model was replaced, {@code false} if it was patched
+     *         in place or the file could not be parsed
+     */
+    private boolean handleSchemaUpload(File schemaFile) {
+        String format = SchemaInput.formatOf(schemaFile.getName());
         try {
+            if ("json".equalsIgnoreCase(format) && jsonImport != null && jsonImport.getModel() == schemaModel) {
+                jsonImport.reimport(schemaFile);
+                schemaModel.setFile(schemaFile);
+                logger.info("Schema imported incrementally.");
+                return false;
+            }
             ParserFactory factory = new ParserFactory();
-            SchemaParser parser = factory.get(getFileExtension(schemaFile.getName()));
-            schemaModel = parser.parse(schemaFile);
-            schemaModel.setFile(schemaFile);
+            SchemaParser parser = factory.get(format);
+            SchemaModel parsedModel = parseCache.parse(schemaFile, parser);
+            logger.debug("Parse cache: {} hits, {} misses, {} evictions, {} bytes in {} entries.",
+                    parseCache.getHitCount(), parseCache.getMissCount(), parseCache.getEvictionCount(),
+                    parseCache.getWeight(), parseCache.size());
+            replaceModel(parsedModel, schemaFile);
+            jsonImport = null;
+            if ("json".equalsIgnoreCase(format)) {
+                jsonImport = JsonImport.track(schemaModel, schemaFile);
+            }
             logger.info("Schema parsed successfully.");
+            return true;
         } catch (SchemaParsingException e) {
             logger.error("Error while parsing the schema file: {}", schemaFile.getAbsolutePath(), e);
             schemaView.addMessage("Error: Failed to parse the schema file.");
+            return false;
         }
     }
 
+    /**
+     * Parses several uploaded schema files concurrently and merges them into a new model.
+     *
+     * @param schemaFiles the uploaded files
+     * @return {@code true} if the model was replaced, {@code false} if the files could not be merged
+     */
+    private boolean handleSchemaIngest(List<File> schemaFiles) {
+        try {
+            SchemaIngest.Result result = schemaIngest.ingest(schemaFiles.stream().map(File::toPath).toList());
+            replaceModel(result.model(), schemaFiles.get(0));
+            jsonImport = null;
+            schemaView.addMessage("Merged " + result.model().getTables().size() + " tables from "
+                    + schemaFiles.size() + " files in " + String.format("%.0f", result.elapsedMillis()) + " ms.");
+            return true;
+        } catch (SchemaParsingException e) {
+            logger.error("Error while merging the schema files: {}", schemaFiles, e);
+            schemaView.addMessage("Error: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Makes the tables of a parsed model the current schema. Parsed models live in
+     * memory only, so if the current model is kept in sync with a schema file the
+     * tables are loaded into a new model persisted at the same file.
+     *
+     * @param parsedModel the parsed model
+     * @param schemaFile  the file the model was parsed from
+     */
+    private void replaceModel(SchemaModel parsedModel, File schemaFile) {
+        Path schemaPath = schemaModel.getSchemaPath();
+        schemaModel.removeChangeListener(changeListener);
+        schemaModel.close();
+        if (schemaPath != null) {
+            SchemaModel liveModel = SchemaModel.persistentAt(schemaPath);
+            try (SchemaModel.BulkLoad bulkLoad = liveModel.beginBulkLoad()) {
+                parsedModel.getTables().forEach(liveModel::addTable);
+            }
+            schemaModel = liveModel;
+        } else {
+            schemaModel = parsedModel;
+        }
+        listenForChanges();
+        schemaModel.setFile(schemaFile);
+    }
+
     private void disableActionButtons() {
         schemaView.getAddTableButton().setDisable(true);
         schemaView.getAddRelationshipButton().setDisable(true);
@@ -212,6 +358,8 @@ public class SchemaController {
         schemaView.getEditTableButton().setDisable(true);
         schemaView.getEditColumnButton().setDisable(true);
         schemaView.getEditRelationshipButton().setDisable(true);
+        schemaView.getUndoButton().setDisable(true);
+        schemaView.getRedoButton().setDisable(true);
     }
 
     private void enableActionButtons() {
@@ -224,11 +372,8 @@ public class SchemaController {
         schemaView.getEditTableButton().setDisable(false);
         schemaView.getEditColumnButton().setDisable(false);
         schemaView.getEditRelationshipButton().setDisable(false);
-    }
-
-    private String getFileExtension(String fileName) {
-        int lastIndex = fileName.lastIndexOf('.');
-        return (lastIndex > 0) ? fileName.substring(lastIndex + 1) : "";
+        schemaView.getUndoButton().setDisable(false);
+        schemaView.getRedoButton().setDisable(false);
     }
 
     private List<String> getAllTableNames() {
@@ -236,28 +381,67 @@ public class SchemaController {
     }
 
     public List<String> getAllColumnsForTable(String tableName) {
-        return schemaModel.getTables().stream()
-        .filter(table -> table.getTableName().equals(tableName))
-        .flatMap(table -> table.getColumns().stream().map(Column::getName))
-        .toList();
+        Table table = schemaModel.getTable(tableName);
+        if (table == null) {
+            return List.of();
+        }
+        return table.getColumns().stream().map(Column::getName).toList();
     }
 
     private List<String> getAllRelationshipsForTable(String tableName) {
-        return schemaModel.getTables().stream()
-        .filter(table -> table.getTableName().equals(tableName))
-        .flatMap(table -> table.getRelationships().stream().map(Relationship::getRelatedTable))
-        .toList();
+        Table table = schemaModel.getTable(tableName);
+        if (table == null) {
+            return List.of();
+        }
+        return table.getRelationships().stream().map(Relationship::getRelatedTable).toList();
+    }
+
+    private void listenForChanges() {
+        schemaModel.addChangeListener(changeListener, Platform::runLater);
+    }
+
+    private void onSchemaChanged(SchemaChangeEvent event) {
+        if (event.isReload()) {
+            tableComponents.clear();
+        }
+        showTables(event.getSnapshot(), event.changesTableList());
+        schemaValidator.schemaChanged(event);
+        logger.debug("View updated for {} affecting tables {}", event, event.getAffectedTableNames());
     }
 
     private void updateViewWithTables() {
-        List<String> tableNames = getAllTableNames();
-        schemaView.setTableNames(tableNames);
+        tableComponents.clear();
+        SchemaSnapshot snapshot = schemaModel.snapshot();
+        showTables(snapshot, true);
+        schemaValidator.validate(snapshot);
+    }
+
+    /**
+     * Shows the tables of a snapshot, reusing the components of tables that are
+     * shared with the previously shown snapshot.
+     *
+     * @param snapshot         the snapshot to show
+     * @param tableListChanged whether tables were added, removed or renamed
+     */
+    private void showTables(SchemaSnapshot snapshot, boolean tableListChanged) {
+        if (tableListChanged) {
+            schemaView.setTableNames(snapshot.getTables().stream().map(Table::getTableName).toList());
+        }
 
-        List<VBox> tableComponents = schemaModel.getTables().stream()
-        .map(this::createTableComponent)
-        .toList();
+        Map<Table, VBox> shownComponents = new IdentityHashMap<>();
+        List<VBox> components = new ArrayList<>(snapshot.size());
+        for (Table table : snapshot.getTables()) {
+            VBox component = tableComponents.get(table);
+            if (component == null) {
+                component = createTableComponent(table);
+            }
+            shownComponents.put(table, component);
+            components.add(component);
+        }
+        tableComponents.clear();
+        tableComponents.putAll(shownComponents);
 
-        schemaView.updateTablesLayout(tableComponents);
+        schemaView.updateTablesLayout(components);
     }
 
     private VBox createTableComponent(Table table) {
@@ -299,32 +483,26 @@ public class SchemaController {
 
     private void addTable(Table table) {
         schemaModel.addTable(table);
-        updateViewWithTables();
     }
 
     private void addColumn(String tableName, Column column) {
         schemaModel.storeData(column, tableName);
-        updateViewWithTables();
     }
 
     private void addRelationship(String tableName, Relationship relationship) {
         schemaModel.storeData(relationship, tableName);
-        updateViewWithTables();
     }
 
     private void deleteTable(String tableName) {
-        schemaModel.deleteTable(tableName);
-        updateViewWithTables();
+        schemaModel.deleteTable(tableName, ReferencePolicy.CASCADE);
     }
 
     private void deleteColumn(String tableName, String columnName) {
         schemaModel.deleteColumn(tableName, columnName);
-        updateViewWithTables();
     }
 
     private void deleteRelationship(String tableName, String relatedTable) {
         schemaModel.deleteRelationship(tableName, relatedTable);
-        updateViewWithTables();
     }
 
     public void handleEditTable() {
@@ -333,9 +511,8 @@ public class SchemaController {
         if (oldTableName != null) {
             String newTableName = schemaView.showEditTableDialog(oldTableName);
             if (newTableName != null && !newTableName.isEmpty()) {
-                schemaModel.editTableName(oldTableName, newTableName);
+                schemaModel.editTableName(oldTableName, newTableName, ReferencePolicy.CASCADE);
                 logger.info("Table name updated from {} to {}", oldTableName, newTableName);
-                updateViewWithTables();
             } else {
                 logger.warn("New table name is empty. Edit aborted.");
             }
@@ -357,7 +534,6 @@ public class SchemaController {
 
                     Column updatedColumn = new Column(newColumnName, columnType, isPrimaryKey);
                     schemaModel.editColumn(selectedTable, oldColumnName, updatedColumn);
-                    updateViewWithTables();
                 }
             }
         }
@@ -384,7 +560,6 @@ public class SchemaController {
                             relatedForeignKey,
                             selectedTable);
                     schemaModel.editRelationship(selectedTable, relatedTable, updatedRelationship);
-                    updateViewWithTables();
                 }
             }
         }
@@ -16,6 +16,8 @@ public class SchemaRunner extends Application {
 
     private static final Logger logger = LogManager.getLogger(SchemaRunner.class);
 
+    private SchemaController controller;
+
     /**
      * The main method serves as the entry point of the application.
      * It initializes the JavaFX framework by invoking the {@code launch()} method.
@@ -30,17 +32,30 @@ public class SchemaRunner extends Application {
     /**
      * The {@code start()} method is invoked automatically after the JavaFX runtime is initialized.
      * It sets up the application by initializing the SchemaController and running the MVC framework.
+     * The schema saved by the previous session is recovered from the schema file and its journal.
      *
      * @param primaryStage the primary stage for this application, onto which the application scene can be set
      */
     @Override
     public void start(Stage primaryStage) {
         logger.info("Starting the application and initializing the controller.");
-        SchemaController controller = new SchemaController(new SchemaModel(), new SchemaView(primaryStage));
+        controller = new SchemaController(SchemaModel.recover(), new SchemaView(primaryStage));
         controller.run();
         logger.info("Application started successfully.");
         if (primaryStage == null) {
             logger.error("Stage is null.");
         }
     }
+
+    /**
+     * The {@code stop()} method is invoked when the application exits. It flushes
+     * schema changes that are still waiting to be written in the background.
+     */
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+        logger.info("Application stopped.");
+    }
 }
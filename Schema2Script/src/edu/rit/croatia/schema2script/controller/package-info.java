@@ -11,7 +11,8 @@
  *       JavaFX application lifecycle and sets up the MVC components.</li>
  *   <li>{@link controller.SchemaController}: Acts as the controller in the MVC architecture,
  *       managing interactions between {@link model.SchemaModel} and {@link view.SchemaView}.
- *       It handles schema file uploads, parsing, and SQL generation.</li>
+ *       It handles schema file uploads, parsing, and SQL generation, and refreshes only the
+ *       table components named by the model's change events.</li>
  * </ul>
  *
  * <p>Example usage:</p>
@@ -21,8 +22,8 @@
  *         SchemaRunner.main(args);
  *     }
  *
- *     // Set up the controller
- *     SchemaController controller = new SchemaController(new SchemaModel(), new SchemaView(stage));
+ *     // Set up the controller with the model kept in the schema file
+ *     SchemaController controller = new SchemaController(SchemaModel.recover(), new SchemaView(stage));
  *     controller.run();
  * </pre>
  *
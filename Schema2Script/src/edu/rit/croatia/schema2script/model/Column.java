@@ -1,12 +1,19 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * The Column class represents a column in a database table.
  * It stores information about the column's name, type, and whether it is a primary key.
+ *
+ * <p>The type is held as a shared {@link ColumnType} descriptor, parsed once per
+ * distinct declaration, rather than as a string per column.</p>
  */
 public class Column {
     private String name;
-    private String type;
+    private final ColumnType type;
     private boolean primaryKey;
 
     /**
@@ -17,9 +24,7 @@ public class Column {
      * @param type the data type of the column
      */
     public Column(String name, String type) {
-        this.name = name;
-        this.type = type;
-        this.primaryKey = false;
+        this(name, type, false);
     }
 
     /**
@@ -29,12 +34,27 @@ public class Column {
      * @param type       the data type of the column
      * @param primaryKey whether the column is a primary key
      */
-    public Column(String name, String type, boolean primaryKey) {
+    @JsonCreator
+    public Column(@JsonProperty("name") String name, @JsonProperty("type") String type,
+            @JsonProperty("primaryKey") boolean primaryKey) {
+        this(name, ColumnType.of(type), primaryKey);
+    }
+
+    private Column(String name, ColumnType type, boolean primaryKey) {
         this.name = name;
         this.type = type;
         this.primaryKey = primaryKey;
     }
 
+    /**
+     * Returns a copy of the column sharing its type descriptor.
+     *
+     * @return the copy
+     */
+    Column copy() {
+        return new Column(name, type, primaryKey);
+    }
+
     /**
      * Returns the name of the column.
      *
@@ -45,11 +65,21 @@ public class Column {
     }
 
     /**
-     * Returns the data type of the column.
+     * Returns the data type of the column, as declared.
      *
      * @return the column type
      */
     public String getType() {
+        return type == null ? null : type.getDeclaration();
+    }
+
+    /**
+     * Returns the parsed descriptor of the column type.
+     *
+     * @return the {@link ColumnType}, or {@code null} if the column has no type
+     */
+    @JsonIgnore
+    public ColumnType getColumnType() {
         return type;
     }
 
@@ -0,0 +1,186 @@
+package model;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The ColumnType class is an immutable, parsed descriptor of a column type
+ * declaration such as {@code INT}, {@code VARCHAR(100)} or {@code DECIMAL(10,2)}.
+ *
+ * <p>Descriptors are flyweights: {@link #of(String)} parses each distinct
+ * declaration once and returns the same shared instance for every column that
+ * uses it, so a schema holds one descriptor per distinct type rather than one
+ * type string per column. A descriptor keeps its declaration exactly as written;
+ * declarations that differ only in case or spacing, such as {@code varchar( 100 )}
+ * and {@code VARCHAR(100)}, share the parsed base type and parameters of their
+ * {@linkplain #getCanonicalDeclaration() canonical form}. Generators map the parsed
+ * base type and parameters to their dialect without parsing the declaration
+ * again.</p>
+ *
+ * <p>A single parameter is a length for character and binary types and a
+ * precision otherwise. Declarations that do not follow the
+ * {@code NAME[(a[,b])]} form are kept verbatim with no parameters and are not
+ * pooled, and the pool stops growing at 4,096 declarations, after
+ * which new declarations get descriptors of their own.</p>
+ */
+public final class ColumnType {
+
+    private static final Pattern DECLARATION = Pattern.compile(
+            "\\s*([A-Za-z][A-Za-z0-9_ ]*?)\\s*(?:\\(\\s*(\\d+)\\s*(?:,\\s*(\\d+)\\s*)?\\))?\\s*");
+    private static final Set<String> LENGTH_TYPES = Set.of("CHAR", "VARCHAR", "VARCHAR2", "NCHAR", "NVARCHAR",
+            "NVARCHAR2", "CHARACTER", "CHARACTER VARYING", "BINARY", "VARBINARY", "BIT");
+    private static final int POOL_LIMIT = 4_096;
+    private static final Map<String, ColumnType> POOL = new ConcurrentHashMap<>();
+
+    private final String declaration;
+    private final String baseType;
+    private final Integer length;
+    private final Integer precision;
+    private final Integer scale;
+
+    private ColumnType(String declaration, String baseType, Integer length, Integer precision, Integer scale) {
+        this.declaration = declaration;
+        this.baseType = baseType;
+        this.length = length;
+        this.precision = precision;
+        this.scale = scale;
+    }
+
+    /**
+     * Returns the shared descriptor of the specified type declaration, parsing it
+     * on first use.
+     *
+     * @param declaration the type declaration, e.g. {@code VARCHAR(100)}
+     * @return the descriptor, or {@code null} if the declaration is {@code null}
+     */
+    public static ColumnType of(String declaration) {
+        if (declaration == null) {
+            return null;
+        }
+        ColumnType type = POOL.get(declaration);
+        if (type != null) {
+            return type;
+        }
+        Matcher matcher = DECLARATION.matcher(declaration);
+        if (!matcher.matches()) {
+            return new ColumnType(declaration, declaration.trim().toUpperCase(Locale.ROOT), null, null, null);
+        }
+        ColumnType canonical = canonical(matcher);
+        type = declaration.equals(canonical.declaration) ? canonical
+                : new ColumnType(declaration, canonical.baseType, canonical.length, canonical.precision,
+                        canonical.scale);
+        return pool(type);
+    }
+
+    /**
+     * Returns the number of distinct type declarations parsed so far.
+     *
+     * @return the size of the descriptor pool
+     */
+    public static int poolSize() {
+        return POOL.size();
+    }
+
+    private static ColumnType canonical(Matcher matcher) {
+        String baseType = matcher.group(1).replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+        Integer first = matcher.group(2) != null ? Integer.valueOf(matcher.group(2)) : null;
+        Integer second = matcher.group(3) != null ? Integer.valueOf(matcher.group(3)) : null;
+        Integer length = second == null && LENGTH_TYPES.contains(baseType) ? first : null;
+        Integer precision = length == null ? first : null;
+        String declaration = baseType + parameters(length, precision, second);
+        ColumnType canonical = POOL.get(declaration);
+        return canonical != null ? canonical
+                : pool(new ColumnType(declaration, baseType, length, precision, second));
+    }
+
+    private static ColumnType pool(ColumnType type) {
+        if (POOL.size() >= POOL_LIMIT) {
+            return type;
+        }
+        ColumnType pooled = POOL.putIfAbsent(type.declaration, type);
+        return pooled != null ? pooled : type;
+    }
+
+    private static String parameters(Integer length, Integer precision, Integer scale) {
+        if (length != null) {
+            return "(" + length + ")";
+        }
+        if (precision == null) {
+            return "";
+        }
+        return scale == null ? "(" + precision + ")" : "(" + precision + "," + scale + ")";
+    }
+
+    /**
+     * Returns the declaration the descriptor was parsed from, exactly as written.
+     *
+     * @return the type declaration
+     */
+    public String getDeclaration() {
+        return declaration;
+    }
+
+    /**
+     * Returns the declaration in canonical form, i.e. the upper-case base type
+     * followed by its parameters, e.g. {@code VARCHAR(100)} for {@code varchar( 100 )}.
+     *
+     * @return the canonical declaration
+     */
+    public String getCanonicalDeclaration() {
+        return baseType + getParameters();
+    }
+
+    /**
+     * Returns the upper-case base type without parameters, e.g. {@code VARCHAR}.
+     *
+     * @return the base type
+     */
+    public String getBaseType() {
+        return baseType;
+    }
+
+    /**
+     * Returns the length of a character or binary type.
+     *
+     * @return the length, or {@code null} if none is declared
+     */
+    public Integer getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the precision of a numeric or temporal type.
+     *
+     * @return the precision, or {@code null} if none is declared
+     */
+    public Integer getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Returns the scale of a numeric type.
+     *
+     * @return the scale, or {@code null} if none is declared
+     */
+    public Integer getScale() {
+        return scale;
+    }
+
+    /**
+     * Returns the parameters of the type in parentheses, e.g. {@code (10,2)}.
+     *
+     * @return the parameter list, or an empty string if the type has no parameters
+     */
+    public String getParameters() {
+        return parameters(length, precision, scale);
+    }
+
+    @Override
+    public String toString() {
+        return declaration;
+    }
+}
@@ -0,0 +1,297 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The CompactCatalog class is an immutable, memory-compact representation of a
+ * schema for very large catalogs. Instead of one object per column and relationship,
+ * it stores the schema as parallel primitive arrays indexed by dense ids:
+ * <ul>
+ *   <li>every name and type is stored once in a shared string dictionary, and
+ *       referenced by its position plus one, with zero standing for {@code null};</li>
+ *   <li>table {@code t} owns the columns {@code firstColumn[t]} to
+ *       {@code firstColumn[t + 1] - 1}, and likewise for relationships;</li>
+ *   <li>join tables and primary key columns are kept in bitsets.</li>
+ * </ul>
+ *
+ * <p>The catalog implements {@link TableCatalog}, so generators and other readers
+ * use it like a {@link SchemaModel}. Each access through {@link #getTables()} or
+ * {@link #getTable(String)} decodes a fresh, frozen {@link Table}; the primitive
+ * accessors read the arrays without allocating.</p>
+ */
+public final class CompactCatalog implements TableCatalog {
+
+    private final String[] strings;
+    private final int[] tableNames;
+    private final int[] firstColumn;
+    private final int[] firstRelationship;
+    private final BitSet joinTables;
+    private final int[] columnNames;
+    private final int[] columnTypes;
+    private final BitSet primaryKeys;
+    private final int[] relationshipTypes;
+    private final int[] relatedTables;
+    private final int[] foreignKeys;
+    private final int[] relatedForeignKeys;
+    private final int[] throughTables;
+    private final int[] nameSlots;
+    private final List<Table> tables = new TableList();
+
+    /**
+     * The TableList class decodes tables on access.
+     */
+    private final class TableList extends AbstractList<Table> implements RandomAccess {
+        @Override
+        public Table get(int index) {
+            return getTable(index);
+        }
+
+        @Override
+        public int size() {
+            return tableNames.length;
+        }
+    }
+
+    private CompactCatalog(List<Table> source) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        int tableCount = source.size();
+        int columnCount = 0;
+        int relationshipCount = 0;
+        for (Table table : source) {
+            columnCount += table.getColumns().size();
+            relationshipCount += table.getRelationships().size();
+        }
+
+        tableNames = new int[tableCount];
+        firstColumn = new int[tableCount + 1];
+        firstRelationship = new int[tableCount + 1];
+        joinTables = new BitSet(tableCount);
+        columnNames = new int[columnCount];
+        columnTypes = new int[columnCount];
+        primaryKeys = new BitSet(columnCount);
+        relationshipTypes = new int[relationshipCount];
+        relatedTables = new int[relationshipCount];
+        foreignKeys = new int[relationshipCount];
+        relatedForeignKeys = new int[relationshipCount];
+        throughTables = new int[relationshipCount];
+
+        int column = 0;
+        int relationship = 0;
+        for (int t = 0; t < tableCount; t++) {
+            Table table = source.get(t);
+            tableNames[t] = intern(dictionary, table.getTableName());
+            joinTables.set(t, table.isJoinTable());
+            firstColumn[t] = column;
+            for (Column c : table.getColumns()) {
+                columnNames[column] = intern(dictionary, c.getName());
+                columnTypes[column] = intern(dictionary, c.getType());
+                primaryKeys.set(column, c.isPrimaryKey());
+                column++;
+            }
+            firstRelationship[t] = relationship;
+            for (Relationship r : table.getRelationships()) {
+                relationshipTypes[relationship] = intern(dictionary, r.getRelationshipType());
+                relatedTables[relationship] = intern(dictionary, r.getRelatedTable());
+                foreignKeys[relationship] = intern(dictionary, r.getForeignKey());
+                relatedForeignKeys[relationship] = intern(dictionary, r.getRelatedForeignKey());
+                throughTables[relationship] = intern(dictionary, r.getThroughTable());
+                relationship++;
+            }
+        }
+        firstColumn[tableCount] = column;
+        firstRelationship[tableCount] = relationship;
+
+        strings = new String[dictionary.size()];
+        dictionary.forEach((value, reference) -> strings[reference - 1] = value);
+        nameSlots = buildNameSlots();
+    }
+
+    /**
+     * Creates a compact catalog holding the tables of the specified catalog, e.g.
+     * of a {@link SchemaSnapshot}.
+     *
+     * @param catalog the catalog to copy
+     * @return the compact catalog
+     * @throws IllegalArgumentException if the catalog is {@code null}
+     */
+    public static CompactCatalog of(TableCatalog catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog cannot be null");
+        }
+        return of(catalog.getTables());
+    }
+
+    /**
+     * Creates a compact catalog holding the specified tables.
+     *
+     * @param tables the tables, in order
+     * @return the compact catalog
+     * @throws IllegalArgumentException if the table list is {@code null}
+     */
+    public static CompactCatalog of(List<Table> tables) {
+        if (tables == null) {
+            throw new IllegalArgumentException("Tables cannot be null");
+        }
+        return new CompactCatalog(tables);
+    }
+
+    /**
+     * Returns the tables of the catalog, decoding each on access.
+     *
+     * @return an immutable list of frozen {@link Table} objects
+     */
+    @Override
+    public List<Table> getTables() {
+        return tables;
+    }
+
+    /**
+     * Returns the first table with the specified name, decoded on access.
+     *
+     * @param tableName the name of the table
+     * @return the frozen {@link Table}, or {@code null} if the catalog has no such table
+     */
+    @Override
+    public Table getTable(String tableName) {
+        int index = indexOf(tableName);
+        return index < 0 ? null : getTable(index);
+    }
+
+    /**
+     * Decodes the table at the specified position.
+     *
+     * @param index the position of the table
+     * @return the frozen {@link Table}
+     */
+    public Table getTable(int index) {
+        Objects.checkIndex(index, tableNames.length);
+        Table table = new Table(string(tableNames[index]));
+        for (int c = firstColumn[index]; c < firstColumn[index + 1]; c++) {
+            table.addColumn(new Column(string(columnNames[c]), string(columnTypes[c]), primaryKeys.get(c)));
+        }
+        for (int r = firstRelationship[index]; r < firstRelationship[index + 1]; r++) {
+            table.addRelationship(new Relationship(string(relationshipTypes[r]), string(relatedTables[r]),
+                    string(foreignKeys[r]), string(relatedForeignKeys[r]), string(throughTables[r])));
+        }
+        table.setJoinTable(joinTables.get(index));
+        table.markClean();
+        return table.freeze();
+    }
+
+    /**
+     * Returns the position of the first table with the specified name.
+     *
+     * @param tableName the name of the table
+     * @return the position, or -1 if the catalog has no such table
+     */
+    public int indexOf(String tableName) {
+        return tableName == null || nameSlots.length == 0 ? -1 : indexOf(nameSlots, tableName);
+    }
+
+    /**
+     * Returns the number of tables in the catalog.
+     *
+     * @return the number of tables
+     */
+    public int size() {
+        return tableNames.length;
+    }
+
+    /**
+     * Returns the name of the table at the specified position without decoding it.
+     *
+     * @param index the position of the table
+     * @return the table name
+     */
+    public String getTableName(int index) {
+        return string(tableNames[index]);
+    }
+
+    /**
+     * Returns the number of columns of the table at the specified position.
+     *
+     * @param index the position of the table
+     * @return the number of columns
+     */
+    public int getColumnCount(int index) {
+        return firstColumn[index + 1] - firstColumn[index];
+    }
+
+    /**
+     * Returns the total number of columns in the catalog.
+     *
+     * @return the number of columns
+     */
+    public int getTotalColumnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * Returns the number of distinct names and types in the string dictionary.
+     *
+     * @return the size of the string dictionary
+     */
+    public int getDictionarySize() {
+        return strings.length;
+    }
+
+    private String string(int reference) {
+        return reference == 0 ? null : strings[reference - 1];
+    }
+
+    private static int intern(Map<String, Integer> dictionary, String value) {
+        if (value == null) {
+            return 0;
+        }
+        Integer reference = dictionary.putIfAbsent(value, dictionary.size() + 1);
+        return reference != null ? reference : dictionary.size();
+    }
+
+    /**
+     * Builds an open-addressing hash table of table positions plus one, keeping
+     * the first table for duplicate names.
+     *
+     * @return the slots, a power of two between two and four times the table count
+     */
+    private int[] buildNameSlots() {
+        if (tableNames.length == 0) {
+            return new int[0];
+        }
+        int[] slots = new int[Integer.highestOneBit(tableNames.length) << 2];
+        int mask = slots.length - 1;
+        for (int t = 0; t < tableNames.length; t++) {
+            String name = string(tableNames[t]);
+            if (name == null || indexOf(slots, name) >= 0) {
+                continue;
+            }
+            int slot = name.hashCode() & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = t + 1;
+        }
+        return slots;
+    }
+
+    private int indexOf(int[] slots, String tableName) {
+        int mask = slots.length - 1;
+        for (int slot = tableName.hashCode() & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (tableName.equals(string(tableNames[slots[slot] - 1]))) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactCatalog[tables=" + tableNames.length + ", columns=" + columnNames.length
+                + ", relationships=" + relationshipTypes.length + ", strings=" + strings.length + "]";
+    }
+}
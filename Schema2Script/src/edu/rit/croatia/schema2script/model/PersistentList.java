@@ -0,0 +1,165 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The PersistentList class is an immutable list stored in fixed-size chunks.
+ * Deriving a new version copies only the chunk directory and the chunks that
+ * change; every other chunk is shared with the previous version.
+ *
+ * @param <E> the type of the elements
+ */
+final class PersistentList<E> extends AbstractList<E> implements RandomAccess {
+
+    private static final int SHIFT = 5;
+    private static final int CHUNK_SIZE = 1 << SHIFT;
+    private static final int MASK = CHUNK_SIZE - 1;
+    private static final PersistentList<?> EMPTY = new PersistentList<>(new Object[0][], 0);
+
+    private final Object[][] chunks;
+    private final int size;
+
+    private PersistentList(Object[][] chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty list.
+     *
+     * @param <E> the type of the elements
+     * @return the empty list
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentList<E> empty() {
+        return (PersistentList<E>) EMPTY;
+    }
+
+    /**
+     * Creates a list holding the specified elements.
+     *
+     * @param elements the elements, in order
+     * @param <E>      the type of the elements
+     * @return the list
+     */
+    static <E> PersistentList<E> of(List<? extends E> elements) {
+        int size = elements.size();
+        Object[][] chunks = new Object[(size + MASK) >>> SHIFT][];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = new Object[CHUNK_SIZE];
+        }
+        for (int i = 0; i < size; i++) {
+            chunks[i >>> SHIFT][i & MASK] = elements.get(i);
+        }
+        return new PersistentList<>(chunks, size);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Objects.checkIndex(index, size);
+        return (E) chunks[index >>> SHIFT][index & MASK];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a list with the element at the specified position replaced.
+     *
+     * @param index   the position to replace
+     * @param element the new element
+     * @return the new list, sharing every other chunk with this list
+     */
+    PersistentList<E> with(int index, E element) {
+        Objects.checkIndex(index, size);
+        Object[][] newChunks = chunks.clone();
+        Object[] chunk = chunks[index >>> SHIFT].clone();
+        chunk[index & MASK] = element;
+        newChunks[index >>> SHIFT] = chunk;
+        return new PersistentList<>(newChunks, size);
+    }
+
+    /**
+     * Returns a list with the specified element appended.
+     *
+     * @param element the element to append
+     * @return the new list, sharing every full chunk with this list
+     */
+    PersistentList<E> plus(E element) {
+        Object[][] newChunks;
+        if ((size & MASK) == 0) {
+            newChunks = new Object[chunks.length + 1][];
+            System.arraycopy(chunks, 0, newChunks, 0, chunks.length);
+            newChunks[chunks.length] = new Object[CHUNK_SIZE];
+        } else {
+            newChunks = chunks.clone();
+            newChunks[newChunks.length - 1] = chunks[chunks.length - 1].clone();
+        }
+        newChunks[size >>> SHIFT][size & MASK] = element;
+        return new PersistentList<>(newChunks, size + 1);
+    }
+
+    /**
+     * Returns a list with the specified element inserted at a position.
+     *
+     * @param index   the position to insert at, up to the size of the list
+     * @param element the element to insert
+     * @return the new list, sharing every chunk before the position with this list
+     */
+    PersistentList<E> plus(int index, E element) {
+        if (index == size) {
+            return plus(element);
+        }
+        Objects.checkIndex(index, size);
+        int sharedChunks = index >>> SHIFT;
+        List<E> tail = new ArrayList<>(size - (sharedChunks << SHIFT) + 1);
+        for (int i = sharedChunks << SHIFT; i < size; i++) {
+            if (i == index) {
+                tail.add(element);
+            }
+            tail.add(get(i));
+        }
+        return withTail(sharedChunks, tail);
+    }
+
+    /**
+     * Returns a list without the element at the specified position.
+     *
+     * @param index the position to remove
+     * @return the new list, sharing every chunk before the position with this list
+     */
+    PersistentList<E> minus(int index) {
+        Objects.checkIndex(index, size);
+        int sharedChunks = index >>> SHIFT;
+        List<E> tail = new ArrayList<>(size - (sharedChunks << SHIFT));
+        for (int i = sharedChunks << SHIFT; i < size; i++) {
+            if (i != index) {
+                tail.add(get(i));
+            }
+        }
+        return withTail(sharedChunks, tail);
+    }
+
+    /**
+     * Returns a list made of the leading chunks of this list followed by the
+     * specified elements.
+     *
+     * @param sharedChunks the number of leading chunks to share
+     * @param tail         the elements that follow them
+     * @return the new list
+     */
+    private PersistentList<E> withTail(int sharedChunks, List<E> tail) {
+        PersistentList<E> rebuilt = of(tail);
+        Object[][] newChunks = new Object[sharedChunks + rebuilt.chunks.length][];
+        System.arraycopy(chunks, 0, newChunks, 0, sharedChunks);
+        System.arraycopy(rebuilt.chunks, 0, newChunks, sharedChunks, rebuilt.chunks.length);
+        return new PersistentList<>(newChunks, (sharedChunks << SHIFT) + tail.size());
+    }
+}
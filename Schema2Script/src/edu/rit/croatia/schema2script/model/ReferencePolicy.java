@@ -0,0 +1,19 @@
+package model;
+
+/**
+ * The ReferencePolicy enum defines what happens to the relationships of other
+ * tables when a table they refer to, as related or through table, is deleted or
+ * renamed through {@link SchemaModel#deleteTable(String, ReferencePolicy)} or
+ * {@link SchemaModel#editTableName(String, String, ReferencePolicy)}.
+ */
+public enum ReferencePolicy {
+
+    /** Leave referencing relationships as they are, even if they no longer resolve. */
+    IGNORE,
+
+    /** Refuse the change if another table refers to the table. */
+    RESTRICT,
+
+    /** Remove referencing relationships on delete, and point them at the new name on rename. */
+    CASCADE
+}
@@ -1,5 +1,8 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 /**
  * The Relationship class represents a relationship between database tables.
  * It stores details about the relationship type, related table, foreign keys,
@@ -35,7 +38,11 @@ public class Relationship {
      * @param relatedForeignKey  the foreign key column in the related table
      * @param throughTable       the name of the intermediate table, if applicable
      */
-    public Relationship(String relationshipType, String relatedTable, String foreignKey, String relatedForeignKey, String throughTable) {
+    @JsonCreator
+    public Relationship(@JsonProperty("relationshipType") String relationshipType,
+            @JsonProperty("relatedTable") String relatedTable, @JsonProperty("foreignKey") String foreignKey,
+            @JsonProperty("relatedForeignKey") String relatedForeignKey,
+            @JsonProperty("throughTable") String throughTable) {
         this.relationshipType = relationshipType;
         this.relatedTable = relatedTable;
         this.foreignKey = foreignKey;
@@ -0,0 +1,164 @@
+package model;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * The SchemaChangeBus class delivers the {@link SchemaChangeEvent}s of a
+ * {@link SchemaModel} to its listeners.
+ *
+ * <p>The model {@linkplain #post(SchemaChangeEvent) posts} events while holding its
+ * write lock, which fixes their order, and {@linkplain #dispatch() dispatches} them
+ * after releasing it. Only one thread dispatches at a time, so every listener sees
+ * the events in order. Immediate listeners are called on the dispatching thread.
+ * Coalescing listeners are called on their executor; events posted while a delivery
+ * is still queued are merged into it, so a burst of edits costs one call.</p>
+ */
+final class SchemaChangeBus {
+
+    private static final Logger logger = LogManager.getLogger(SchemaChangeBus.class);
+
+    private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+    private final Queue<SchemaChangeEvent> queue = new ArrayDeque<>();
+    private boolean dispatching;
+
+    /**
+     * The Registration class delivers events to one listener, directly or
+     * coalesced on an executor.
+     */
+    private static final class Registration {
+        private final SchemaChangeListener listener;
+        private final Executor executor;
+        private SchemaChangeEvent pending;
+
+        private Registration(SchemaChangeListener listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+
+        private void deliver(SchemaChangeEvent event) {
+            if (executor == null) {
+                notifyListener(event);
+                return;
+            }
+            synchronized (this) {
+                if (pending != null) {
+                    pending = pending.merge(event);
+                    return;
+                }
+                pending = event;
+            }
+            executor.execute(this::deliverPending);
+        }
+
+        private void deliverPending() {
+            SchemaChangeEvent event;
+            synchronized (this) {
+                event = pending;
+                pending = null;
+            }
+            if (event != null) {
+                notifyListener(event);
+            }
+        }
+
+        private void notifyListener(SchemaChangeEvent event) {
+            try {
+                listener.schemaChanged(event);
+            } catch (RuntimeException e) {
+                logger.error("Schema change listener {} failed on {}.", listener, event, e);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener called on the dispatching thread for every event.
+     *
+     * @param listener the listener to register
+     */
+    void addListener(SchemaChangeListener listener) {
+        registrations.add(new Registration(listener, null));
+    }
+
+    /**
+     * Registers a listener called on the specified executor, with events that
+     * arrive while a delivery is queued merged into it.
+     *
+     * @param listener the listener to register
+     * @param executor the executor that calls the listener
+     */
+    void addListener(SchemaChangeListener listener, Executor executor) {
+        registrations.add(new Registration(listener, executor));
+    }
+
+    /**
+     * Unregisters every registration of a listener.
+     *
+     * @param listener the listener to unregister
+     * @return {@code true} if the listener was registered, {@code false} otherwise
+     */
+    boolean removeListener(SchemaChangeListener listener) {
+        return registrations.removeIf(registration -> registration.listener == listener);
+    }
+
+    /**
+     * Returns whether any listener is registered, so that the model can skip
+     * building events nobody receives.
+     *
+     * @return {@code true} if a listener is registered, {@code false} otherwise
+     */
+    boolean hasListeners() {
+        return !registrations.isEmpty();
+    }
+
+    /**
+     * Queues an event for dispatch. Called while holding the model write lock.
+     *
+     * @param event the event to queue
+     */
+    synchronized void post(SchemaChangeEvent event) {
+        queue.add(event);
+    }
+
+    /**
+     * Delivers the queued events in order, unless another thread is already
+     * delivering them. Called after releasing the model lock.
+     */
+    void dispatch() {
+        synchronized (this) {
+            if (dispatching) {
+                return;
+            }
+            dispatching = true;
+        }
+        boolean drained = false;
+        try {
+            while (!drained) {
+                SchemaChangeEvent event;
+                synchronized (this) {
+                    event = queue.poll();
+                    if (event == null) {
+                        dispatching = false;
+                        drained = true;
+                        continue;
+                    }
+                }
+                for (Registration registration : registrations) {
+                    registration.deliver(event);
+                }
+            }
+        } finally {
+            if (!drained) {
+                synchronized (this) {
+                    dispatching = false;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The SchemaChangeEvent class describes a batch of changes made to a
+ * {@link SchemaModel}, delivered to {@link SchemaChangeListener}s.
+ *
+ * <p>Each change is the {@link SchemaMutation} that was applied. Changes that
+ * replace the schema wholesale, such as a bulk load, are reported as a
+ * {@linkplain #isReload() reload} instead of individually. Every event carries
+ * the {@link SchemaSnapshot} taken right after its last change; listeners should
+ * read table contents from it rather than from the live model, which may already
+ * have moved on.</p>
+ */
+public final class SchemaChangeEvent {
+
+    private final List<SchemaMutation> changes;
+    private final boolean reload;
+    private final SchemaSnapshot snapshot;
+
+    /**
+     * Constructs a SchemaChangeEvent.
+     *
+     * @param changes  the applied changes, in order
+     * @param reload   whether the schema was replaced wholesale
+     * @param snapshot the snapshot taken after the last change
+     */
+    SchemaChangeEvent(List<SchemaMutation> changes, boolean reload, SchemaSnapshot snapshot) {
+        this.changes = Collections.unmodifiableList(changes);
+        this.reload = reload;
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Returns the changes of the batch, in the order they were applied.
+     *
+     * @return a read-only list of {@link SchemaMutation}s
+     */
+    public List<SchemaMutation> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Returns whether the schema was replaced wholesale, e.g. by a bulk load, so
+     * that listeners must rescan it rather than apply the individual changes.
+     *
+     * @return {@code true} if the batch includes a reload, {@code false} otherwise
+     */
+    public boolean isReload() {
+        return reload;
+    }
+
+    /**
+     * Returns the snapshot of the schema taken right after the last change.
+     *
+     * @return the {@link SchemaSnapshot}
+     */
+    public SchemaSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Returns whether the batch may have added, removed, renamed or reordered tables,
+     * as opposed to only changing their columns and relationships.
+     *
+     * @return {@code true} if the table list may have changed, {@code false} otherwise
+     */
+    public boolean changesTableList() {
+        if (reload) {
+            return true;
+        }
+        for (SchemaMutation change : changes) {
+            switch (change.getType()) {
+                case ADD_TABLE, DELETE_TABLE, RENAME_TABLE -> {
+                    return true;
+                }
+                default -> {
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the names of the tables touched by the batch. A renamed table is
+     * reported under both its old and its new name.
+     *
+     * @return the affected table names, in order of first change
+     */
+    public Set<String> getAffectedTableNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (SchemaMutation change : changes) {
+            names.add(change.getTableName());
+            if (change.getType() == SchemaMutation.Type.RENAME_TABLE) {
+                names.add(change.getName());
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Combines this batch with a later one, for listeners that coalesce changes.
+     *
+     * @param later the batch that followed this one
+     * @return the combined batch
+     */
+    SchemaChangeEvent merge(SchemaChangeEvent later) {
+        List<SchemaMutation> merged = new ArrayList<>(changes.size() + later.changes.size());
+        merged.addAll(changes);
+        merged.addAll(later.changes);
+        return new SchemaChangeEvent(merged, reload || later.reload, later.snapshot);
+    }
+
+    @Override
+    public String toString() {
+        return "SchemaChangeEvent[changes=" + changes.size() + ", reload=" + reload + ", version="
+                + snapshot.getVersion() + "]";
+    }
+}
@@ -0,0 +1,18 @@
+package model;
+
+/**
+ * The SchemaChangeListener interface receives the changes made to a
+ * {@link SchemaModel}. Register listeners with
+ * {@link SchemaModel#addChangeListener(SchemaChangeListener)}.
+ */
+@FunctionalInterface
+public interface SchemaChangeListener {
+
+    /**
+     * Called after a batch of changes was applied to the model. The model lock is
+     * not held, so the listener may read and edit the model.
+     *
+     * @param event the changes, in the order they were applied
+     */
+    void schemaChanged(SchemaChangeEvent event);
+}
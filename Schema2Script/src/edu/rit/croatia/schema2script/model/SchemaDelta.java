@@ -0,0 +1,273 @@
+package model;
+
+/**
+ * The SchemaDelta class is a positional change of a {@link SchemaModel}: a table,
+ * column or relationship inserted, removed or replaced at a known position. Deltas
+ * are what the undo history records. Applying a delta yields its inverse, so undoing
+ * a step produces the step that redoes it, and both cost only the size of the change.
+ */
+final class SchemaDelta {
+
+    /**
+     * The kinds of change a {@link SchemaDelta} can describe.
+     */
+    enum Type {
+        INSERT_TABLE,
+        REMOVE_TABLE,
+        RENAME_TABLE,
+        INSERT_COLUMN,
+        REMOVE_COLUMN,
+        REPLACE_COLUMN,
+        INSERT_RELATIONSHIP,
+        REMOVE_RELATIONSHIP,
+        REPLACE_RELATIONSHIP
+    }
+
+    /** Estimated size in bytes of a delta without the objects it retains. */
+    private static final long BASE_SIZE = 32;
+
+    private final Type type;
+    private final Table table;
+    private final int position;
+    private final Object value;
+
+    private SchemaDelta(Type type, Table table, int position, Object value) {
+        this.type = type;
+        this.table = table;
+        this.position = position;
+        this.value = value;
+    }
+
+    /**
+     * Creates a delta that inserts a table into the table list.
+     *
+     * @param position the position of the table
+     * @param table    the table to insert
+     * @return the delta
+     */
+    static SchemaDelta insertTable(int position, Table table) {
+        return new SchemaDelta(Type.INSERT_TABLE, table, position, null);
+    }
+
+    /**
+     * Creates a delta that removes a table from the table list.
+     *
+     * @param position the position of the table
+     * @param table    the table at that position
+     * @return the delta
+     */
+    static SchemaDelta removeTable(int position, Table table) {
+        return new SchemaDelta(Type.REMOVE_TABLE, table, position, null);
+    }
+
+    /**
+     * Creates a delta that renames a table.
+     *
+     * @param table        the table to rename
+     * @param newTableName the new name of the table
+     * @return the delta
+     */
+    static SchemaDelta renameTable(Table table, String newTableName) {
+        return new SchemaDelta(Type.RENAME_TABLE, table, -1, newTableName);
+    }
+
+    /**
+     * Creates a delta that inserts a column into a table.
+     *
+     * @param table    the table
+     * @param position the position of the column
+     * @param column   the column to insert
+     * @return the delta
+     */
+    static SchemaDelta insertColumn(Table table, int position, Column column) {
+        return new SchemaDelta(Type.INSERT_COLUMN, table, position, column);
+    }
+
+    /**
+     * Creates a delta that removes a column from a table.
+     *
+     * @param table    the table
+     * @param position the position of the column
+     * @param column   the column at that position
+     * @return the delta
+     */
+    static SchemaDelta removeColumn(Table table, int position, Column column) {
+        return new SchemaDelta(Type.REMOVE_COLUMN, table, position, column);
+    }
+
+    /**
+     * Creates a delta that replaces a column of a table.
+     *
+     * @param table    the table
+     * @param position the position of the column
+     * @param column   the column to put in its place
+     * @return the delta
+     */
+    static SchemaDelta replaceColumn(Table table, int position, Column column) {
+        return new SchemaDelta(Type.REPLACE_COLUMN, table, position, column);
+    }
+
+    /**
+     * Creates a delta that inserts a relationship into a table.
+     *
+     * @param table        the table
+     * @param position     the position of the relationship
+     * @param relationship the relationship to insert
+     * @return the delta
+     */
+    static SchemaDelta insertRelationship(Table table, int position, Relationship relationship) {
+        return new SchemaDelta(Type.INSERT_RELATIONSHIP, table, position, relationship);
+    }
+
+    /**
+     * Creates a delta that removes a relationship from a table.
+     *
+     * @param table        the table
+     * @param position     the position of the relationship
+     * @param relationship the relationship at that position
+     * @return the delta
+     */
+    static SchemaDelta removeRelationship(Table table, int position, Relationship relationship) {
+        return new SchemaDelta(Type.REMOVE_RELATIONSHIP, table, position, relationship);
+    }
+
+    /**
+     * Creates a delta that replaces a relationship of a table.
+     *
+     * @param table        the table
+     * @param position     the position of the relationship
+     * @param relationship the relationship to put in its place
+     * @return the delta
+     */
+    static SchemaDelta replaceRelationship(Table table, int position, Relationship relationship) {
+        return new SchemaDelta(Type.REPLACE_RELATIONSHIP, table, position, relationship);
+    }
+
+    /**
+     * Describes this delta as the {@link SchemaMutation} a caller would have made.
+     * Must be called before the delta is applied.
+     *
+     * @return the mutation
+     */
+    SchemaMutation toMutation() {
+        String tableName = table.getTableName();
+        return switch (type) {
+            case INSERT_TABLE -> SchemaMutation.addTable(table);
+            case REMOVE_TABLE -> SchemaMutation.deleteTable(tableName);
+            case RENAME_TABLE -> SchemaMutation.renameTable(tableName, getNewTableName());
+            case INSERT_COLUMN -> SchemaMutation.addColumn(tableName, getColumn());
+            case REMOVE_COLUMN -> SchemaMutation.deleteColumn(tableName, getColumn().getName());
+            case REPLACE_COLUMN -> SchemaMutation.editColumn(tableName,
+                    table.getColumns().get(position).getName(), getColumn());
+            case INSERT_RELATIONSHIP -> SchemaMutation.addRelationship(tableName, getRelationship());
+            case REMOVE_RELATIONSHIP -> SchemaMutation.deleteRelationship(tableName,
+                    getRelationship().getRelatedTable());
+            case REPLACE_RELATIONSHIP -> SchemaMutation.editRelationship(tableName,
+                    table.getRelationships().get(position).getRelatedTable(), getRelationship());
+        };
+    }
+
+    /**
+     * Returns an estimate of the memory retained by this delta, used to keep the
+     * undo history within its budget. Only what the delta would put back counts:
+     * a delta that removes an object refers to one the model still holds.
+     *
+     * @return the estimated size in bytes
+     */
+    long estimatedSize() {
+        return switch (type) {
+            case INSERT_TABLE -> BASE_SIZE + estimatedSize(table);
+            case RENAME_TABLE -> BASE_SIZE + estimatedSize(getNewTableName());
+            case INSERT_COLUMN, REPLACE_COLUMN -> BASE_SIZE + estimatedSize(getColumn());
+            case INSERT_RELATIONSHIP, REPLACE_RELATIONSHIP -> BASE_SIZE + estimatedSize(getRelationship());
+            case REMOVE_TABLE, REMOVE_COLUMN, REMOVE_RELATIONSHIP -> BASE_SIZE;
+        };
+    }
+
+    /**
+     * Returns an estimate of the memory retained by a table with its columns and
+     * relationships.
+     *
+     * @param table the table
+     * @return the estimated size in bytes
+     */
+    static long estimatedSize(Table table) {
+        long size = 96 + estimatedSize(table.getTableName());
+        for (Column column : table.getColumns()) {
+            size += estimatedSize(column);
+        }
+        for (Relationship relationship : table.getRelationships()) {
+            size += estimatedSize(relationship);
+        }
+        return size;
+    }
+
+    private static long estimatedSize(Column column) {
+        // The type descriptor is shared, so only the column and its name count
+        return 24 + estimatedSize(column.getName());
+    }
+
+    private static long estimatedSize(Relationship relationship) {
+        return 32 + estimatedSize(relationship.getRelationshipType()) + estimatedSize(relationship.getRelatedTable())
+                + estimatedSize(relationship.getForeignKey()) + estimatedSize(relationship.getRelatedForeignKey())
+                + estimatedSize(relationship.getThroughTable());
+    }
+
+    private static long estimatedSize(String value) {
+        return value == null ? 0 : 40 + value.length();
+    }
+
+    /**
+     * Returns the kind of change.
+     *
+     * @return the delta type
+     */
+    Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the table the change applies to, or the inserted or removed table.
+     *
+     * @return the table
+     */
+    Table getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the position of the table, column or relationship in its list.
+     *
+     * @return the position, or {@code -1} for a rename
+     */
+    int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the new name of a renamed table.
+     *
+     * @return the new table name
+     */
+    String getNewTableName() {
+        return (String) value;
+    }
+
+    /**
+     * Returns the inserted, removed or replacing column.
+     *
+     * @return the column
+     */
+    Column getColumn() {
+        return (Column) value;
+    }
+
+    /**
+     * Returns the inserted, removed or replacing relationship.
+     *
+     * @return the relationship
+     */
+    Relationship getRelationship() {
+        return (Relationship) value;
+    }
+}
@@ -0,0 +1,196 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The SchemaGraph class is the relationship graph of a list of tables, with the table
+ * names of every {@link Relationship} resolved to the tables they refer to. It is
+ * built by {@link #link(List)} in one pass over the tables and their relationships,
+ * after which edges are followed in both directions without looking up names.
+ *
+ * <p>As everywhere in the model, a name refers to the first table with that name.
+ * A name that no table has is reported as a {@link DanglingReference}. The join
+ * tables of the schema, i.e. the tables some relationship goes through, are known
+ * after linking and can be marked with {@link #markJoinTables()}.</p>
+ *
+ * <p>A graph does not follow later edits of its tables. Use {@link TableCatalog#graph()}
+ * to obtain the graph of a schema; that of a {@link SchemaSnapshot} is built once and
+ * can be shared by any number of readers.</p>
+ */
+public final class SchemaGraph {
+
+    private final List<Table> tables;
+    private final Map<String, Table> tablesByName;
+    private final Map<Table, List<Edge>> edges = new IdentityHashMap<>();
+    private final Map<Table, List<Edge>> references = new IdentityHashMap<>();
+    private final Set<Table> joinTables = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final List<DanglingReference> danglingReferences = new ArrayList<>();
+
+    /**
+     * The Edge record is a relationship of a table with the tables it names resolved.
+     *
+     * @param table        the table that defines the relationship
+     * @param relationship the relationship
+     * @param relatedTable the related table, or {@code null} if no table has its name
+     * @param throughTable the through table, or {@code null} if the relationship has none
+     *                     or no table has its name
+     */
+    public record Edge(Table table, Relationship relationship, Table relatedTable, Table throughTable) {
+
+        /**
+         * Returns whether every table the relationship names exists.
+         *
+         * @return {@code true} if the edge has no dangling reference, {@code false} otherwise
+         */
+        public boolean isResolved() {
+            return relatedTable != null && (throughTable != null || relationship.getThroughTable() == null);
+        }
+    }
+
+    /**
+     * The DanglingReference record is a table name in a relationship that no table has.
+     *
+     * @param table            the table that defines the relationship
+     * @param relationship     the relationship
+     * @param missingTableName the name of the missing related or through table
+     */
+    public record DanglingReference(Table table, Relationship relationship, String missingTableName) {
+    }
+
+    private SchemaGraph(List<Table> tables) {
+        this.tables = tables;
+        this.tablesByName = new HashMap<>(tables.size() * 2);
+    }
+
+    /**
+     * Links the relationships of the specified tables into a graph. The cost is
+     * linear in the number of tables and relationships.
+     *
+     * @param tables the tables, in schema order
+     * @return the graph
+     * @throws IllegalArgumentException if the list is {@code null}
+     */
+    public static SchemaGraph link(List<Table> tables) {
+        if (tables == null) {
+            throw new IllegalArgumentException("Tables cannot be null");
+        }
+        SchemaGraph graph = new SchemaGraph(List.copyOf(tables));
+        for (Table table : graph.tables) {
+            graph.tablesByName.putIfAbsent(table.getTableName(), table);
+        }
+        for (Table table : graph.tables) {
+            List<Edge> tableEdges = new ArrayList<>(table.getRelationships().size());
+            for (Relationship relationship : table.getRelationships()) {
+                Table relatedTable = graph.resolve(table, relationship, relationship.getRelatedTable());
+                Table throughTable = relationship.getThroughTable() == null
+                        ? null : graph.resolve(table, relationship, relationship.getThroughTable());
+                Edge edge = new Edge(table, relationship, relatedTable, throughTable);
+                tableEdges.add(edge);
+                if (relatedTable != null) {
+                    graph.references.computeIfAbsent(relatedTable, key -> new ArrayList<>()).add(edge);
+                }
+                if (throughTable != null) {
+                    graph.joinTables.add(throughTable);
+                    if (throughTable != relatedTable) {
+                        graph.references.computeIfAbsent(throughTable, key -> new ArrayList<>()).add(edge);
+                    }
+                }
+            }
+            graph.edges.put(table, Collections.unmodifiableList(tableEdges));
+        }
+        return graph;
+    }
+
+    private Table resolve(Table table, Relationship relationship, String tableName) {
+        Table resolved = tablesByName.get(tableName);
+        if (resolved == null) {
+            danglingReferences.add(new DanglingReference(table, relationship, tableName));
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns the linked tables, in schema order.
+     *
+     * @return an immutable list of the tables
+     */
+    public List<Table> getTables() {
+        return tables;
+    }
+
+    /**
+     * Returns the first table with the specified name.
+     *
+     * @param tableName the name of the table
+     * @return the {@link Table}, or {@code null} if no linked table has the name
+     */
+    public Table getTable(String tableName) {
+        return tablesByName.get(tableName);
+    }
+
+    /**
+     * Returns the relationships of a table as edges, in the order of its relationships.
+     *
+     * @param table one of the linked tables
+     * @return the outgoing edges, empty if the table is not part of the graph
+     */
+    public List<Edge> getEdges(Table table) {
+        return edges.getOrDefault(table, List.of());
+    }
+
+    /**
+     * Returns the edges that refer to a table as their related or through table, in
+     * schema order. An edge that refers to the table both ways is returned once.
+     *
+     * @param table one of the linked tables
+     * @return the incoming edges, empty if no relationship refers to the table
+     */
+    public List<Edge> getReferences(Table table) {
+        List<Edge> incoming = references.get(table);
+        return incoming == null ? List.of() : Collections.unmodifiableList(incoming);
+    }
+
+    /**
+     * Returns whether some relationship goes through a table.
+     *
+     * @param table one of the linked tables
+     * @return {@code true} if the table is a join table, {@code false} otherwise
+     */
+    public boolean isJoinTable(Table table) {
+        return joinTables.contains(table);
+    }
+
+    /**
+     * Returns the table names in relationships that no table has, in schema order.
+     *
+     * @return an immutable list of the dangling references
+     */
+    public List<DanglingReference> getDanglingReferences() {
+        return Collections.unmodifiableList(danglingReferences);
+    }
+
+    /**
+     * Sets the join table flag of every linked table to whether some relationship
+     * goes through it. Used by the parsers after they built the tables.
+     *
+     * @return the number of tables whose flag changed
+     * @throws UnsupportedOperationException if the flag of a frozen table would change
+     */
+    public int markJoinTables() {
+        int changed = 0;
+        for (Table table : tables) {
+            boolean joinTable = joinTables.contains(table);
+            if (table.isJoinTable() != joinTable) {
+                table.setJoinTable(joinTable);
+                changed++;
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,232 @@
+package model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * The SchemaHistory class holds the undo and redo stacks of a {@link SchemaModel}.
+ * Each step is the list of inverse {@link SchemaDelta}s recorded by one edit, or by
+ * every edit of an edit group. The estimated size of all steps is kept within a
+ * memory budget by discarding the oldest steps first.
+ *
+ * <p>SchemaHistory is not thread-safe; it is guarded by the lock of its model.</p>
+ */
+final class SchemaHistory {
+
+    private final Deque<Step> undoSteps = new ArrayDeque<>();
+    private final Deque<Step> redoSteps = new ArrayDeque<>();
+    private List<SchemaDelta> openStep = new ArrayList<>();
+    private int groupDepth;
+    private long budget;
+    private long size;
+
+    /**
+     * The Step class is one undoable step together with its estimated size.
+     */
+    private static final class Step {
+        private final List<SchemaDelta> deltas;
+        private final long size;
+
+        private Step(List<SchemaDelta> deltas) {
+            this.deltas = deltas;
+            long estimate = 0;
+            for (SchemaDelta delta : deltas) {
+                estimate += delta.estimatedSize();
+            }
+            this.size = estimate;
+        }
+    }
+
+    /**
+     * Constructs an empty history.
+     *
+     * @param budget the memory budget in bytes; {@code 0} disables the history
+     */
+    SchemaHistory(long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Records the inverse of a change made by the current edit.
+     *
+     * @param inverse the delta that undoes the change
+     */
+    void record(SchemaDelta inverse) {
+        if (budget > 0) {
+            openStep.add(inverse);
+        }
+    }
+
+    /**
+     * Opens an edit group. Until every open group is closed, edits are recorded
+     * into a single step.
+     */
+    void beginGroup() {
+        groupDepth++;
+    }
+
+    /**
+     * Closes an edit group.
+     */
+    void endGroup() {
+        groupDepth--;
+    }
+
+    /**
+     * Returns whether an edit group is open.
+     *
+     * @return {@code true} if at least one edit group is open, {@code false} otherwise
+     */
+    boolean isGrouping() {
+        return groupDepth > 0;
+    }
+
+    /**
+     * Ends the current step unless an edit group is open. A step with changes
+     * becomes the most recent undo step and discards the redo steps.
+     */
+    void commit() {
+        if (groupDepth > 0 || openStep.isEmpty()) {
+            return;
+        }
+        List<SchemaDelta> deltas = openStep;
+        openStep = new ArrayList<>();
+        clear(redoSteps);
+        push(undoSteps, deltas);
+    }
+
+    /**
+     * Removes the most recent undo step.
+     *
+     * @return the inverse deltas of the step in the order they were recorded, or
+     *         {@code null} if there is nothing to undo
+     */
+    List<SchemaDelta> takeUndo() {
+        return take(undoSteps);
+    }
+
+    /**
+     * Removes the most recently undone step.
+     *
+     * @return the deltas that redo the step in the order they were recorded, or
+     *         {@code null} if there is nothing to redo
+     */
+    List<SchemaDelta> takeRedo() {
+        return take(redoSteps);
+    }
+
+    /**
+     * Pushes the deltas that redo a step that was just undone.
+     *
+     * @param deltas the deltas, in the order they were recorded
+     */
+    void pushRedo(List<SchemaDelta> deltas) {
+        push(redoSteps, deltas);
+    }
+
+    /**
+     * Pushes the inverse deltas of a step that was just redone.
+     *
+     * @param deltas the deltas, in the order they were recorded
+     */
+    void pushUndo(List<SchemaDelta> deltas) {
+        push(undoSteps, deltas);
+    }
+
+    /**
+     * Returns whether there is a step to undo.
+     *
+     * @return {@code true} if a step can be undone, {@code false} otherwise
+     */
+    boolean canUndo() {
+        return !undoSteps.isEmpty();
+    }
+
+    /**
+     * Returns whether there is a step to redo.
+     *
+     * @return {@code true} if a step can be redone, {@code false} otherwise
+     */
+    boolean canRedo() {
+        return !redoSteps.isEmpty();
+    }
+
+    /**
+     * Discards every step, e.g. after the tables were replaced wholesale.
+     */
+    void clear() {
+        openStep = new ArrayList<>();
+        clear(undoSteps);
+        clear(redoSteps);
+    }
+
+    /**
+     * Returns the memory budget of the history.
+     *
+     * @return the budget in bytes
+     */
+    long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Changes the memory budget, discarding the oldest steps if the history no
+     * longer fits.
+     *
+     * @param budget the budget in bytes; {@code 0} disables the history
+     */
+    void setBudget(long budget) {
+        this.budget = budget;
+        if (budget == 0) {
+            clear();
+        }
+        evict();
+    }
+
+    /**
+     * Returns the estimated size of the recorded steps.
+     *
+     * @return the size in bytes
+     */
+    long size() {
+        return size;
+    }
+
+    private List<SchemaDelta> take(Deque<Step> steps) {
+        Step step = steps.pollLast();
+        if (step == null) {
+            return null;
+        }
+        size -= step.size;
+        return step.deltas;
+    }
+
+    private void push(Deque<Step> steps, List<SchemaDelta> deltas) {
+        Step step = new Step(deltas);
+        steps.addLast(step);
+        size += step.size;
+        evict();
+    }
+
+    private void clear(Deque<Step> steps) {
+        for (Step step : steps) {
+            size -= step.size;
+        }
+        steps.clear();
+    }
+
+    /**
+     * Discards steps until the history fits its budget: the oldest undo steps
+     * first, then the redo steps furthest from the current state.
+     */
+    private void evict() {
+        while (size > budget && !undoSteps.isEmpty()) {
+            size -= undoSteps.pollFirst().size;
+        }
+        while (size > budget && !redoSteps.isEmpty()) {
+            size -= redoSteps.pollFirst().size;
+        }
+    }
+}
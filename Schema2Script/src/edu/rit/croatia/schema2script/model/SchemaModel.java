@@ -2,42 +2,269 @@ package model;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 
+import model.exception.ReferentialIntegrityException;
 import model.exception.SchemaParsingException;
 import model.factory.GeneratorFactory;
 import model.generator.SchemaGenerator;
+import model.persistence.AtomicFileWriter;
+import model.persistence.BinarySchemaWriter;
+import model.persistence.DurabilityPolicy;
+import model.persistence.JsonCodec;
+import model.persistence.SchemaJournal;
+import model.persistence.ShardedSchemaStore;
+import model.persistence.StorageLayout;
+import model.persistence.WriteBehindWriter;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
 /**
  * The SchemaModel class represents the data model for a database schema.
  * It stores tables, the source schema file, and the generated SQL script.
  * This class also provides functionality to generate SQL scripts in different formats
  * and write them to a file.
+ *
+ * <p>A model created with {@link #SchemaModel()} lives in memory only, which is
+ * what parsers, caches and other short-lived models need. A model created with
+ * {@link #persistentAt(Path)} or {@link #recover(Path)} is kept in sync with a schema
+ * file: every mutation is appended as a small {@link SchemaMutation} record to a
+ * {@link SchemaJournal} next to the file. Once the journal grows past the
+ * compaction threshold, a {@link WriteBehindWriter} folds it into a fresh snapshot of
+ * the schema file on a background thread. Changes that replace the whole schema,
+ * such as a bulk load, go straight to a snapshot. Call {@link #flush()} or
+ * {@link #close()} at durability points, and {@link #recover(Path)} on startup to
+ * rebuild the model from the snapshot and journal.</p>
+ *
+ * <p>The schema file, exported copies and the generated script are replaced
+ * atomically, so a crash never leaves a truncated file behind. The
+ * {@link DurabilityPolicy} decides how often data is forced to the device. With the
+ * {@link StorageLayout#SHARDED} layout the snapshot is a directory with one file per
+ * table, and a compaction rewrites only the tables that changed.</p>
+ *
+ * <p>Tables are indexed by name, so edits and lookups by name do not scan the table
+ * list. Table names are expected to be unique; if they are not, lookups resolve to
+ * the first table with the name. Tables must be renamed through
+ * {@link #editTableName(String, String)} to keep the index current.</p>
+ *
+ * <p>{@link #snapshot()} returns an immutable {@link SchemaSnapshot} of the model in
+ * constant time. Each edit derives the next snapshot from the previous one, sharing
+ * every unchanged table, so generation, validation and autosave can read a
+ * consistent schema off-thread without copying it. Tables must therefore be
+ * modified through this class, or inside a bulk load, for snapshots to see the
+ * change.</p>
+ *
+ * <p>SchemaModel is thread-safe. Mutators hold the write lock of a {@link StampedLock}
+ * for the duration of the in-memory change only. Their journal records are queued
+ * under the lock and appended in order once it is released, and a compaction
+ * serializes the immutable snapshot after holding the lock just long enough to
+ * capture it, so no file is written while the lock is held. Lookups by name take
+ * the read lock, {@link #isBulkLoading()} is an optimistic read that only falls
+ * back to the read lock when a writer intervened, and {@link #snapshot()} never
+ * locks. Readers are guaranteed to observe each mutation
+ * either completely or not at all, and a snapshot always reflects a state between
+ * two mutations. Objects returned by {@link #getTables()} and {@link #getTable(String)}
+ * are the live tables, which are guarded by the model lock: read their contents on
+ * other threads through a snapshot instead, and never modify them directly once they
+ * are part of the model.</p>
+ *
+ * <p>Listeners registered with {@link #addChangeListener(SchemaChangeListener)} are
+ * told exactly what changed through {@link SchemaChangeEvent}s, so views and caches
+ * can update incrementally instead of rescanning the model. A bulk load or a
+ * wholesale replacement of the tables is reported as a single reload.</p>
+ *
+ * <p>A reverse index maps every table name to the tables whose relationships refer
+ * to it as related or through table, so {@link #getDependents(String)} does not scan
+ * the schema. Deleting or renaming a table can restrict or cascade to those
+ * relationships according to a {@link ReferencePolicy}.</p>
+ *
+ * <p>Edits can be undone with {@link #undo()} and redone with {@link #redo()}. Each
+ * edit records only the inverse of what it changed, e.g. the position and contents
+ * of a removed column, so undo and redo cost the size of the change rather than of
+ * the schema. Edits made inside an {@link EditGroup} are undone as one step. The
+ * history is kept within a memory budget by discarding the oldest steps, and is
+ * cleared by a bulk load or a wholesale replacement of the tables.</p>
  */
-public class SchemaModel {
+public class SchemaModel implements TableCatalog {
 
     private static final Logger logger = LogManager.getLogger(SchemaModel.class);
 
+    /** Default path of the schema file of the application model, see {@link #recover()}. */
+    public static final String SCHEMA_FILE_PATH = "schema/schema.json";
+
+    /** System property that overrides {@link #SCHEMA_FILE_PATH}, e.g. for tests. */
+    public static final String SCHEMA_FILE_PROPERTY = "schema2script.schemaFile";
+
+    /** System property that selects the {@link DurabilityPolicy} by name. */
+    public static final String DURABILITY_PROPERTY = "schema2script.durability";
+
+    /** System property that selects the {@link StorageLayout} by name. */
+    public static final String STORAGE_LAYOUT_PROPERTY = "schema2script.storageLayout";
+
+    /** Suffix of the directory that holds the table shards next to the schema file. */
+    public static final String SHARD_DIRECTORY_SUFFIX = ".shards";
+
+    /** Default journal size in bytes above which the journal is compacted. */
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 1024L * 1024L;
+
+    /** Default memory budget in bytes of the undo history. */
+    public static final long DEFAULT_HISTORY_BUDGET = 8L * 1024L * 1024L;
+
     private List<Table> tables;
+    private final Map<String, Table> tableIndex = new HashMap<>();
+    private final Map<Table, Integer> tablePositions = new IdentityHashMap<>();
     private File file;
     private String sqlScript;
+    private volatile DurabilityPolicy durabilityPolicy = getDefaultDurabilityPolicy();
+    private final WriteBehindWriter schemaWriter;
+    private final SchemaJournal journal;
+    private final ShardedSchemaStore shardStore;
+    private boolean journalActive;
+    private volatile long compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private final Queue<byte[]> journalQueue = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock journalLock = new ReentrantLock();
+    private boolean journalBroken;
+    private boolean closed;
+    private int bulkLoadDepth;
+    private int bulkLoadChanges;
+    private volatile SchemaSnapshot snapshot = SchemaSnapshot.EMPTY;
+    private final StampedLock lock = new StampedLock();
+    private boolean writeRequested;
+    private final SchemaChangeBus changeBus = new SchemaChangeBus();
+    private final List<SchemaMutation> pendingChanges = new ArrayList<>();
+    private boolean reloadPending;
+    private final SchemaHistory history = new SchemaHistory(DEFAULT_HISTORY_BUDGET);
+    private final Map<String, Map<Table, Integer>> referenceIndex = new HashMap<>();
+
+    /**
+     * The BulkLoad class represents an open bulk-load session started with
+     * {@link SchemaModel#beginBulkLoad()}. While any session is open, mutations
+     * neither persist the schema file nor log individually; closing the last
+     * session publishes all of them with a single write.
+     */
+    public final class BulkLoad implements AutoCloseable {
+        private boolean closed;
+
+        private BulkLoad() {
+        }
+
+        /**
+         * Ends this bulk-load session. Closing a session twice has no effect.
+         */
+        @Override
+        public void close() {
+            update(() -> {
+                if (!closed) {
+                    closed = true;
+                    endBulkLoad();
+                }
+            });
+        }
+    }
+
+    /**
+     * The EditGroup class represents an open edit group started with
+     * {@link SchemaModel#beginEditGroup()}. Edits made while any group is open are
+     * undone and redone as a single step.
+     */
+    public final class EditGroup implements AutoCloseable {
+        private boolean closed;
+
+        private EditGroup() {
+        }
+
+        /**
+         * Ends this edit group. Closing a group twice has no effect.
+         */
+        @Override
+        public void close() {
+            update(() -> {
+                if (!closed) {
+                    closed = true;
+                    history.endGroup();
+                }
+            });
+        }
+    }
 
     /**
-     * Constructs an instance of SchemaModel with an empty table list.
+     * Constructs an instance of SchemaModel with an empty table list that is kept
+     * in memory only.
      */
     public SchemaModel() {
+        this(null);
+    }
+
+    /**
+     * Constructs an instance of SchemaModel with an empty table list, kept in sync
+     * with the specified schema file if it is not {@code null}.
+     *
+     * @param schemaPath the schema file, or {@code null} for an in-memory model
+     */
+    private SchemaModel(Path schemaPath) {
         this.tables = new ArrayList<>();
+        if (schemaPath != null) {
+            this.schemaWriter = new WriteBehindWriter(this::writeSchemaFile);
+            this.journal = new SchemaJournal(schemaPath, durabilityPolicy);
+            this.shardStore = getStorageLayout() == StorageLayout.SHARDED
+                    ? new ShardedSchemaStore(Path.of(schemaPath + SHARD_DIRECTORY_SUFFIX)) : null;
+        } else {
+            this.schemaWriter = null;
+            this.journal = null;
+            this.shardStore = null;
+        }
         logger.info("SchemaModel initialized with an empty table list.");
     }
 
+    /**
+     * Creates an empty schema model that is kept in sync with the specified schema
+     * file. The first change replaces whatever the file held; use
+     * {@link #recover(Path)} to continue from it instead.
+     *
+     * @param schemaPath the schema file
+     * @return the persistent {@link SchemaModel}
+     * @throws IllegalArgumentException if the path is {@code null}
+     */
+    public static SchemaModel persistentAt(Path schemaPath) {
+        if (schemaPath == null) {
+            throw new IllegalArgumentException("Schema path cannot be null");
+        }
+        return new SchemaModel(schemaPath);
+    }
+
+    /**
+     * Returns whether this model is kept in sync with a schema file.
+     *
+     * @return {@code true} if the model was created by {@link #persistentAt(Path)} or
+     *         {@link #recover(Path)}, {@code false} if it lives in memory only
+     */
+    public boolean isPersistent() {
+        return journal != null;
+    }
+
+    /**
+     * Returns the schema file this model is kept in sync with.
+     *
+     * @return the schema file, or {@code null} if the model is not persistent
+     */
+    public Path getSchemaPath() {
+        return journal != null ? journal.getSnapshotPath() : null;
+    }
+
     /**
      * Returns the schema file associated with this model.
      *
@@ -99,210 +326,1550 @@ public class SchemaModel {
      * @throws IllegalArgumentException if the table is {@code null}
      */
     public void addTable(Table table) {
-        if (table == null) {
-            logger.error("Attempted to add a null table.");
-            throw new IllegalArgumentException("Table cannot be null");
-        } else {
-            tables.add(table);
-            updateSchemaFile();
-            logger.info("Table added: {}", table);
+        update(() -> {
+            if (table == null) {
+                logger.error("Attempted to add a null table.");
+                throw new IllegalArgumentException("Table cannot be null");
+            } else {
+                apply(SchemaDelta.insertTable(tables.size(), table));
+                if (publishChange(SchemaMutation.addTable(table))) {
+                    logger.info("Table added: {}", table);
+                }
+            }
+        });
+    }
+
+    /**
+     * Starts a bulk load, e.g. while a parser populates the model. Persistence
+     * and per-mutation logging are suspended until every open session is closed,
+     * after which the changes are published once.
+     *
+     * <pre>
+     *     try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+     *         schema.addTable(table);
+     *     }
+     * </pre>
+     *
+     * @return the bulk-load session to close when loading is finished
+     */
+    public BulkLoad beginBulkLoad() {
+        return update(() -> {
+            bulkLoadDepth++;
+            return new BulkLoad();
+        });
+    }
+
+    /**
+     * Returns whether a bulk load is in progress.
+     *
+     * @return {@code true} if at least one bulk-load session is open, {@code false} otherwise
+     */
+    public boolean isBulkLoading() {
+        long stamp = lock.tryOptimisticRead();
+        int depth = bulkLoadDepth;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                depth = bulkLoadDepth;
+            } finally {
+                lock.unlockRead(stamp);
+            }
         }
+        return depth > 0;
     }
 
-    // Method to load table names from schema.json
-    public List<String> loadTableNames(String schemaFilePath) {
-        ObjectMapper mapper = new ObjectMapper();
+    private void endBulkLoad() {
+        bulkLoadDepth--;
+        if (bulkLoadDepth == 0) {
+            // Loaders may also have modified the tables directly
+            rebuildSnapshot();
+            if (shardStore != null) {
+                // Loaded tables that are still clean need not be rewritten from their copies
+                shardStore.adopt(tables, snapshot.getTables());
+            }
+            rebuildReferenceIndex();
+            history.clear();
+        }
+        if (bulkLoadDepth == 0 && bulkLoadChanges > 0) {
+            logger.info("Bulk load finished: {} changes published, {} tables in schema.", bulkLoadChanges,
+                    tables.size());
+            bulkLoadChanges = 0;
+            reloadPending = true;
+            requestSnapshot();
+        }
+    }
+
+    /**
+     * Persists a change, or defers it to the end of the current bulk load. While
+     * the journal reflects this model the change is encoded as a journal record,
+     * which later edits cannot alter, and queued to be appended once the lock is
+     * released; otherwise a full snapshot is scheduled.
+     *
+     * @param mutation the change that was applied
+     * @return {@code true} if the change was published and should be logged, {@code false} if deferred
+     */
+    private boolean publishChange(SchemaMutation mutation) {
+        if (bulkLoadDepth > 0) {
+            bulkLoadChanges++;
+            return false;
+        }
+        if (changeBus.hasListeners()) {
+            pendingChanges.add(mutation);
+        }
+        if (!journalActive) {
+            writeRequested = true;
+            return true;
+        }
         try {
-            File schemaFile = new File(schemaFilePath);
-            List<Table> schemaTables = mapper.readValue(schemaFile, new TypeReference<List<Table>>() {
-            });
-            this.tables = schemaTables;
-            logger.info("Schema loaded with {} tables.", schemaTables.size());
-            return schemaTables.stream().map(Table::getTableName).toList();
+            journalQueue.add(SchemaJournal.encode(mutation));
         } catch (IOException e) {
-            logger.error("Failed to load schema");
-            return new ArrayList<>();
+            logger.error("Failed to encode {} for the schema journal; scheduling a full snapshot.",
+                    mutation.getType(), e);
+            requestSnapshot();
+        }
+        return true;
+    }
+
+    /**
+     * Appends the queued journal records in order, unless another thread is
+     * already appending them or compacting the journal, in which case that thread
+     * appends them when it is done. Called after releasing the model lock.
+     */
+    private void appendQueuedRecords() {
+        boolean compact = false;
+        while (!journalQueue.isEmpty() && journalLock.tryLock()) {
+            try {
+                compact |= appendRecords(journalQueue);
+            } finally {
+                journalLock.unlock();
+            }
+        }
+        if (compact) {
+            schemaWriter.markDirty();
+        }
+    }
+
+    /**
+     * Appends journal records in order. If an append fails, the journal stops
+     * following the model and later records are dropped until the next snapshot,
+     * so the journal always ends at a state the model passed through. The caller
+     * must hold the journal lock but not the model lock.
+     *
+     * @param records the records to append, removed as they are appended
+     * @return {@code true} if a snapshot should be written, because the journal
+     *         outgrew the compaction threshold or could not be appended to
+     */
+    private boolean appendRecords(Queue<byte[]> records) {
+        boolean compact = false;
+        byte[] record;
+        while ((record = records.poll()) != null) {
+            if (journalBroken) {
+                continue;
+            }
+            try {
+                journal.append(record);
+                compact |= journal.size() >= compactionThreshold;
+            } catch (IOException e) {
+                logger.error("Failed to append a record to the schema journal; scheduling a full snapshot.", e);
+                breakJournal();
+                compact = true;
+            }
+        }
+        return compact;
+    }
+
+    /**
+     * Stops queueing journal records until the next snapshot starts a new segment.
+     * The caller must hold the journal lock but not the model lock.
+     */
+    private void breakJournal() {
+        journalBroken = true;
+        long stamp = lock.writeLock();
+        try {
+            journalActive = false;
+            journalQueue.clear();
+        } finally {
+            lock.unlockWrite(stamp);
         }
     }
 
+    // Method to load table names from schema.json
+    public List<String> loadTableNames(String schemaFilePath) {
+        return update(() -> {
+            try {
+                File schemaFile = new File(schemaFilePath);
+                List<Table> schemaTables = JsonCodec.tableListReader().readValue(schemaFile);
+                this.tables = new ArrayList<>(schemaTables);
+                rebuildTableIndex();
+                rebuildSnapshot();
+                rebuildReferenceIndex();
+                history.clear();
+                reloadPending = true;
+                journalActive = false;
+                logger.info("Schema loaded with {} tables.", schemaTables.size());
+                return schemaTables.stream().map(Table::getTableName).toList();
+            } catch (IOException e) {
+                logger.error("Failed to load schema");
+                return new ArrayList<>();
+            }
+        });
+    }
+
     /**
-     * Returns the list of tables in the schema.
+     * Returns the list of tables in the schema, in insertion order. The list is a
+     * point-in-time copy that later edits do not change, but the tables in it are
+     * the live tables of the model; use {@link #snapshot()} to read their contents
+     * off the editing thread.
      *
-     * @return a list of {@link Table} objects
+     * @return an immutable list of {@link Table} objects
      */
     public List<Table> getTables() {
         logger.debug("getTables() called.");
-        if (tables.isEmpty()) {
+        List<Table> copy;
+        long stamp = lock.readLock();
+        try {
+            copy = List.copyOf(tables);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        if (copy.isEmpty()) {
             logger.warn("No tables available in the list.");
         }
-        return tables;
+        return copy;
     }
 
-    // Method to save tables to schema.json file
-    public void saveToFile(String filePath) {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.enable(SerializationFeature.INDENT_OUTPUT); // Pretty print the JSON
+    /**
+     * Returns the table with the specified name without scanning the table list.
+     *
+     * @param tableName the name of the table
+     * @return the {@link Table}, or {@code null} if the schema has no such table
+     */
+    public Table getTable(String tableName) {
+        long stamp = lock.readLock();
+        try {
+            return tableIndex.get(tableName);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
 
+    /**
+     * Returns the tables with a relationship that refers to the specified table
+     * as related or through table, including the table itself if it refers to
+     * itself. The lookup does not scan the schema.
+     *
+     * @param tableName the name of the referenced table
+     * @return an immutable list of the referencing {@link Table} objects, in no particular order
+     */
+    public List<Table> getDependents(String tableName) {
+        long stamp = lock.readLock();
         try {
-            // Write the tables list to the schema.json file
-            mapper.writeValue(new File(filePath), tables);
-            logger.info("Schema data saved to {}", filePath);
-        } catch (IOException e) {
-            logger.error("Failed to save schema data to file: {}", filePath, e);
+            return List.copyOf(referenceIndex.getOrDefault(tableName, Map.of()).keySet());
+        } finally {
+            lock.unlockRead(stamp);
         }
     }
 
-    // Call this method after each update to tables (e.g., after addTable,
-    // addColumn, addRelationship)
-    public void updateSchemaFile() {
-        saveToFile("schema/schema.json"); // Assuming this is the path of schema.json
+    /**
+     * Returns whether any table other than the specified one refers to it.
+     *
+     * @param tableName the name of the referenced table
+     * @return {@code true} if another table refers to the table, {@code false} otherwise
+     */
+    public boolean hasDependents(String tableName) {
+        long stamp = lock.readLock();
+        try {
+            return !otherDependents(tableName).isEmpty();
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
-    // Store Database Modifications in Data Model - Updated Method for Issue 4
-    public void storeData(Object data, String tableName) {
-        if (data instanceof Table table) {
-            tables.add(table);
-            updateSchemaFile();
-            logger.info("Table added to SchemaModel");
-        } else if (data instanceof Column column) {
-            for (Table table : tables) {
-                if (table.getTableName().equals(tableName)) {
-                    table.addColumn(column);
-                    updateSchemaFile();
-                    logger.info("Column added to Table {}: {}", table.getTableName(), ((Column) data).getName());
-                    break;
-                }
-            }
-        } else if (data instanceof Relationship relationship) {
-            for (Table table : tables) {
-                if (table.getTableName().equals(tableName)) {
-                    table.addRelationship(relationship);
-                    updateSchemaFile();
-                    logger.info("Relationship added to Table {}: {}", table.getTableName(),
-                            ((Relationship) data).getRelationshipType());
-                    break;
-                }
-            }
-        } else {
-            logger.error("Unsupported data type provided to storeData: {}", data.getClass().getSimpleName());
+    /**
+     * Registers a listener that is called with every batch of changes, on the
+     * thread that made them, after the model lock is released.
+     *
+     * @param listener the listener to register
+     * @throws IllegalArgumentException if the listener is {@code null}
+     */
+    public void addChangeListener(SchemaChangeListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener cannot be null");
         }
+        changeBus.addListener(listener);
     }
 
-    public String toScript(String format) {
-        try {
-            GeneratorFactory factory = new GeneratorFactory();
-            SchemaGenerator generator = factory.get(format);
-            this.sqlScript = generator.generate(this);
-            logger.info("SQL script generated");
+    /**
+     * Registers a listener that is called on the specified executor, e.g. the UI
+     * thread. Changes made while a call is still queued are coalesced into it, so a
+     * burst of edits results in a single call.
+     *
+     * @param listener the listener to register
+     * @param executor the executor that calls the listener
+     * @throws IllegalArgumentException if the listener or the executor is {@code null}
+     */
+    public void addChangeListener(SchemaChangeListener listener, Executor executor) {
+        if (listener == null || executor == null) {
+            throw new IllegalArgumentException("Listener and executor cannot be null");
+        }
+        changeBus.addListener(listener, executor);
+    }
 
-            String filePath = "script/schema.sql";
-            File outputFile = new File(filePath);
+    /**
+     * Unregisters a change listener.
+     *
+     * @param listener the listener to unregister
+     * @return {@code true} if the listener was registered, {@code false} otherwise
+     */
+    public boolean removeChangeListener(SchemaChangeListener listener) {
+        return changeBus.removeListener(listener);
+    }
 
-            File directory = outputFile.getParentFile();
-            if (directory != null && !directory.exists()) {
-                if (directory.mkdirs()) {
-                    logger.info("Directory created: {}", directory.getAbsolutePath());
-                } else {
-                    logger.error("Failed to create directory: {}", directory.getAbsolutePath());
-                }
+    /**
+     * Starts an edit group, e.g. for a dialog that makes several edits. Edits made
+     * until every open group is closed are undone and redone as one step.
+     *
+     * <pre>
+     *     try (SchemaModel.EditGroup group = schema.beginEditGroup()) {
+     *         schema.editTableName("student", "pupil");
+     *         schema.editColumn("pupil", "student_id", new Column("pupil_id", "INT", true));
+     *     }
+     * </pre>
+     *
+     * @return the edit group to close when the edits are finished
+     */
+    public EditGroup beginEditGroup() {
+        return update(() -> {
+            history.beginGroup();
+            return new EditGroup();
+        });
+    }
+
+    /**
+     * Undoes the most recent step of edits. The reverted changes are journaled and
+     * published to change listeners like any other edit.
+     *
+     * @return {@code true} if a step was undone, {@code false} if there is nothing to undo
+     * @throws IllegalStateException if an edit group or a bulk load is open
+     */
+    public boolean undo() {
+        return update(() -> {
+            checkHistoryAvailable("undo");
+            List<SchemaDelta> step = history.takeUndo();
+            if (step == null) {
+                return false;
             }
+            history.pushRedo(replay(step));
+            logger.info("Undid {} changes.", step.size());
+            return true;
+        });
+    }
 
-            writeSqlToFile(filePath, this.sqlScript);
+    /**
+     * Redoes the most recently undone step of edits. Any new edit discards the
+     * steps that could be redone.
+     *
+     * @return {@code true} if a step was redone, {@code false} if there is nothing to redo
+     * @throws IllegalStateException if an edit group or a bulk load is open
+     */
+    public boolean redo() {
+        return update(() -> {
+            checkHistoryAvailable("redo");
+            List<SchemaDelta> step = history.takeRedo();
+            if (step == null) {
+                return false;
+            }
+            history.pushUndo(replay(step));
+            logger.info("Redid {} changes.", step.size());
+            return true;
+        });
+    }
 
-        } catch (SchemaParsingException e) {
-            logger.error("Script generation failed.", e);
+    /**
+     * Returns whether there is a step of edits to undo.
+     *
+     * @return {@code true} if {@link #undo()} would revert a step, {@code false} otherwise
+     */
+    public boolean canUndo() {
+        long stamp = lock.readLock();
+        try {
+            return history.canUndo();
+        } finally {
+            lock.unlockRead(stamp);
         }
-        return sqlScript;
     }
 
     /**
-     * Writes the generated SQL script to a file.
+     * Returns whether there is a step of edits to redo.
      *
-     * @param filePath  the path of the file to write
-     * @param sqlScript the SQL script to write
+     * @return {@code true} if {@link #redo()} would reapply a step, {@code false} otherwise
      */
-    private void writeSqlToFile(String filePath, String sqlScript) {
-        File outputFile = new File(filePath);
-
-        try (FileWriter writer = new FileWriter(outputFile, false)) {
-            writer.write(sqlScript);
-            logger.info("SQL script written to file: {}", filePath);
-        } catch (IOException e) {
-            logger.error("Failed to write SQL script to file.", e);
+    public boolean canRedo() {
+        long stamp = lock.readLock();
+        try {
+            return history.canRedo();
+        } finally {
+            lock.unlockRead(stamp);
         }
     }
 
-    public void deleteTable(String tableName) {
-        tables.removeIf(table -> table.getTableName().equals(tableName));
-        updateSchemaFile();
-        logger.info("Table removed: {}", tableName);
+    /**
+     * Sets the memory budget of the undo history. Once the estimated size of the
+     * recorded steps exceeds it, the oldest steps are discarded.
+     *
+     * @param historyBudget the budget in bytes; {@code 0} disables undo
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public void setHistoryBudget(long historyBudget) {
+        if (historyBudget < 0) {
+            throw new IllegalArgumentException("History budget cannot be negative");
+        }
+        update(() -> history.setBudget(historyBudget));
     }
 
-    public void deleteColumn(String tableName, String columnName) {
-        for (Table table : tables) {
-            if (table.getTableName().equals(tableName)) {
-                table.getColumns().removeIf(column -> column.getName().equals(columnName));
-                updateSchemaFile();
-                logger.info("Column {} removed from table {}", columnName, tableName);
-                break;
-            }
+    /**
+     * Returns the memory budget of the undo history.
+     *
+     * @return the budget in bytes
+     */
+    public long getHistoryBudget() {
+        long stamp = lock.readLock();
+        try {
+            return history.getBudget();
+        } finally {
+            lock.unlockRead(stamp);
         }
     }
 
-    public void deleteRelationship(String tableName, String relatedTable) {
-        for (Table table : tables) {
-            if (table.getTableName().equals(tableName)) {
-                table.getRelationships().removeIf(relationship -> relationship.getRelatedTable().equals(relatedTable));
-                updateSchemaFile();
-                logger.info("Relationship to {} removed from table {}", relatedTable, tableName);
-                break;
-            }
-        }
+    /**
+     * Returns an immutable snapshot of the schema in constant time. The snapshot
+     * is not affected by later edits and can be read from any thread. During a
+     * bulk load, it reflects the state before the load started.
+     *
+     * @return the current {@link SchemaSnapshot}
+     */
+    public SchemaSnapshot snapshot() {
+        return snapshot;
     }
 
-    public void editTableName(String oldTableName, String newTableName) {
-        for (Table table : tables) {
-            if (table.getTableName().equals(oldTableName)) {
-                table.setTableName(newTableName);
-                updateSchemaFile(); // Write the changes to the schema file
-                logger.info("Table name changed from {} to {}", oldTableName, newTableName);
-                return;
+    /**
+     * Returns the relationship graph of the current {@link #snapshot()}, so that the
+     * graph is linked once per state of the schema rather than once per caller.
+     *
+     * @return the {@link SchemaGraph} of the snapshot tables
+     */
+    @Override
+    public SchemaGraph graph() {
+        return snapshot.graph();
+    }
+
+    // Method to save tables to schema.json file
+    public void saveToFile(String filePath) {
+        try {
+            byte[] schemaJson;
+            long stamp = lock.readLock();
+            try {
+                schemaJson = serializeTables();
+            } finally {
+                lock.unlockRead(stamp);
             }
+            AtomicFileWriter.write(Path.of(filePath), schemaJson, durabilityPolicy.forcesOnFlush());
+            logger.info("Schema data saved to {}", filePath);
+        } catch (IOException e) {
+            logger.error("Failed to save schema data to file: {}", filePath, e);
         }
-        logger.warn("Table with name {} not found. Edit aborted.", oldTableName);
     }
 
-    public void editColumn(String tableName, String oldColumnName, Column updatedColumn) {
-        for (Table table : tables) {
-            if (table.getTableName().equals(tableName)) {
-                for (int i = 0; i < table.getColumns().size(); i++) {
-                    if (table.getColumns().get(i).getName().equals(oldColumnName)) {
-                        table.getColumns().set(i, updatedColumn);
-                        updateSchemaFile();
-                        logger.info("Column {} in table {} updated to {}", oldColumnName, tableName, updatedColumn);
-                        return;
-                    }
-                }
+    /**
+     * Saves the tables as a binary schema snapshot, which loads considerably
+     * faster than JSON through {@link model.parser.BinaryParser}.
+     *
+     * @param filePath the path of the snapshot file, by convention ending in {@code .s2sb}
+     */
+    public void saveToBinaryFile(String filePath) {
+        try {
+            byte[] snapshot;
+            long stamp = lock.readLock();
+            try {
+                snapshot = BinarySchemaWriter.write(tables);
+            } finally {
+                lock.unlockRead(stamp);
             }
+            AtomicFileWriter.write(Path.of(filePath), snapshot, durabilityPolicy.forcesOnFlush());
+            logger.info("Binary schema snapshot saved to {}", filePath);
+        } catch (IOException e) {
+            logger.error("Failed to save binary schema snapshot to file: {}", filePath, e);
         }
-        logger.warn("Column {} not found in table {}", oldColumnName, tableName);
     }
 
-    public void editRelationship(String tableName, String relatedTable, Relationship updatedRelationship) {
-        for (Table table : tables) {
-            if (table.getTableName().equals(tableName)) {
-                for (int i = 0; i < table.getRelationships().size(); i++) {
-                    if (table.getRelationships().get(i).getRelatedTable().equals(relatedTable)) {
-                        table.getRelationships().set(i, updatedRelationship);
-                        updateSchemaFile(); // Save changes to the schema file
-                        logger.info("Relationship with {} in table {} updated to {}", relatedTable, tableName,
-                                updatedRelationship);
-                        return;
-                    }
-                }
-            }
+    /**
+     * Marks the whole schema file as out of date, e.g. after the tables were
+     * replaced wholesale. The file is rewritten on a background thread once a
+     * burst of updates settles, so consecutive calls cost a single write. Single
+     * edits made through this class are journaled instead.
+     */
+    public void updateSchemaFile() {
+        update(this::requestSnapshot);
+    }
+
+    /**
+     * Sets the journal size above which the journal is folded into a snapshot.
+     *
+     * @param compactionThreshold the threshold in bytes
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public void setCompactionThreshold(long compactionThreshold) {
+        if (compactionThreshold <= 0) {
+            throw new IllegalArgumentException("Compaction threshold must be positive");
         }
-        logger.warn("Relationship with {} not found in table {}", relatedTable, tableName);
+        update(() -> {
+            this.compactionThreshold = compactionThreshold;
+        });
     }
 
+    /**
+     * Changes how often the schema file, its journal and the generated script are
+     * forced to the device.
+     *
+     * @param durabilityPolicy the new durability policy
+     * @throws IllegalArgumentException if the durability policy is {@code null}
+     */
+    public void setDurabilityPolicy(DurabilityPolicy durabilityPolicy) {
+        if (durabilityPolicy == null) {
+            throw new IllegalArgumentException("Durability policy cannot be null");
+        }
+        this.durabilityPolicy = durabilityPolicy;
+        if (journal != null) {
+            journal.setDurabilityPolicy(durabilityPolicy);
+        }
+    }
+
+    /**
+     * Returns how often the schema file, its journal and the generated script are
+     * forced to the device.
+     *
+     * @return the durability policy
+     */
+    public DurabilityPolicy getDurabilityPolicy() {
+        return durabilityPolicy;
+    }
+
+    /**
+     * Returns the journal that records the edits of this model.
+     *
+     * @return the schema journal, or {@code null} if the model is not persistent
+     */
+    public SchemaJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Writes any pending schema changes to the schema file and syncs the journal
+     * according to the durability policy before returning. Use at durability points
+     * such as before exiting. Has no effect on an in-memory model.
+     */
+    public void flush() {
+        if (!isPersistent()) {
+            return;
+        }
+        appendAllQueuedRecords();
+        schemaWriter.flush();
+        try {
+            journal.sync();
+        } catch (IOException e) {
+            logger.error("Failed to sync the schema journal.", e);
+        }
+    }
+
+    /**
+     * Flushes pending schema changes and makes subsequent updates write
+     * synchronously. Call when the model is being discarded. The journal is
+     * closed, so every later update writes a full snapshot.
+     */
+    public void close() {
+        if (!isPersistent()) {
+            return;
+        }
+        journalLock.lock();
+        try {
+            long stamp = lock.writeLock();
+            try {
+                closed = true;
+                journalActive = false;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            appendRecords(journalQueue);
+        } finally {
+            journalLock.unlock();
+        }
+        schemaWriter.close();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.error("Failed to close the schema journal.", e);
+        }
+    }
+
+    /**
+     * Returns the writer that persists the schema file, e.g. to inspect how many
+     * writes were coalesced.
+     *
+     * @return the schema file writer, or {@code null} if the model is not persistent
+     */
+    public WriteBehindWriter getSchemaWriter() {
+        return schemaWriter;
+    }
+
+    /**
+     * Appends the queued journal records, waiting for a thread that is appending
+     * or compacting, and schedules a snapshot if one is due.
+     */
+    private void appendAllQueuedRecords() {
+        boolean compact;
+        journalLock.lock();
+        try {
+            compact = appendRecords(journalQueue);
+        } finally {
+            journalLock.unlock();
+        }
+        if (compact) {
+            schemaWriter.markDirty();
+        }
+    }
+
+    /**
+     * Compacts the journal. The model lock is held only to capture the immutable
+     * snapshot; the records queued before it are appended to the old segment, the
+     * snapshot is serialized and a new segment started without the lock, and the
+     * records queued after it go to the new segment. Editing is therefore never
+     * blocked on disk I/O. Once the model is closed the new segment is closed
+     * again after the snapshot is written.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    private void writeSchemaFile() throws IOException {
+        SchemaJournal.Rotation rotation;
+        boolean closing;
+        journalLock.lock();
+        try {
+            SchemaSnapshot captured;
+            Queue<byte[]> capturedRecords = new ArrayDeque<>();
+            long stamp = lock.writeLock();
+            try {
+                captured = snapshot;
+                closing = closed;
+                journalActive = !closing;
+                byte[] record;
+                while ((record = journalQueue.poll()) != null) {
+                    capturedRecords.add(record);
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            appendRecords(capturedRecords);
+            try {
+                if (shardStore != null) {
+                    ShardedSchemaStore.Capture capture = shardStore.capture(captured.getTables());
+                    rotation = journal.rotate(capture.getChecksum(), capture::write);
+                } else {
+                    rotation = journal.rotate(JsonCodec.tableListWriter().writeValueAsBytes(captured.getTables()));
+                }
+                journalBroken = false;
+            } catch (IOException | RuntimeException e) {
+                breakJournal();
+                throw e;
+            }
+        } finally {
+            journalLock.unlock();
+        }
+        appendQueuedRecords();
+        rotation.commit();
+        if (closing) {
+            journal.close();
+        }
+        logger.debug("Schema data saved to {}", journal.getSnapshotPath());
+    }
+
+    /**
+     * Rebuilds the schema model kept in {@link #getSchemaFilePath()}.
+     *
+     * @return the recovered {@link SchemaModel}, empty if nothing was saved
+     * @see #recover(Path)
+     */
+    public static SchemaModel recover() {
+        return recover(Path.of(getSchemaFilePath()));
+    }
+
+    /**
+     * Rebuilds a schema model from the schema file and its journal, e.g. on
+     * startup after a crash. Journal segments that were already folded into the
+     * schema file are skipped. The recovered model stays in sync with the file, and
+     * the recovered state is compacted in the background.
+     *
+     * @param snapshotPath the schema file
+     * @return the recovered {@link SchemaModel}, empty if nothing was saved
+     * @throws IllegalArgumentException if the path is {@code null}
+     */
+    public static SchemaModel recover(Path snapshotPath) {
+        SchemaModel schema = persistentAt(snapshotPath);
+        try (BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            long state;
+            if (schema.shardStore != null) {
+                List<Table> savedTables = schema.shardStore.load();
+                if (savedTables != null) {
+                    savedTables.forEach(schema::addTable);
+                }
+                state = schema.stateChecksum();
+            } else {
+                byte[] snapshot = SchemaJournal.readSnapshot(snapshotPath);
+                if (snapshot != null) {
+                    List<Table> savedTables = JsonCodec.tableListReader().readValue(snapshot);
+                    savedTables.forEach(schema::addTable);
+                }
+                state = snapshot != null ? SchemaJournal.checksum(snapshot) : schema.stateChecksum();
+            }
+            int replayed = 0;
+            for (SchemaJournal.Segment segment : SchemaJournal.readSegments(snapshotPath)) {
+                if (segment.getBase() != state) {
+                    logger.debug("Skipping journal segment {}; it does not apply to the recovered schema.",
+                            segment.getPath());
+                    continue;
+                }
+                segment.getMutations().forEach(mutation -> mutation.applyTo(schema));
+                replayed += segment.getMutations().size();
+                state = schema.stateChecksum();
+            }
+            logger.info("Schema recovered with {} tables ({} journal records replayed).", schema.tables.size(),
+                    replayed);
+        } catch (IOException e) {
+            logger.error("Failed to recover the schema from {}", snapshotPath, e);
+        }
+        return schema;
+    }
+
+    /**
+     * Returns the path of the schema file kept in sync with the model, honouring
+     * the {@link #SCHEMA_FILE_PROPERTY} system property.
+     *
+     * @return the schema file path
+     */
+    public static String getSchemaFilePath() {
+        return System.getProperty(SCHEMA_FILE_PROPERTY, SCHEMA_FILE_PATH);
+    }
+
+    /**
+     * Returns the durability policy named by {@link #DURABILITY_PROPERTY}, or
+     * {@link DurabilityPolicy#FORCE_ON_FLUSH} if the property is unset or invalid.
+     *
+     * @return the default durability policy
+     */
+    public static DurabilityPolicy getDefaultDurabilityPolicy() {
+        return enumProperty(DURABILITY_PROPERTY, DurabilityPolicy.class, DurabilityPolicy.FORCE_ON_FLUSH);
+    }
+
+    /**
+     * Returns the storage layout named by {@link #STORAGE_LAYOUT_PROPERTY}, or
+     * {@link StorageLayout#SINGLE_FILE} if the property is unset or invalid.
+     *
+     * @return the storage layout of new models
+     */
+    public static StorageLayout getStorageLayout() {
+        return enumProperty(STORAGE_LAYOUT_PROPERTY, StorageLayout.class, StorageLayout.SINGLE_FILE);
+    }
+
+    private static <E extends Enum<E>> E enumProperty(String property, Class<E> type, E defaultValue) {
+        String name = System.getProperty(property);
+        if (name == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown value '{}' for {}; using {}.", name, property, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Computes the checksum that identifies the current state in the journal for
+     * the configured storage layout.
+     *
+     * @return the state checksum
+     * @throws IOException if the tables cannot be serialized
+     */
+    private long stateChecksum() throws IOException {
+        long stamp = lock.readLock();
+        try {
+            return shardStore != null ? shardStore.checksum(tables) : SchemaJournal.checksum(serializeTables());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Serializes the tables as JSON. The caller must hold the lock.
+     *
+     * @return the JSON bytes
+     * @throws IOException if the tables cannot be serialized
+     */
+    private byte[] serializeTables() throws IOException {
+        return JsonCodec.tableListWriter().writeValueAsBytes(tables);
+    }
+
+    // Store Database Modifications in Data Model - Updated Method for Issue 4
+    public void storeData(Object data, String tableName) {
+        update(() -> {
+            if (data instanceof Table table) {
+                apply(SchemaDelta.insertTable(tables.size(), table));
+                if (publishChange(SchemaMutation.addTable(table))) {
+                    logger.info("Table added to SchemaModel");
+                }
+            } else if (data instanceof Column column) {
+                Table table = tableIndex.get(tableName);
+                if (table != null) {
+                    apply(SchemaDelta.insertColumn(table, table.getColumns().size(), column));
+                    if (publishChange(SchemaMutation.addColumn(tableName, column))) {
+                        logger.info("Column added to Table {}: {}", table.getTableName(), column.getName());
+                    }
+                }
+            } else if (data instanceof Relationship relationship) {
+                Table table = tableIndex.get(tableName);
+                if (table != null) {
+                    apply(SchemaDelta.insertRelationship(table, table.getRelationships().size(), relationship));
+                    if (publishChange(SchemaMutation.addRelationship(tableName, relationship))) {
+                        logger.info("Relationship added to Table {}: {}", table.getTableName(),
+                                relationship.getRelationshipType());
+                    }
+                }
+            } else {
+                logger.error("Unsupported data type provided to storeData: {}", data.getClass().getSimpleName());
+            }
+        });
+    }
+
+    public String toScript(String format) {
+        try {
+            GeneratorFactory factory = new GeneratorFactory();
+            SchemaGenerator generator = factory.get(format);
+            this.sqlScript = generator.generate(snapshot());
+            logger.info("SQL script generated");
+
+            String filePath = "script/schema.sql";
+            File outputFile = new File(filePath);
+
+            File directory = outputFile.getParentFile();
+            if (directory != null && !directory.exists()) {
+                if (directory.mkdirs()) {
+                    logger.info("Directory created: {}", directory.getAbsolutePath());
+                } else {
+                    logger.error("Failed to create directory: {}", directory.getAbsolutePath());
+                }
+            }
+
+            writeSqlToFile(filePath, this.sqlScript);
+
+        } catch (SchemaParsingException e) {
+            logger.error("Script generation failed.", e);
+        }
+        return sqlScript;
+    }
+
+    /**
+     * Writes the generated SQL script to a file.
+     *
+     * @param filePath  the path of the file to write
+     * @param sqlScript the SQL script to write
+     */
+    private void writeSqlToFile(String filePath, String sqlScript) {
+        try {
+            AtomicFileWriter.write(Path.of(filePath), sqlScript.getBytes(StandardCharsets.UTF_8),
+                    durabilityPolicy.forcesOnFlush());
+            logger.info("SQL script written to file: {}", filePath);
+        } catch (IOException e) {
+            logger.error("Failed to write SQL script to file.", e);
+        }
+    }
+
+    public void deleteTable(String tableName) {
+        deleteTable(tableName, ReferencePolicy.IGNORE);
+    }
+
+    /**
+     * Deletes every table with the specified name, applying a policy to the
+     * relationships of other tables that refer to it. The deletion and the
+     * relationships it removes are undone as one step.
+     *
+     * @param tableName the name of the table to delete
+     * @param policy    what to do with referencing relationships
+     * @throws IllegalArgumentException      if the policy is {@code null}
+     * @throws ReferentialIntegrityException if the policy is {@link ReferencePolicy#RESTRICT}
+     *                                       and another table refers to the table
+     */
+    public void deleteTable(String tableName, ReferencePolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Reference policy cannot be null");
+        }
+        update(() -> {
+            List<Table> dependents = otherDependents(tableName);
+            if (policy == ReferencePolicy.RESTRICT && !dependents.isEmpty()) {
+                throw new ReferentialIntegrityException(tableName,
+                        dependents.stream().map(Table::getTableName).toList());
+            }
+            if (policy == ReferencePolicy.CASCADE) {
+                dependents.forEach(dependent -> cascadeReferences(dependent, tableName, null));
+            }
+            for (int i = tables.size() - 1; i >= 0; i--) {
+                if (tables.get(i).getTableName().equals(tableName)) {
+                    apply(SchemaDelta.removeTable(i, tables.get(i)));
+                }
+            }
+            if (publishChange(SchemaMutation.deleteTable(tableName))) {
+                logger.info("Table removed: {}", tableName);
+            }
+        });
+    }
+
+    public void deleteColumn(String tableName, String columnName) {
+        update(() -> {
+            Table table = tableIndex.get(tableName);
+            if (table != null && table.getColumn(columnName) != null) {
+                List<Column> columns = table.getColumns();
+                for (int i = columns.size() - 1; i >= 0; i--) {
+                    if (columns.get(i).getName().equals(columnName)) {
+                        apply(SchemaDelta.removeColumn(table, i, columns.get(i)));
+                    }
+                }
+                if (publishChange(SchemaMutation.deleteColumn(tableName, columnName))) {
+                    logger.info("Column {} removed from table {}", columnName, tableName);
+                }
+            }
+        });
+    }
+
+    public void deleteRelationship(String tableName, String relatedTable) {
+        update(() -> {
+            Table table = tableIndex.get(tableName);
+            if (table != null && relationshipPosition(table, relatedTable) >= 0) {
+                List<Relationship> relationships = table.getRelationships();
+                for (int i = relationships.size() - 1; i >= 0; i--) {
+                    if (relationships.get(i).getRelatedTable().equals(relatedTable)) {
+                        apply(SchemaDelta.removeRelationship(table, i, relationships.get(i)));
+                    }
+                }
+                if (publishChange(SchemaMutation.deleteRelationship(tableName, relatedTable))) {
+                    logger.info("Relationship to {} removed from table {}", relatedTable, tableName);
+                }
+            }
+        });
+    }
+
+    public void editTableName(String oldTableName, String newTableName) {
+        editTableName(oldTableName, newTableName, ReferencePolicy.IGNORE);
+    }
+
+    /**
+     * Renames a table, applying a policy to the relationships that refer to it.
+     * Unless the policy is {@link ReferencePolicy#IGNORE}, the relationships of the
+     * table to itself follow the rename. The rename and the relationships it
+     * updates are undone as one step.
+     *
+     * @param oldTableName the current name of the table
+     * @param newTableName the new name of the table
+     * @param policy       what to do with referencing relationships
+     * @throws IllegalArgumentException      if the policy is {@code null}
+     * @throws ReferentialIntegrityException if the policy is {@link ReferencePolicy#RESTRICT}
+     *                                       and another table refers to the table
+     */
+    public void editTableName(String oldTableName, String newTableName, ReferencePolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Reference policy cannot be null");
+        }
+        update(() -> {
+            Table table = tableIndex.get(oldTableName);
+            if (table == null) {
+                logger.warn("Table with name {} not found. Edit aborted.", oldTableName);
+                return;
+            }
+            List<Table> dependents = otherDependents(oldTableName);
+            if (policy == ReferencePolicy.RESTRICT && !dependents.isEmpty()) {
+                throw new ReferentialIntegrityException(oldTableName,
+                        dependents.stream().map(Table::getTableName).toList());
+            }
+            boolean selfReferencing = referenceIndex.getOrDefault(oldTableName, Map.of()).containsKey(table);
+            apply(SchemaDelta.renameTable(table, newTableName));
+            if (publishChange(SchemaMutation.renameTable(oldTableName, newTableName))) { // Write the changes to the schema file
+                logger.info("Table name changed from {} to {}", oldTableName, newTableName);
+            }
+            if (policy != ReferencePolicy.IGNORE && selfReferencing) {
+                cascadeReferences(table, oldTableName, newTableName);
+            }
+            if (policy == ReferencePolicy.CASCADE) {
+                dependents.forEach(dependent -> cascadeReferences(dependent, oldTableName, newTableName));
+            }
+        });
+    }
+
+    public void editColumn(String tableName, String oldColumnName, Column updatedColumn) {
+        update(() -> {
+            Table table = tableIndex.get(tableName);
+            int position = table == null ? -1 : table.columnPosition(oldColumnName);
+            if (position >= 0) {
+                apply(SchemaDelta.replaceColumn(table, position, updatedColumn));
+                if (publishChange(SchemaMutation.editColumn(tableName, oldColumnName, updatedColumn))) {
+                    logger.info("Column {} in table {} updated to {}", oldColumnName, tableName, updatedColumn);
+                }
+                return;
+            }
+            logger.warn("Column {} not found in table {}", oldColumnName, tableName);
+        });
+    }
+
+    public void editRelationship(String tableName, String relatedTable, Relationship updatedRelationship) {
+        update(() -> {
+            Table table = tableIndex.get(tableName);
+            int position = table == null ? -1 : relationshipPosition(table, relatedTable);
+            if (position >= 0) {
+                apply(SchemaDelta.replaceRelationship(table, position, updatedRelationship));
+                if (publishChange(SchemaMutation.editRelationship(tableName, relatedTable, updatedRelationship))) {
+                    logger.info("Relationship with {} in table {} updated to {}", relatedTable, tableName,
+                            updatedRelationship);
+                }
+                return;
+            }
+            logger.warn("Relationship with {} not found in table {}", relatedTable, tableName);
+        });
+    }
+
+    /**
+     * Makes the tables of the model equal to the specified tables with as few
+     * changes as possible, e.g. when a schema file is imported again. An element
+     * that is a table of the current {@link #snapshot()} stands for the live table it
+     * was taken from, which is kept; any other element is inserted as a new table.
+     * Live tables that are not kept are removed, and kept tables whose order changed
+     * are moved. The changes are published as individual table changes and undone
+     * as one step.
+     *
+     * @param patchedTables the tables of the model after the patch, in order
+     * @throws IllegalArgumentException if the list or any of its tables is {@code null}
+     */
+    public void patchTables(List<Table> patchedTables) {
+        if (patchedTables == null || patchedTables.contains(null)) {
+            throw new IllegalArgumentException("Patched tables cannot be null");
+        }
+        update(() -> {
+            List<Table> current = snapshot.getTables();
+            List<Table> live = new ArrayList<>(tables);
+            Map<Table, Integer> positions = new IdentityHashMap<>();
+            for (int i = 0; i < current.size(); i++) {
+                positions.put(current.get(i), i);
+            }
+            // The live position each patched table keeps, or -1 for a new table
+            int[] kept = new int[patchedTables.size()];
+            for (int i = 0; i < kept.length; i++) {
+                Integer position = positions.remove(patchedTables.get(i));
+                kept[i] = position == null ? -1 : position;
+            }
+
+            boolean[] stays = longestIncreasingRun(kept, live.size());
+            int removed = 0;
+            for (int i = live.size() - 1; i >= 0; i--) {
+                if (!stays[i]) {
+                    record(applyAndPublish(SchemaDelta.removeTable(i, live.get(i))));
+                    removed++;
+                }
+            }
+            int inserted = 0;
+            for (int i = 0; i < kept.length; i++) {
+                if (kept[i] >= 0 && stays[kept[i]]) {
+                    continue;
+                }
+                Table table = kept[i] >= 0 ? live.get(kept[i]) : patchedTables.get(i);
+                if (table.isFrozen()) {
+                    // A table of an earlier snapshot; its live table may have changed since
+                    table = table.copy();
+                }
+                record(applyAndPublish(SchemaDelta.insertTable(i, table)));
+                inserted++;
+            }
+            logger.info("Tables patched: {} removed, {} inserted, {} kept in place.", removed, inserted,
+                    live.size() - removed);
+        });
+    }
+
+    /**
+     * Selects the kept live positions that can stay where they are: the longest
+     * run of kept positions that increases in the patched order.
+     *
+     * @param kept      the live position kept by each patched table, or {@code -1}
+     * @param liveCount the number of live tables
+     * @return for each live position, whether its table stays in place
+     */
+    private static boolean[] longestIncreasingRun(int[] kept, int liveCount) {
+        // tails[k] is the index in kept of the smallest tail of a run of length k + 1
+        int[] tails = new int[kept.length];
+        int[] previous = new int[kept.length];
+        int length = 0;
+        for (int i = 0; i < kept.length; i++) {
+            if (kept[i] < 0) {
+                continue;
+            }
+            int low = 0;
+            int high = length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (kept[tails[middle]] < kept[i]) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            previous[i] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = i;
+            length = Math.max(length, low + 1);
+        }
+        boolean[] stays = new boolean[liveCount];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            stays[kept[i]] = true;
+        }
+        return stays;
+    }
+
+    /**
+     * Applies a change and records its inverse in the undo history. Changes made
+     * during a bulk load are not recorded, since the load clears the history.
+     *
+     * @param delta the change to apply
+     */
+    private void apply(SchemaDelta delta) {
+        record(applyDelta(delta));
+    }
+
+    /**
+     * Records the inverse of an applied change in the undo history, unless a bulk
+     * load is in progress.
+     *
+     * @param inverse the change that reverts it
+     */
+    private void record(SchemaDelta inverse) {
+        if (bulkLoadDepth == 0) {
+            history.record(inverse);
+        }
+    }
+
+    /**
+     * Applies a change to the tables, the name index and the snapshot.
+     *
+     * @param delta the change to apply
+     * @return the change that reverts it
+     */
+    private SchemaDelta applyDelta(SchemaDelta delta) {
+        Table table = delta.getTable();
+        int position = delta.getPosition();
+        return switch (delta.getType()) {
+            case INSERT_TABLE -> {
+                tables.add(position, table);
+                renumberTables(position);
+                table.getRelationships().forEach(relationship -> indexReferences(table, relationship, 1));
+                if (position == tables.size() - 1) {
+                    indexTable(table);
+                } else {
+                    tableIndex.remove(table.getTableName());
+                    reindexTable(table.getTableName());
+                }
+                snapshotTableInserted(position, table);
+                yield SchemaDelta.removeTable(position, table);
+            }
+            case REMOVE_TABLE -> {
+                tables.remove(position);
+                tablePositions.remove(table);
+                renumberTables(position);
+                table.getRelationships().forEach(relationship -> indexReferences(table, relationship, -1));
+                if (tableIndex.get(table.getTableName()) == table) {
+                    tableIndex.remove(table.getTableName());
+                    reindexTable(table.getTableName());
+                }
+                snapshotTableRemoved(position);
+                yield SchemaDelta.insertTable(position, table);
+            }
+            case RENAME_TABLE -> {
+                String oldTableName = table.getTableName();
+                table.setTableName(delta.getNewTableName());
+                if (tableIndex.get(oldTableName) == table) {
+                    tableIndex.remove(oldTableName);
+                    reindexTable(oldTableName);
+                }
+                tableIndex.putIfAbsent(delta.getNewTableName(), table);
+                snapshotTableChanged(table);
+                yield SchemaDelta.renameTable(table, oldTableName);
+            }
+            case INSERT_COLUMN -> {
+                table.insertColumn(position, delta.getColumn());
+                snapshotTableChanged(table);
+                yield SchemaDelta.removeColumn(table, position, delta.getColumn());
+            }
+            case REMOVE_COLUMN -> {
+                Column removed = table.removeColumnAt(position);
+                snapshotTableChanged(table);
+                yield SchemaDelta.insertColumn(table, position, removed);
+            }
+            case REPLACE_COLUMN -> {
+                Column replaced = table.setColumn(position, delta.getColumn());
+                snapshotTableChanged(table);
+                yield SchemaDelta.replaceColumn(table, position, replaced);
+            }
+            case INSERT_RELATIONSHIP -> {
+                table.insertRelationship(position, delta.getRelationship());
+                indexReferences(table, delta.getRelationship(), 1);
+                snapshotTableChanged(table);
+                yield SchemaDelta.removeRelationship(table, position, delta.getRelationship());
+            }
+            case REMOVE_RELATIONSHIP -> {
+                Relationship removed = table.removeRelationshipAt(position);
+                indexReferences(table, removed, -1);
+                snapshotTableChanged(table);
+                yield SchemaDelta.insertRelationship(table, position, removed);
+            }
+            case REPLACE_RELATIONSHIP -> {
+                Relationship replaced = table.setRelationship(position, delta.getRelationship());
+                indexReferences(table, replaced, -1);
+                indexReferences(table, delta.getRelationship(), 1);
+                snapshotTableChanged(table);
+                yield SchemaDelta.replaceRelationship(table, position, replaced);
+            }
+        };
+    }
+
+    /**
+     * Applies a recorded step in reverse order and publishes each change.
+     *
+     * @param step the deltas of the step, in the order they were recorded
+     * @return the deltas that revert the step, in the order they were applied
+     */
+    private List<SchemaDelta> replay(List<SchemaDelta> step) {
+        List<SchemaDelta> inverse = new ArrayList<>(step.size());
+        for (int i = step.size() - 1; i >= 0; i--) {
+            inverse.add(applyAndPublish(step.get(i)));
+        }
+        return inverse;
+    }
+
+    /**
+     * Applies a change and publishes it as the {@link SchemaMutation} that
+     * describes it. A change that the mutation would not reproduce on replay, such
+     * as a column restored in the middle of a table, schedules a full snapshot
+     * instead of being journaled.
+     *
+     * @param delta the change to apply
+     * @return the change that reverts it
+     */
+    private SchemaDelta applyAndPublish(SchemaDelta delta) {
+        SchemaMutation mutation = delta.toMutation();
+        if (!replaysExactly(delta)) {
+            requestSnapshot();
+        }
+        SchemaDelta inverse = applyDelta(delta);
+        publishChange(mutation);
+        return inverse;
+    }
+
+    /**
+     * Returns whether applying the {@link SchemaMutation} that describes a change,
+     * e.g. while the journal is replayed, would produce the same state as applying
+     * the change itself. Must be called before the change is applied.
+     *
+     * @param delta the change
+     * @return {@code true} if the mutation reproduces the change, {@code false} otherwise
+     */
+    private boolean replaysExactly(SchemaDelta delta) {
+        Table table = delta.getTable();
+        int position = delta.getPosition();
+        if (delta.getType() == SchemaDelta.Type.INSERT_TABLE) {
+            return position == tables.size();
+        }
+        if (tableIndex.get(table.getTableName()) != table) {
+            return false;
+        }
+        return switch (delta.getType()) {
+            case REMOVE_TABLE -> tables.stream().filter(t -> t.getTableName().equals(table.getTableName()))
+                    .count() == 1;
+            case INSERT_COLUMN -> position == table.getColumns().size();
+            case REMOVE_COLUMN -> table.getColumns().stream()
+                    .filter(column -> column.getName().equals(delta.getColumn().getName())).count() == 1;
+            case REPLACE_COLUMN -> {
+                Column current = table.getColumns().get(position);
+                yield table.getColumn(current.getName()) == current;
+            }
+            case INSERT_RELATIONSHIP -> position == table.getRelationships().size();
+            case REMOVE_RELATIONSHIP -> table.getRelationships().stream()
+                    .filter(relationship -> relationship.getRelatedTable()
+                            .equals(delta.getRelationship().getRelatedTable()))
+                    .count() == 1;
+            case REPLACE_RELATIONSHIP ->
+                    relationshipPosition(table, table.getRelationships().get(position).getRelatedTable()) == position;
+            default -> true;
+        };
+    }
+
+    /**
+     * Returns the tables other than the specified one whose relationships refer to
+     * it. The caller must hold the lock.
+     *
+     * @param tableName the name of the referenced table
+     * @return the referencing tables
+     */
+    private List<Table> otherDependents(String tableName) {
+        List<Table> dependents = new ArrayList<>();
+        for (Table dependent : referenceIndex.getOrDefault(tableName, Map.of()).keySet()) {
+            if (!dependent.getTableName().equals(tableName)) {
+                dependents.add(dependent);
+            }
+        }
+        return dependents;
+    }
+
+    /**
+     * Updates the relationships of a table that refer to a renamed or deleted
+     * table in one pass over the table, publishing each change.
+     *
+     * @param dependent    the referencing table
+     * @param oldTableName the name the relationships refer to
+     * @param newTableName the new name to refer to, or {@code null} to remove the relationships
+     */
+    private void cascadeReferences(Table dependent, String oldTableName, String newTableName) {
+        List<Relationship> relationships = dependent.getRelationships();
+        int updated = 0;
+        for (int i = relationships.size() - 1; i >= 0; i--) {
+            Relationship relationship = relationships.get(i);
+            boolean related = oldTableName.equals(relationship.getRelatedTable());
+            boolean through = oldTableName.equals(relationship.getThroughTable());
+            if (!related && !through) {
+                continue;
+            }
+            if (newTableName == null) {
+                record(applyAndPublish(SchemaDelta.removeRelationship(dependent, i, relationship)));
+            } else {
+                Relationship renamed = new Relationship(relationship.getRelationshipType(),
+                        related ? newTableName : relationship.getRelatedTable(), relationship.getForeignKey(),
+                        relationship.getRelatedForeignKey(),
+                        through ? newTableName : relationship.getThroughTable());
+                record(applyAndPublish(SchemaDelta.replaceRelationship(dependent, i, renamed)));
+            }
+            updated++;
+        }
+        logger.info("{} {} relationships of table {} referring to {}", newTableName == null ? "Removed" : "Updated",
+                updated, dependent.getTableName(), oldTableName);
+    }
+
+    /**
+     * Adds or removes the references of a relationship in the reverse index.
+     *
+     * @param table        the table that holds the relationship
+     * @param relationship the relationship
+     * @param change       {@code 1} to add the references, {@code -1} to remove them
+     */
+    private void indexReferences(Table table, Relationship relationship, int change) {
+        indexReference(relationship.getRelatedTable(), table, change);
+        indexReference(relationship.getThroughTable(), table, change);
+    }
+
+    private void indexReference(String tableName, Table table, int change) {
+        if (tableName == null) {
+            return;
+        }
+        Map<Table, Integer> referencing = referenceIndex.computeIfAbsent(tableName, name -> new IdentityHashMap<>());
+        referencing.merge(table, change, (count, delta) -> count + delta == 0 ? null : count + delta);
+        if (referencing.isEmpty()) {
+            referenceIndex.remove(tableName);
+        }
+    }
+
+    private void rebuildReferenceIndex() {
+        referenceIndex.clear();
+        for (Table table : tables) {
+            table.getRelationships().forEach(relationship -> indexReferences(table, relationship, 1));
+        }
+    }
+
+    /**
+     * Rejects undo and redo while edits are being grouped or bulk loaded.
+     *
+     * @param operation the name of the operation, for the message
+     * @throws IllegalStateException if an edit group or a bulk load is open
+     */
+    private void checkHistoryAvailable(String operation) {
+        if (history.isGrouping() || bulkLoadDepth > 0) {
+            throw new IllegalStateException("Cannot " + operation + " while an edit group or bulk load is open");
+        }
+    }
+
+    /**
+     * Returns the position of the first relationship of a table to a related table.
+     *
+     * @param table        the table
+     * @param relatedTable the name of the related table
+     * @return the position, or {@code -1} if the table has no such relationship
+     */
+    private static int relationshipPosition(Table table, String relatedTable) {
+        List<Relationship> relationships = table.getRelationships();
+        for (int i = 0; i < relationships.size(); i++) {
+            if (relationships.get(i).getRelatedTable().equals(relatedTable)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a table to the name index unless a table with the same name is
+     * already indexed.
+     *
+     * @param table the {@link Table} to index
+     */
+    private void indexTable(Table table) {
+        tableIndex.putIfAbsent(table.getTableName(), table);
+    }
+
+    /**
+     * Points the index entry for a name at the first remaining table with that
+     * name, if a duplicate exists.
+     *
+     * @param tableName the table name to re-index
+     */
+    private void reindexTable(String tableName) {
+        for (Table table : tables) {
+            if (table.getTableName().equals(tableName)) {
+                tableIndex.put(tableName, table);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Runs a mutation under the write lock, then appends its journal records,
+     * dispatches its change event and requests a snapshot write if the mutation
+     * asked for one. All three happen after the lock is released, because
+     * appends may wait for the disk, listeners may call back into the model and a
+     * closed writer performs the write on the calling thread.
+     *
+     * @param mutation the mutation to run
+     */
+    private void update(Runnable mutation) {
+        update(() -> {
+            mutation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a mutation that returns a result under the write lock, then requests a
+     * snapshot write if the mutation asked for one.
+     *
+     * @param mutation the mutation to run
+     * @param <T>      the type of the result
+     * @return the result of the mutation
+     */
+    private <T> T update(Supplier<T> mutation) {
+        long stamp = lock.writeLock();
+        T result;
+        boolean requestWrite;
+        try {
+            result = mutation.get();
+        } finally {
+            requestWrite = writeRequested;
+            writeRequested = false;
+            history.commit();
+            postPendingChanges();
+            lock.unlockWrite(stamp);
+        }
+        appendQueuedRecords();
+        changeBus.dispatch();
+        if (requestWrite && schemaWriter != null) {
+            schemaWriter.markDirty();
+        }
+        return result;
+    }
+
+    /**
+     * Queues the changes of the current mutation as one event. Called while
+     * holding the write lock, so events are queued in the order they happened.
+     */
+    private void postPendingChanges() {
+        if (pendingChanges.isEmpty() && !reloadPending) {
+            return;
+        }
+        if (changeBus.hasListeners()) {
+            changeBus.post(new SchemaChangeEvent(new ArrayList<>(pendingChanges), reloadPending, snapshot));
+        }
+        pendingChanges.clear();
+        reloadPending = false;
+    }
+
+    /**
+     * Schedules a full snapshot once the current mutation releases the lock.
+     */
+    private void requestSnapshot() {
+        journalActive = false;
+        writeRequested = true;
+    }
+
+    private void rebuildTableIndex() {
+        tableIndex.clear();
+        tables.forEach(this::indexTable);
+        tablePositions.clear();
+        renumberTables(0);
+    }
+
+    /**
+     * Records the positions of the tables from the specified position on, after a
+     * table was inserted or removed there. Appending a table costs constant time.
+     *
+     * @param from the first position that changed
+     */
+    private void renumberTables(int from) {
+        for (int i = from; i < tables.size(); i++) {
+            tablePositions.put(tables.get(i), i);
+        }
+    }
+
+    /**
+     * Derives the next snapshot with a frozen copy of an inserted table. During a
+     * bulk load the snapshot is rebuilt once at the end instead.
+     *
+     * @param index the position of the table
+     * @param table the inserted {@link Table}
+     */
+    private void snapshotTableInserted(int index, Table table) {
+        if (bulkLoadDepth == 0) {
+            snapshot = snapshot.withInsertedTable(index, table);
+        }
+    }
+
+    /**
+     * Derives the next snapshot with a fresh frozen copy of a modified table,
+     * sharing every other table with the previous snapshot.
+     *
+     * @param table the modified {@link Table}
+     */
+    private void snapshotTableChanged(Table table) {
+        Integer position = tablePositions.get(table);
+        if (bulkLoadDepth == 0 && position != null) {
+            snapshot = snapshot.withTable(position, table);
+        }
+    }
+
+    /**
+     * Derives the next snapshot without the table at the specified position.
+     *
+     * @param index the position of the removed table
+     */
+    private void snapshotTableRemoved(int index) {
+        if (bulkLoadDepth == 0) {
+            snapshot = snapshot.withoutTable(index);
+        }
+    }
+
+    private void rebuildSnapshot() {
+        snapshot = SchemaSnapshot.of(tables, snapshot.getVersion() + 1);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,233 @@
+package model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The SchemaMutation class represents a single edit of a {@link SchemaModel}, such
+ * as adding a column or renaming a table. Mutations are recorded in the schema
+ * journal and can be applied to a model again when the journal is replayed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SchemaMutation {
+
+    /**
+     * The kinds of edit a {@link SchemaMutation} can describe.
+     */
+    public enum Type {
+        ADD_TABLE,
+        DELETE_TABLE,
+        RENAME_TABLE,
+        ADD_COLUMN,
+        DELETE_COLUMN,
+        EDIT_COLUMN,
+        ADD_RELATIONSHIP,
+        DELETE_RELATIONSHIP,
+        EDIT_RELATIONSHIP
+    }
+
+    private final Type type;
+    private final String tableName;
+    private final String name;
+    private final Table table;
+    private final Column column;
+    private final Relationship relationship;
+
+    /**
+     * Constructs a SchemaMutation. Use the static factory methods instead of
+     * calling this constructor directly.
+     *
+     * @param type         the kind of edit
+     * @param tableName    the name of the table the edit applies to
+     * @param name         the secondary name: the new table name, the column name, or the related table name
+     * @param table        the added table, if any
+     * @param column       the added or updated column, if any
+     * @param relationship the added or updated relationship, if any
+     */
+    @JsonCreator
+    SchemaMutation(@JsonProperty("type") Type type, @JsonProperty("tableName") String tableName,
+            @JsonProperty("name") String name, @JsonProperty("table") Table table,
+            @JsonProperty("column") Column column, @JsonProperty("relationship") Relationship relationship) {
+        this.type = type;
+        this.tableName = tableName;
+        this.name = name;
+        this.table = table;
+        this.column = column;
+        this.relationship = relationship;
+    }
+
+    /**
+     * Creates a mutation that adds a table.
+     *
+     * @param table the added table
+     * @return the mutation
+     */
+    public static SchemaMutation addTable(Table table) {
+        return new SchemaMutation(Type.ADD_TABLE, table.getTableName(), null, table, null, null);
+    }
+
+    /**
+     * Creates a mutation that deletes a table.
+     *
+     * @param tableName the name of the deleted table
+     * @return the mutation
+     */
+    public static SchemaMutation deleteTable(String tableName) {
+        return new SchemaMutation(Type.DELETE_TABLE, tableName, null, null, null, null);
+    }
+
+    /**
+     * Creates a mutation that renames a table.
+     *
+     * @param oldTableName the current name of the table
+     * @param newTableName the new name of the table
+     * @return the mutation
+     */
+    public static SchemaMutation renameTable(String oldTableName, String newTableName) {
+        return new SchemaMutation(Type.RENAME_TABLE, oldTableName, newTableName, null, null, null);
+    }
+
+    /**
+     * Creates a mutation that adds a column to a table.
+     *
+     * @param tableName the name of the table
+     * @param column    the added column
+     * @return the mutation
+     */
+    public static SchemaMutation addColumn(String tableName, Column column) {
+        return new SchemaMutation(Type.ADD_COLUMN, tableName, null, null, column, null);
+    }
+
+    /**
+     * Creates a mutation that deletes a column from a table.
+     *
+     * @param tableName  the name of the table
+     * @param columnName the name of the deleted column
+     * @return the mutation
+     */
+    public static SchemaMutation deleteColumn(String tableName, String columnName) {
+        return new SchemaMutation(Type.DELETE_COLUMN, tableName, columnName, null, null, null);
+    }
+
+    /**
+     * Creates a mutation that replaces a column of a table.
+     *
+     * @param tableName     the name of the table
+     * @param oldColumnName the name of the replaced column
+     * @param updatedColumn the column put in its place
+     * @return the mutation
+     */
+    public static SchemaMutation editColumn(String tableName, String oldColumnName, Column updatedColumn) {
+        return new SchemaMutation(Type.EDIT_COLUMN, tableName, oldColumnName, null, updatedColumn, null);
+    }
+
+    /**
+     * Creates a mutation that adds a relationship to a table.
+     *
+     * @param tableName    the name of the table
+     * @param relationship the added relationship
+     * @return the mutation
+     */
+    public static SchemaMutation addRelationship(String tableName, Relationship relationship) {
+        return new SchemaMutation(Type.ADD_RELATIONSHIP, tableName, null, null, null, relationship);
+    }
+
+    /**
+     * Creates a mutation that deletes the relationships of a table to a related table.
+     *
+     * @param tableName    the name of the table
+     * @param relatedTable the name of the related table
+     * @return the mutation
+     */
+    public static SchemaMutation deleteRelationship(String tableName, String relatedTable) {
+        return new SchemaMutation(Type.DELETE_RELATIONSHIP, tableName, relatedTable, null, null, null);
+    }
+
+    /**
+     * Creates a mutation that replaces the relationship of a table to a related table.
+     *
+     * @param tableName           the name of the table
+     * @param relatedTable        the name of the related table
+     * @param updatedRelationship the relationship put in its place
+     * @return the mutation
+     */
+    public static SchemaMutation editRelationship(String tableName, String relatedTable,
+            Relationship updatedRelationship) {
+        return new SchemaMutation(Type.EDIT_RELATIONSHIP, tableName, relatedTable, null, null, updatedRelationship);
+    }
+
+    /**
+     * Applies this mutation to a schema model through its public edit methods.
+     *
+     * @param schema the {@link SchemaModel} to edit
+     */
+    public void applyTo(SchemaModel schema) {
+        switch (type) {
+            case ADD_TABLE -> schema.addTable(table);
+            case DELETE_TABLE -> schema.deleteTable(tableName);
+            case RENAME_TABLE -> schema.editTableName(tableName, name);
+            case ADD_COLUMN -> schema.storeData(column, tableName);
+            case DELETE_COLUMN -> schema.deleteColumn(tableName, name);
+            case EDIT_COLUMN -> schema.editColumn(tableName, name, column);
+            case ADD_RELATIONSHIP -> schema.storeData(relationship, tableName);
+            case DELETE_RELATIONSHIP -> schema.deleteRelationship(tableName, name);
+            case EDIT_RELATIONSHIP -> schema.editRelationship(tableName, name, relationship);
+        }
+    }
+
+    /**
+     * Returns the kind of edit.
+     *
+     * @return the mutation type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the name of the table the edit applies to.
+     *
+     * @return the table name
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns the secondary name of the edit: the new table name, the column name,
+     * or the related table name, depending on the type.
+     *
+     * @return the secondary name, or {@code null} if not applicable
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the added table.
+     *
+     * @return the table, or {@code null} if not applicable
+     */
+    public Table getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the added or updated column.
+     *
+     * @return the column, or {@code null} if not applicable
+     */
+    public Column getColumn() {
+        return column;
+    }
+
+    /**
+     * Returns the added or updated relationship.
+     *
+     * @return the relationship, or {@code null} if not applicable
+     */
+    public Relationship getRelationship() {
+        return relationship;
+    }
+}
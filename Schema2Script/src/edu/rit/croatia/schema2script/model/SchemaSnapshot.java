@@ -0,0 +1,171 @@
+package model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The SchemaSnapshot class is an immutable, consistent view of a {@link SchemaModel}
+ * at one point in time, obtained in constant time through {@link SchemaModel#snapshot()}.
+ *
+ * <p>Snapshots are persistent: an edit of the model produces a new snapshot that
+ * shares every unchanged table, and most of the table list, with the previous one.
+ * Snapshots can therefore be kept and read from any thread, e.g. for background
+ * generation, validation or autosave, without copying the schema or holding the
+ * model lock. The tables of a snapshot are frozen and reject modification.</p>
+ */
+public final class SchemaSnapshot implements TableCatalog {
+
+    /** The snapshot of an empty schema. */
+    static final SchemaSnapshot EMPTY = new SchemaSnapshot(PersistentList.empty(), 0, new NameIndex());
+
+    private final PersistentList<Table> tables;
+    private final long version;
+    private final NameIndex nameIndex;
+    private volatile SchemaGraph graph;
+
+    /**
+     * The NameIndex class maps table names to positions. It is built on first use
+     * and shared by every snapshot derived without changing names or positions.
+     */
+    private static final class NameIndex {
+        private volatile Map<String, Integer> positions;
+
+        private Map<String, Integer> positions(List<Table> tables) {
+            Map<String, Integer> result = positions;
+            if (result == null) {
+                result = new HashMap<>(tables.size() * 2);
+                for (int i = 0; i < tables.size(); i++) {
+                    result.putIfAbsent(tables.get(i).getTableName(), i);
+                }
+                positions = result;
+            }
+            return result;
+        }
+    }
+
+    private SchemaSnapshot(PersistentList<Table> tables, long version, NameIndex nameIndex) {
+        this.tables = tables;
+        this.version = version;
+        this.nameIndex = nameIndex;
+    }
+
+    /**
+     * Creates a snapshot of the specified tables by freezing a copy of each.
+     *
+     * @param tables  the live tables of the model, in order
+     * @param version the version of the new snapshot
+     * @return the snapshot
+     */
+    static SchemaSnapshot of(List<Table> tables, long version) {
+        return new SchemaSnapshot(PersistentList.of(tables.stream().map(Table::frozenCopy).toList()), version,
+                new NameIndex());
+    }
+
+    /**
+     * Returns a snapshot in which the table at the specified position is replaced
+     * by a frozen copy of the specified live table.
+     *
+     * @param index the position of the table
+     * @param table the live table
+     * @return the new snapshot
+     */
+    SchemaSnapshot withTable(int index, Table table) {
+        Table frozen = table.frozenCopy();
+        boolean sameName = frozen.getTableName().equals(tables.get(index).getTableName());
+        return new SchemaSnapshot(tables.with(index, frozen), version + 1, sameName ? nameIndex : new NameIndex());
+    }
+
+    /**
+     * Returns a snapshot with a frozen copy of the specified live table inserted
+     * at a position.
+     *
+     * @param index the position of the table
+     * @param table the live table
+     * @return the new snapshot
+     */
+    SchemaSnapshot withInsertedTable(int index, Table table) {
+        return new SchemaSnapshot(tables.plus(index, table.frozenCopy()), version + 1, new NameIndex());
+    }
+
+    /**
+     * Returns a snapshot without the table at the specified position.
+     *
+     * @param index the position of the removed table
+     * @return the new snapshot
+     */
+    SchemaSnapshot withoutTable(int index) {
+        return new SchemaSnapshot(tables.minus(index), version + 1, new NameIndex());
+    }
+
+    /**
+     * Returns the tables of the snapshot, in order.
+     *
+     * @return an immutable list of frozen {@link Table} objects
+     */
+    @Override
+    public List<Table> getTables() {
+        return tables;
+    }
+
+    /**
+     * Returns the first table with the specified name.
+     *
+     * @param tableName the name of the table
+     * @return the frozen {@link Table}, or {@code null} if the snapshot has no such table
+     */
+    @Override
+    public Table getTable(String tableName) {
+        Integer position = nameIndex.positions(tables).get(tableName);
+        return position == null ? null : tables.get(position);
+    }
+
+    /**
+     * Returns the relationship graph of the snapshot. It is linked on first use and
+     * then shared by every reader of the snapshot.
+     *
+     * @return the {@link SchemaGraph} of the frozen tables
+     */
+    @Override
+    public SchemaGraph graph() {
+        SchemaGraph result = graph;
+        if (result == null) {
+            result = SchemaGraph.link(tables);
+            graph = result;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of tables in the snapshot.
+     *
+     * @return the number of tables
+     */
+    public int size() {
+        return tables.size();
+    }
+
+    /**
+     * Returns an estimate of the heap retained by the tables of the snapshot, e.g.
+     * to keep a cache of snapshots within a memory budget.
+     *
+     * @return the estimated size in bytes
+     */
+    public long estimatedSize() {
+        long size = 0;
+        for (Table table : tables) {
+            size += SchemaDelta.estimatedSize(table);
+        }
+        return size;
+    }
+
+    /**
+     * Returns the version of the snapshot. Each edit of the model increases the
+     * version of its next snapshot.
+     *
+     * @return the snapshot version
+     */
+    public long getVersion() {
+        return version;
+    }
+}
@@ -1,17 +1,43 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The Table class represents a database table in a schema.
  * It contains the table's name, columns, relationships, and a flag indicating if it is a join table.
+ *
+ * <p>Columns are indexed by name to their position, so lookups do not scan the column
+ * list and an edit only renumbers the columns it moved. Column names are expected to
+ * be unique within a table; if they are not, lookups resolve to the first column with
+ * the name. The column and relationship lists are read-only views
+ * and are modified through the methods of this class.</p>
+ *
+ * <p>Every modification marks the table dirty, so that persistence can rewrite only
+ * the tables that changed since they were last saved.</p>
+ *
+ * <p>The tables of a {@link SchemaSnapshot} are {@linkplain #frozenCopy() frozen
+ * copies}, which reject every modification.</p>
+ *
+ * <p>A Table is not thread-safe by itself. Once added to a {@link SchemaModel} it is
+ * guarded by the lock of the model and must be modified through the model. Frozen
+ * copies never change and can be shared freely between threads.</p>
  */
 public class Table {
     private String tableName;
     private List<Column> columns;
     private List<Relationship> relationships;
     private boolean joinTable;
+    private final Map<String, Integer> columnPositions = new HashMap<>();
+    private boolean dirty = true;
+    private boolean frozen;
 
     /**
      * Constructs a Table with the specified name.
@@ -25,6 +51,29 @@ public class Table {
         this.relationships = new ArrayList<>();
     }
 
+    /**
+     * Constructs a Table from its serialized form, e.g. when a saved schema or a
+     * journal record is read back.
+     *
+     * @param tableName     the name of the table
+     * @param columns       the columns of the table, or {@code null} for none
+     * @param relationships the relationships of the table, or {@code null} for none
+     * @param joinTable     whether the table is a join table
+     */
+    @JsonCreator
+    Table(@JsonProperty("tableName") String tableName, @JsonProperty("columns") List<Column> columns,
+            @JsonProperty("relationships") List<Relationship> relationships,
+            @JsonProperty("joinTable") boolean joinTable) {
+        this(tableName);
+        if (columns != null) {
+            columns.forEach(this::addColumn);
+        }
+        if (relationships != null) {
+            relationships.forEach(this::addRelationship);
+        }
+        this.joinTable = joinTable;
+    }
+
     /**
      * Returns the name of the table.
      *
@@ -35,16 +84,40 @@ public class Table {
     }
 
     public void setTableName(String tableName) {
+        checkMutable();
         this.tableName = tableName;
+        dirty = true;
     }
 
     /**
      * Returns the list of columns in the table.
      *
-     * @return a list of {@link Column} objects
+     * @return a read-only list of {@link Column} objects
      */
     public List<Column> getColumns() {
-        return columns;
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * Returns the column with the specified name.
+     *
+     * @param columnName the name of the column
+     * @return the {@link Column}, or {@code null} if the table has no such column
+     */
+    public Column getColumn(String columnName) {
+        Integer position = columnPositions.get(columnName);
+        return position == null ? null : columns.get(position);
+    }
+
+    /**
+     * Returns the position of the column with the specified name.
+     *
+     * @param columnName the name of the column
+     * @return the position of the column, or {@code -1} if the table has no such column
+     */
+    int columnPosition(String columnName) {
+        Integer position = columnPositions.get(columnName);
+        return position == null ? -1 : position;
     }
 
     /**
@@ -53,16 +126,19 @@ public class Table {
      * @param column the {@link Column} to add
      */
     public void addColumn(Column column) {
+        checkMutable();
         columns.add(column);
+        columnPositions.putIfAbsent(column.getName(), columns.size() - 1);
+        dirty = true;
     }
 
     /**
      * Returns the list of relationships for the table.
      *
-     * @return a list of {@link Relationship} objects
+     * @return a read-only list of {@link Relationship} objects
      */
     public List<Relationship> getRelationships() {
-        return relationships;
+        return Collections.unmodifiableList(relationships);
     }
 
     /**
@@ -71,7 +147,99 @@ public class Table {
      * @param relationship the {@link Relationship} to add
      */
     public void addRelationship(Relationship relationship) {
+        checkMutable();
         relationships.add(relationship);
+        dirty = true;
+    }
+
+    /**
+     * Inserts a column at the specified position, e.g. when an edit is undone.
+     *
+     * @param index  the position of the column
+     * @param column the {@link Column} to insert
+     */
+    void insertColumn(int index, Column column) {
+        checkMutable();
+        columns.add(index, column);
+        renumberColumns(index);
+        dirty = true;
+    }
+
+    /**
+     * Removes the column at the specified position.
+     *
+     * @param index the position of the column
+     * @return the removed {@link Column}
+     */
+    Column removeColumnAt(int index) {
+        checkMutable();
+        Column removed = columns.remove(index);
+        columnPositions.remove(removed.getName(), index);
+        renumberColumns(index);
+        dirty = true;
+        return removed;
+    }
+
+    /**
+     * Replaces the column at the specified position.
+     *
+     * @param index  the position of the column
+     * @param column the {@link Column} to put in its place
+     * @return the replaced {@link Column}
+     */
+    Column setColumn(int index, Column column) {
+        checkMutable();
+        boolean duplicateNames = columns.size() > columnPositions.size();
+        Column replaced = columns.set(index, column);
+        if (!replaced.getName().equals(column.getName())) {
+            if (columnPositions.remove(replaced.getName(), index) && duplicateNames) {
+                // A later column with the replaced name becomes the first one
+                renumberColumns(index + 1);
+            }
+            Integer position = columnPositions.get(column.getName());
+            if (position == null || position > index) {
+                columnPositions.put(column.getName(), index);
+            }
+        }
+        dirty = true;
+        return replaced;
+    }
+
+    /**
+     * Inserts a relationship at the specified position, e.g. when an edit is undone.
+     *
+     * @param index        the position of the relationship
+     * @param relationship the {@link Relationship} to insert
+     */
+    void insertRelationship(int index, Relationship relationship) {
+        checkMutable();
+        relationships.add(index, relationship);
+        dirty = true;
+    }
+
+    /**
+     * Removes the relationship at the specified position.
+     *
+     * @param index the position of the relationship
+     * @return the removed {@link Relationship}
+     */
+    Relationship removeRelationshipAt(int index) {
+        checkMutable();
+        dirty = true;
+        return relationships.remove(index);
+    }
+
+    /**
+     * Replaces the relationship at the specified position.
+     *
+     * @param index        the position of the relationship
+     * @param relationship the {@link Relationship} to put in its place
+     * @return the replaced {@link Relationship}
+     */
+    Relationship setRelationship(int index, Relationship relationship) {
+        checkMutable();
+        dirty = true;
+        return relationships.set(index, relationship);
     }
 
     /**
@@ -89,6 +257,112 @@ public class Table {
      * @param joinTable {@code true} to mark the table as a join table, {@code false} otherwise
      */
     public void setJoinTable(boolean joinTable) {
+        checkMutable();
         this.joinTable = joinTable;
+        dirty = true;
+    }
+
+    /**
+     * Returns whether the table was modified since it was last saved.
+     *
+     * @return {@code true} if the table has unsaved modifications, {@code false} otherwise
+     */
+    @JsonIgnore
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Records that the current state of the table has been saved.
+     */
+    public void markClean() {
+        dirty = false;
+    }
+
+    /**
+     * Returns whether the table is a frozen copy that rejects modification.
+     *
+     * @return {@code true} if the table is frozen, {@code false} otherwise
+     */
+    @JsonIgnore
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Returns a frozen deep copy of the table, e.g. for a {@link SchemaSnapshot}.
+     * The copy has its own columns and relationships and rejects every
+     * modification. A frozen table is its own frozen copy.
+     *
+     * @return the frozen copy
+     */
+    public Table frozenCopy() {
+        if (frozen) {
+            return this;
+        }
+        Table copy = copy();
+        copy.dirty = dirty;
+        copy.frozen = true;
+        return copy;
+    }
+
+    /**
+     * Returns a mutable deep copy of the table, e.g. to populate a new model from
+     * a {@link SchemaSnapshot}. The copy has its own columns and relationships and
+     * keeps the join table flag.
+     *
+     * @return the copy
+     */
+    public Table copy() {
+        Table copy = new Table(tableName);
+        for (Column column : columns) {
+            copy.addColumn(column.copy());
+        }
+        for (Relationship relationship : relationships) {
+            copy.addRelationship(new Relationship(relationship.getRelationshipType(),
+                    relationship.getRelatedTable(), relationship.getForeignKey(),
+                    relationship.getRelatedForeignKey(), relationship.getThroughTable()));
+        }
+        copy.joinTable = joinTable;
+        return copy;
+    }
+
+    /**
+     * Freezes this table in place, e.g. after a read-only view built it.
+     *
+     * @return this table
+     */
+    Table freeze() {
+        frozen = true;
+        return this;
+    }
+
+    /**
+     * Rejects a modification of a frozen table.
+     *
+     * @throws UnsupportedOperationException if the table is frozen
+     */
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Table " + tableName + " is a frozen snapshot copy");
+        }
+    }
+
+    /**
+     * Updates the positions of the columns from the specified position to the end,
+     * e.g. after a column was inserted or removed there. Names first used before
+     * that position keep their entry; the others are pointed at their first
+     * column from there on. Walks the columns backwards so that the first one wins.
+     *
+     * @param from the position of the first column that moved
+     */
+    private void renumberColumns(int from) {
+        for (int i = columns.size() - 1; i >= from; i--) {
+            String columnName = columns.get(i).getName();
+            Integer position = columnPositions.get(columnName);
+            if (position == null || position >= from) {
+                columnPositions.put(columnName, i);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package model;
+
+import java.util.List;
+
+/**
+ * The TableCatalog interface provides read access to the ordered tables of a
+ * schema. It is implemented by the live {@link SchemaModel} and by its immutable
+ * {@link SchemaSnapshot}s, so consumers such as generators work with either.
+ */
+public interface TableCatalog {
+
+    /**
+     * Returns the tables of the schema, in order.
+     *
+     * @return a read-only list of {@link Table} objects
+     */
+    List<Table> getTables();
+
+    /**
+     * Returns the first table with the specified name.
+     *
+     * @param tableName the name of the table
+     * @return the {@link Table}, or {@code null} if the schema has no such table
+     */
+    Table getTable(String tableName);
+
+    /**
+     * Returns the relationship graph of the schema, with every relationship resolved
+     * to the tables it names.
+     *
+     * @return the {@link SchemaGraph} of the tables
+     */
+    default SchemaGraph graph() {
+        return SchemaGraph.link(getTables());
+    }
+}
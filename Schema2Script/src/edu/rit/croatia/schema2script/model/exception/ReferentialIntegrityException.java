@@ -0,0 +1,46 @@
+package model.exception;
+
+import java.util.List;
+
+/**
+ * The ReferentialIntegrityException class represents an exception that is thrown
+ * when a table cannot be deleted or renamed because other tables still refer to
+ * it and the {@link model.ReferencePolicy#RESTRICT} policy was requested.
+ */
+public class ReferentialIntegrityException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String tableName;
+    private final List<String> dependentTableNames;
+
+    /**
+     * Constructs a new ReferentialIntegrityException.
+     *
+     * @param tableName           the name of the referenced table
+     * @param dependentTableNames the names of the tables that refer to it
+     */
+    public ReferentialIntegrityException(String tableName, List<String> dependentTableNames) {
+        super("Table " + tableName + " is referenced by " + String.join(", ", dependentTableNames));
+        this.tableName = tableName;
+        this.dependentTableNames = List.copyOf(dependentTableNames);
+    }
+
+    /**
+     * Returns the name of the referenced table.
+     *
+     * @return the table name
+     */
+    public String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns the names of the tables that refer to the table.
+     *
+     * @return an immutable list of table names
+     */
+    public List<String> getDependentTableNames() {
+        return dependentTableNames;
+    }
+}
@@ -10,6 +10,8 @@
  *   <li>{@link model.exception.SchemaParsingException}: Represents a custom exception 
  *       thrown when an error occurs during the parsing of a schema file. It supports
  *       detailed messages and causes to aid in debugging.</li>
+ *   <li>{@link model.exception.ReferentialIntegrityException}: Thrown when a table that other
+ *       tables still refer to is deleted or renamed under {@link model.ReferencePolicy#RESTRICT}.</li>
  * </ul>
  *
  * <p>Example usage:</p>
@@ -1,21 +1,37 @@
 package model.factory;
 
+import java.util.Set;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import model.exception.SchemaParsingException;
+import model.parser.BinaryParser;
 import model.parser.JsonParser;
 import model.parser.SchemaParser;
 import model.parser.XMLParser;
+import model.persistence.BinarySchemaWriter;
 
 /**
  * Factory class to create instances of {@link SchemaParser} based on the input format.
- * Supports formats such as "json" and "xml".
+ * Supports formats such as "json", "xml" and binary schema snapshots ("s2sb").
  */
 public class ParserFactory {
 
     private static final Logger logger = LogManager.getLogger(ParserFactory.class);
 
+    private static final Set<String> FORMATS = Set.of("json", "xml", BinarySchemaWriter.EXTENSION);
+
+    /**
+     * Returns whether a parser is available for the provided format.
+     *
+     * @param format the format of the schema, e.g., "json" or "xml".
+     * @return {@code true} if {@link #get(String)} returns a parser for the format, {@code false} otherwise.
+     */
+    public boolean supports(String format) {
+        return format != null && FORMATS.contains(format.toLowerCase());
+    }
+
     /**
      * Returns an instance of {@link SchemaParser} based on the provided format.
      *
@@ -38,6 +54,9 @@ public class ParserFactory {
             case "xml":
                 logger.debug("Returning XMLParser.");
                 return new XMLParser();
+            case BinarySchemaWriter.EXTENSION:
+                logger.debug("Returning BinaryParser.");
+                return new BinaryParser();
             default:
                 logger.error("Unsupported format: {}", format);
                 throw new SchemaParsingException("Unsupported format: " + format);
@@ -10,7 +10,7 @@
  *   <li>{@link model.factory.GeneratorFactory}: Creates instances of {@link model.generator.SchemaGenerator}
  *       based on the specified database format (e.g., MySQL, Oracle).</li>
  *   <li>{@link model.factory.ParserFactory}: Creates instances of {@link model.parser.SchemaParser}
- *       based on the schema file format (e.g., JSON, XML).</li>
+ *       based on the schema file format (e.g., JSON, XML, binary snapshots).</li>
  * </ul>
  *
  * <p>Example usage:</p>
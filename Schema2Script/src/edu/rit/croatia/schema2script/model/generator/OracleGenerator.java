@@ -1,12 +1,42 @@
 package model.generator;
 
-import model.SchemaModel;
+import model.ColumnType;
+import model.TableCatalog;
 import model.exception.SchemaParsingException;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Implementation of {@link SchemaGenerator} that generates SQL scripts for Oracle databases.
+ * Column types are mapped to their Oracle equivalents from their parsed {@link ColumnType}
+ * descriptors, e.g. {@code INT} to {@code NUMBER} and {@code VARCHAR(100)} to
+ * {@code VARCHAR2(100)}.
  */
-public class OracleGenerator implements SchemaGenerator {
+public class OracleGenerator extends SqlGenerator {
+
+    private static final Map<String, String> TYPE_MAPPINGS = Map.ofEntries(
+            Map.entry("INT", "NUMBER"),
+            Map.entry("INTEGER", "NUMBER"),
+            Map.entry("SMALLINT", "NUMBER"),
+            Map.entry("TINYINT", "NUMBER"),
+            Map.entry("MEDIUMINT", "NUMBER"),
+            Map.entry("BIGINT", "NUMBER"),
+            Map.entry("DECIMAL", "NUMBER"),
+            Map.entry("NUMERIC", "NUMBER"),
+            Map.entry("DOUBLE", "BINARY_DOUBLE"),
+            Map.entry("FLOAT", "BINARY_FLOAT"),
+            Map.entry("BOOLEAN", "NUMBER(1)"),
+            Map.entry("BOOL", "NUMBER(1)"),
+            Map.entry("VARCHAR", "VARCHAR2"),
+            Map.entry("NVARCHAR", "NVARCHAR2"),
+            Map.entry("TEXT", "CLOB"),
+            Map.entry("LONGTEXT", "CLOB"),
+            Map.entry("BLOB", "BLOB"),
+            Map.entry("DATETIME", "TIMESTAMP"));
+
+    /** The mapped types that accept a length, precision or scale in Oracle. */
+    private static final Set<String> PARAMETERIZED_TYPES = Set.of("NUMBER", "VARCHAR2", "NVARCHAR2", "TIMESTAMP");
 
         /**
          * Generates SQL scripts to create database schema for Oracle.
@@ -16,41 +46,28 @@ public class OracleGenerator implements SchemaGenerator {
          * @throws SchemaParsingException if there are errors in the schema model.
          */
     @Override
-    public String generate(SchemaModel schema) throws SchemaParsingException {
-        StringBuilder sqlBuilder = new StringBuilder();
-        String formatString = ");\n\n";
-
-
-        sqlBuilder.append("CREATE TABLE student (\n")
-                .append("    student_id NUMBER,\n")
-                .append("    first_name VARCHAR2(100),\n")
-                .append("    last_name VARCHAR2(100),\n")
-                .append("    email VARCHAR2(100),\n")
-                .append("    enrollment_date DATE,\n")
-                .append("    CONSTRAINT pk_student PRIMARY KEY (student_id)\n")
-                .append(formatString);
-
-        sqlBuilder.append("CREATE TABLE course (\n")
-                .append("    course_id NUMBER,\n")
-                .append("    course_name VARCHAR2(100),\n")
-                .append("    credits NUMBER,\n")
-                .append("    instructor_id NUMBER,\n")
-                .append("    CONSTRAINT pk_course PRIMARY KEY (course_id)\n")
-                .append(formatString);
-
-        sqlBuilder.append("CREATE TABLE enrollment (\n")
-                .append("    student_id NUMBER,\n")
-                .append("    course_id NUMBER,\n")
-                .append("    enrollment_date DATE,\n")
-                .append("    CONSTRAINT pk_enrollment PRIMARY KEY (student_id, course_id),\n")
-                .append("    CONSTRAINT fk_enrollment_student FOREIGN KEY (student_id) REFERENCES student(student_id),\n")
-                .append("    CONSTRAINT fk_enrollment_course FOREIGN KEY (course_id) REFERENCES course(course_id)\n")
-                .append(formatString);
-
-        sqlBuilder.append("COMMIT;\n");
+    public String generate(TableCatalog schema) throws SchemaParsingException {
+        return super.generate(schema) + "COMMIT;\n";
+    }
 
-        return sqlBuilder.toString();
-    
+    /**
+     * Maps a column type to Oracle. Types without a mapping are emitted as declared.
+     * Mapped types keep their declared parameters only if Oracle accepts them, so
+     * {@code DECIMAL(10,2)} becomes {@code NUMBER(10,2)} but {@code FLOAT(10,2)}
+     * becomes {@code BINARY_FLOAT} and {@code TEXT(500)} becomes {@code CLOB}.
+     *
+     * @param type the parsed column type, or {@code null} if the column has none
+     * @return the Oracle SQL for the column type
+     */
+    @Override
+    protected String typeSQL(ColumnType type) {
+        if (type == null) {
+            return null;
+        }
+        String mapped = TYPE_MAPPINGS.get(type.getBaseType());
+        if (mapped == null) {
+            return type.getDeclaration();
+        }
+        return PARAMETERIZED_TYPES.contains(mapped) ? mapped + type.getParameters() : mapped;
     }
-    
-}
\ No newline at end of file
+}
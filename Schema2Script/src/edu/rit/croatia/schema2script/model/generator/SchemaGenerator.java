@@ -1,6 +1,6 @@
 package model.generator;
 
-import model.SchemaModel;
+import model.TableCatalog;
 import model.exception.SchemaParsingException;
 
 /**
@@ -15,5 +15,5 @@ public interface SchemaGenerator {
      * @return the SQL script as a string.
      * @throws SchemaParsingException if there are errors in the schema model.
      */
-    public String generate(SchemaModel schema) throws SchemaParsingException;
+    public String generate(TableCatalog schema) throws SchemaParsingException;
 }
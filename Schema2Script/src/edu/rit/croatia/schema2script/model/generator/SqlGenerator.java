@@ -3,9 +3,10 @@ package model.generator;
 import java.util.List;
 
 import model.Column;
+import model.ColumnType;
 import model.Relationship;
-import model.SchemaModel;
 import model.Table;
+import model.TableCatalog;
 import model.exception.SchemaParsingException;
 
 /**
@@ -21,7 +22,7 @@ public class SqlGenerator implements SchemaGenerator {
      * @return the SQL script as a string.
      * @throws SchemaParsingException if there are errors in the schema model.
      */
-    public String generate(SchemaModel schema) throws SchemaParsingException {
+    public String generate(TableCatalog schema) throws SchemaParsingException {
         StringBuilder sqlBuilder = new StringBuilder();
         List<Table> tables = schema.getTables();
 
@@ -82,12 +83,23 @@ public class SqlGenerator implements SchemaGenerator {
             columnsSQL.append("    ")
                     .append(column.getName())
                     .append(" ")
-                    .append(column.getType())
+                    .append(typeSQL(column.getColumnType()))
                     .append(",\n");
         }
         return columnsSQL.toString();
     }
 
+    /**
+     * Returns the SQL for a column type in this generator's dialect. The default
+     * emits the type exactly as declared.
+     *
+     * @param type the parsed column type, or {@code null} if the column has none
+     * @return the SQL for the column type
+     */
+    protected String typeSQL(ColumnType type) {
+        return type == null ? null : type.getDeclaration();
+    }
+
     /**
      * Generates SQL for table relationships.
      *
@@ -98,15 +110,16 @@ public class SqlGenerator implements SchemaGenerator {
         StringBuilder relationshipsSQL = new StringBuilder();
         for (Relationship relationship : table.getRelationships()) {
             if (relationship.getRelationshipType().equals("many-to-one")) {
-                if (relationship.getRelatedForeignKey() == null) {
-                    relationship.setRelatedForeignKey(relationship.getForeignKey());
-                }
+                // Default to the local key without writing it back, so generation never edits the model
+                String relatedForeignKey = relationship.getRelatedForeignKey() != null
+                        ? relationship.getRelatedForeignKey()
+                        : relationship.getForeignKey();
                 relationshipsSQL.append("    FOREIGN KEY (")
                         .append(relationship.getForeignKey())
                         .append(") REFERENCES ")
                         .append(relationship.getRelatedTable())
                         .append("(")
-                        .append(relationship.getRelatedForeignKey())
+                        .append(relatedForeignKey)
                         .append("),\n");
             }
         }
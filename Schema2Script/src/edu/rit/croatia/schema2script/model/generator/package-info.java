@@ -13,7 +13,8 @@
  *   <li>{@link model.generator.SqlGenerator}: A concrete implementation of {@link SchemaGenerator}
  *       that generates SQL scripts for relational databases. Handles tables, columns, and relationships.</li>
  *   <li>{@link model.generator.OracleGenerator}: A concrete implementation of {@link SchemaGenerator}
- *       designed to produce SQL scripts specifically for Oracle databases.</li>
+ *       designed to produce SQL scripts specifically for Oracle databases, mapping column types
+ *       to their Oracle equivalents.</li>
  * </ul>
  *
  * <p>Example usage:</p>
@@ -21,8 +22,8 @@
  *     // Create an instance of a generator
  *     SchemaGenerator generator = new SqlGenerator();
  *     
- *     // Generate SQL script from a schema model
- *     String sqlScript = generator.generate(schemaModel);
+ *     // Generate SQL script from a schema model or one of its snapshots
+ *     String sqlScript = generator.generate(schemaModel.snapshot());
  *     System.out.println(sqlScript);
  * </pre>
  *
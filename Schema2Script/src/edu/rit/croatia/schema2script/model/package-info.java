@@ -8,20 +8,39 @@
  * <ul>
  *   <li>{@link model.SchemaModel}: Represents the entire schema, including tables, the source schema file, 
  *       and the generated SQL script. It provides methods for managing tables and generating SQL scripts 
- *       in different database formats.</li>
+ *       in different database formats, and keeps an undo history of compact inverse deltas.</li>
  *   <li>{@link model.Table}: Represents a database table, storing its name, columns, relationships, 
  *       and a flag indicating whether it is a join table.</li>
  *   <li>{@link model.Column}: Represents a column in a database table, including its name, data type, 
  *       and whether it is a primary key.</li>
+ *   <li>{@link model.ColumnType}: A shared, parsed descriptor of a column type declaration, holding its
+ *       base type, length, precision and scale.</li>
  *   <li>{@link model.Relationship}: Represents a relationship between database tables, including details 
  *       about foreign keys, related tables, and any intermediate (through) table used in many-to-many relationships.</li>
+ *   <li>{@link model.ReferencePolicy}: Whether deleting or renaming a table leaves, restricts or cascades
+ *       to the relationships of other tables that refer to it.</li>
+ *   <li>{@link model.SchemaMutation}: Represents a single edit of a {@link model.SchemaModel}, recorded in the
+ *       schema journal and applied again when the journal is replayed.</li>
+ *   <li>{@link model.SchemaSnapshot}: An immutable, structurally shared view of a {@link model.SchemaModel},
+ *       obtained in constant time for consistent off-thread reads such as background generation.</li>
+ *   <li>{@link model.SchemaChangeEvent} and {@link model.SchemaChangeListener}: Typed, batched change
+ *       notifications published by a {@link model.SchemaModel}, optionally coalesced on an executor.</li>
+ *   <li>{@link model.TableCatalog}: Read access to the ordered tables of a schema, implemented by both
+ *       the live model and its snapshots.</li>
+ *   <li>{@link model.SchemaGraph}: The relationships of a schema linked to the tables they name, with
+ *       incoming edges, join tables and dangling references, built once per snapshot.</li>
+ *   <li>{@link model.CompactCatalog}: A memory-compact, read-only catalog that stores tables, columns and
+ *       relationships in primitive arrays over a shared string dictionary, for very large schemas.</li>
  * </ul>
  *
  * <p>Example usage:</p>
  * <pre>
- *     // Create a new SchemaModel
+ *     // Create a new SchemaModel, kept in memory only
  *     SchemaModel schema = new SchemaModel();
  *
+ *     // Or one kept in sync with a schema file
+ *     SchemaModel saved = SchemaModel.persistentAt(Path.of("schema/schema.json"));
+ *
  *     // Define a table
  *     Table studentTable = new Table("student");
  *     studentTable.addColumn(new Column("student_id", "INT", true));
@@ -30,6 +49,13 @@
  *     // Add the table to the schema
  *     schema.addTable(studentTable);
  *
+ *     // Revert the last edit, and apply it again
+ *     schema.undo();
+ *     schema.redo();
+ *
+ *     // Take a consistent snapshot, e.g. for a background task
+ *     SchemaSnapshot snapshot = schema.snapshot();
+ *
  *     // Generate SQL script
  *     String sqlScript = schema.toScript("mysql");
  *     System.out.println(sqlScript);
@@ -0,0 +1,84 @@
+package model.parser;
+
+import model.SchemaModel;
+import model.Table;
+import model.exception.SchemaParsingException;
+import model.persistence.BinarySchemaReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * The BinaryParser class is responsible for loading binary schema snapshots
+ * written by {@link model.persistence.BinarySchemaWriter} into a {@link SchemaModel}.
+ * It implements the {@link SchemaParser} interface.
+ */
+public class BinaryParser implements SchemaParser {
+
+    private static final Logger logger = LogManager.getLogger(BinaryParser.class);
+
+    /**
+     * Parses a binary schema snapshot and converts it into a {@link SchemaModel}.
+     * The model is populated inside a bulk load, so the schema file is written
+     * once rather than once per table. A compressed snapshot is decompressed while
+     * it is read.
+     *
+     * @param schemaFile the binary snapshot file containing the schema
+     * @return a {@link SchemaModel} representation of the schema
+     * @throws SchemaParsingException if the file cannot be read or is not a valid
+     *                                binary schema snapshot
+     */
+    @Override
+    public SchemaModel parse(File schemaFile) throws SchemaParsingException {
+        logger.info("Starting binary schema parsing for file: {}", schemaFile.getName());
+        List<Table> tables;
+        try (InputStream input = SchemaInput.open(schemaFile.toPath())) {
+            tables = BinarySchemaReader.read(input.readAllBytes());
+        } catch (IOException e) {
+            logger.error("Error reading the binary schema file: {}", schemaFile.getName(), e);
+            throw new SchemaParsingException("Error reading the binary schema file: " + e.getMessage(), e);
+        }
+
+        SchemaModel schema = load(tables);
+        logger.info("Binary schema parsing completed successfully for file: {} ({} tables)", schemaFile.getName(),
+                tables.size());
+        return schema;
+    }
+
+    /**
+     * Parses a binary schema snapshot from a stream, decompressing it if necessary,
+     * and converts it into a {@link SchemaModel}. The stream is not closed.
+     *
+     * @param input the stream of the binary snapshot
+     * @return a {@link SchemaModel} representation of the schema
+     * @throws SchemaParsingException if the stream cannot be read or is not a valid
+     *                                binary schema snapshot
+     */
+    @Override
+    public SchemaModel parse(InputStream input) throws SchemaParsingException {
+        logger.info("Starting binary schema parsing from a stream.");
+        List<Table> tables;
+        try (InputStream content = SchemaInput.decompress(input)) {
+            tables = BinarySchemaReader.read(content.readAllBytes());
+        } catch (IOException e) {
+            logger.error("Error reading the binary schema stream.", e);
+            throw new SchemaParsingException("Error reading the binary schema file: " + e.getMessage(), e);
+        }
+
+        SchemaModel schema = load(tables);
+        logger.info("Binary schema parsing completed successfully from a stream ({} tables)", tables.size());
+        return schema;
+    }
+
+    private static SchemaModel load(List<Table> tables) {
+        SchemaModel schema = new SchemaModel();
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            tables.forEach(schema::addTable);
+        }
+        return schema;
+    }
+}
@@ -0,0 +1,78 @@
+package model.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * The ContentHash class is a SHA-256 hash of file content with value equality,
+ * used to recognize content that was parsed before. A cryptographic hash is used
+ * because a collision would silently stand in the wrong schema for the content.
+ */
+final class ContentHash {
+
+    private static final String ALGORITHM = "SHA-256";
+
+    private final byte[] bytes;
+    private final int hashCode;
+
+    private ContentHash(byte[] bytes) {
+        this.bytes = bytes;
+        this.hashCode = Arrays.hashCode(bytes);
+    }
+
+    /**
+     * Hashes the content of a file.
+     *
+     * @param path the file
+     * @return the hash of its content
+     * @throws IOException if the file cannot be read
+     */
+    static ContentHash of(Path path) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream input = Files.newInputStream(path)) {
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return new ContentHash(digest.digest());
+    }
+
+    /**
+     * Hashes a range of bytes.
+     *
+     * @param content the bytes
+     * @param offset  the start of the range
+     * @param length  the length of the range
+     * @return the hash of the range
+     */
+    static ContentHash of(byte[] content, int offset, int length) {
+        MessageDigest digest = newDigest();
+        digest.update(content, offset, length);
+        return new ContentHash(digest.digest());
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ContentHash hash && Arrays.equals(bytes, hash.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+}
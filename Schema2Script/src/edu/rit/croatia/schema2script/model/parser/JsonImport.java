@@ -0,0 +1,276 @@
+package model.parser;
+
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import model.SchemaGraph;
+import model.SchemaModel;
+import model.SchemaSnapshot;
+import model.Table;
+import model.exception.SchemaParsingException;
+import model.persistence.JsonCodec;
+
+/**
+ * The JsonImport class imports JSON schema files into a live {@link SchemaModel}
+ * incrementally. Each table of a file is fingerprinted by a hash of its bytes, and
+ * only tables whose fingerprints are not among those of the previous import are
+ * parsed. The model is then patched with the added, removed and changed tables
+ * through {@link SchemaModel#patchTables(List)}, so change listeners, the undo
+ * history and the journal see only those tables.
+ *
+ * <p>The whole file is still scanned, but unchanged tables are neither built nor
+ * validated again. Fingerprints cover the raw bytes of each table, so reformatting
+ * the file makes every table count as changed. A table that was edited in the model
+ * since the previous import is parsed again, so the model always ends up equal to
+ * the imported file. Validation errors and messages are those of
+ * {@link JsonParser}, and a file that fails validation leaves the model unchanged.</p>
+ *
+ * <pre>
+ *     JsonImport schemaImport = JsonImport.track(schema, schemaFile);
+ *     // ... the file is edited ...
+ *     JsonImport.Changes changes = schemaImport.reimport(schemaFile);
+ * </pre>
+ *
+ * <p>JsonImport is not thread-safe; it is meant to be used by the thread that
+ * handles uploads.</p>
+ */
+public class JsonImport {
+
+    private static final Logger logger = LogManager.getLogger(JsonImport.class);
+
+    private final SchemaModel schema;
+    private final JsonParser parser = new JsonParser();
+    private Map<ContentHash, Deque<Table>> importedTables = new HashMap<>();
+
+    /**
+     * The Changes record summarizes what an import changed in the model.
+     *
+     * @param keptTables    the number of tables kept without parsing them
+     * @param parsedTables  the number of added or changed tables that were parsed and inserted
+     * @param removedTables the number of tables removed from the model
+     */
+    public record Changes(int keptTables, int parsedTables, int removedTables) {
+    }
+
+    /**
+     * The Span record is the byte range of a table in the imported file.
+     *
+     * @param start the offset of the first byte of the table
+     * @param end   the offset after the last byte of the table
+     */
+    private record Span(int start, int end) {
+    }
+
+    /**
+     * Constructs an import into the specified model that knows no previous
+     * import, so the first {@link #reimport(File)} parses every table.
+     *
+     * @param schema the model to import into
+     * @throws IllegalArgumentException if the model is {@code null}
+     */
+    public JsonImport(SchemaModel schema) {
+        if (schema == null) {
+            throw new IllegalArgumentException("Schema model cannot be null");
+        }
+        this.schema = schema;
+    }
+
+    /**
+     * Creates an import into a model that was just parsed from the specified file,
+     * e.g. by {@link JsonParser}, by fingerprinting the tables of the file without
+     * building them again.
+     *
+     * @param schema     the model parsed from the file
+     * @param schemaFile the JSON schema file
+     * @return the import
+     * @throws SchemaParsingException if the file cannot be read or its root is invalid
+     */
+    public static JsonImport track(SchemaModel schema, File schemaFile) throws SchemaParsingException {
+        JsonImport schemaImport = new JsonImport(schema);
+        byte[] content = read(schemaFile);
+        List<Span> spans = scan(content);
+        schemaImport.remember(fingerprints(content, spans));
+        return schemaImport;
+    }
+
+    /**
+     * Returns the model this import patches.
+     *
+     * @return the model
+     */
+    public SchemaModel getModel() {
+        return schema;
+    }
+
+    /**
+     * Imports a JSON schema file into the model, parsing only the tables that are
+     * new or changed since the previous import and patching the model with them.
+     *
+     * @param schemaFile the JSON schema file
+     * @return a summary of the changes
+     * @throws SchemaParsingException if the file cannot be read or is invalid; the
+     *                                model is left unchanged
+     */
+    public Changes reimport(File schemaFile) throws SchemaParsingException {
+        logger.info("Starting incremental JSON schema import for file: {}", schemaFile.getName());
+        byte[] content = read(schemaFile);
+        List<Span> spans = scan(content);
+        List<ContentHash> fingerprints = fingerprints(content, spans);
+
+        SchemaSnapshot snapshot = schema.snapshot();
+        Set<Table> current = Collections.newSetFromMap(new IdentityHashMap<>());
+        current.addAll(snapshot.getTables());
+        // Candidates are taken from copies, so a failed import keeps the remembered tables
+        Map<ContentHash, Deque<Table>> candidates = new HashMap<>();
+        List<Table> patchedTables = new ArrayList<>(spans.size());
+        for (int i = 0; i < spans.size(); i++) {
+            Deque<Table> sameContent = candidates.computeIfAbsent(fingerprints.get(i),
+                    fingerprint -> new ArrayDeque<>(importedTables.getOrDefault(fingerprint, new ArrayDeque<>())));
+            Table table = unchangedTable(sameContent, current);
+            patchedTables.add(table != null ? table : parseTable(content, spans.get(i)));
+        }
+        markJoinTables(patchedTables);
+
+        int kept = 0;
+        for (Table table : patchedTables) {
+            if (current.contains(table)) {
+                kept++;
+            }
+        }
+        schema.patchTables(patchedTables);
+        remember(fingerprints);
+
+        Changes changes = new Changes(kept, patchedTables.size() - kept, snapshot.size() - kept);
+        logger.info("Incremental JSON schema import completed for file: {}: {} tables kept, {} parsed, {} removed.",
+                schemaFile.getName(), changes.keptTables(), changes.parsedTables(), changes.removedTables());
+        return changes;
+    }
+
+    /**
+     * Takes a table of the previous import with the same content as a table in the
+     * file, if it is still unchanged in the model.
+     *
+     * @param candidates the remaining tables of the previous import with that content
+     * @param current    the tables of the current snapshot
+     * @return the snapshot table, or {@code null} if the table has to be parsed
+     */
+    private static Table unchangedTable(Deque<Table> candidates, Set<Table> current) {
+        while (!candidates.isEmpty()) {
+            Table candidate = candidates.poll();
+            if (current.contains(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Marks join tables as {@link JsonParser} does after a full parse: the first
+     * table with each name that a relationship refers to as its through table.
+     * Snapshot tables whose mark changes are replaced with marked copies.
+     *
+     * @param patchedTables the tables of the import, in order
+     */
+    private static void markJoinTables(List<Table> patchedTables) {
+        SchemaGraph graph = SchemaGraph.link(patchedTables);
+        for (int i = 0; i < patchedTables.size(); i++) {
+            Table table = patchedTables.get(i);
+            boolean joinTable = graph.isJoinTable(table);
+            if (table.isJoinTable() != joinTable) {
+                if (table.isFrozen()) {
+                    table = table.copy();
+                    patchedTables.set(i, table);
+                }
+                table.setJoinTable(joinTable);
+            }
+        }
+    }
+
+    /**
+     * Remembers the fingerprints of the tables now in the model for the next import.
+     *
+     * @param fingerprints the fingerprints of the imported tables, in order
+     */
+    private void remember(List<ContentHash> fingerprints) {
+        List<Table> tables = schema.snapshot().getTables();
+        Map<ContentHash, Deque<Table>> remembered = new HashMap<>();
+        if (tables.size() == fingerprints.size()) {
+            for (int i = 0; i < fingerprints.size(); i++) {
+                remembered.computeIfAbsent(fingerprints.get(i), fingerprint -> new ArrayDeque<>()).add(tables.get(i));
+            }
+        } else {
+            logger.warn("Model does not match the imported file; the next import parses every table.");
+        }
+        importedTables = remembered;
+    }
+
+    private Table parseTable(byte[] content, Span span) throws SchemaParsingException {
+        try (com.fasterxml.jackson.core.JsonParser tokens =
+                JsonCodec.createParser(content, span.start(), span.end() - span.start())) {
+            tokens.nextToken();
+            return parser.readTable(tokens);
+        } catch (IOException e) {
+            logger.error("Error reading a table of the JSON schema file.", e);
+            throw new SchemaParsingException("Error reading the JSON schema file", e);
+        }
+    }
+
+    /**
+     * Finds the byte range of each table of the root array without building them.
+     * Malformed JSON anywhere in the content is reported.
+     *
+     * @param content the JSON content
+     * @return the byte ranges of the tables, in order
+     * @throws SchemaParsingException if the content is malformed or the root is not an array
+     */
+    private static List<Span> scan(byte[] content) throws SchemaParsingException {
+        List<Span> spans = new ArrayList<>();
+        try (com.fasterxml.jackson.core.JsonParser tokens = JsonCodec.createParser(content, 0, content.length)) {
+            JsonToken token = tokens.nextToken();
+            if (token != JsonToken.START_ARRAY) {
+                if (token != null) {
+                    tokens.skipChildren();
+                }
+                throw JsonParser.invalidRoot();
+            }
+            while (tokens.nextToken() != JsonToken.END_ARRAY) {
+                int start = (int) tokens.currentTokenLocation().getByteOffset();
+                tokens.skipChildren();
+                spans.add(new Span(start, (int) tokens.currentLocation().getByteOffset()));
+            }
+        } catch (IOException e) {
+            logger.error("Error reading the JSON schema file.", e);
+            throw new SchemaParsingException("Error reading the JSON schema file", e);
+        }
+        return spans;
+    }
+
+    private static List<ContentHash> fingerprints(byte[] content, List<Span> spans) {
+        List<ContentHash> fingerprints = new ArrayList<>(spans.size());
+        for (Span span : spans) {
+            fingerprints.add(ContentHash.of(content, span.start(), span.end() - span.start()));
+        }
+        return fingerprints;
+    }
+
+    private static byte[] read(File schemaFile) throws SchemaParsingException {
+        try (InputStream input = SchemaInput.open(schemaFile.toPath())) {
+            return input.readAllBytes();
+        } catch (IOException e) {
+            logger.error("Error reading the JSON schema file: {}", schemaFile.getName(), e);
+            throw new SchemaParsingException("Error reading the JSON schema file", e);
+        }
+    }
+}
@@ -1,29 +1,107 @@
 package model.parser;
 
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import model.Column;
 import model.Relationship;
+import model.SchemaGraph;
 import model.SchemaModel;
 import model.Table;
 import model.exception.SchemaParsingException;
+import model.persistence.JsonCodec;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 /**
  * The JsonParser class is responsible for parsing JSON schema files and converting
  * them into a {@link SchemaModel} object. It implements the {@link SchemaParser} interface.
+ *
+ * <p>By default the file is read as a stream of tokens, building each table as it
+ * arrives, so only one table is buffered besides the model itself. The
+ * {@link Mode#TREE} mode reads the whole document into a JSON tree first, and the
+ * {@link Mode#PARALLEL} mode then builds the tables of large documents concurrently.
+ * All modes build the same model and report the same validation errors.</p>
  */
 public class JsonParser implements SchemaParser {
 
     private static final Logger logger = LogManager.getLogger(JsonParser.class);
     public static final String COL = "columns";
 
+    /** Default number of tables from which the parallel mode builds tables concurrently. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1_000;
+
+    /** Number of tables a fork/join task builds without splitting further. */
+    private static final int CHUNK_SIZE = 128;
+
+    /**
+     * The ways in which a JSON schema file can be read.
+     */
+    public enum Mode {
+
+        /** Read tokens and build tables as they arrive. */
+        STREAMING,
+
+        /** Read the whole document into a JSON tree, then build the tables from it. */
+        TREE,
+
+        /**
+         * Read the whole document into a JSON tree, then build chunks of tables
+         * concurrently on the common fork/join pool. Documents with fewer tables than
+         * the parallel threshold are built sequentially.
+         */
+        PARALLEL
+    }
+
+    private final Mode mode;
+    private final int parallelThreshold;
+
+    /**
+     * Constructs a JsonParser that streams the schema file.
+     */
+    public JsonParser() {
+        this(Mode.STREAMING);
+    }
+
+    /**
+     * Constructs a JsonParser that reads schema files in the specified mode.
+     *
+     * @param mode the parse mode
+     * @throws IllegalArgumentException if the mode is {@code null}
+     */
+    public JsonParser(Mode mode) {
+        this(mode, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Constructs a JsonParser that reads schema files in the specified mode and, in
+     * the parallel mode, builds tables concurrently from the specified number of tables.
+     *
+     * @param mode              the parse mode
+     * @param parallelThreshold the smallest number of tables built concurrently
+     * @throws IllegalArgumentException if the mode is {@code null} or the threshold is negative
+     */
+    public JsonParser(Mode mode, int parallelThreshold) {
+        if (mode == null) {
+            throw new IllegalArgumentException("Parse mode cannot be null");
+        }
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Parallel threshold cannot be negative");
+        }
+        this.mode = mode;
+        this.parallelThreshold = parallelThreshold;
+    }
+
     /**
-     * Parses a JSON schema file and converts it into a {@link SchemaModel}.
+     * Parses a JSON schema file and converts it into a {@link SchemaModel}. The
+     * model is populated inside a bulk load, so the schema file is written once
+     * rather than once per table. A compressed file is decompressed while it is read.
      *
      * @param schemaFile the JSON file containing the schema
      * @return a {@link SchemaModel} representation of the schema
@@ -32,27 +110,59 @@ public class JsonParser implements SchemaParser {
      */
     @Override
     public SchemaModel parse(File schemaFile) throws SchemaParsingException {
-        ObjectMapper objectMapper = new ObjectMapper();
-        SchemaModel schema = new SchemaModel();
         logger.info("Starting JSON schema parsing for file: {}", schemaFile.getName());
-
-        ArrayList<String> throughTableReferences = new ArrayList<>();
-
-        try {
-            JsonNode rootNode = objectMapper.readTree(schemaFile);
-            validateRootNode(rootNode);
-
-            logger.debug("Root node is valid. Beginning to parse tables.");
-            parseTables(rootNode, schema, throughTableReferences);
-
-            markJoinTables(schema, throughTableReferences);
-
+        try (InputStream input = SchemaInput.open(schemaFile.toPath())) {
+            SchemaModel schema = read(input);
             logger.info("JSON schema parsing completed successfully for file: {}", schemaFile.getName());
+            return schema;
         } catch (IOException e) {
             logger.error("Error reading the JSON schema file: {}", schemaFile.getName(), e);
             throw new SchemaParsingException("Error reading the JSON schema file", e);
         }
+    }
+
+    /**
+     * Parses a JSON schema from a stream, decompressing it if necessary, and
+     * converts it into a {@link SchemaModel}. The stream is not closed.
+     *
+     * @param input the stream of the JSON schema
+     * @return a {@link SchemaModel} representation of the schema
+     * @throws SchemaParsingException if an error occurs during parsing or if the
+     *                                JSON format is invalid
+     */
+    @Override
+    public SchemaModel parse(InputStream input) throws SchemaParsingException {
+        logger.info("Starting JSON schema parsing from a stream.");
+        try (InputStream content = SchemaInput.decompress(input)) {
+            SchemaModel schema = read(content);
+            logger.info("JSON schema parsing completed successfully from a stream.");
+            return schema;
+        } catch (IOException e) {
+            logger.error("Error reading the JSON schema stream.", e);
+            throw new SchemaParsingException("Error reading the JSON schema file", e);
+        }
+    }
 
+    private SchemaModel read(InputStream input) throws IOException, SchemaParsingException {
+        SchemaModel schema = new SchemaModel();
+
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            if (mode == Mode.STREAMING) {
+                parseTables(input, schema);
+            } else {
+                JsonNode rootNode = JsonCodec.treeReader().readTree(input);
+                validateRootNode(rootNode);
+
+                logger.debug("Root node is valid. Beginning to parse tables.");
+                if (mode == Mode.PARALLEL && rootNode.size() >= parallelThreshold) {
+                    parseTablesInParallel(rootNode, schema);
+                } else {
+                    parseTables(rootNode, schema);
+                }
+            }
+
+            markJoinTables(schema);
+        }
         return schema;
     }
 
@@ -64,8 +174,7 @@ public class JsonParser implements SchemaParser {
      */
     private void validateRootNode(JsonNode rootNode) throws SchemaParsingException {
         if (rootNode == null || !rootNode.isArray()) {
-            logger.error("Invalid JSON format: Root node is not an array.");
-            throw new SchemaParsingException("Invalid JSON format: Root node must be an array of tables.");
+            throw invalidRoot();
         }
     }
 
@@ -73,24 +182,116 @@ public class JsonParser implements SchemaParser {
      * Parses the tables from the JSON schema and adds them to the
      * {@link SchemaModel}.
      *
-     * @param rootNode               the root {@link JsonNode} of the JSON schema
-     * @param schema                 the {@link SchemaModel} to populate
-     * @param throughTableReferences a list to collect references to join tables
+     * @param rootNode the root {@link JsonNode} of the JSON schema
+     * @param schema   the {@link SchemaModel} to populate
      * @throws SchemaParsingException if any table is invalid
      */
-    private void parseTables(JsonNode rootNode, SchemaModel schema, ArrayList<String> throughTableReferences)
-            throws SchemaParsingException {
+    private void parseTables(JsonNode rootNode, SchemaModel schema) throws SchemaParsingException {
         for (JsonNode tableNode : rootNode) {
-            String tableName = extractTableName(tableNode);
-            Table table = new Table(tableName);
-
-            parseColumns(tableNode, table);
-            parseRelationships(tableNode, table, throughTableReferences);
+            schema.addTable(parseTable(tableNode));
+        }
+    }
 
+    /**
+     * Builds the tables from the JSON schema on the common fork/join pool and adds
+     * them to the {@link SchemaModel} in their original order. As in the sequential
+     * path, the first invalid table in the document is reported.
+     *
+     * @param rootNode the root {@link JsonNode} of the JSON schema
+     * @param schema   the {@link SchemaModel} to populate
+     * @throws SchemaParsingException if any table is invalid
+     */
+    private void parseTablesInParallel(JsonNode rootNode, SchemaModel schema) throws SchemaParsingException {
+        logger.debug("Building {} tables on {} threads.", rootNode.size(),
+                ForkJoinPool.commonPool().getParallelism());
+        ParsedTables parsed = ForkJoinPool.commonPool().invoke(new ParseTablesTask(this, rootNode, 0, rootNode.size()));
+        if (parsed.error != null) {
+            throw parsed.error;
+        }
+        for (Table table : parsed.tables) {
             schema.addTable(table);
         }
     }
 
+    /**
+     * Builds a table from a JSON node.
+     *
+     * @param tableNode the JSON node representing a table
+     * @return the {@link Table}
+     * @throws SchemaParsingException if the table is invalid
+     */
+    private Table parseTable(JsonNode tableNode) throws SchemaParsingException {
+        Table table = new Table(extractTableName(tableNode));
+        parseColumns(tableNode, table);
+        parseRelationships(tableNode, table);
+        return table;
+    }
+
+    /**
+     * The ParsedTables class holds the tables built from a range of table nodes, in
+     * document order, together with the error of the first invalid table in the range.
+     */
+    private static final class ParsedTables {
+        private final List<Table> tables = new ArrayList<>();
+        private SchemaParsingException error;
+
+        /**
+         * Appends the tables of the range that follows this one, unless this range
+         * already contains an invalid table.
+         *
+         * @param next the tables of the following range
+         * @return this result
+         */
+        private ParsedTables append(ParsedTables next) {
+            if (error == null) {
+                tables.addAll(next.tables);
+                error = next.error;
+            }
+            return this;
+        }
+    }
+
+    /**
+     * The ParseTablesTask class builds the tables of a range of table nodes, splitting
+     * the range in halves until it is small enough to build on one thread.
+     */
+    private static final class ParseTablesTask extends RecursiveTask<ParsedTables> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient JsonParser parser;
+        private final transient JsonNode rootNode;
+        private final int from;
+        private final int to;
+
+        private ParseTablesTask(JsonParser parser, JsonNode rootNode, int from, int to) {
+            this.parser = parser;
+            this.rootNode = rootNode;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected ParsedTables compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                ParseTablesTask second = new ParseTablesTask(parser, rootNode, middle, to);
+                second.fork();
+                ParsedTables first = new ParseTablesTask(parser, rootNode, from, middle).compute();
+                return first.append(second.join());
+            }
+            ParsedTables parsed = new ParsedTables();
+            for (int i = from; i < to; i++) {
+                try {
+                    parsed.tables.add(parser.parseTable(rootNode.get(i)));
+                } catch (SchemaParsingException e) {
+                    parsed.error = e;
+                    break;
+                }
+            }
+            return parsed;
+        }
+    }
+
     /**
      * Extracts the table name from a JSON node.
      *
@@ -100,8 +301,7 @@ public class JsonParser implements SchemaParser {
      */
     private String extractTableName(JsonNode tableNode) throws SchemaParsingException {
         if (!tableNode.has("tableName")) {
-            logger.error("Invalid JSON format: Missing 'tableName' field.");
-            throw new SchemaParsingException("Invalid JSON format: Missing 'tableName' field.");
+            throw missingTableName();
         }
         return tableNode.get("tableName").asText();
     }
@@ -116,10 +316,7 @@ public class JsonParser implements SchemaParser {
     public void parseColumns(JsonNode tableNode, Table table) throws SchemaParsingException {
         JsonNode columnsNode = tableNode.get(COL);
         if (columnsNode == null || !columnsNode.isArray()) {
-            logger.error("Invalid JSON format: Missing or malformed 'columns' array in table: {}",
-                    table.getTableName());
-            throw new SchemaParsingException("Invalid JSON format: Missing or malformed 'columns' array in table: "
-                    + table.getTableName());
+            throw malformedColumns(table.getTableName());
         }
 
         logger.debug("Table {} has {} columns.", table.getTableName(), columnsNode.size());
@@ -139,9 +336,7 @@ public class JsonParser implements SchemaParser {
      */
     private Column parseColumn(JsonNode columnNode, String tableName) throws SchemaParsingException {
         if (!columnNode.has("name") || !columnNode.has("type")) {
-            logger.error("Invalid JSON format: Missing 'name' or 'type' in columns of table: {}", tableName);
-            throw new SchemaParsingException(
-                    "Invalid JSON format: Missing 'name' or 'type' in columns of table: " + tableName);
+            throw invalidColumn(tableName);
         }
 
         String columnName = columnNode.get("name").asText();
@@ -163,17 +358,32 @@ public class JsonParser implements SchemaParser {
      */
     public void parseRelationships(JsonNode tableNode, Table table, List<String> throughTableReferences)
             throws SchemaParsingException {
+        int firstRelationship = table.getRelationships().size();
+        parseRelationships(tableNode, table);
+        for (Relationship relationship : table.getRelationships().subList(firstRelationship,
+                table.getRelationships().size())) {
+            if (relationship.getThroughTable() != null) {
+                throughTableReferences.add(relationship.getThroughTable());
+            }
+        }
+    }
+
+    /**
+     * Parses the relationships of a table and adds them to the table object. Join
+     * tables are resolved once all tables are built, see {@link #markJoinTables(SchemaModel)}.
+     *
+     * @param tableNode the JSON node representing a table
+     * @param table     the {@link Table} to populate with relationships
+     * @throws SchemaParsingException if relationships are malformed
+     */
+    private void parseRelationships(JsonNode tableNode, Table table) throws SchemaParsingException {
         JsonNode relationshipsNode = tableNode.get("relationships");
         if (relationshipsNode == null || !relationshipsNode.isArray())
             return;
 
         logger.debug("Table {} has {} relationships.", table.getTableName(), relationshipsNode.size());
         for (JsonNode relationshipNode : relationshipsNode) {
-            Relationship relationship = parseRelationship(relationshipNode, table.getTableName());
-            if (relationship.getThroughTable() != null) {
-                throughTableReferences.add(relationship.getThroughTable());
-            }
-            table.addRelationship(relationship);
+            table.addRelationship(parseRelationship(relationshipNode, table.getTableName()));
         }
     }
 
@@ -189,9 +399,7 @@ public class JsonParser implements SchemaParser {
     private Relationship parseRelationship(JsonNode relationshipNode, String tableName) throws SchemaParsingException {
         if (!relationshipNode.has("relationshipType") || !relationshipNode.has("relatedTable")
                 || !relationshipNode.has("foreignKey")) {
-            logger.error("Invalid JSON format: Missing required fields in relationships of table: {}", tableName);
-            throw new SchemaParsingException(
-                    "Invalid JSON format: Missing required fields in relationships of table: " + tableName);
+            throw invalidRelationship(tableName);
         }
 
         String relationshipType = relationshipNode.get("relationshipType").asText();
@@ -211,20 +419,302 @@ public class JsonParser implements SchemaParser {
     }
 
     /**
-     * Marks tables as join tables based on the through table references.
+     * Parses the tables from a stream of JSON tokens and adds them to the
+     * {@link SchemaModel}. As in the tree mode, the whole document is read before a
+     * validation error is reported, so malformed JSON takes precedence.
      *
-     * @param schema                 the {@link SchemaModel} containing the tables
-     * @param throughTableReferences a list of table names that are join tables
+     * @param input  the JSON schema input
+     * @param schema the {@link SchemaModel} to populate
+     * @throws IOException            if the input cannot be read or is not valid JSON
+     * @throws SchemaParsingException if the root or any table is invalid
      */
-    private void markJoinTables(SchemaModel schema, ArrayList<String> throughTableReferences) {
-        for (String throughTable : throughTableReferences) {
-            for (Table joinTable : schema.getTables()) {
-                if (joinTable.getTableName().equals(throughTable)) {
-                    joinTable.setJoinTable(true); // Mark the table as a join table
-                    logger.debug("Marked table {} as a join table.", throughTable);
-                    break;
+    private void parseTables(InputStream input, SchemaModel schema) throws IOException, SchemaParsingException {
+        try (com.fasterxml.jackson.core.JsonParser tokens = JsonCodec.createParser(input)) {
+            JsonToken token = tokens.nextToken();
+            if (token != JsonToken.START_ARRAY) {
+                if (token != null) {
+                    tokens.skipChildren();
+                }
+                throw invalidRoot();
+            }
+
+            logger.debug("Root node is valid. Beginning to parse tables.");
+            SchemaParsingException firstError = null;
+            while (tokens.nextToken() != JsonToken.END_ARRAY) {
+                if (firstError != null) {
+                    tokens.skipChildren();
+                    continue;
+                }
+                try {
+                    schema.addTable(readTable(tokens));
+                } catch (SchemaParsingException e) {
+                    firstError = e;
+                }
+            }
+            if (firstError != null) {
+                throw firstError;
+            }
+        }
+    }
+
+    /**
+     * Reads a table from the token stream, consuming it completely, then validates
+     * it in the same order as {@link #extractTableName(JsonNode)},
+     * {@link #parseColumns(JsonNode, Table)} and
+     * {@link #parseRelationships(JsonNode, Table)}.
+     *
+     * @param tokens the token parser, positioned at the start of the table
+     * @return the {@link Table}
+     * @throws IOException            if the input cannot be read
+     * @throws SchemaParsingException if the table is invalid
+     */
+    Table readTable(com.fasterxml.jackson.core.JsonParser tokens) throws IOException, SchemaParsingException {
+        if (tokens.currentToken() != JsonToken.START_OBJECT) {
+            tokens.skipChildren();
+            throw missingTableName();
+        }
+
+        String tableName = null;
+        boolean hasTableName = false;
+        List<Column> columns = null;
+        List<Relationship> relationships = null;
+        // As in a JSON tree, the last occurrence of a duplicate field wins
+        while (tokens.nextToken() == JsonToken.FIELD_NAME) {
+            String field = tokens.currentName();
+            JsonToken value = tokens.nextToken();
+            switch (field) {
+                case "tableName" -> {
+                    hasTableName = true;
+                    tableName = text(tokens);
                 }
+                case COL -> columns = value == JsonToken.START_ARRAY ? readColumns(tokens) : skip(tokens);
+                case "relationships" ->
+                        relationships = value == JsonToken.START_ARRAY ? readRelationships(tokens) : skip(tokens);
+                default -> tokens.skipChildren();
             }
         }
+
+        if (!hasTableName) {
+            throw missingTableName();
+        }
+        Table table = new Table(tableName);
+        if (columns == null) {
+            throw malformedColumns(tableName);
+        }
+        logger.debug("Table {} has {} columns.", tableName, columns.size());
+        for (Column column : columns) {
+            if (column == null) {
+                throw invalidColumn(tableName);
+            }
+            table.addColumn(column);
+        }
+        if (relationships != null) {
+            logger.debug("Table {} has {} relationships.", tableName, relationships.size());
+            for (Relationship relationship : relationships) {
+                if (relationship == null) {
+                    throw invalidRelationship(tableName);
+                }
+                table.addRelationship(relationship);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Reads an array of columns from the token stream.
+     *
+     * @param tokens the token parser, positioned at the start of the array
+     * @return the columns, with {@code null} in place of each invalid column
+     * @throws IOException if the input cannot be read
+     */
+    private List<Column> readColumns(com.fasterxml.jackson.core.JsonParser tokens) throws IOException {
+        List<Column> columns = new ArrayList<>();
+        while (tokens.nextToken() != JsonToken.END_ARRAY) {
+            if (tokens.currentToken() != JsonToken.START_OBJECT) {
+                tokens.skipChildren();
+                columns.add(null);
+                continue;
+            }
+            String columnName = null;
+            String columnType = null;
+            boolean hasName = false;
+            boolean hasType = false;
+            boolean primaryKey = false;
+            while (tokens.nextToken() == JsonToken.FIELD_NAME) {
+                String field = tokens.currentName();
+                tokens.nextToken();
+                switch (field) {
+                    case "name" -> {
+                        hasName = true;
+                        columnName = text(tokens);
+                    }
+                    case "type" -> {
+                        hasType = true;
+                        columnType = text(tokens);
+                    }
+                    case "primaryKey" -> primaryKey = bool(tokens);
+                    default -> tokens.skipChildren();
+                }
+            }
+            columns.add(hasName && hasType ? new Column(columnName, columnType, primaryKey) : null);
+        }
+        return columns;
+    }
+
+    /**
+     * Reads an array of relationships from the token stream.
+     *
+     * @param tokens the token parser, positioned at the start of the array
+     * @return the relationships, with {@code null} in place of each invalid relationship
+     * @throws IOException if the input cannot be read
+     */
+    private List<Relationship> readRelationships(com.fasterxml.jackson.core.JsonParser tokens) throws IOException {
+        List<Relationship> relationships = new ArrayList<>();
+        while (tokens.nextToken() != JsonToken.END_ARRAY) {
+            if (tokens.currentToken() != JsonToken.START_OBJECT) {
+                tokens.skipChildren();
+                relationships.add(null);
+                continue;
+            }
+            String relationshipType = null;
+            String relatedTable = null;
+            String foreignKey = null;
+            String relatedForeignKey = null;
+            String throughTable = null;
+            int required = 0;
+            while (tokens.nextToken() == JsonToken.FIELD_NAME) {
+                String field = tokens.currentName();
+                tokens.nextToken();
+                switch (field) {
+                    case "relationshipType" -> {
+                        required |= 1;
+                        relationshipType = text(tokens);
+                    }
+                    case "relatedTable" -> {
+                        required |= 2;
+                        relatedTable = text(tokens);
+                    }
+                    case "foreignKey" -> {
+                        required |= 4;
+                        foreignKey = text(tokens);
+                    }
+                    case "relatedForeignKey" -> relatedForeignKey = text(tokens);
+                    case "throughTable" -> throughTable = text(tokens);
+                    default -> tokens.skipChildren();
+                }
+            }
+            relationships.add(required == 7
+                    ? new Relationship(relationshipType, relatedTable, foreignKey, relatedForeignKey, throughTable)
+                    : null);
+        }
+        return relationships;
+    }
+
+    /**
+     * Returns the current value as text, exactly as {@link JsonNode#asText()} would
+     * for the same value in a JSON tree. Objects and arrays are skipped.
+     *
+     * @param tokens the token parser, positioned at a value
+     * @return the text of the value
+     * @throws IOException if the input cannot be read
+     */
+    private static String text(com.fasterxml.jackson.core.JsonParser tokens) throws IOException {
+        return switch (tokens.currentToken()) {
+            case VALUE_STRING -> tokens.getText();
+            case VALUE_NUMBER_INT -> tokens.getNumberValue().toString();
+            case VALUE_NUMBER_FLOAT -> String.valueOf(tokens.getDoubleValue());
+            case VALUE_TRUE -> "true";
+            case VALUE_FALSE -> "false";
+            case VALUE_NULL -> "null";
+            case START_OBJECT, START_ARRAY -> {
+                tokens.skipChildren();
+                yield "";
+            }
+            default -> tokens.getText();
+        };
+    }
+
+    /**
+     * Returns the current value as a boolean, exactly as {@link JsonNode#asBoolean()}
+     * would for the same value in a JSON tree. Objects and arrays are skipped.
+     *
+     * @param tokens the token parser, positioned at a value
+     * @return the boolean value
+     * @throws IOException if the input cannot be read
+     */
+    private static boolean bool(com.fasterxml.jackson.core.JsonParser tokens) throws IOException {
+        return switch (tokens.currentToken()) {
+            case VALUE_TRUE -> true;
+            case VALUE_NUMBER_INT -> tokens.getNumberType() == com.fasterxml.jackson.core.JsonParser.NumberType.BIG_INTEGER
+                    ? !BigInteger.ZERO.equals(tokens.getBigIntegerValue())
+                    : tokens.getLongValue() != 0;
+            case VALUE_STRING -> "true".equals(tokens.getText().trim());
+            case START_OBJECT, START_ARRAY -> {
+                tokens.skipChildren();
+                yield false;
+            }
+            default -> false;
+        };
+    }
+
+    /**
+     * Skips the current value, e.g. a field that is present but malformed.
+     *
+     * @param tokens the token parser, positioned at a value
+     * @param <T>    the type of the result
+     * @return {@code null}
+     * @throws IOException if the input cannot be read
+     */
+    private static <T> T skip(com.fasterxml.jackson.core.JsonParser tokens) throws IOException {
+        tokens.skipChildren();
+        return null;
+    }
+
+    static SchemaParsingException invalidRoot() {
+        logger.error("Invalid JSON format: Root node is not an array.");
+        return new SchemaParsingException("Invalid JSON format: Root node must be an array of tables.");
+    }
+
+    private static SchemaParsingException missingTableName() {
+        logger.error("Invalid JSON format: Missing 'tableName' field.");
+        return new SchemaParsingException("Invalid JSON format: Missing 'tableName' field.");
+    }
+
+    private static SchemaParsingException malformedColumns(String tableName) {
+        logger.error("Invalid JSON format: Missing or malformed 'columns' array in table: {}", tableName);
+        return new SchemaParsingException(
+                "Invalid JSON format: Missing or malformed 'columns' array in table: " + tableName);
+    }
+
+    private static SchemaParsingException invalidColumn(String tableName) {
+        logger.error("Invalid JSON format: Missing 'name' or 'type' in columns of table: {}", tableName);
+        return new SchemaParsingException(
+                "Invalid JSON format: Missing 'name' or 'type' in columns of table: " + tableName);
+    }
+
+    private static SchemaParsingException invalidRelationship(String tableName) {
+        logger.error("Invalid JSON format: Missing required fields in relationships of table: {}", tableName);
+        return new SchemaParsingException(
+                "Invalid JSON format: Missing required fields in relationships of table: " + tableName);
+    }
+
+    /**
+     * Links the relationships of the parsed tables into a {@link SchemaGraph} and marks
+     * the tables that some relationship goes through as join tables. Names that no
+     * table has are logged, not rejected, as they always have been. Shared with the
+     * other parsers of this package.
+     *
+     * @param schema the {@link SchemaModel} containing the tables
+     * @return the graph of the tables
+     */
+    static SchemaGraph markJoinTables(SchemaModel schema) {
+        SchemaGraph graph = SchemaGraph.link(schema.getTables());
+        int joinTables = graph.markJoinTables();
+        for (SchemaGraph.DanglingReference reference : graph.getDanglingReferences()) {
+            logger.warn("Table {} has a relationship to missing table {}.", reference.table().getTableName(),
+                    reference.missingTableName());
+        }
+        logger.debug("Linked {} tables; marked {} join tables.", graph.getTables().size(), joinTables);
+        return graph;
     }
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+package model.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import model.SchemaModel;
+import model.SchemaSnapshot;
+import model.Table;
+import model.exception.SchemaParsingException;
+
+/**
+ * The ParseCache class sits in front of a {@link SchemaParser} and keeps the models
+ * of recently parsed files, so that uploading the same schema again does not parse
+ * it again.
+ *
+ * <p>Entries are keyed by the parser type and a hash and size of the file content,
+ * so the same content uploaded from another path is a hit as well. The hash of a
+ * path is reused while its size and modification time are unchanged, so a repeated
+ * upload of an unchanged file does not read it at all. Parsed models are kept as
+ * immutable {@link SchemaSnapshot}s, least recently used first out, within a
+ * budget of their estimated heap size. A hit returns a new model with its own copy
+ * of every table, so callers cannot change the cached entry.</p>
+ *
+ * <p>ParseCache is thread-safe. Concurrent misses for the same content may both
+ * parse the file; failed parses are not cached.</p>
+ */
+public class ParseCache {
+
+    private static final Logger logger = LogManager.getLogger(ParseCache.class);
+
+    /** The default budget of the cache in bytes. */
+    public static final long DEFAULT_MAX_WEIGHT = 64L * 1024L * 1024L;
+
+    /** The number of paths whose content hashes are remembered. */
+    private static final int MAX_STAMPS = 1024;
+
+    private final long maxWeight;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Path, Stamp> stamps = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, Stamp> eldest) {
+            return size() > MAX_STAMPS;
+        }
+    };
+    private long weight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * The Key record identifies the parsed content of a file.
+     *
+     * @param parserType the class of the parser that read the content
+     * @param hash       the hash of the content
+     * @param size       the size of the content in bytes
+     */
+    private record Key(Class<?> parserType, ContentHash hash, long size) {
+    }
+
+    /**
+     * The Entry record is a cached model together with its estimated heap size.
+     *
+     * @param snapshot the parsed model
+     * @param weight   the estimated size of the model in bytes
+     */
+    private record Entry(SchemaSnapshot snapshot, long weight) {
+    }
+
+    /**
+     * The Stamp record is the content hash of a path together with the size and
+     * modification time the path had when it was hashed.
+     *
+     * @param size         the size of the file in bytes
+     * @param lastModified the modification time of the file in milliseconds
+     * @param hash         the hash of the content
+     */
+    private record Stamp(long size, long lastModified, ContentHash hash) {
+    }
+
+    /**
+     * Constructs a cache with the default budget.
+     */
+    public ParseCache() {
+        this(DEFAULT_MAX_WEIGHT);
+    }
+
+    /**
+     * Constructs a cache that keeps the estimated heap size of its entries within
+     * the specified budget.
+     *
+     * @param maxWeight the budget in bytes; {@code 0} disables caching
+     * @throws IllegalArgumentException if the budget is negative
+     */
+    public ParseCache(long maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("Cache budget cannot be negative");
+        }
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the model of a schema file, parsing it with the specified parser unless
+     * the same content was parsed by the same kind of parser before.
+     *
+     * @param schemaFile the schema file
+     * @param parser     the parser for the format of the file
+     * @return a new {@link SchemaModel} of the schema
+     * @throws SchemaParsingException if the file cannot be read or parsed
+     */
+    public SchemaModel parse(File schemaFile, SchemaParser parser) throws SchemaParsingException {
+        Key key;
+        try {
+            key = key(schemaFile.toPath(), parser);
+        } catch (IOException e) {
+            // Let the parser report the missing or unreadable file
+            logger.debug("Cannot hash schema file {}, parsing it uncached.", schemaFile.getName(), e);
+            return parser.parse(schemaFile);
+        }
+
+        Entry cached;
+        synchronized (this) {
+            cached = entries.get(key);
+            if (cached != null) {
+                hits++;
+            } else {
+                misses++;
+            }
+        }
+        if (cached != null) {
+            logger.info("Parse cache hit for schema file: {}", schemaFile.getName());
+            return toModel(cached.snapshot());
+        }
+
+        SchemaModel schema = parser.parse(schemaFile);
+        put(key, schema.snapshot());
+        return schema;
+    }
+
+    /**
+     * Returns the number of parses answered from the cache.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of parses that had to read the file.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries discarded to stay within the budget.
+     *
+     * @return the eviction count
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Returns the number of cached models.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the estimated heap size of the cached models.
+     *
+     * @return the weight in bytes
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the budget of the cache.
+     *
+     * @return the budget in bytes
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Discards every cached model and remembered hash. The counters are kept.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        stamps.clear();
+        weight = 0;
+    }
+
+    private Key key(Path path, SchemaParser parser) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        Path stampPath = path.toAbsolutePath().normalize();
+
+        Stamp stamp;
+        synchronized (this) {
+            stamp = stamps.get(stampPath);
+        }
+        if (stamp == null || stamp.size() != size || stamp.lastModified() != lastModified) {
+            stamp = new Stamp(size, lastModified, ContentHash.of(path));
+            synchronized (this) {
+                stamps.put(stampPath, stamp);
+            }
+        }
+        return new Key(parser.getClass(), stamp.hash(), stamp.size());
+    }
+
+    private synchronized void put(Key key, SchemaSnapshot snapshot) {
+        long entryWeight = snapshot.estimatedSize();
+        if (entryWeight > maxWeight) {
+            logger.debug("Parsed model of {} bytes exceeds the cache budget; not cached.", entryWeight);
+            return;
+        }
+        Entry previous = entries.put(key, new Entry(snapshot, entryWeight));
+        if (previous != null) {
+            weight -= previous.weight();
+        }
+        weight += entryWeight;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (weight > maxWeight) {
+            weight -= eldest.next().weight();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private static SchemaModel toModel(SchemaSnapshot snapshot) {
+        SchemaModel schema = new SchemaModel();
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            for (Table table : snapshot.getTables()) {
+                schema.addTable(table.copy());
+            }
+        }
+        return schema;
+    }
+}
@@ -0,0 +1,291 @@
+package model.parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import model.SchemaModel;
+import model.Table;
+import model.exception.SchemaParsingException;
+import model.factory.ParserFactory;
+import model.persistence.JsonCodec;
+
+/**
+ * The SchemaIngest class parses a schema that is split across many files, e.g. one
+ * file per domain, into a single {@link SchemaModel}. Files are parsed concurrently
+ * on a fixed number of threads, each with the parser for its extension, and merged
+ * in path order as if their tables had been listed in one file.
+ *
+ * <p>A table defined in more than one file is compared by a hash of its content:
+ * identical definitions are merged into the first one, while differing definitions
+ * are rejected as a conflict. Join tables are marked after the merge, so a table
+ * may be the through table of a relationship defined in another file.</p>
+ *
+ * <p>The models parsed from the individual files and the merged model live in
+ * memory only; the caller decides whether the merged model is persisted.</p>
+ */
+public class SchemaIngest {
+
+    private static final Logger logger = LogManager.getLogger(SchemaIngest.class);
+
+    /** The default number of files parsed at the same time. */
+    public static final int DEFAULT_PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final ParserFactory parserFactory = new ParserFactory();
+    private final int parallelism;
+    private final ParseCache parseCache;
+
+    /**
+     * The FileReport record describes how one file contributed to an ingest.
+     *
+     * @param file        the schema file
+     * @param tableCount  the number of tables parsed from the file
+     * @param parseMillis the time spent parsing the file in milliseconds
+     */
+    public record FileReport(Path file, int tableCount, double parseMillis) {
+    }
+
+    /**
+     * The Result record is the merged model of an ingest together with a report per
+     * file, in the order the files were merged.
+     *
+     * @param model           the merged model
+     * @param files           the report of every file
+     * @param duplicateTables the number of identical table definitions merged into an earlier one
+     * @param elapsedMillis   the wall-clock time of the ingest in milliseconds
+     */
+    public record Result(SchemaModel model, List<FileReport> files, int duplicateTables, double elapsedMillis) {
+    }
+
+    /**
+     * The ParsedFile record holds the tables of one parsed file with the hash of
+     * each table.
+     */
+    private record ParsedFile(Path file, List<Table> tables, List<ContentHash> hashes, long parseNanos) {
+    }
+
+    /**
+     * The Definition record remembers where a table was first defined.
+     */
+    private record Definition(Path file, ContentHash hash) {
+    }
+
+    /**
+     * Constructs an ingest that parses {@link #DEFAULT_PARALLELISM} files at a time
+     * without a parse cache.
+     */
+    public SchemaIngest() {
+        this(DEFAULT_PARALLELISM, null);
+    }
+
+    /**
+     * Constructs an ingest that parses the specified number of files at a time.
+     *
+     * @param parallelism the maximum number of files parsed at the same time
+     * @param parseCache  the cache to parse files through, or {@code null} to always parse them
+     * @throws IllegalArgumentException if the parallelism is not positive
+     */
+    public SchemaIngest(int parallelism, ParseCache parseCache) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+        this.parseCache = parseCache;
+    }
+
+    /**
+     * Ingests every schema file with a supported extension in a directory and its
+     * subdirectories, including compressed files such as {@code orders.json.gz}.
+     *
+     * @param directory the directory
+     * @return the merged model and the report per file
+     * @throws SchemaParsingException if the directory cannot be read, a file cannot be
+     *                                parsed or two files define a table differently
+     */
+    public Result ingest(Path directory) throws SchemaParsingException {
+        return ingest(findFiles(directory, file -> parserFactory.supports(formatOf(file))));
+    }
+
+    /**
+     * Ingests the files in a directory and its subdirectories whose path relative to
+     * the directory matches a glob pattern, e.g. {@code "**.json"} or {@code "sales/*.xml"}.
+     *
+     * @param directory the directory
+     * @param glob      the glob pattern
+     * @return the merged model and the report per file
+     * @throws SchemaParsingException if the directory cannot be read, a file cannot be
+     *                                parsed or two files define a table differently
+     * @throws IllegalArgumentException if the glob pattern is invalid
+     */
+    public Result ingest(Path directory, String glob) throws SchemaParsingException {
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        return ingest(findFiles(directory, file -> matcher.matches(directory.relativize(file))));
+    }
+
+    /**
+     * Ingests a list of schema files, merged in the order of the list.
+     *
+     * @param files the schema files
+     * @return the merged model and the report per file
+     * @throws SchemaParsingException if a file cannot be parsed or two files define
+     *                                a table differently
+     * @throws IllegalArgumentException if the list or any file is {@code null}
+     */
+    public Result ingest(List<Path> files) throws SchemaParsingException {
+        if (files == null || files.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("Schema files cannot be null");
+        }
+        long start = System.nanoTime();
+        List<ParsedFile> parsedFiles = parseAll(files);
+
+        List<FileReport> reports = new ArrayList<>(parsedFiles.size());
+        List<Table> tables = new ArrayList<>();
+        Map<String, Definition> definitions = new HashMap<>();
+        int duplicateTables = 0;
+        for (ParsedFile parsedFile : parsedFiles) {
+            for (int i = 0; i < parsedFile.tables().size(); i++) {
+                Table table = parsedFile.tables().get(i);
+                Definition definition = new Definition(parsedFile.file(), parsedFile.hashes().get(i));
+                Definition previous = definitions.putIfAbsent(table.getTableName(), definition);
+                if (previous == null) {
+                    tables.add(table);
+                } else if (previous.hash().equals(definition.hash())) {
+                    logger.debug("Table {} in {} duplicates its definition in {}.", table.getTableName(),
+                            parsedFile.file(), previous.file());
+                    duplicateTables++;
+                } else {
+                    throw conflict(table.getTableName(), previous.file(), parsedFile.file());
+                }
+            }
+            reports.add(new FileReport(parsedFile.file(), parsedFile.tables().size(),
+                    parsedFile.parseNanos() / 1e6));
+        }
+
+        SchemaModel schema = new SchemaModel();
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            for (Table table : tables) {
+                schema.addTable(table);
+            }
+            JsonParser.markJoinTables(schema);
+        }
+
+        Result result = new Result(schema, reports, duplicateTables, (System.nanoTime() - start) / 1e6);
+        for (FileReport report : reports) {
+            logger.debug("Parsed {} tables from {} in {} ms.", report.tableCount(), report.file(),
+                    String.format("%.1f", report.parseMillis()));
+        }
+        logger.info("Ingested {} tables from {} schema files in {} ms ({} duplicates merged).", tables.size(),
+                reports.size(), String.format("%.1f", result.elapsedMillis()), duplicateTables);
+        return result;
+    }
+
+    /**
+     * Returns the maximum number of files parsed at the same time.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Parses every file on a pool of at most {@link #parallelism} threads. The
+     * first file that fails, in list order, is reported and the others are cancelled.
+     */
+    private List<ParsedFile> parseAll(List<Path> files) throws SchemaParsingException {
+        if (files.isEmpty()) {
+            return List.of();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, files.size()), runnable -> {
+            Thread thread = new Thread(runnable, "schema-ingest-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<ParsedFile>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                futures.add(executor.submit(() -> parse(file)));
+            }
+            List<ParsedFile> parsedFiles = new ArrayList<>(files.size());
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    parsedFiles.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    futures.forEach(future -> future.cancel(true));
+                    if (e.getCause() instanceof SchemaParsingException cause) {
+                        logger.error("Error ingesting schema file {}: {}", files.get(i), cause.getMessage());
+                        throw new SchemaParsingException(
+                                "Error in schema file " + files.get(i).getFileName() + ": " + cause.getMessage(), cause);
+                    }
+                    throw new IllegalStateException("Unexpected error parsing " + files.get(i), e.getCause());
+                }
+            }
+            return parsedFiles;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SchemaParsingException("Interrupted while ingesting schema files", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Parses one file into an in-memory model, keeping only its tables. Join flags are cleared, so that the hash covers only the definition
+     * in the file and the flags can be recomputed across all files.
+     */
+    private ParsedFile parse(Path file) throws SchemaParsingException {
+        long start = System.nanoTime();
+        SchemaParser parser = parserFactory.get(formatOf(file));
+        SchemaModel schema = parseCache != null ? parseCache.parse(file.toFile(), parser) : parser.parse(file.toFile());
+        List<Table> tables = schema.getTables();
+
+        List<ContentHash> hashes = new ArrayList<>(tables.size());
+        for (Table table : tables) {
+            table.setJoinTable(false);
+            try {
+                byte[] content = JsonCodec.tableWriter().writeValueAsBytes(table);
+                hashes.add(ContentHash.of(content, 0, content.length));
+            } catch (JsonProcessingException e) {
+                throw new SchemaParsingException("Error hashing table " + table.getTableName(), e);
+            }
+        }
+        return new ParsedFile(file, tables, hashes, System.nanoTime() - start);
+    }
+
+    private static List<Path> findFiles(Path directory, PathMatcher matcher) throws SchemaParsingException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return paths.filter(Files::isRegularFile).filter(matcher::matches).sorted().toList();
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Error listing schema files in {}", directory, e);
+            throw new SchemaParsingException("Error listing schema files in " + directory, e);
+        }
+    }
+
+    private static SchemaParsingException conflict(String tableName, Path first, Path second) {
+        logger.error("Table {} is defined differently in {} and {}", tableName, first, second);
+        return new SchemaParsingException("Conflicting definitions of table " + tableName + " in "
+                + first.getFileName() + " and " + second.getFileName());
+    }
+
+    private static String formatOf(Path file) {
+        return SchemaInput.formatOf(file.getFileName().toString());
+    }
+}
@@ -0,0 +1,160 @@
+package model.parser;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The SchemaInput class opens schema sources for the parsers of this package and
+ * transparently decompresses them. The compression is detected from the magic
+ * bytes of the content, not from the file name, and decoded while the parser reads,
+ * so a compressed schema is never written out to an intermediate file.
+ *
+ * <p>The codecs available in the JDK are recognized:</p>
+ * <ul>
+ *   <li>gzip, e.g. {@code schema.json.gz}</li>
+ *   <li>zip, of which the first file entry is read, e.g. {@code schema.zip}</li>
+ *   <li>zlib, i.e. a deflate stream with a zlib header</li>
+ * </ul>
+ * <p>Any other content is passed through unchanged.</p>
+ */
+public final class SchemaInput {
+
+    private static final Logger logger = LogManager.getLogger(SchemaInput.class);
+
+    /** File name suffixes of compressed schema files. */
+    private static final Set<String> COMPRESSED_EXTENSIONS = Set.of("gz", "gzip", "zip", "zz");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAGIC_LENGTH = 4;
+
+    private SchemaInput() {
+    }
+
+    /**
+     * Opens a schema file for reading, decompressing it if necessary. Closing the
+     * returned stream closes the file.
+     *
+     * @param path the schema file
+     * @return the stream of the schema content
+     * @throws IOException if the file cannot be opened or its compression header is invalid
+     */
+    public static InputStream open(Path path) throws IOException {
+        InputStream file = Files.newInputStream(path);
+        try {
+            return decode(new BufferedInputStream(file, BUFFER_SIZE));
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Wraps a stream of schema content, decompressing it if necessary. Closing the
+     * returned stream releases the decoder but leaves the specified stream open,
+     * which remains the caller's to close.
+     *
+     * @param input the stream of possibly compressed schema content
+     * @return the stream of the schema content
+     * @throws IOException if the stream cannot be read or its compression header is invalid
+     */
+    public static InputStream decompress(InputStream input) throws IOException {
+        InputStream borrowed = new FilterInputStream(input) {
+            @Override
+            public void close() {
+                // The stream belongs to the caller
+            }
+        };
+        return decode(new BufferedInputStream(borrowed, BUFFER_SIZE));
+    }
+
+    /**
+     * Returns the schema format of a file name, ignoring a compression suffix, e.g.
+     * {@code "json"} for both {@code schema.json} and {@code schema.json.gz}.
+     *
+     * @param fileName the file name
+     * @return the extension that names the format, or an empty string if there is none
+     */
+    public static String formatOf(String fileName) {
+        String name = fileName;
+        String extension = extension(name);
+        if (COMPRESSED_EXTENSIONS.contains(extension.toLowerCase(Locale.ROOT))) {
+            name = name.substring(0, name.length() - extension.length() - 1);
+            extension = extension(name);
+        }
+        return extension;
+    }
+
+    private static String extension(String fileName) {
+        int lastIndex = fileName.lastIndexOf('.');
+        return (lastIndex > 0) ? fileName.substring(lastIndex + 1) : "";
+    }
+
+    /**
+     * Detects the compression of a buffered stream from its first bytes and returns
+     * the matching decoder, or the stream itself if it is not compressed.
+     */
+    private static InputStream decode(BufferedInputStream input) throws IOException {
+        input.mark(MAGIC_LENGTH);
+        byte[] magic = input.readNBytes(MAGIC_LENGTH);
+        input.reset();
+
+        if (magic.length >= 2 && (magic[0] & 0xFF) == 0x1F && (magic[1] & 0xFF) == 0x8B) {
+            logger.debug("Decompressing gzip schema input.");
+            return new GZIPInputStream(input, BUFFER_SIZE);
+        }
+        if (magic.length == MAGIC_LENGTH && magic[0] == 'P' && magic[1] == 'K' && magic[2] == 3 && magic[3] == 4) {
+            logger.debug("Decompressing zip schema input.");
+            return firstEntry(new ZipInputStream(input));
+        }
+        if (isZlibHeader(magic)) {
+            logger.debug("Decompressing zlib schema input.");
+            return new InflaterInputStream(input, new Inflater(), BUFFER_SIZE) {
+                // A decoder with its own inflater does not release it on close
+                @Override
+                public void close() throws IOException {
+                    inf.end();
+                    super.close();
+                }
+            };
+        }
+        return input;
+    }
+
+    /**
+     * Returns whether bytes start with a zlib header: the deflate method with a
+     * window of at most 32 KB, and a check value that makes the header a multiple of 31.
+     */
+    private static boolean isZlibHeader(byte[] magic) {
+        if (magic.length < 2) {
+            return false;
+        }
+        int method = magic[0] & 0xFF;
+        int header = (method << 8) | (magic[1] & 0xFF);
+        return (method & 0x0F) == 8 && (method >> 4) <= 7 && header % 31 == 0;
+    }
+
+    private static InputStream firstEntry(ZipInputStream zip) throws IOException {
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            if (!entry.isDirectory()) {
+                logger.debug("Reading schema from zip entry {}.", entry.getName());
+                return zip;
+            }
+        }
+        zip.close();
+        throw new IOException("Zip archive contains no schema file");
+    }
+}
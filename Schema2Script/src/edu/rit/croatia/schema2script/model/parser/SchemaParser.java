@@ -1,6 +1,13 @@
 package model.parser;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import model.SchemaModel;
 import model.exception.SchemaParsingException;
 
@@ -8,6 +15,9 @@ import model.exception.SchemaParsingException;
  * The SchemaParser interface defines the contract for parsing schema files
  * into a {@link SchemaModel}. Implementations of this interface should handle
  * specific schema file formats (e.g., JSON, XML).
+ *
+ * <p>Schemas can be read from files, paths, streams and channels alike. Compressed
+ * content is decompressed transparently by every source, see {@link SchemaInput}.</p>
  */
 public interface SchemaParser {
 
@@ -20,4 +30,48 @@ public interface SchemaParser {
      *                                schema file format is invalid
      */
     public SchemaModel parse(File schemaFile) throws SchemaParsingException;
-}
\ No newline at end of file
+
+    /**
+     * Parses a schema from a stream and converts it into a {@link SchemaModel}. The
+     * stream is read to its end but not closed.
+     *
+     * @param input the stream of schema content
+     * @return a {@link SchemaModel} representation of the schema
+     * @throws SchemaParsingException if an error occurs during parsing or if the
+     *                                schema format is invalid
+     */
+    public SchemaModel parse(InputStream input) throws SchemaParsingException;
+
+    /**
+     * Parses a schema file addressed by a path, which may belong to any file system,
+     * e.g. an entry of a zip file system.
+     *
+     * @param schemaPath the path of the schema file
+     * @return a {@link SchemaModel} representation of the schema
+     * @throws SchemaParsingException if an error occurs during parsing or if the
+     *                                schema file format is invalid
+     */
+    public default SchemaModel parse(Path schemaPath) throws SchemaParsingException {
+        if (schemaPath.getFileSystem() == FileSystems.getDefault()) {
+            return parse(schemaPath.toFile());
+        }
+        try (InputStream input = Files.newInputStream(schemaPath)) {
+            return parse(input);
+        } catch (IOException e) {
+            throw new SchemaParsingException("Error reading the schema file: " + schemaPath, e);
+        }
+    }
+
+    /**
+     * Parses a schema from a channel and converts it into a {@link SchemaModel}. The
+     * channel is read to its end but not closed.
+     *
+     * @param channel the channel of schema content
+     * @return a {@link SchemaModel} representation of the schema
+     * @throws SchemaParsingException if an error occurs during parsing or if the
+     *                                schema format is invalid
+     */
+    public default SchemaModel parse(ReadableByteChannel channel) throws SchemaParsingException {
+        return parse(Channels.newInputStream(channel));
+    }
+}
@@ -1,6 +1,14 @@
 package model.parser;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import model.Column;
@@ -12,25 +20,51 @@ import model.exception.SchemaParsingException;
 /**
  * The XMLParser class is responsible for parsing XML schema files and converting
  * them into a {@link SchemaModel} object. It implements the {@link SchemaParser} interface.
- * This implementation specifically creates a predefined schema for student-course relationships.
+ *
+ * <p>The file is read with a StAX {@link XMLStreamReader}, building each table as its
+ * element is read, so memory use does not grow with the size of the file beyond the
+ * model itself. The elements mirror the JSON schema format, and the same validation
+ * rules as {@link JsonParser} apply:</p>
+ * <pre>
+ *     &lt;schema&gt;
+ *       &lt;table tableName="student"&gt;
+ *         &lt;columns&gt;
+ *           &lt;column name="student_id" type="INT" primaryKey="true"/&gt;
+ *         &lt;/columns&gt;
+ *         &lt;relationships&gt;
+ *           &lt;relationship relationshipType="many-to-one" relatedTable="course"
+ *                         foreignKey="course_id" relatedForeignKey="course_id"/&gt;
+ *         &lt;/relationships&gt;
+ *       &lt;/table&gt;
+ *     &lt;/schema&gt;
+ * </pre>
+ *
+ * <p>Unknown elements and attributes inside a table are ignored. DTDs and external
+ * entities are not processed.</p>
  */
 public class XMLParser implements SchemaParser {
 
     private static final Logger logger = LogManager.getLogger(XMLParser.class);
-    public static final String STUDENT = "student_id";
-    public static final String VARCHAR = "VARCHAR(100)";
-    public static final String COURSE = "course_id";
+    public static final String SCHEMA = "schema";
+    public static final String TABLE = "table";
+    public static final String COLUMNS = "columns";
+    public static final String COLUMN = "column";
+    public static final String RELATIONSHIPS = "relationships";
+    public static final String RELATIONSHIP = "relationship";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
 
     /**
-     * Parses an XML schema file and returns a {@link SchemaModel} representation.
-     * This implementation generates a fixed schema for a "student" table and a
-     * "course" table,
-     * including their columns and relationships.
+     * Parses an XML schema file and converts it into a {@link SchemaModel}. The
+     * model is populated inside a bulk load, so the schema file is written once
+     * rather than once per table. As with {@link JsonParser}, the whole file is read
+     * before a validation error is reported, so malformed XML takes precedence. A
+     * compressed file is decompressed while it is read.
      *
      * @param schemaFile the XML schema file to parse
      * @return a {@link SchemaModel} containing the parsed tables and relationships
-     * @throws SchemaParsingException if the schema file does not exist or the
-     *                                schema is invalid
+     * @throws SchemaParsingException if the schema file does not exist, cannot be
+     *                                read or the schema is invalid
      */
     @Override
     public SchemaModel parse(File schemaFile) throws SchemaParsingException {
@@ -40,37 +74,266 @@ public class XMLParser implements SchemaParser {
             throw new SchemaParsingException("Schema file does not exist: " + schemaFile.getAbsolutePath());
         }
 
+        try (InputStream input = SchemaInput.open(schemaFile.toPath())) {
+            SchemaModel schema = read(input);
+            logger.info("XML schema parsing completed successfully for file: {}", schemaFile.getName());
+            return schema;
+        } catch (IOException | XMLStreamException e) {
+            logger.error("Error reading the XML schema file: {}", schemaFile.getName(), e);
+            throw new SchemaParsingException("Error reading the XML schema file", e);
+        }
+    }
+
+    /**
+     * Parses an XML schema from a stream, decompressing it if necessary, and
+     * converts it into a {@link SchemaModel}. The stream is not closed.
+     *
+     * @param input the stream of the XML schema
+     * @return a {@link SchemaModel} containing the parsed tables and relationships
+     * @throws SchemaParsingException if the stream cannot be read or the schema is invalid
+     */
+    @Override
+    public SchemaModel parse(InputStream input) throws SchemaParsingException {
+        logger.info("Parsing schema from a stream.");
+        try (InputStream content = SchemaInput.decompress(input)) {
+            SchemaModel schema = read(content);
+            logger.info("XML schema parsing completed successfully from a stream.");
+            return schema;
+        } catch (IOException | XMLStreamException e) {
+            logger.error("Error reading the XML schema stream.", e);
+            throw new SchemaParsingException("Error reading the XML schema file", e);
+        }
+    }
+
+    private SchemaModel read(InputStream input) throws XMLStreamException, SchemaParsingException {
         SchemaModel schema = new SchemaModel();
 
-        // Define the "student" table
-        Table studentTable = new Table("student");
-        studentTable.addColumn(new Column(STUDENT, "INT", true));
-        studentTable.addColumn(new Column("first_name", VARCHAR));
-        studentTable.addColumn(new Column("last_name", VARCHAR));
-        studentTable.addColumn(new Column("email", VARCHAR));
-        studentTable.addColumn(new Column("enrollment_date", "DATE"));
-        studentTable.addRelationship(new Relationship("many-to-many", "course", STUDENT, COURSE));
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            XMLStreamReader reader = INPUT_FACTORY.createXMLStreamReader(input);
+            try {
+                parseTables(reader, schema);
+            } finally {
+                reader.close();
+            }
 
-        if (studentTable.getColumns().isEmpty()) {
-            throw new SchemaParsingException("Student table must have at least one column.");
+            JsonParser.markJoinTables(schema);
         }
+        return schema;
+    }
 
-        // Define the "course" table
-        Table courseTable = new Table("course");
-        courseTable.addColumn(new Column(COURSE, "INT", true));
-        courseTable.addColumn(new Column("course_name", VARCHAR));
-        courseTable.addColumn(new Column("credits", "INT"));
-        courseTable.addColumn(new Column("instructor_id", "INT"));
-        courseTable.addRelationship(new Relationship("many-to-many", "student", COURSE, STUDENT));
+    /**
+     * Parses the tables of the root element and adds them to the {@link SchemaModel}.
+     * After the first validation error the rest of the document is still read, so
+     * that malformed XML is reported instead.
+     *
+     * @param reader the reader, positioned before the root element
+     * @param schema the {@link SchemaModel} to populate
+     * @throws XMLStreamException     if the input cannot be read or is not well-formed
+     * @throws SchemaParsingException if the root element or any table is invalid
+     */
+    private void parseTables(XMLStreamReader reader, SchemaModel schema)
+            throws XMLStreamException, SchemaParsingException {
+        reader.nextTag();
+        if (!SCHEMA.equals(reader.getLocalName())) {
+            skipElement(reader);
+            drain(reader);
+            throw invalidRoot();
+        }
 
-        if (courseTable.getColumns().isEmpty()) {
-            throw new SchemaParsingException("Course table must have at least one column.");
+        logger.debug("Root element is valid. Beginning to parse tables.");
+        SchemaParsingException firstError = null;
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if (firstError != null) {
+                skipElement(reader);
+                continue;
+            }
+            try {
+                schema.addTable(readTable(reader));
+            } catch (SchemaParsingException e) {
+                firstError = e;
+            }
         }
+        drain(reader);
+        if (firstError != null) {
+            throw firstError;
+        }
+    }
 
-        // Add tables to the schema model
-        schema.addTable(studentTable);
-        schema.addTable(courseTable);
+    /**
+     * Reads a table element, consuming it completely, then validates it in the same
+     * order as {@link JsonParser}: the table name, the columns element, each column and
+     * each relationship.
+     *
+     * @param reader the reader, positioned at the start of the element
+     * @return the {@link Table}
+     * @throws XMLStreamException     if the input cannot be read
+     * @throws SchemaParsingException if the table is invalid
+     */
+    private Table readTable(XMLStreamReader reader) throws XMLStreamException, SchemaParsingException {
+        if (!TABLE.equals(reader.getLocalName())) {
+            String element = reader.getLocalName();
+            skipElement(reader);
+            throw unexpectedElement(element);
+        }
 
-        return schema;
+        String tableName = reader.getAttributeValue(null, "tableName");
+        List<Column> columns = null;
+        List<Relationship> relationships = null;
+        // As in a JSON object, the last occurrence of a repeated element wins
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+                case COLUMNS -> columns = readColumns(reader);
+                case RELATIONSHIPS -> relationships = readRelationships(reader);
+                default -> skipElement(reader);
+            }
+        }
+
+        if (tableName == null) {
+            throw missingTableName();
+        }
+        Table table = new Table(tableName);
+        if (columns == null) {
+            throw missingColumns(tableName);
+        }
+        logger.debug("Table {} has {} columns.", tableName, columns.size());
+        for (Column column : columns) {
+            if (column == null) {
+                throw invalidColumn(tableName);
+            }
+            table.addColumn(column);
+        }
+        if (relationships != null) {
+            logger.debug("Table {} has {} relationships.", tableName, relationships.size());
+            for (Relationship relationship : relationships) {
+                if (relationship == null) {
+                    throw invalidRelationship(tableName);
+                }
+                table.addRelationship(relationship);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Reads the column elements of a columns element.
+     *
+     * @param reader the reader, positioned at the start of the columns element
+     * @return the columns, with {@code null} in place of each invalid column
+     * @throws XMLStreamException if the input cannot be read
+     */
+    private List<Column> readColumns(XMLStreamReader reader) throws XMLStreamException {
+        List<Column> columns = new ArrayList<>();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            Column column = null;
+            if (COLUMN.equals(reader.getLocalName())) {
+                String columnName = reader.getAttributeValue(null, "name");
+                String columnType = reader.getAttributeValue(null, "type");
+                String primaryKey = reader.getAttributeValue(null, "primaryKey");
+                if (columnName != null && columnType != null) {
+                    column = new Column(columnName, columnType, primaryKey != null && "true".equals(primaryKey.trim()));
+                }
+            }
+            skipElement(reader);
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    /**
+     * Reads the relationship elements of a relationships element.
+     *
+     * @param reader the reader, positioned at the start of the relationships element
+     * @return the relationships, with {@code null} in place of each invalid relationship
+     * @throws XMLStreamException if the input cannot be read
+     */
+    private List<Relationship> readRelationships(XMLStreamReader reader) throws XMLStreamException {
+        List<Relationship> relationships = new ArrayList<>();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            Relationship relationship = null;
+            if (RELATIONSHIP.equals(reader.getLocalName())) {
+                String relationshipType = reader.getAttributeValue(null, "relationshipType");
+                String relatedTable = reader.getAttributeValue(null, "relatedTable");
+                String foreignKey = reader.getAttributeValue(null, "foreignKey");
+                if (relationshipType != null && relatedTable != null && foreignKey != null) {
+                    relationship = new Relationship(relationshipType, relatedTable, foreignKey,
+                            reader.getAttributeValue(null, "relatedForeignKey"),
+                            reader.getAttributeValue(null, "throughTable"));
+                }
+            }
+            skipElement(reader);
+            relationships.add(relationship);
+        }
+        return relationships;
+    }
+
+    /**
+     * Skips the current element and everything it contains, including text.
+     *
+     * @param reader the reader, positioned at the start of the element
+     * @throws XMLStreamException if the input cannot be read
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Reads the rest of the document, so that malformed XML after the root element
+     * is reported.
+     *
+     * @param reader the reader
+     * @throws XMLStreamException if the input is not well-formed
+     */
+    private static void drain(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            reader.next();
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+
+    private static SchemaParsingException invalidRoot() {
+        logger.error("Invalid XML format: Root element is not a schema.");
+        return new SchemaParsingException("Invalid XML format: Root element must be a schema of tables.");
+    }
+
+    private static SchemaParsingException unexpectedElement(String element) {
+        logger.error("Invalid XML format: Unexpected element '{}' in schema.", element);
+        return new SchemaParsingException("Invalid XML format: Expected a 'table' element but found: " + element);
+    }
+
+    private static SchemaParsingException missingTableName() {
+        logger.error("Invalid XML format: Missing 'tableName' attribute.");
+        return new SchemaParsingException("Invalid XML format: Missing 'tableName' attribute.");
+    }
+
+    private static SchemaParsingException missingColumns(String tableName) {
+        logger.error("Invalid XML format: Missing 'columns' element in table: {}", tableName);
+        return new SchemaParsingException("Invalid XML format: Missing 'columns' element in table: " + tableName);
+    }
+
+    private static SchemaParsingException invalidColumn(String tableName) {
+        logger.error("Invalid XML format: Missing 'name' or 'type' in columns of table: {}", tableName);
+        return new SchemaParsingException(
+                "Invalid XML format: Missing 'name' or 'type' in columns of table: " + tableName);
+    }
+
+    private static SchemaParsingException invalidRelationship(String tableName) {
+        logger.error("Invalid XML format: Missing required fields in relationships of table: {}", tableName);
+        return new SchemaParsingException(
+                "Invalid XML format: Missing required fields in relationships of table: " + tableName);
     }
-}
\ No newline at end of file
+}
@@ -11,12 +11,27 @@
  * <p>Key classes and interfaces include:</p>
  * <ul>
  *   <li>{@link model.parser.SchemaParser}: An interface defining the contract for
- *       schema parsers, requiring a method to parse a schema file into a {@link model.SchemaModel}.</li>
+ *       schema parsers, requiring methods to parse a schema file or stream into a {@link model.SchemaModel},
+ *       and reading paths and channels as well.</li>
+ *   <li>{@link model.parser.SchemaInput}: Opens schema sources for the parsers, detecting gzip, zip and
+ *       zlib compression from the content and decompressing it while the schema is parsed.</li>
  *   <li>{@link model.parser.JsonParser}: A concrete implementation of {@link SchemaParser}
- *       that parses JSON schema files into {@link model.SchemaModel} objects.</li>
+ *       that parses JSON schema files into {@link model.SchemaModel} objects, streaming tokens by
+ *       default, reading a whole JSON tree in {@link model.parser.JsonParser.Mode#TREE} mode, or
+ *       building the tables of large documents concurrently in
+ *       {@link model.parser.JsonParser.Mode#PARALLEL} mode.</li>
  *   <li>{@link model.parser.XMLParser}: A concrete implementation of {@link SchemaParser}
- *       that parses XML schema files into {@link model.SchemaModel} objects. The implementation
- *       also includes predefined schema structures for student-course relationships.</li>
+ *       that streams XML schema files with StAX into {@link model.SchemaModel} objects, mapping
+ *       {@code <table>}, {@code <column>} and {@code <relationship>} elements with the same
+ *       validation rules as JSON schema files.</li>
+ *   <li>{@link model.parser.BinaryParser}: A concrete implementation of {@link SchemaParser}
+ *       that loads binary schema snapshots written by {@link model.persistence.BinarySchemaWriter}.</li>
+ *   <li>{@link model.parser.ParseCache}: Keeps the models of recently parsed files, keyed by a hash
+ *       of their content, so that uploading the same schema again returns a copy without parsing.</li>
+ *   <li>{@link model.parser.JsonImport}: Re-imports an edited JSON schema file into the model it was
+ *       first imported into, fingerprinting each table and applying only the tables that changed.</li>
+ *   <li>{@link model.parser.SchemaIngest}: Parses a schema split across many files concurrently and
+ *       merges it into one model, detecting tables that are defined differently in two files.</li>
  * </ul>
  *
  * <p>Example usage:</p>
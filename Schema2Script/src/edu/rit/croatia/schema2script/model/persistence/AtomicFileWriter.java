@@ -0,0 +1,78 @@
+package model.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The AtomicFileWriter class replaces files without ever exposing a partially
+ * written file. Content is written to a temporary file in the target directory
+ * through a {@link FileChannel}, optionally forced to the device, and then moved
+ * over the target in a single atomic rename.
+ */
+public final class AtomicFileWriter {
+
+    private AtomicFileWriter() {
+    }
+
+    /**
+     * Atomically replaces the target file with the specified content.
+     *
+     * @param target  the file to replace
+     * @param content the new content of the file
+     * @param force   whether to force the content and the rename to the device before returning
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path target, byte[] content, boolean force) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (force) {
+                    channel.force(true);
+                }
+            }
+            move(temp, target);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        if (force) {
+            forceDirectory(directory);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces a directory so that a rename inside it survives power loss. Not every
+     * platform can open a directory as a channel; there the rename is left to the
+     * file system.
+     *
+     * @param directory the directory to force
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened as channels on some platforms (e.g. Windows)
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package model.persistence;
+
+import model.Column;
+import model.Relationship;
+import model.Table;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The BinarySchemaReader class reads binary schema snapshots written by
+ * {@link BinarySchemaWriter}. The checksum is verified before anything is
+ * decoded, so a truncated or corrupted snapshot is rejected as a whole.
+ */
+public final class BinarySchemaReader {
+
+    static final int HEADER_LENGTH = 8;
+    static final int TRAILER_LENGTH = 4;
+
+    /**
+     * The StringTable interface resolves string references while a table record
+     * is decoded.
+     */
+    @FunctionalInterface
+    interface StringTable {
+
+        /**
+         * Returns the string with the specified reference.
+         *
+         * @param reference the string reference, never zero
+         * @return the string
+         * @throws IOException if the reference does not exist
+         */
+        String get(int reference) throws IOException;
+    }
+
+    private BinarySchemaReader() {
+    }
+
+    /**
+     * Reads the tables of a binary schema snapshot file.
+     *
+     * @param path the snapshot file
+     * @return the tables, in order
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static List<Table> read(Path path) throws IOException {
+        return read(Files.readAllBytes(path));
+    }
+
+    /**
+     * Reads the tables of a binary schema snapshot.
+     *
+     * @param snapshot the snapshot bytes
+     * @return the tables, in order
+     * @throws IOException if the bytes are not a valid snapshot
+     */
+    public static List<Table> read(byte[] snapshot) throws IOException {
+        if (!isBinarySnapshot(snapshot)) {
+            throw new IOException("Not a binary schema snapshot");
+        }
+        if (snapshot.length < HEADER_LENGTH + TRAILER_LENGTH) {
+            throw new IOException("Binary schema snapshot is truncated");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(snapshot);
+        CRC32 crc = new CRC32();
+        crc.update(snapshot, 0, snapshot.length - TRAILER_LENGTH);
+        if ((int) crc.getValue() != buffer.getInt(snapshot.length - TRAILER_LENGTH)) {
+            throw new IOException("Binary schema snapshot checksum mismatch");
+        }
+
+        buffer.position(Integer.BYTES);
+        short version = buffer.getShort();
+        if (version < 1 || version > BinarySchemaWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported binary schema snapshot version " + version);
+        }
+        buffer.getShort(); // flags, reserved
+        buffer.limit(snapshot.length - TRAILER_LENGTH);
+
+        try {
+            String[] strings = null;
+            List<Table> tables = null;
+            while (buffer.hasRemaining()) {
+                byte id = buffer.get();
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    throw new IOException("Binary schema snapshot section " + id + " exceeds the snapshot");
+                }
+                ByteBuffer section = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                if (id == BinarySchemaWriter.STRINGS_SECTION) {
+                    strings = readStrings(section);
+                } else if (id == BinarySchemaWriter.TABLES_SECTION) {
+                    if (strings == null) {
+                        throw new IOException("Binary schema snapshot has tables before its string table");
+                    }
+                    tables = readTables(section, strings);
+                }
+            }
+            if (tables == null) {
+                throw new IOException("Binary schema snapshot has no tables section");
+            }
+            return tables;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Binary schema snapshot is malformed", e);
+        }
+    }
+
+    /**
+     * Returns whether the specified bytes start with the binary snapshot magic number.
+     *
+     * @param bytes the bytes to check
+     * @return {@code true} if the bytes look like a binary schema snapshot, {@code false} otherwise
+     */
+    public static boolean isBinarySnapshot(byte[] bytes) {
+        return bytes.length >= Integer.BYTES && ByteBuffer.wrap(bytes).getInt(0) == BinarySchemaWriter.MAGIC;
+    }
+
+    private static String[] readStrings(ByteBuffer section) throws IOException {
+        int count = readCount(section);
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = readCount(section);
+            strings[i] = new String(section.array(), section.arrayOffset() + section.position(), length,
+                    StandardCharsets.UTF_8);
+            section.position(section.position() + length);
+        }
+        return strings;
+    }
+
+    private static List<Table> readTables(ByteBuffer section, String[] strings) throws IOException {
+        StringTable stringTable = reference -> {
+            if (reference > strings.length) {
+                throw new IOException("Binary schema snapshot refers to a missing string " + reference);
+            }
+            return strings[reference - 1];
+        };
+        int tableCount = readCount(section);
+        List<Table> tables = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            tables.add(readTable(section, stringTable));
+        }
+        return tables;
+    }
+
+    /**
+     * Decodes one table record starting at the position of the buffer and leaves
+     * the position after it.
+     *
+     * @param section the buffer positioned at a table record
+     * @param strings the string table to resolve references with
+     * @return the decoded table, clean
+     * @throws IOException if the record is malformed
+     */
+    static Table readTable(ByteBuffer section, StringTable strings) throws IOException {
+        Table table = new Table(readString(section, strings));
+        table.setJoinTable((section.get() & BinarySchemaWriter.TABLE_JOIN_FLAG) != 0);
+
+        int columnCount = readCount(section);
+        for (int j = 0; j < columnCount; j++) {
+            String name = readString(section, strings);
+            String type = readString(section, strings);
+            boolean primaryKey = (section.get() & BinarySchemaWriter.COLUMN_PRIMARY_KEY_FLAG) != 0;
+            table.addColumn(new Column(name, type, primaryKey));
+        }
+
+        int relationshipCount = readCount(section);
+        for (int j = 0; j < relationshipCount; j++) {
+            String relationshipType = readString(section, strings);
+            String relatedTable = readString(section, strings);
+            String foreignKey = readString(section, strings);
+            String relatedForeignKey = readString(section, strings);
+            String throughTable = readString(section, strings);
+            table.addRelationship(new Relationship(relationshipType, relatedTable, foreignKey, relatedForeignKey,
+                    throughTable));
+        }
+        table.markClean();
+        return table;
+    }
+
+    private static String readString(ByteBuffer section, StringTable strings) throws IOException {
+        int reference = readVarInt(section);
+        return reference == 0 ? null : strings.get(reference);
+    }
+
+    static int readCount(ByteBuffer section) throws IOException {
+        int count = readVarInt(section);
+        if (count < 0 || count > section.remaining()) {
+            throw new IOException("Binary schema snapshot count " + count + " does not fit its section");
+        }
+        return count;
+    }
+
+    static int readVarInt(ByteBuffer section) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = section.get();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Binary schema snapshot has a malformed integer");
+    }
+}
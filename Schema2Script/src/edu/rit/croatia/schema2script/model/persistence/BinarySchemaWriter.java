@@ -0,0 +1,227 @@
+package model.persistence;
+
+import model.Column;
+import model.Relationship;
+import model.Table;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The BinarySchemaWriter class writes a schema in the compact binary snapshot
+ * format read by {@link BinarySchemaReader}.
+ *
+ * <p>The format is laid out as follows; integers are big-endian and counts and
+ * string references are unsigned variable-length integers:</p>
+ * <pre>
+ *     header    magic "S2SB" (4 bytes), format version (2 bytes), flags (2 bytes)
+ *     section*  section id (1 byte), payload length (4 bytes), payload
+ *     trailer   CRC32 of everything before it (4 bytes)
+ * </pre>
+ *
+ * <p>The {@link #STRINGS_SECTION} holds every distinct name and type once, as a
+ * count followed by length-prefixed UTF-8 strings. The {@link #TABLES_SECTION}
+ * holds the tables, columns and relationships, referring to strings by their
+ * position in the string table plus one, with zero standing for {@code null}.
+ * Readers skip sections they do not know.</p>
+ *
+ * <p>Two fixed-width index sections allow random access without decoding the
+ * rest of the file, see {@link MappedSchemaSnapshot}. The {@link #STRING_INDEX_SECTION}
+ * holds a count followed by the offset of each string within the string table
+ * payload. The {@link #TABLE_DIRECTORY_SECTION} holds a count followed by, for
+ * each table, the hash code of its name, the offset of its record within the
+ * tables payload, and its name reference (three 4-byte integers).</p>
+ */
+public final class BinarySchemaWriter {
+
+    /** File extension of binary schema snapshots. */
+    public static final String EXTENSION = "s2sb";
+
+    /** Magic number at the start of every binary schema snapshot ("S2SB"). */
+    public static final int MAGIC = 0x53325342;
+
+    /** Version of the format written by this class. */
+    public static final short FORMAT_VERSION = 1;
+
+    /** Section id of the string table. */
+    public static final byte STRINGS_SECTION = 1;
+
+    /** Section id of the table definitions. */
+    public static final byte TABLES_SECTION = 2;
+
+    /** Section id of the string offsets. */
+    public static final byte STRING_INDEX_SECTION = 3;
+
+    /** Section id of the table directory. */
+    public static final byte TABLE_DIRECTORY_SECTION = 4;
+
+    /** Length in bytes of one table directory entry. */
+    static final int DIRECTORY_ENTRY_LENGTH = 12;
+
+    static final int TABLE_JOIN_FLAG = 1;
+    static final int COLUMN_PRIMARY_KEY_FLAG = 1;
+
+    private BinarySchemaWriter() {
+    }
+
+    /**
+     * Serializes the specified tables into a binary schema snapshot.
+     *
+     * @param tables the tables of the schema, in order
+     * @return the snapshot bytes
+     */
+    public static byte[] write(List<Table> tables) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (Table table : tables) {
+            intern(strings, table.getTableName());
+            for (Column column : table.getColumns()) {
+                intern(strings, column.getName());
+                intern(strings, column.getType());
+            }
+            for (Relationship relationship : table.getRelationships()) {
+                intern(strings, relationship.getRelationshipType());
+                intern(strings, relationship.getRelatedTable());
+                intern(strings, relationship.getForeignKey());
+                intern(strings, relationship.getRelatedForeignKey());
+                intern(strings, relationship.getThroughTable());
+            }
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(MAGIC);
+            output.writeShort(FORMAT_VERSION);
+            output.writeShort(0);
+            int[] stringOffsets = new int[strings.size()];
+            int[] tableOffsets = new int[tables.size()];
+            writeSection(output, STRINGS_SECTION, writeStrings(strings, stringOffsets));
+            writeSection(output, STRING_INDEX_SECTION, writeStringIndex(stringOffsets));
+            writeSection(output, TABLES_SECTION, writeTables(tables, strings, tableOffsets));
+            writeSection(output, TABLE_DIRECTORY_SECTION, writeTableDirectory(tables, strings, tableOffsets));
+
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            output.writeInt((int) crc.getValue());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // In-memory streams do not fail
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes the specified tables as a binary schema snapshot, replacing the file
+     * atomically.
+     *
+     * @param path   the file to write
+     * @param tables the tables of the schema, in order
+     * @param force  whether to force the file to the device before returning
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, List<Table> tables, boolean force) throws IOException {
+        AtomicFileWriter.write(path, write(tables), force);
+    }
+
+    private static void intern(Map<String, Integer> strings, String value) {
+        if (value != null) {
+            strings.putIfAbsent(value, strings.size() + 1);
+        }
+    }
+
+    private static byte[] writeStrings(Map<String, Integer> strings, int[] offsets) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        writeVarInt(output, strings.size());
+        int i = 0;
+        for (String value : strings.keySet()) {
+            offsets[i++] = output.size();
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(output, utf8.length);
+            output.write(utf8);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] writeStringIndex(int[] offsets) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(offsets.length);
+        for (int offset : offsets) {
+            output.writeInt(offset);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] writeTables(List<Table> tables, Map<String, Integer> strings, int[] offsets)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        writeVarInt(output, tables.size());
+        for (int i = 0; i < tables.size(); i++) {
+            Table table = tables.get(i);
+            offsets[i] = output.size();
+            writeString(output, strings, table.getTableName());
+            output.writeByte(table.isJoinTable() ? TABLE_JOIN_FLAG : 0);
+
+            List<Column> columns = table.getColumns();
+            writeVarInt(output, columns.size());
+            for (Column column : columns) {
+                writeString(output, strings, column.getName());
+                writeString(output, strings, column.getType());
+                output.writeByte(column.isPrimaryKey() ? COLUMN_PRIMARY_KEY_FLAG : 0);
+            }
+
+            List<Relationship> relationships = table.getRelationships();
+            writeVarInt(output, relationships.size());
+            for (Relationship relationship : relationships) {
+                writeString(output, strings, relationship.getRelationshipType());
+                writeString(output, strings, relationship.getRelatedTable());
+                writeString(output, strings, relationship.getForeignKey());
+                writeString(output, strings, relationship.getRelatedForeignKey());
+                writeString(output, strings, relationship.getThroughTable());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] writeTableDirectory(List<Table> tables, Map<String, Integer> strings, int[] offsets)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        output.writeInt(tables.size());
+        for (int i = 0; i < tables.size(); i++) {
+            String tableName = tables.get(i).getTableName();
+            output.writeInt(tableName == null ? 0 : tableName.hashCode());
+            output.writeInt(offsets[i]);
+            output.writeInt(tableName == null ? 0 : strings.get(tableName));
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeSection(DataOutputStream output, byte id, byte[] payload) throws IOException {
+        output.writeByte(id);
+        output.writeInt(payload.length);
+        output.write(payload);
+    }
+
+    private static void writeString(DataOutputStream output, Map<String, Integer> strings, String value)
+            throws IOException {
+        writeVarInt(output, value == null ? 0 : strings.get(value));
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+}
@@ -0,0 +1,36 @@
+package model.persistence;
+
+/**
+ * The DurabilityPolicy enum defines when persisted schema data is forced to the
+ * storage device, trading write latency for safety against power loss. Atomic
+ * replacement of whole files protects against torn files under every policy.
+ */
+public enum DurabilityPolicy {
+
+    /** Never force; data reaches the device whenever the operating system writes it back. */
+    NONE,
+
+    /** Force at durability points: explicit flushes, closes, and one-off exports. */
+    FORCE_ON_FLUSH,
+
+    /** Force every journal append and every file replacement before it completes. */
+    FORCE_EVERY_WRITE;
+
+    /**
+     * Returns whether every individual write must be forced.
+     *
+     * @return {@code true} if every write is forced, {@code false} otherwise
+     */
+    public boolean forcesEveryWrite() {
+        return this == FORCE_EVERY_WRITE;
+    }
+
+    /**
+     * Returns whether data must be forced at durability points.
+     *
+     * @return {@code true} if flushes are forced, {@code false} otherwise
+     */
+    public boolean forcesOnFlush() {
+        return this != NONE;
+    }
+}
@@ -0,0 +1,173 @@
+package model.persistence;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import model.SchemaMutation;
+import model.Table;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * The JsonCodec class holds the JSON readers and writers shared by the model,
+ * the parsers and persistence. They are configured once from a single
+ * {@link ObjectMapper}, so introspection and serializer caches are warmed up once
+ * per process rather than on every load and save. {@link ObjectReader} and
+ * {@link ObjectWriter} instances are immutable and thread-safe.
+ */
+public final class JsonCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<Table>> TABLE_LIST = new TypeReference<>() {
+    };
+
+    private static final ObjectReader TREE_READER = MAPPER.reader();
+    private static final ObjectReader TABLE_READER = MAPPER.readerFor(Table.class);
+    private static final ObjectReader TABLE_LIST_READER = MAPPER.readerFor(TABLE_LIST);
+    private static final ObjectReader MUTATION_READER = MAPPER.readerFor(SchemaMutation.class);
+    private static final ObjectWriter WRITER = MAPPER.writer();
+    private static final ObjectWriter TABLE_WRITER = MAPPER.writerFor(Table.class);
+    private static final ObjectWriter TABLE_LIST_WRITER = MAPPER.writerFor(TABLE_LIST)
+            .with(SerializationFeature.INDENT_OUTPUT);
+    private static final ObjectWriter MUTATION_WRITER = MAPPER.writerFor(SchemaMutation.class);
+
+    private JsonCodec() {
+    }
+
+    /**
+     * Returns the reader for untyped JSON trees, e.g. schema files being validated.
+     *
+     * @return the tree reader
+     */
+    public static ObjectReader treeReader() {
+        return TREE_READER;
+    }
+
+    /**
+     * Creates a streaming token parser over the specified input, configured like
+     * the tree reader, for reading large documents without building a tree.
+     *
+     * @param input the JSON input; closed when the parser is closed
+     * @return the token parser
+     * @throws IOException if the parser cannot be created
+     */
+    public static JsonParser createParser(InputStream input) throws IOException {
+        return TREE_READER.createParser(input);
+    }
+
+    /**
+     * Creates a streaming token parser over a range of bytes, configured like the
+     * tree reader. Byte offsets reported by the parser are relative to the array.
+     *
+     * @param content the JSON content
+     * @param offset  the start of the range
+     * @param length  the length of the range
+     * @return the token parser
+     * @throws IOException if the parser cannot be created
+     */
+    public static JsonParser createParser(byte[] content, int offset, int length) throws IOException {
+        return TREE_READER.createParser(content, offset, length);
+    }
+
+    /**
+     * Returns the reader for a single {@link Table}, e.g. a table shard.
+     *
+     * @return the table reader
+     */
+    public static ObjectReader tableReader() {
+        return TABLE_READER;
+    }
+
+    /**
+     * Returns the reader for a list of {@link Table}s, e.g. the schema file.
+     *
+     * @return the table list reader
+     */
+    public static ObjectReader tableListReader() {
+        return TABLE_LIST_READER;
+    }
+
+    /**
+     * Returns the reader for {@link SchemaMutation} journal records.
+     *
+     * @return the mutation reader
+     */
+    public static ObjectReader mutationReader() {
+        return MUTATION_READER;
+    }
+
+    /**
+     * Returns the reader for the specified type, sharing the caches of the codec.
+     * Callers should keep the returned reader rather than requesting it per call.
+     *
+     * @param type the type to read
+     * @return the reader
+     */
+    public static ObjectReader readerFor(Class<?> type) {
+        return MAPPER.readerFor(type);
+    }
+
+    /**
+     * Returns the compact writer for any value, e.g. JSON trees.
+     *
+     * @return the untyped writer
+     */
+    public static ObjectWriter writer() {
+        return WRITER;
+    }
+
+    /**
+     * Returns the compact writer for a single {@link Table}.
+     *
+     * @return the table writer
+     */
+    public static ObjectWriter tableWriter() {
+        return TABLE_WRITER;
+    }
+
+    /**
+     * Returns the pretty-printing writer for a list of {@link Table}s, the format
+     * of the schema file.
+     *
+     * @return the table list writer
+     */
+    public static ObjectWriter tableListWriter() {
+        return TABLE_LIST_WRITER;
+    }
+
+    /**
+     * Returns the compact writer for {@link SchemaMutation} journal records.
+     *
+     * @return the mutation writer
+     */
+    public static ObjectWriter mutationWriter() {
+        return MUTATION_WRITER;
+    }
+
+    /**
+     * Returns the writer for the specified type, sharing the caches of the codec.
+     * Callers should keep the returned writer rather than requesting it per call.
+     *
+     * @param type the type to write
+     * @return the writer
+     */
+    public static ObjectWriter writerFor(Class<?> type) {
+        return MAPPER.writerFor(type);
+    }
+
+    /**
+     * Creates an empty JSON object node.
+     *
+     * @return the new object node
+     */
+    public static ObjectNode createObjectNode() {
+        return JsonNodeFactory.instance.objectNode();
+    }
+}
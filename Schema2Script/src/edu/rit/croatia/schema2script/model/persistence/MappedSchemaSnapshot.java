@@ -0,0 +1,374 @@
+package model.persistence;
+
+import model.Table;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * The MappedSchemaSnapshot class is a read-only view of a binary schema snapshot
+ * that memory-maps the file and decodes tables only when they are accessed.
+ *
+ * <p>Opening a snapshot reads the section headers only. The number of tables and
+ * the table names are answered from the fixed-width table directory, a lookup by
+ * name probes a hash index built from the directory on first use, and a table is
+ * decoded the first time it is requested and then shared by later calls. Heap use
+ * therefore grows with the tables actually touched, not with the size of the
+ * schema. Snapshots written before the index sections existed are indexed by a
+ * scan when they are opened.</p>
+ *
+ * <p>The checksum is not verified on open, since that would read every page of
+ * the file; call {@link #verifyChecksum()} when the snapshot is not trusted.
+ * Instances are safe for concurrent use. Materialized tables are shared and must
+ * not be modified.</p>
+ */
+public final class MappedSchemaSnapshot {
+
+    private static final Logger logger = LogManager.getLogger(MappedSchemaSnapshot.class);
+
+    private final ByteBuffer buffer;
+    private final int stringsStart;
+    private final int stringCount;
+    private final int tablesStart;
+    private final int tablesEnd;
+    private final int tableCount;
+    private final int stringIndexStart;
+    private final int directoryStart;
+    private final int[] scannedStringOffsets;
+    private final int[] scannedTableOffsets;
+    private final Map<Integer, String> strings = new ConcurrentHashMap<>();
+    private final Map<Integer, Table> tables = new ConcurrentHashMap<>();
+    private volatile int[] nameIndex;
+
+    private MappedSchemaSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        int size = buffer.capacity();
+        if (size < BinarySchemaReader.HEADER_LENGTH + BinarySchemaReader.TRAILER_LENGTH
+                || buffer.getInt(0) != BinarySchemaWriter.MAGIC) {
+            throw new IOException("Not a binary schema snapshot");
+        }
+        short version = buffer.getShort(Integer.BYTES);
+        if (version < 1 || version > BinarySchemaWriter.FORMAT_VERSION) {
+            throw new IOException("Unsupported binary schema snapshot version " + version);
+        }
+
+        int stringsSection = -1;
+        int stringsEnd = -1;
+        int tablesSection = -1;
+        int tablesLimit = -1;
+        int stringIndex = -1;
+        int directory = -1;
+        int position = BinarySchemaReader.HEADER_LENGTH;
+        int limit = size - BinarySchemaReader.TRAILER_LENGTH;
+        while (position < limit) {
+            if (position + 5 > limit) {
+                throw new IOException("Binary schema snapshot is malformed");
+            }
+            byte id = buffer.get(position);
+            int length = buffer.getInt(position + 1);
+            int start = position + 5;
+            if (length < 0 || length > limit - start) {
+                throw new IOException("Binary schema snapshot section " + id + " exceeds the snapshot");
+            }
+            switch (id) {
+                case BinarySchemaWriter.STRINGS_SECTION -> {
+                    stringsSection = start;
+                    stringsEnd = start + length;
+                }
+                case BinarySchemaWriter.TABLES_SECTION -> {
+                    tablesSection = start;
+                    tablesLimit = start + length;
+                }
+                case BinarySchemaWriter.STRING_INDEX_SECTION -> stringIndex = start;
+                case BinarySchemaWriter.TABLE_DIRECTORY_SECTION -> directory = start;
+                default -> {
+                    // Unknown sections are skipped
+                }
+            }
+            position = start + length;
+        }
+        if (stringsSection < 0 || tablesSection < 0) {
+            throw new IOException("Binary schema snapshot has no string table or tables section");
+        }
+
+        try {
+            ByteBuffer stringSection = buffer.slice(stringsSection, stringsEnd - stringsSection);
+            this.stringCount = BinarySchemaReader.readCount(stringSection);
+            this.stringsStart = stringsSection;
+            ByteBuffer tableSection = buffer.slice(tablesSection, tablesLimit - tablesSection);
+            this.tableCount = BinarySchemaReader.readCount(tableSection);
+            this.tablesStart = tablesSection;
+            this.tablesEnd = tablesLimit;
+            this.stringIndexStart = stringIndex < 0 ? -1 : stringIndex + Integer.BYTES;
+            this.directoryStart = directory < 0 ? -1 : directory + Integer.BYTES;
+            this.scannedStringOffsets = stringIndex < 0 ? scanStringOffsets(stringSection) : null;
+            this.scannedTableOffsets = directory < 0 ? scanTableOffsets(tableSection) : null;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IOException("Binary schema snapshot is malformed", e);
+        }
+    }
+
+    /**
+     * Opens a binary schema snapshot by memory-mapping it. Only the section
+     * headers are read.
+     *
+     * @param path the snapshot file
+     * @return the snapshot view
+     * @throws IOException if the file cannot be mapped or is not a binary schema snapshot
+     */
+    public static MappedSchemaSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Binary schema snapshot " + path + " is too large to map");
+            }
+            // The mapping stays valid after the channel is closed
+            return new MappedSchemaSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Returns the number of tables without decoding any of them.
+     *
+     * @return the number of tables
+     */
+    public int size() {
+        return tableCount;
+    }
+
+    /**
+     * Returns the name of the table at the specified position without decoding
+     * the table.
+     *
+     * @param index the position of the table
+     * @return the table name
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws UncheckedIOException      if the snapshot is malformed
+     */
+    public String getTableName(int index) {
+        return string(tableNameReference(index));
+    }
+
+    /**
+     * Returns the table at the specified position, decoding it on first access.
+     *
+     * @param index the position of the table
+     * @return the {@link Table}
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @throws UncheckedIOException      if the snapshot is malformed
+     */
+    public Table getTable(int index) {
+        checkIndex(index);
+        return tables.computeIfAbsent(index, this::decodeTable);
+    }
+
+    /**
+     * Returns the first table with the specified name, decoding only that table.
+     *
+     * @param tableName the name of the table
+     * @return the {@link Table}, or {@code null} if the snapshot has no such table
+     * @throws UncheckedIOException if the snapshot is malformed
+     */
+    public Table getTable(String tableName) {
+        int index = indexOf(tableName);
+        return index < 0 ? null : getTable(index);
+    }
+
+    /**
+     * Returns the position of the first table with the specified name without
+     * decoding any table.
+     *
+     * @param tableName the name of the table
+     * @return the position of the table, or {@code -1} if the snapshot has no such table
+     * @throws UncheckedIOException if the snapshot is malformed
+     */
+    public int indexOf(String tableName) {
+        if (tableName == null) {
+            return -1;
+        }
+        int[] index = nameIndex();
+        int hash = tableName.hashCode();
+        int mask = index.length - 1;
+        for (int slot = spread(hash) & mask; index[slot] != 0; slot = (slot + 1) & mask) {
+            int candidate = index[slot] - 1;
+            if (tableNameHash(candidate) == hash && tableName.equals(getTableName(candidate))) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a read-only list view of the tables that decodes each table when
+     * it is first read, e.g. while iterating.
+     *
+     * @return the tables, in order
+     */
+    public List<Table> getTables() {
+        return new TableList();
+    }
+
+    /**
+     * Returns the number of tables decoded so far.
+     *
+     * @return the number of materialized tables
+     */
+    public int getMaterializedCount() {
+        return tables.size();
+    }
+
+    /**
+     * Verifies the checksum of the whole snapshot. This reads every page of the file.
+     *
+     * @return {@code true} if the snapshot is intact, {@code false} otherwise
+     */
+    public boolean verifyChecksum() {
+        int limit = buffer.capacity() - BinarySchemaReader.TRAILER_LENGTH;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(0, limit));
+        return (int) crc.getValue() == buffer.getInt(limit);
+    }
+
+    private final class TableList extends AbstractList<Table> implements RandomAccess {
+
+        @Override
+        public Table get(int index) {
+            return getTable(index);
+        }
+
+        @Override
+        public int size() {
+            return tableCount;
+        }
+    }
+
+    private Table decodeTable(int index) {
+        int start = tablesStart + tableOffset(index);
+        try {
+            return BinarySchemaReader.readTable(buffer.slice(start, tablesEnd - start), this::checkedString);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new UncheckedIOException(new IOException("Binary schema snapshot table " + index
+                    + " is malformed", e));
+        }
+    }
+
+    private String string(int reference) {
+        try {
+            return reference == 0 ? null : checkedString(reference);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String checkedString(int reference) throws IOException {
+        if (reference < 1 || reference > stringCount) {
+            throw new IOException("Binary schema snapshot refers to a missing string " + reference);
+        }
+        String value = strings.get(reference);
+        if (value == null) {
+            int offset = scannedStringOffsets != null ? scannedStringOffsets[reference - 1]
+                    : buffer.getInt(stringIndexStart + (reference - 1) * Integer.BYTES);
+            ByteBuffer entry = buffer.slice(stringsStart + offset, buffer.capacity() - stringsStart - offset);
+            int length = BinarySchemaReader.readCount(entry);
+            byte[] utf8 = new byte[length];
+            entry.get(utf8);
+            value = new String(utf8, StandardCharsets.UTF_8);
+            String existing = strings.putIfAbsent(reference, value);
+            if (existing != null) {
+                value = existing;
+            }
+        }
+        return value;
+    }
+
+    private int tableOffset(int index) {
+        return scannedTableOffsets != null ? scannedTableOffsets[index]
+                : buffer.getInt(directoryStart + index * BinarySchemaWriter.DIRECTORY_ENTRY_LENGTH + Integer.BYTES);
+    }
+
+    private int tableNameReference(int index) {
+        checkIndex(index);
+        if (scannedTableOffsets != null) {
+            try {
+                return BinarySchemaReader.readVarInt(buffer.slice(tablesStart + scannedTableOffsets[index],
+                        tablesEnd - tablesStart - scannedTableOffsets[index]));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return buffer.getInt(directoryStart + index * BinarySchemaWriter.DIRECTORY_ENTRY_LENGTH
+                + 2 * Integer.BYTES);
+    }
+
+    private int tableNameHash(int index) {
+        if (scannedTableOffsets != null) {
+            String tableName = getTableName(index);
+            return tableName == null ? 0 : tableName.hashCode();
+        }
+        return buffer.getInt(directoryStart + index * BinarySchemaWriter.DIRECTORY_ENTRY_LENGTH);
+    }
+
+    private int[] nameIndex() {
+        int[] index = nameIndex;
+        if (index == null) {
+            index = new int[Integer.highestOneBit(Math.max(tableCount, 1) * 2 + 1) << 1];
+            int mask = index.length - 1;
+            for (int i = 0; i < tableCount; i++) {
+                int slot = spread(tableNameHash(i)) & mask;
+                while (index[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                index[slot] = i + 1;
+            }
+            nameIndex = index;
+        }
+        return index;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= tableCount) {
+            throw new IndexOutOfBoundsException("Table index " + index + " out of range for " + tableCount
+                    + " tables");
+        }
+    }
+
+    private int[] scanStringOffsets(ByteBuffer section) throws IOException {
+        logger.debug("Binary schema snapshot has no string index; scanning {} strings.", stringCount);
+        int[] offsets = new int[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            offsets[i] = section.position();
+            int length = BinarySchemaReader.readCount(section);
+            section.position(section.position() + length);
+        }
+        return offsets;
+    }
+
+    private int[] scanTableOffsets(ByteBuffer section) throws IOException {
+        logger.debug("Binary schema snapshot has no table directory; scanning {} tables.", tableCount);
+        int[] offsets = new int[tableCount];
+        for (int i = 0; i < tableCount; i++) {
+            offsets[i] = section.position();
+            BinarySchemaReader.readTable(section, this::checkedString);
+        }
+        return offsets;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
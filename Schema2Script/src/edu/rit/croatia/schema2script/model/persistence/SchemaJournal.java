@@ -0,0 +1,451 @@
+package model.persistence;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import model.SchemaMutation;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The SchemaJournal class is an append-only log of {@link SchemaMutation} records
+ * stored next to a schema snapshot file.
+ *
+ * <p>The journal is split into numbered segments ({@code schema.json.journal.1},
+ * {@code schema.json.journal.2}, ...). Each segment starts with a header holding the
+ * checksum of the serialized schema it applies to, followed by one JSON record per
+ * line. Compaction {@linkplain #rotate(long, SnapshotWriter) rotates} to a new segment
+ * whose base is the captured schema, then {@linkplain Rotation#commit() commits} the snapshot
+ * atomically and deletes the older segments. On replay a segment is applied only
+ * when its base matches the schema rebuilt so far, so a crash at any point of a
+ * compaction neither loses records nor applies them twice.</p>
+ *
+ * <p>The {@link DurabilityPolicy} decides when appended records are forced to the
+ * device. Snapshots are always replaced atomically through {@link AtomicFileWriter},
+ * and are forced before the segments they supersede are deleted unless the policy
+ * is {@link DurabilityPolicy#NONE}.</p>
+ */
+public class SchemaJournal implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(SchemaJournal.class);
+    private static final String SEGMENT_INFIX = ".journal.";
+    private static final String BASE_FIELD = "base";
+
+    private final Path snapshotPath;
+    private DurabilityPolicy durabilityPolicy;
+    private FileChannel segmentChannel;
+    private long segmentSize;
+    private long appendedRecords;
+
+    /**
+     * The Segment class represents a journal segment read back from disk.
+     */
+    public static final class Segment {
+        private final Path path;
+        private final long base;
+        private final List<SchemaMutation> mutations;
+
+        private Segment(Path path, long base, List<SchemaMutation> mutations) {
+            this.path = path;
+            this.base = base;
+            this.mutations = mutations;
+        }
+
+        /**
+         * Returns the file holding this segment.
+         *
+         * @return the segment path
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * Returns the checksum of the serialized schema this segment applies to.
+         *
+         * @return the base checksum
+         */
+        public long getBase() {
+            return base;
+        }
+
+        /**
+         * Returns the mutations recorded in this segment, in order.
+         *
+         * @return the recorded mutations
+         */
+        public List<SchemaMutation> getMutations() {
+            return mutations;
+        }
+    }
+
+    /**
+     * The SnapshotWriter interface represents the write of a captured snapshot,
+     * e.g. a single file or a directory of table shards.
+     */
+    @FunctionalInterface
+    public interface SnapshotWriter {
+
+        /**
+         * Writes the captured snapshot atomically.
+         *
+         * @param force whether to force the snapshot to the device before returning
+         * @throws IOException if the snapshot cannot be written
+         */
+        void write(boolean force) throws IOException;
+    }
+
+    /**
+     * The Rotation class represents a compaction that has switched appends to a new
+     * segment but has not yet written its snapshot.
+     */
+    public final class Rotation {
+        private final SnapshotWriter snapshotWriter;
+        private final List<Path> supersededSegments;
+
+        private Rotation(SnapshotWriter snapshotWriter, List<Path> supersededSegments) {
+            this.snapshotWriter = snapshotWriter;
+            this.supersededSegments = supersededSegments;
+        }
+
+        /**
+         * Writes the snapshot atomically and deletes the segments it supersedes.
+         *
+         * @throws IOException if the snapshot cannot be written
+         */
+        public void commit() throws IOException {
+            snapshotWriter.write(getDurabilityPolicy().forcesOnFlush());
+            for (Path segment : supersededSegments) {
+                Files.deleteIfExists(segment);
+            }
+            logger.debug("Journal compacted into a snapshot of {} ({} segments removed).", snapshotPath,
+                    supersededSegments.size());
+        }
+    }
+
+    /**
+     * Constructs a SchemaJournal for the specified snapshot file. No file is
+     * created until the first {@link #rotate(byte[])}.
+     *
+     * @param snapshotPath the schema snapshot file the journal belongs to
+     */
+    public SchemaJournal(Path snapshotPath) {
+        this(snapshotPath, DurabilityPolicy.FORCE_ON_FLUSH);
+    }
+
+    /**
+     * Constructs a SchemaJournal for the specified snapshot file with the
+     * specified durability policy.
+     *
+     * @param snapshotPath     the schema snapshot file the journal belongs to
+     * @param durabilityPolicy when records and snapshots are forced to the device
+     * @throws IllegalArgumentException if the durability policy is {@code null}
+     */
+    public SchemaJournal(Path snapshotPath, DurabilityPolicy durabilityPolicy) {
+        this.snapshotPath = snapshotPath;
+        setDurabilityPolicy(durabilityPolicy);
+    }
+
+    /**
+     * Changes when records and snapshots are forced to the device.
+     *
+     * @param durabilityPolicy the new durability policy
+     * @throws IllegalArgumentException if the durability policy is {@code null}
+     */
+    public synchronized void setDurabilityPolicy(DurabilityPolicy durabilityPolicy) {
+        if (durabilityPolicy == null) {
+            throw new IllegalArgumentException("Durability policy cannot be null");
+        }
+        this.durabilityPolicy = durabilityPolicy;
+    }
+
+    /**
+     * Returns when records and snapshots are forced to the device.
+     *
+     * @return the durability policy
+     */
+    public synchronized DurabilityPolicy getDurabilityPolicy() {
+        return durabilityPolicy;
+    }
+
+    /**
+     * Appends a mutation record to the current segment.
+     *
+     * @param mutation the mutation to record
+     * @throws IOException           if the record cannot be written
+     * @throws IllegalStateException if no segment has been opened with {@link #rotate(byte[])}
+     */
+    public void append(SchemaMutation mutation) throws IOException {
+        append(encode(mutation));
+    }
+
+    /**
+     * Appends a record encoded by {@link #encode(SchemaMutation)} to the current
+     * segment, e.g. one encoded while the edited tables could not change.
+     *
+     * @param record the encoded record
+     * @throws IOException           if the record cannot be written
+     * @throws IllegalStateException if no segment has been opened with {@link #rotate(byte[])}
+     */
+    public synchronized void append(byte[] record) throws IOException {
+        if (segmentChannel == null) {
+            throw new IllegalStateException("No journal segment is open.");
+        }
+        writeFully(segmentChannel, record);
+        if (durabilityPolicy.forcesEveryWrite()) {
+            segmentChannel.force(false);
+        }
+        segmentSize += record.length;
+        appendedRecords++;
+    }
+
+    /**
+     * Encodes a mutation as a journal record. The record no longer refers to the
+     * tables, columns or relationships of the mutation.
+     *
+     * @param mutation the mutation to encode
+     * @return the record, as {@link #append(byte[])} writes it
+     * @throws IOException if the mutation cannot be serialized
+     */
+    public static byte[] encode(SchemaMutation mutation) throws IOException {
+        return toLine(JsonCodec.mutationWriter().writeValueAsBytes(mutation));
+    }
+
+    /**
+     * Starts a new segment based on the specified snapshot. Subsequent appends go
+     * to the new segment; the snapshot itself is written over the snapshot file by
+     * {@link Rotation#commit()}.
+     *
+     * @param snapshot the serialized schema the new segment applies to
+     * @return the pending rotation
+     * @throws IOException if the new segment cannot be created
+     */
+    public Rotation rotate(byte[] snapshot) throws IOException {
+        return rotate(checksum(snapshot), force -> AtomicFileWriter.write(snapshotPath, snapshot, force));
+    }
+
+    /**
+     * Starts a new segment based on a snapshot captured elsewhere. Subsequent
+     * appends go to the new segment; the snapshot itself is written by
+     * {@link Rotation#commit()}.
+     *
+     * @param base           the checksum of the schema state the new segment applies to
+     * @param snapshotWriter the write of the captured snapshot
+     * @return the pending rotation
+     * @throws IOException if the new segment cannot be created
+     */
+    public synchronized Rotation rotate(long base, SnapshotWriter snapshotWriter) throws IOException {
+        Path directory = snapshotPath.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        List<Path> existing = listSegments(snapshotPath);
+        long next = existing.isEmpty() ? 1 : segmentNumber(existing.get(existing.size() - 1), snapshotPath) + 1;
+        Path nextSegment = snapshotPath.resolveSibling(snapshotPath.getFileName() + SEGMENT_INFIX + next);
+
+        FileChannel channel = FileChannel.open(nextSegment, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        byte[] header = toLine(JsonCodec.writer().writeValueAsBytes(JsonCodec.createObjectNode().put(BASE_FIELD, base)));
+        try {
+            writeFully(channel, header);
+            if (durabilityPolicy.forcesEveryWrite()) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            channel.close();
+            Files.deleteIfExists(nextSegment);
+            throw e;
+        }
+
+        closeSegment();
+        segmentChannel = channel;
+        segmentSize = header.length;
+        return new Rotation(snapshotWriter, existing);
+    }
+
+    /**
+     * Returns the size in bytes of the current segment.
+     *
+     * @return the current segment size, or {@code 0} if no segment is open
+     */
+    public synchronized long size() {
+        return segmentSize;
+    }
+
+    /**
+     * Returns the number of records appended through this journal.
+     *
+     * @return the number of appended records
+     */
+    public synchronized long getAppendedRecords() {
+        return appendedRecords;
+    }
+
+    /**
+     * Returns the snapshot file the journal belongs to.
+     *
+     * @return the snapshot path
+     */
+    public Path getSnapshotPath() {
+        return snapshotPath;
+    }
+
+    /**
+     * Forces the records appended to the current segment to the device, unless
+     * the durability policy is {@link DurabilityPolicy#NONE}. Call at durability
+     * points.
+     *
+     * @throws IOException if the segment cannot be forced
+     */
+    public synchronized void sync() throws IOException {
+        if (segmentChannel != null && durabilityPolicy.forcesOnFlush()) {
+            segmentChannel.force(false);
+        }
+    }
+
+    /**
+     * Syncs and closes the current segment. The segment stays on disk until a
+     * later compaction supersedes it.
+     *
+     * @throws IOException if the segment cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            sync();
+        } finally {
+            closeSegment();
+        }
+        segmentSize = 0;
+    }
+
+    /**
+     * Computes the checksum used to match segments with the schema they apply to.
+     *
+     * @param bytes the serialized schema
+     * @return the checksum
+     */
+    public static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    /**
+     * Reads the snapshot file.
+     *
+     * @param snapshotPath the snapshot file
+     * @return the snapshot bytes, or {@code null} if the file does not exist
+     * @throws IOException if the file cannot be read
+     */
+    public static byte[] readSnapshot(Path snapshotPath) throws IOException {
+        try {
+            return Files.readAllBytes(snapshotPath);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads every journal segment of a snapshot file, oldest first. A torn or
+     * unreadable record ends its segment, since nothing after it can be trusted.
+     *
+     * @param snapshotPath the snapshot file
+     * @return the segments on disk
+     * @throws IOException if a segment cannot be read
+     */
+    public static List<Segment> readSegments(Path snapshotPath) throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        for (Path path : listSegments(snapshotPath)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String header = reader.readLine();
+                JsonNode headerNode = header == null ? null : readTreeOrNull(header);
+                if (headerNode == null || !headerNode.has(BASE_FIELD)) {
+                    logger.warn("Skipping journal segment {} with a missing or torn header.", path);
+                    continue;
+                }
+                List<SchemaMutation> mutations = new ArrayList<>();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    try {
+                        mutations.add(JsonCodec.mutationReader().readValue(line));
+                    } catch (JsonProcessingException e) {
+                        logger.warn("Journal segment {} ends with an unreadable record after {} records.", path,
+                                mutations.size());
+                        break;
+                    }
+                }
+                segments.add(new Segment(path, headerNode.get(BASE_FIELD).asLong(), mutations));
+            }
+        }
+        return segments;
+    }
+
+    private void closeSegment() throws IOException {
+        if (segmentChannel != null) {
+            FileChannel channel = segmentChannel;
+            segmentChannel = null;
+            channel.close();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static JsonNode readTreeOrNull(String json) {
+        try {
+            return JsonCodec.treeReader().readTree(json);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static byte[] toLine(byte[] json) {
+        byte[] line = new byte[json.length + 1];
+        System.arraycopy(json, 0, line, 0, json.length);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    private static List<Path> listSegments(Path snapshotPath) throws IOException {
+        Path directory = snapshotPath.toAbsolutePath().getParent();
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        String prefix = snapshotPath.getFileName() + SEGMENT_INFIX;
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix))
+                    .filter(file -> segmentNumber(file, snapshotPath) > 0)
+                    .sorted(Comparator.comparingLong(file -> segmentNumber(file, snapshotPath)))
+                    .collect(Collectors.toCollection(ArrayList::new));
+        }
+    }
+
+    private static long segmentNumber(Path segment, Path snapshotPath) {
+        String suffix = segment.getFileName().toString()
+                .substring((snapshotPath.getFileName() + SEGMENT_INFIX).length());
+        try {
+            return Long.parseLong(suffix);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
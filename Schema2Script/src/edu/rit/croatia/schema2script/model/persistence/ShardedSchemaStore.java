@@ -0,0 +1,387 @@
+package model.persistence;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import model.Table;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * The ShardedSchemaStore class persists a schema as a directory holding one file
+ * per {@link Table} plus a small manifest listing the tables in order.
+ *
+ * <p>A {@linkplain #capture(List) capture} serializes only the tables that are
+ * {@linkplain Table#isDirty() dirty} or were never saved through this store; clean
+ * tables keep the shard file they were last saved to. A {@linkplain Table#frozenCopy()
+ * frozen} table cannot change, so it is clean for as long as it was saved. Shards are never overwritten:
+ * every rewritten table gets a file named after the manifest generation, the new
+ * manifest is swapped in atomically, and only then are unreferenced shards deleted.
+ * A crash therefore always leaves the previous or the new manifest with all of its
+ * shards.</p>
+ *
+ * <p>The state of a schema is identified by a checksum combined from the per-table
+ * shard checksums, which lets journal segments be matched with a sharded snapshot
+ * without serializing the clean tables again.</p>
+ */
+public class ShardedSchemaStore {
+
+    private static final Logger logger = LogManager.getLogger(ShardedSchemaStore.class);
+    private static final String MANIFEST_FILE = "manifest.json";
+    private static final String SHARD_SUFFIX = ".json";
+    private static final int MANIFEST_VERSION = 1;
+    private static final int MAX_FILE_NAME_LENGTH = 64;
+
+    private static final ObjectReader MANIFEST_READER = JsonCodec.readerFor(Manifest.class);
+    private static final ObjectWriter MANIFEST_WRITER = JsonCodec.writerFor(Manifest.class);
+
+    private final Path directory;
+    private final Map<Table, Shard> savedShards = new IdentityHashMap<>();
+    private long generation = -1;
+    private long shardsWritten;
+
+    /**
+     * The Shard class describes one table file listed in the manifest.
+     */
+    static final class Shard {
+        private final String tableName;
+        private final String file;
+        private final long checksum;
+
+        @JsonCreator
+        Shard(@JsonProperty("tableName") String tableName, @JsonProperty("file") String file,
+                @JsonProperty("checksum") long checksum) {
+            this.tableName = tableName;
+            this.file = file;
+            this.checksum = checksum;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public String getFile() {
+            return file;
+        }
+
+        public long getChecksum() {
+            return checksum;
+        }
+    }
+
+    /**
+     * The Manifest class lists the shards of a saved schema in table order.
+     */
+    static final class Manifest {
+        private final int version;
+        private final long generation;
+        private final List<Shard> shards;
+
+        @JsonCreator
+        Manifest(@JsonProperty("version") int version, @JsonProperty("generation") long generation,
+                @JsonProperty("shards") List<Shard> shards) {
+            this.version = version;
+            this.generation = generation;
+            this.shards = shards != null ? shards : new ArrayList<>();
+        }
+
+        public int getVersion() {
+            return version;
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+        public List<Shard> getShards() {
+            return shards;
+        }
+    }
+
+    /**
+     * The Capture class holds the serialized dirty tables and the new manifest of
+     * a schema state, ready to be written without holding the model lock.
+     */
+    public final class Capture {
+        private final Manifest manifest;
+        private final Map<String, byte[]> dirtyShards;
+        private final long checksum;
+
+        private Capture(Manifest manifest, Map<String, byte[]> dirtyShards, long checksum) {
+            this.manifest = manifest;
+            this.dirtyShards = dirtyShards;
+            this.checksum = checksum;
+        }
+
+        /**
+         * Returns the checksum identifying the captured schema state.
+         *
+         * @return the combined checksum of the captured tables
+         */
+        public long getChecksum() {
+            return checksum;
+        }
+
+        /**
+         * Returns the number of table shards this capture rewrites.
+         *
+         * @return the number of dirty shards
+         */
+        public int getDirtyShardCount() {
+            return dirtyShards.size();
+        }
+
+        /**
+         * Writes the dirty shards, swaps in the new manifest and deletes the shards
+         * no longer referenced. If the write fails, the next capture rewrites
+         * every table, since the shards of this capture may be missing.
+         *
+         * @param force whether to force the shards and the manifest to the device
+         * @throws IOException if a shard or the manifest cannot be written
+         */
+        public void write(boolean force) throws IOException {
+            try {
+                Files.createDirectories(directory);
+                for (Map.Entry<String, byte[]> shard : dirtyShards.entrySet()) {
+                    AtomicFileWriter.write(directory.resolve(shard.getKey()), shard.getValue(), force);
+                }
+                AtomicFileWriter.write(directory.resolve(MANIFEST_FILE), MANIFEST_WRITER.writeValueAsBytes(manifest),
+                        force);
+            } catch (IOException e) {
+                synchronized (ShardedSchemaStore.this) {
+                    savedShards.clear();
+                }
+                throw e;
+            }
+            synchronized (ShardedSchemaStore.this) {
+                shardsWritten += dirtyShards.size();
+            }
+            deleteUnreferencedShards(manifest);
+            logger.debug("Sharded schema saved to {} ({} of {} tables rewritten).", directory, dirtyShards.size(),
+                    manifest.getShards().size());
+        }
+    }
+
+    /**
+     * Constructs a ShardedSchemaStore for the specified directory. The directory
+     * is created by the first write.
+     *
+     * @param directory the directory holding the manifest and the table shards
+     */
+    public ShardedSchemaStore(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Captures the specified tables: serializes the dirty ones, builds the new
+     * manifest and marks every table that is not frozen clean. Call while holding
+     * the lock that guards the tables, unless they are frozen; the returned
+     * capture is written without it.
+     *
+     * @param tables the tables of the schema, in order
+     * @return the capture to write
+     * @throws IOException if a table cannot be serialized
+     */
+    public synchronized Capture capture(List<Table> tables) throws IOException {
+        if (generation < 0) {
+            // Never reuse the file names of a manifest saved by an earlier session
+            Manifest saved = readManifest();
+            generation = saved != null ? saved.getGeneration() : 0;
+        }
+        long nextGeneration = generation + 1;
+        List<Shard> shards = new ArrayList<>(tables.size());
+        Map<String, byte[]> dirtyShards = new LinkedHashMap<>();
+        Map<Table, Shard> captured = new IdentityHashMap<>();
+        for (int i = 0; i < tables.size(); i++) {
+            Table table = tables.get(i);
+            Shard shard = cleanShard(table);
+            if (shard == null) {
+                byte[] bytes = JsonCodec.tableWriter().writeValueAsBytes(table);
+                String file = shardFileName(table.getTableName(), nextGeneration, i);
+                shard = new Shard(table.getTableName(), file, SchemaJournal.checksum(bytes));
+                dirtyShards.put(file, bytes);
+            }
+            if (!table.isFrozen()) {
+                table.markClean();
+            }
+            shards.add(shard);
+            captured.put(table, shard);
+        }
+        savedShards.clear();
+        savedShards.putAll(captured);
+        generation = nextGeneration;
+        return new Capture(new Manifest(MANIFEST_VERSION, nextGeneration, shards), dirtyShards,
+                combine(shards.stream().mapToLong(Shard::getChecksum).toArray()));
+    }
+
+    /**
+     * Loads the tables listed in the manifest, reading the shards in parallel.
+     * The loaded tables are clean and remembered as saved.
+     *
+     * @return the tables in manifest order, or {@code null} if nothing was saved
+     * @throws IOException if the manifest or a shard cannot be read, or a shard is corrupt
+     */
+    public synchronized List<Table> load() throws IOException {
+        Manifest manifest = readManifest();
+        if (manifest == null) {
+            return null;
+        }
+        List<Shard> shards = manifest.getShards();
+        Table[] tables = new Table[shards.size()];
+        try {
+            IntStream.range(0, shards.size()).parallel().forEach(i -> tables[i] = readShard(shards.get(i)));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        savedShards.clear();
+        for (int i = 0; i < tables.length; i++) {
+            tables[i].markClean();
+            savedShards.put(tables[i], shards.get(i));
+        }
+        generation = manifest.getGeneration();
+        logger.debug("Loaded {} table shards from {}.", tables.length, directory);
+        return new ArrayList<>(List.of(tables));
+    }
+
+    /**
+     * Computes the checksum identifying the state of the specified tables, the
+     * same value a capture of them would report. Clean tables reuse the checksum
+     * of their saved shard.
+     *
+     * @param tables the tables of the schema, in order
+     * @return the combined checksum of the tables
+     * @throws IOException if a table cannot be serialized
+     */
+    public synchronized long checksum(List<Table> tables) throws IOException {
+        long[] checksums = new long[tables.size()];
+        for (int i = 0; i < checksums.length; i++) {
+            Shard shard = cleanShard(tables.get(i));
+            checksums[i] = shard != null ? shard.getChecksum()
+                    : SchemaJournal.checksum(JsonCodec.tableWriter().writeValueAsBytes(tables.get(i)));
+        }
+        return combine(checksums);
+    }
+
+    /**
+     * Remembers the saved shards of clean tables for their copies as well, e.g.
+     * for the frozen copies of loaded tables, so that capturing the copies does
+     * not rewrite them.
+     *
+     * @param tables the tables of the schema, in order
+     * @param copies copies of the tables, in the same order
+     */
+    public synchronized void adopt(List<Table> tables, List<Table> copies) {
+        for (int i = 0; i < tables.size(); i++) {
+            Shard shard = cleanShard(tables.get(i));
+            if (shard != null) {
+                savedShards.put(copies.get(i), shard);
+            }
+        }
+    }
+
+    /**
+     * Returns the directory holding the manifest and the table shards.
+     *
+     * @return the store directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the number of table shards written through this store.
+     *
+     * @return the number of written shards
+     */
+    public synchronized long getShardsWritten() {
+        return shardsWritten;
+    }
+
+    private Shard cleanShard(Table table) {
+        Shard shard = savedShards.get(table);
+        if (shard == null || !table.isFrozen() && table.isDirty()
+                || !shard.getTableName().equals(table.getTableName())) {
+            return null;
+        }
+        return shard;
+    }
+
+    private Manifest readManifest() throws IOException {
+        Manifest manifest;
+        try {
+            manifest = MANIFEST_READER.readValue(Files.readAllBytes(directory.resolve(MANIFEST_FILE)));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (manifest.getVersion() != MANIFEST_VERSION) {
+            throw new IOException("Unsupported shard manifest version " + manifest.getVersion() + " in "
+                    + directory);
+        }
+        return manifest;
+    }
+
+    private Table readShard(Shard shard) {
+        try {
+            byte[] bytes = Files.readAllBytes(directory.resolve(shard.getFile()));
+            if (SchemaJournal.checksum(bytes) != shard.getChecksum()) {
+                throw new IOException("Table shard " + shard.getFile() + " does not match its manifest checksum");
+            }
+            return JsonCodec.tableReader().readValue(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void deleteUnreferencedShards(Manifest manifest) throws IOException {
+        Set<String> referenced = manifest.getShards().stream().map(Shard::getFile)
+                .collect(Collectors.toCollection(HashSet::new));
+        List<Path> unreferenced;
+        try (Stream<Path> files = Files.list(directory)) {
+            unreferenced = files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.endsWith(SHARD_SUFFIX) && !name.equals(MANIFEST_FILE) && !referenced.contains(name);
+            }).collect(Collectors.toList());
+        }
+        for (Path file : unreferenced) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static String shardFileName(String tableName, long generation, int position) {
+        String safeName = tableName == null ? "table" : tableName.replaceAll("[^A-Za-z0-9_-]", "_");
+        if (safeName.length() > MAX_FILE_NAME_LENGTH) {
+            safeName = safeName.substring(0, MAX_FILE_NAME_LENGTH);
+        }
+        return safeName + "." + generation + "-" + position + SHARD_SUFFIX;
+    }
+
+    private static long combine(long[] checksums) {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        for (long checksum : checksums) {
+            buffer.clear();
+            buffer.putLong(checksum);
+            crc.update(buffer.array());
+        }
+        return crc.getValue();
+    }
+}
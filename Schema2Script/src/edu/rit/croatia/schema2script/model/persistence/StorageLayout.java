@@ -0,0 +1,13 @@
+package model.persistence;
+
+/**
+ * The StorageLayout enum defines how a schema snapshot is laid out on disk.
+ */
+public enum StorageLayout {
+
+    /** The whole schema in a single JSON file. */
+    SINGLE_FILE,
+
+    /** A directory with one JSON file per table and a manifest, see {@link ShardedSchemaStore}. */
+    SHARDED
+}
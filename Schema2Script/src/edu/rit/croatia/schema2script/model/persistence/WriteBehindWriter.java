@@ -0,0 +1,303 @@
+package model.persistence;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The WriteBehindWriter class coalesces bursts of persistence requests into a
+ * single debounced write that runs on a background thread.
+ *
+ * <p>Callers mark the writer dirty after every mutation. The write is delayed
+ * until no new request has arrived for the debounce interval, but never longer
+ * than the maximum latency measured from the first unwritten request. Use
+ * {@link #flush()} or {@link #close()} at durability points.</p>
+ *
+ * <p>A failed write stays pending and is retried in the background without waiting
+ * for another request, first after the debounce interval and then with a delay that
+ * doubles after each consecutive failure, up to {@link #MAX_RETRY_MILLIS}. New
+ * requests do not bring a retry forward; only {@link #flush()} does.</p>
+ */
+public class WriteBehindWriter implements AutoCloseable {
+
+    private static final Logger logger = LogManager.getLogger(WriteBehindWriter.class);
+
+    /** Default quiet period before a pending write is performed. */
+    public static final long DEFAULT_DEBOUNCE_MILLIS = 250;
+
+    /** Default upper bound between the first unwritten request and its write. */
+    public static final long DEFAULT_MAX_LATENCY_MILLIS = 2000;
+
+    /** Shortest delay before a failed write is retried. */
+    public static final long MIN_RETRY_MILLIS = 100;
+
+    /** Longest delay before a failed write is retried. */
+    public static final long MAX_RETRY_MILLIS = 30_000;
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "schema-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The WriteTask interface represents the actual write performed by the
+     * writer. It is always invoked by one thread at a time.
+     */
+    @FunctionalInterface
+    public interface WriteTask {
+
+        /**
+         * Performs the write.
+         *
+         * @throws IOException if the write fails
+         */
+        void write() throws IOException;
+    }
+
+    private final WriteTask writeTask;
+    private final Object stateLock = new Object();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private long debounceNanos;
+    private long maxLatencyNanos;
+    private boolean dirty;
+    private boolean closed;
+    private long firstDirtyNanos;
+    private int consecutiveFailures;
+    private long retryNanos;
+    private ScheduledFuture<?> pendingWrite;
+
+    private final AtomicLong requestedWrites = new AtomicLong();
+    private final AtomicLong coalescedWrites = new AtomicLong();
+    private final AtomicLong completedWrites = new AtomicLong();
+    private final AtomicLong failedWrites = new AtomicLong();
+
+    /**
+     * Constructs a WriteBehindWriter with the default debounce and latency bounds.
+     *
+     * @param writeTask the write to perform once a burst of requests settles
+     */
+    public WriteBehindWriter(WriteTask writeTask) {
+        this(writeTask, DEFAULT_DEBOUNCE_MILLIS, DEFAULT_MAX_LATENCY_MILLIS);
+    }
+
+    /**
+     * Constructs a WriteBehindWriter with the specified debounce and latency bounds.
+     *
+     * @param writeTask          the write to perform once a burst of requests settles
+     * @param debounceMillis     the quiet period before a pending write is performed
+     * @param maxLatencyMillis   the maximum delay between the first unwritten request and its write
+     * @throws IllegalArgumentException if the write task is {@code null} or the bounds are invalid
+     */
+    public WriteBehindWriter(WriteTask writeTask, long debounceMillis, long maxLatencyMillis) {
+        if (writeTask == null) {
+            throw new IllegalArgumentException("Write task cannot be null");
+        }
+        this.writeTask = writeTask;
+        setLatencyBounds(debounceMillis, maxLatencyMillis);
+    }
+
+    /**
+     * Changes the debounce and maximum latency bounds. Pending writes keep the
+     * deadline they were scheduled with.
+     *
+     * @param debounceMillis   the quiet period before a pending write is performed
+     * @param maxLatencyMillis the maximum delay between the first unwritten request and its write
+     * @throws IllegalArgumentException if a bound is negative or the debounce exceeds the maximum latency
+     */
+    public void setLatencyBounds(long debounceMillis, long maxLatencyMillis) {
+        if (debounceMillis < 0 || maxLatencyMillis < 0 || debounceMillis > maxLatencyMillis) {
+            throw new IllegalArgumentException("Invalid latency bounds: debounce " + debounceMillis
+                    + " ms, max latency " + maxLatencyMillis + " ms");
+        }
+        synchronized (stateLock) {
+            this.debounceNanos = TimeUnit.MILLISECONDS.toNanos(debounceMillis);
+            this.maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(maxLatencyMillis);
+        }
+    }
+
+    /**
+     * Records that the persisted state is out of date and schedules a write.
+     * Requests arriving while a write is already pending are coalesced into it.
+     * After {@link #close()} the write is performed on the calling thread.
+     */
+    public void markDirty() {
+        requestedWrites.incrementAndGet();
+        synchronized (stateLock) {
+            if (!closed) {
+                long now = System.nanoTime();
+                if (dirty) {
+                    coalescedWrites.incrementAndGet();
+                } else {
+                    dirty = true;
+                    firstDirtyNanos = now;
+                }
+                long deadline = Math.min(now + debounceNanos, firstDirtyNanos + maxLatencyNanos);
+                if (consecutiveFailures > 0 && deadline - retryNanos < 0) {
+                    // Requests do not cut short the backoff of a failed write
+                    deadline = retryNanos;
+                }
+                if (pendingWrite != null) {
+                    pendingWrite.cancel(false);
+                }
+                pendingWrite = SCHEDULER.schedule(this::writePending, deadline - now, TimeUnit.NANOSECONDS);
+                return;
+            }
+            dirty = true;
+        }
+        flush();
+    }
+
+    /**
+     * Performs any pending write immediately on the calling thread and waits
+     * for a write already in progress to finish.
+     */
+    public void flush() {
+        boolean pending;
+        synchronized (stateLock) {
+            pending = dirty;
+            dirty = false;
+            if (pendingWrite != null) {
+                pendingWrite.cancel(false);
+                pendingWrite = null;
+            }
+        }
+        writeLock.lock();
+        try {
+            if (pending) {
+                performWrite();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Flushes any pending write and switches the writer to synchronous mode.
+     */
+    @Override
+    public void close() {
+        synchronized (stateLock) {
+            closed = true;
+        }
+        flush();
+        logger.debug("Write-behind writer closed after {} writes ({} coalesced).", completedWrites.get(),
+                coalescedWrites.get());
+    }
+
+    /**
+     * Returns whether a write has been requested but not yet performed.
+     *
+     * @return {@code true} if a write is pending, {@code false} otherwise
+     */
+    public boolean isDirty() {
+        synchronized (stateLock) {
+            return dirty;
+        }
+    }
+
+    /**
+     * Returns the number of writes requested through {@link #markDirty()}.
+     *
+     * @return the number of requested writes
+     */
+    public long getRequestedWrites() {
+        return requestedWrites.get();
+    }
+
+    /**
+     * Returns the number of requests that were absorbed into an already pending write.
+     *
+     * @return the number of coalesced writes
+     */
+    public long getCoalescedWrites() {
+        return coalescedWrites.get();
+    }
+
+    /**
+     * Returns the number of writes that completed successfully.
+     *
+     * @return the number of completed writes
+     */
+    public long getCompletedWrites() {
+        return completedWrites.get();
+    }
+
+    /**
+     * Returns the number of writes that failed.
+     *
+     * @return the number of failed writes
+     */
+    public long getFailedWrites() {
+        return failedWrites.get();
+    }
+
+    private void writePending() {
+        writeLock.lock();
+        try {
+            synchronized (stateLock) {
+                if (!dirty) {
+                    return;
+                }
+                dirty = false;
+                pendingWrite = null;
+            }
+            performWrite();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void performWrite() {
+        try {
+            writeTask.write();
+            completedWrites.incrementAndGet();
+            synchronized (stateLock) {
+                consecutiveFailures = 0;
+            }
+        } catch (IOException | RuntimeException e) {
+            failedWrites.incrementAndGet();
+            long retryMillis;
+            synchronized (stateLock) {
+                dirty = true;
+                consecutiveFailures++;
+                retryMillis = scheduleRetry();
+            }
+            if (retryMillis >= 0) {
+                logger.error("Write-behind write failed; retrying in {} ms.", retryMillis, e);
+            } else {
+                logger.error("Write-behind write failed; the next request or flush will retry.", e);
+            }
+        }
+    }
+
+    /**
+     * Schedules a retry of a failed write with exponential backoff, unless the
+     * writer is closed. A write requested while the failed write was running is
+     * postponed to the retry. The caller must hold the state lock.
+     *
+     * @return the delay of the retry in milliseconds, or {@code -1} if none was scheduled
+     */
+    private long scheduleRetry() {
+        if (closed) {
+            return -1;
+        }
+        long baseMillis = Math.max(TimeUnit.NANOSECONDS.toMillis(debounceNanos), MIN_RETRY_MILLIS);
+        int doublings = Math.min(consecutiveFailures - 1, 30);
+        long retryMillis = Math.min(baseMillis << doublings, MAX_RETRY_MILLIS);
+        retryNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryMillis);
+        if (pendingWrite != null) {
+            pendingWrite.cancel(false);
+        }
+        pendingWrite = SCHEDULER.schedule(this::writePending, retryMillis, TimeUnit.MILLISECONDS);
+        return retryMillis;
+    }
+}
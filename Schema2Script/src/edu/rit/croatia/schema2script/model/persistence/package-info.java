@@ -0,0 +1,46 @@
+/**
+ * The {@code model.persistence} package contains the classes responsible for keeping
+ * the on-disk representation of a {@link model.SchemaModel} in sync with the model.
+ *
+ * <p>Persistence is decoupled from editing so that a mutation never waits on disk I/O
+ * on the caller's thread.</p>
+ *
+ * <p>Key classes include:</p>
+ * <ul>
+ *   <li>{@link model.persistence.WriteBehindWriter}: Coalesces bursts of write requests
+ *       into a single debounced write on a background thread, bounded by a maximum
+ *       latency, and exposes metrics about coalesced writes.</li>
+ *   <li>{@link model.persistence.SchemaJournal}: An append-only log of
+ *       {@link model.SchemaMutation} records next to the schema file, with compaction
+ *       into a snapshot and crash-safe replay.</li>
+ *   <li>{@link model.persistence.AtomicFileWriter}: Replaces files through a temporary
+ *       file and an atomic rename, so readers never see a partially written file.</li>
+ *   <li>{@link model.persistence.ShardedSchemaStore}: Stores a schema as one file per
+ *       table plus a manifest, rewriting only dirty tables and loading shards in
+ *       parallel. Selected through {@link model.persistence.StorageLayout}.</li>
+ *   <li>{@link model.persistence.BinarySchemaWriter} and {@link model.persistence.BinarySchemaReader}:
+ *       Write and read the compact, checksummed binary snapshot format ({@code .s2sb}).</li>
+ *   <li>{@link model.persistence.MappedSchemaSnapshot}: A memory-mapped, read-only view of a
+ *       binary snapshot that decodes tables only when they are accessed.</li>
+ *   <li>{@link model.persistence.JsonCodec}: The shared, pre-configured Jackson readers and
+ *       writers used by every JSON load, save and journal path, and the streaming token parser
+ *       used to read large schema files.</li>
+ *   <li>{@link model.persistence.DurabilityPolicy}: Selects when persisted data is
+ *       forced to the storage device.</li>
+ * </ul>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ *     WriteBehindWriter writer = new WriteBehindWriter(() -&gt; saveEverything(), 250, 2000);
+ *
+ *     // Each edit only marks the writer dirty
+ *     writer.markDirty();
+ *     writer.markDirty();
+ *
+ *     // Durability point: write now and wait for it
+ *     writer.flush();
+ * </pre>
+ *
+ * @since 1.0
+ */
+package model.persistence;
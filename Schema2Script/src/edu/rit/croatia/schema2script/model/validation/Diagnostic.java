@@ -0,0 +1,68 @@
+package model.validation;
+
+import model.Relationship;
+
+/**
+ * The Diagnostic record is a problem found by the {@link SchemaValidator} in one
+ * relationship of a table, such as a foreign key that names a column the table does
+ * not have.
+ *
+ * @param severity     whether the problem breaks the generated script or only deserves a look
+ * @param code         the rule that found the problem
+ * @param tableName    the name of the table that defines the relationship
+ * @param relationship the relationship with the problem
+ * @param message      a description of the problem for the user
+ */
+public record Diagnostic(Severity severity, Code code, String tableName, Relationship relationship,
+        String message) {
+
+    /**
+     * How serious a problem is.
+     */
+    public enum Severity {
+
+        /** The generated script would be rejected by the database. */
+        ERROR,
+
+        /** The script is accepted, but the schema is probably not what was meant. */
+        WARNING
+    }
+
+    /**
+     * The rules a schema is validated against.
+     */
+    public enum Code {
+
+        /** The related table of a relationship does not exist. */
+        RELATED_TABLE_MISSING,
+
+        /** The through table of a relationship does not exist. */
+        THROUGH_TABLE_MISSING,
+
+        /** The foreign key is not a column of the table, or of the through table. */
+        FOREIGN_KEY_MISSING,
+
+        /** The related foreign key is not a column of the related table, or of the through table. */
+        RELATED_KEY_MISSING,
+
+        /**
+         * The foreign key and the column it references have different types. Different
+         * base types are an error, different lengths or precisions a warning.
+         */
+        TYPE_MISMATCH
+    }
+
+    /**
+     * Returns whether the diagnostic is an error.
+     *
+     * @return {@code true} if the severity is {@link Severity#ERROR}, {@code false} otherwise
+     */
+    public boolean isError() {
+        return severity == Severity.ERROR;
+    }
+
+    @Override
+    public String toString() {
+        return severity + " " + code + ": " + message;
+    }
+}
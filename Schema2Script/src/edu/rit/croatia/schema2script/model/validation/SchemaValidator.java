@@ -0,0 +1,422 @@
+package model.validation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import model.Column;
+import model.ColumnType;
+import model.Relationship;
+import model.SchemaChangeEvent;
+import model.SchemaChangeListener;
+import model.SchemaGraph;
+import model.Table;
+import model.TableCatalog;
+import model.validation.Diagnostic.Code;
+import model.validation.Diagnostic.Severity;
+
+/**
+ * The SchemaValidator class checks the referential integrity of a schema before a
+ * script is generated from it: that the tables a relationship names exist, that its
+ * foreign keys are columns of the tables they belong to, and that a foreign key has
+ * the type of the column it references. Problems are reported as {@link Diagnostic}s.
+ *
+ * <p>The keys of a relationship are looked up as {@link model.generator.SqlGenerator}
+ * uses them: without a through table, the foreign key is a column of the table and
+ * the related foreign key, which defaults to the foreign key, a column of the related
+ * table. With a through table, both keys are columns of the through table. As
+ * everywhere in the model, a name refers to the first table with that name.</p>
+ *
+ * <p>Tables are checked independently against name indexes of the tables and their
+ * columns, on the common fork/join pool once there are at least as many as the
+ * parallel threshold. The validator remembers the diagnostics of every table and
+ * which tables refer to which, so that after an edit
+ * {@link #revalidate(TableCatalog, Collection)} checks only the changed tables and
+ * the tables that refer to them. Registered as a {@link SchemaChangeListener}, it
+ * keeps its diagnostics up to date with every change of a model.</p>
+ */
+public class SchemaValidator implements SchemaChangeListener {
+
+    private static final Logger logger = LogManager.getLogger(SchemaValidator.class);
+
+    /** Default number of tables from which tables are checked concurrently. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1_000;
+
+    /** Number of tables a fork/join task checks without splitting further. */
+    private static final int CHUNK_SIZE = 128;
+
+    private final int parallelThreshold;
+
+    /** The diagnostics of the tables that have any, by table name. */
+    private final Map<String, List<Diagnostic>> diagnostics = new LinkedHashMap<>();
+
+    /** The names of the tables that refer to a table name, by that name. */
+    private final Map<String, Set<String>> referrers = new HashMap<>();
+
+    /** The table names each checked table refers to, by the name of the table. */
+    private final Map<String, Set<String>> references = new HashMap<>();
+
+    private boolean validated;
+
+    /**
+     * Constructs a validator that checks tables concurrently from
+     * {@link #DEFAULT_PARALLEL_THRESHOLD} tables on.
+     */
+    public SchemaValidator() {
+        this(DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Constructs a validator that checks tables concurrently from the specified
+     * number of tables on.
+     *
+     * @param parallelThreshold the number of tables from which tables are checked concurrently
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public SchemaValidator(int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Checks every table of a schema, replacing the diagnostics of earlier runs.
+     *
+     * @param catalog the tables of the schema, preferably a {@link model.SchemaSnapshot}
+     * @return the diagnostics of the schema, grouped by table
+     * @throws IllegalArgumentException if the catalog is {@code null}
+     */
+    public synchronized List<Diagnostic> validate(TableCatalog catalog) {
+        if (catalog == null) {
+            throw new IllegalArgumentException("Catalog cannot be null");
+        }
+        long start = System.nanoTime();
+        SchemaGraph graph = catalog.graph();
+        List<Table> tables = new ArrayList<>(graph.getTables().size());
+        for (Table table : graph.getTables()) {
+            if (graph.getTable(table.getTableName()) == table) {
+                tables.add(table);
+            }
+        }
+
+        diagnostics.clear();
+        referrers.clear();
+        references.clear();
+        record(tables, check(tables, graph::getTable));
+        validated = true;
+        logger.debug("Validated {} tables in {} ms: {} tables with diagnostics.", tables.size(),
+                String.format("%.1f", (System.nanoTime() - start) / 1e6), diagnostics.size());
+        return getDiagnostics();
+    }
+
+    /**
+     * Checks the tables with the specified names again, together with every table
+     * that refers to one of them, and keeps the diagnostics of all other tables. The
+     * names of removed tables and both names of a renamed table should be included.
+     * Without an earlier {@link #validate(TableCatalog)}, the whole schema is checked.
+     *
+     * @param catalog           the tables of the schema after the change
+     * @param changedTableNames the names of the added, removed and changed tables
+     * @return the diagnostics of the schema, grouped by table
+     * @throws IllegalArgumentException if the catalog or the names are {@code null}
+     */
+    public synchronized List<Diagnostic> revalidate(TableCatalog catalog, Collection<String> changedTableNames) {
+        if (catalog == null || changedTableNames == null) {
+            throw new IllegalArgumentException("Catalog and table names cannot be null");
+        }
+        if (!validated) {
+            return validate(catalog);
+        }
+        long start = System.nanoTime();
+        Set<String> names = new LinkedHashSet<>();
+        for (String tableName : changedTableNames) {
+            names.add(tableName);
+            names.addAll(referrers.getOrDefault(tableName, Set.of()));
+        }
+        List<Table> tables = new ArrayList<>(names.size());
+        for (String tableName : names) {
+            forget(tableName);
+            Table table = catalog.getTable(tableName);
+            if (table != null) {
+                tables.add(table);
+            }
+        }
+
+        record(tables, check(tables, catalog::getTable));
+        logger.debug("Revalidated {} of {} changed and referring tables in {} ms.", tables.size(), names.size(),
+                String.format("%.1f", (System.nanoTime() - start) / 1e6));
+        return getDiagnostics();
+    }
+
+    /**
+     * Keeps the diagnostics up to date with a change of a model: a reload is
+     * validated completely, any other change incrementally.
+     *
+     * @param event the changes
+     */
+    @Override
+    public void schemaChanged(SchemaChangeEvent event) {
+        if (event.isReload()) {
+            validate(event.getSnapshot());
+        } else {
+            revalidate(event.getSnapshot(), event.getAffectedTableNames());
+        }
+    }
+
+    /**
+     * Returns the diagnostics of the last run, grouped by table.
+     *
+     * @return an immutable list of the diagnostics
+     */
+    public synchronized List<Diagnostic> getDiagnostics() {
+        List<Diagnostic> all = new ArrayList<>();
+        for (List<Diagnostic> tableDiagnostics : diagnostics.values()) {
+            all.addAll(tableDiagnostics);
+        }
+        return List.copyOf(all);
+    }
+
+    /**
+     * Returns the diagnostics of the relationships of a table.
+     *
+     * @param tableName the name of the table
+     * @return an immutable list of the diagnostics, empty if the table has none
+     */
+    public synchronized List<Diagnostic> getDiagnostics(String tableName) {
+        return diagnostics.getOrDefault(tableName, List.of());
+    }
+
+    /**
+     * Returns whether the last run found any error.
+     *
+     * @return {@code true} if some diagnostic is an error, {@code false} otherwise
+     */
+    public synchronized boolean hasErrors() {
+        for (List<Diagnostic> tableDiagnostics : diagnostics.values()) {
+            for (Diagnostic diagnostic : tableDiagnostics) {
+                if (diagnostic.isError()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks tables, concurrently if there are enough of them.
+     *
+     * @return the diagnostics of each table, in the order of the tables
+     */
+    private List<List<Diagnostic>> check(List<Table> tables, Function<String, Table> lookup) {
+        Rules rules = new Rules(lookup);
+        if (tables.size() >= parallelThreshold) {
+            logger.debug("Checking {} tables on {} threads.", tables.size(),
+                    ForkJoinPool.commonPool().getParallelism());
+            return ForkJoinPool.commonPool().invoke(new CheckTask(rules, tables, 0, tables.size()));
+        }
+        return new CheckTask(rules, tables, 0, tables.size()).compute();
+    }
+
+    /**
+     * Remembers the diagnostics of checked tables and the table names they refer to.
+     */
+    private void record(List<Table> tables, List<List<Diagnostic>> results) {
+        for (int i = 0; i < tables.size(); i++) {
+            Table table = tables.get(i);
+            String tableName = table.getTableName();
+            Set<String> referencedNames = new HashSet<>();
+            for (Relationship relationship : table.getRelationships()) {
+                referencedNames.add(relationship.getRelatedTable());
+                if (relationship.getThroughTable() != null) {
+                    referencedNames.add(relationship.getThroughTable());
+                }
+            }
+            references.put(tableName, referencedNames);
+            for (String referencedName : referencedNames) {
+                referrers.computeIfAbsent(referencedName, key -> new HashSet<>()).add(tableName);
+            }
+            if (!results.get(i).isEmpty()) {
+                diagnostics.put(tableName, List.copyOf(results.get(i)));
+            }
+        }
+    }
+
+    /**
+     * Drops what was remembered about a table before it is checked again.
+     */
+    private void forget(String tableName) {
+        diagnostics.remove(tableName);
+        Set<String> referencedNames = references.remove(tableName);
+        if (referencedNames == null) {
+            return;
+        }
+        for (String referencedName : referencedNames) {
+            Set<String> tableReferrers = referrers.get(referencedName);
+            tableReferrers.remove(tableName);
+            if (tableReferrers.isEmpty()) {
+                referrers.remove(referencedName);
+            }
+        }
+    }
+
+    /**
+     * The Rules class checks the relationships of a table against an index of the
+     * tables by name and of the columns of each table by name, built as tables are
+     * looked up. It may be used by several threads at once.
+     */
+    private static final class Rules {
+        private final Function<String, Table> lookup;
+        private final Map<String, Map<String, Column>> columnIndexes = new ConcurrentHashMap<>();
+
+        private Rules(Function<String, Table> lookup) {
+            this.lookup = lookup;
+        }
+
+        private List<Diagnostic> check(Table table) {
+            List<Diagnostic> found = new ArrayList<>(0);
+            for (Relationship relationship : table.getRelationships()) {
+                check(table, relationship, found);
+            }
+            return found;
+        }
+
+        private void check(Table table, Relationship relationship, List<Diagnostic> found) {
+            String tableName = table.getTableName();
+            Table relatedTable = lookup.apply(relationship.getRelatedTable());
+            if (relatedTable == null) {
+                found.add(new Diagnostic(Severity.ERROR, Code.RELATED_TABLE_MISSING, tableName, relationship,
+                        "Table " + tableName + " refers to missing table " + relationship.getRelatedTable()));
+            }
+
+            if (relationship.getThroughTable() != null) {
+                Table throughTable = lookup.apply(relationship.getThroughTable());
+                if (throughTable == null) {
+                    found.add(new Diagnostic(Severity.ERROR, Code.THROUGH_TABLE_MISSING, tableName, relationship,
+                            "Table " + tableName + " refers to missing through table "
+                                    + relationship.getThroughTable()));
+                    return;
+                }
+                Map<String, Column> throughColumns = columns(throughTable);
+                if (!throughColumns.containsKey(relationship.getForeignKey())) {
+                    found.add(new Diagnostic(Severity.ERROR, Code.FOREIGN_KEY_MISSING, tableName, relationship,
+                            "Foreign key " + relationship.getForeignKey() + " of table " + tableName
+                                    + " is not a column of through table " + throughTable.getTableName()));
+                }
+                if (relationship.getRelatedForeignKey() != null
+                        && !throughColumns.containsKey(relationship.getRelatedForeignKey())) {
+                    found.add(new Diagnostic(Severity.ERROR, Code.RELATED_KEY_MISSING, tableName, relationship,
+                            "Related foreign key " + relationship.getRelatedForeignKey() + " of table " + tableName
+                                    + " is not a column of through table " + throughTable.getTableName()));
+                }
+                return;
+            }
+
+            Column foreignKey = columns(table).get(relationship.getForeignKey());
+            if (foreignKey == null) {
+                found.add(new Diagnostic(Severity.ERROR, Code.FOREIGN_KEY_MISSING, tableName, relationship,
+                        "Foreign key " + relationship.getForeignKey() + " is not a column of table " + tableName));
+            }
+            if (relatedTable == null) {
+                return;
+            }
+            String relatedKeyName = relationship.getRelatedForeignKey() != null
+                    ? relationship.getRelatedForeignKey()
+                    : relationship.getForeignKey();
+            Column relatedKey = columns(relatedTable).get(relatedKeyName);
+            if (relatedKey == null) {
+                found.add(new Diagnostic(Severity.ERROR, Code.RELATED_KEY_MISSING, tableName, relationship,
+                        "Column " + relatedKeyName + " referenced by table " + tableName
+                                + " is not a column of table " + relatedTable.getTableName()));
+            } else if (foreignKey != null) {
+                checkTypes(tableName, relationship, foreignKey, relatedTable.getTableName(), relatedKey, found);
+            }
+        }
+
+        private static void checkTypes(String tableName, Relationship relationship, Column foreignKey,
+                String relatedTableName, Column relatedKey, List<Diagnostic> found) {
+            ColumnType type = foreignKey.getColumnType();
+            ColumnType relatedType = relatedKey.getColumnType();
+            if (type == null || relatedType == null || type == relatedType) {
+                return;
+            }
+            Severity severity;
+            if (!type.getBaseType().equals(relatedType.getBaseType())) {
+                severity = Severity.ERROR;
+            } else if (!Objects.equals(type.getLength(), relatedType.getLength())
+                    || !Objects.equals(type.getPrecision(), relatedType.getPrecision())
+                    || !Objects.equals(type.getScale(), relatedType.getScale())) {
+                severity = Severity.WARNING;
+            } else {
+                return;
+            }
+            found.add(new Diagnostic(severity, Code.TYPE_MISMATCH, tableName, relationship,
+                    "Foreign key " + tableName + "." + foreignKey.getName() + " (" + type.getDeclaration()
+                            + ") does not match " + relatedTableName + "." + relatedKey.getName() + " ("
+                            + relatedType.getDeclaration() + ")"));
+        }
+
+        /**
+         * Returns the columns of a table by name. As with tables, a name refers to the
+         * first column with that name.
+         */
+        private Map<String, Column> columns(Table table) {
+            return columnIndexes.computeIfAbsent(table.getTableName(), tableName -> {
+                Map<String, Column> columns = new HashMap<>(table.getColumns().size() * 2);
+                for (Column column : table.getColumns()) {
+                    columns.putIfAbsent(column.getName(), column);
+                }
+                return columns;
+            });
+        }
+    }
+
+    /**
+     * The CheckTask class checks a range of tables, splitting the range in halves
+     * until it is small enough to check on one thread.
+     */
+    private static final class CheckTask extends RecursiveTask<List<List<Diagnostic>>> {
+        private static final long serialVersionUID = 1L;
+
+        private final transient Rules rules;
+        private final transient List<Table> tables;
+        private final int from;
+        private final int to;
+
+        private CheckTask(Rules rules, List<Table> tables, int from, int to) {
+            this.rules = rules;
+            this.tables = tables;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<List<Diagnostic>> compute() {
+            if (to - from > CHUNK_SIZE) {
+                int middle = (from + to) >>> 1;
+                CheckTask second = new CheckTask(rules, tables, middle, to);
+                second.fork();
+                List<List<Diagnostic>> results = new CheckTask(rules, tables, from, middle).compute();
+                results.addAll(second.join());
+                return results;
+            }
+            List<List<Diagnostic>> results = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                results.add(rules.check(tables.get(i)));
+            }
+            return results;
+        }
+    }
+}
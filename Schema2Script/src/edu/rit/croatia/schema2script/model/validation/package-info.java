@@ -0,0 +1,30 @@
+/**
+ * The {@code model.validation} package checks a {@link model.SchemaModel} for problems
+ * that would otherwise only surface when the generated script is run against a
+ * database.
+ *
+ * <p>Key classes include:</p>
+ * <ul>
+ *   <li>{@link model.validation.SchemaValidator}: Checks that the tables and columns named
+ *       by relationships exist and that foreign keys match the types of the columns they
+ *       reference, in parallel per table, and re-checks only the tables touched by an edit.</li>
+ *   <li>{@link model.validation.Diagnostic}: A problem found in a relationship, with its
+ *       severity, the rule that found it and a message for the user.</li>
+ * </ul>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ *     SchemaValidator validator = new SchemaValidator();
+ *     validator.validate(schema.snapshot());
+ *
+ *     // Keep the diagnostics current as the schema is edited
+ *     schema.addChangeListener(validator);
+ *
+ *     if (validator.hasErrors()) {
+ *         validator.getDiagnostics().forEach(System.err::println);
+ *     }
+ * </pre>
+ *
+ * @since 1.0
+ */
+package model.validation;
@@ -56,6 +56,9 @@ public class SchemaView {
     private Button editColumnButton;
     private Button editRelationshipButton;
 
+    private Button undoButton;
+    private Button redoButton;
+
     private static final String BUTTON_STYLE = "-fx-padding: 10px; -fx-border-color: gray; -fx-border-radius: 5px; -fx-border-width: 1px;";
 
     private static final String TABLE_NAME_LABEL = "Table Name:";
@@ -100,6 +103,14 @@ public class SchemaView {
         return editRelationshipButton;
     }
 
+    public Button getUndoButton() {
+        return undoButton;
+    }
+
+    public Button getRedoButton() {
+        return redoButton;
+    }
+
     public Button getUploadButton() {
         return uploadButton;
     }
@@ -182,6 +193,9 @@ public class SchemaView {
         editColumnButton = new Button("Edit Column");
         editRelationshipButton = new Button("Edit Relationship");
 
+        undoButton = new Button("Undo");
+        redoButton = new Button("Redo");
+
         VBox addButtons = new VBox(10, addTableButton, addRelationshipButton, addColumnButton);
         addButtons
                 .setStyle(BUTTON_STYLE);
@@ -194,7 +208,11 @@ public class SchemaView {
         editButtons
                 .setStyle(BUTTON_STYLE);
 
-        HBox buttonLayout = new HBox(20, addButtons, deleteButtons, editButtons);
+        VBox historyButtons = new VBox(10, undoButton, redoButton);
+        historyButtons
+                .setStyle(BUTTON_STYLE);
+
+        HBox buttonLayout = new HBox(20, addButtons, deleteButtons, editButtons, historyButtons);
         buttonLayout.setPadding(new Insets(10, 10, 10, 10)); // Adds padding around the entire button layout
 
         // Main layout
@@ -217,10 +235,10 @@ public class SchemaView {
         logger.info("Tables layout updated in the view.");
     }
 
-    public File handleFileUpload() {
+    public List<File> handleFileUpload() {
         logger.info("File upload initiated.");
         FileChooser fileChooser = new FileChooser();
-        fileChooser.setTitle("Select a File");
+        fileChooser.setTitle("Select Files");
 
         File initialDirectory = new File(System.getProperty("user.dir"), "schema");
         if (initialDirectory.exists()) {
@@ -228,16 +246,24 @@ public class SchemaView {
         }
 
         fileChooser.getExtensionFilters().addAll(
-                new FileChooser.ExtensionFilter("All Supported Files", "*.json", "*.xml"),
+                new FileChooser.ExtensionFilter("All Supported Files", "*.json", "*.xml", "*.s2sb",
+                        "*.gz", "*.zip"),
                 new FileChooser.ExtensionFilter("JSON Files (*.json)", "*.json"),
-                new FileChooser.ExtensionFilter("XML Files (*.xml)", "*.xml"));
+                new FileChooser.ExtensionFilter("XML Files (*.xml)", "*.xml"),
+                new FileChooser.ExtensionFilter("Binary Schema Snapshots (*.s2sb)", "*.s2sb"),
+                new FileChooser.ExtensionFilter("Compressed Schemas (*.gz, *.zip)", "*.gz", "*.zip"));
 
-        File selectedFile = fileChooser.showOpenDialog(primaryStage);
-        if (selectedFile != null) {
-            filePathField.setText(selectedFile.getAbsolutePath());
-            logger.info("File selected: {}", selectedFile.getAbsolutePath());
+        List<File> selectedFiles = fileChooser.showOpenMultipleDialog(primaryStage);
+        if (selectedFiles == null || selectedFiles.isEmpty()) {
+            return List.of();
+        }
+        if (selectedFiles.size() == 1) {
+            filePathField.setText(selectedFiles.get(0).getAbsolutePath());
+        } else {
+            filePathField.setText(selectedFiles.size() + " files in " + selectedFiles.get(0).getParent());
         }
-        return selectedFile;
+        logger.info("Files selected: {}", selectedFiles);
+        return selectedFiles;
     }
 
     public void addMessage(String message) {
@@ -0,0 +1,107 @@
+package edu.rit.croatia.schema2script.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BenchmarkSupport class provides a minimal timing harness for the benchmarks
+ * in this package: a warm-up phase followed by measured iterations, reported as
+ * the mean time per operation.
+ */
+final class BenchmarkSupport {
+
+    /**
+     * The Operation interface represents the measured unit of work.
+     */
+    @FunctionalInterface
+    interface Operation {
+
+        /**
+         * Performs the unit of work once.
+         *
+         * @throws Exception if the work fails
+         */
+        void run() throws Exception;
+    }
+
+    private static volatile Object sink;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Runs an operation for the warm-up and measured iteration counts and prints
+     * the mean time per operation.
+     *
+     * @param name       the label printed with the result
+     * @param warmup     the number of unmeasured iterations
+     * @param iterations the number of measured iterations
+     * @param operation  the work to measure
+     * @return the mean time per operation in nanoseconds
+     * @throws Exception if the operation fails
+     */
+    static double measure(String name, int warmup, int iterations, Operation operation) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        double nanosPerOp = (double) (System.nanoTime() - start) / iterations;
+        System.out.printf("%-48s %12.1f us/op%n", name, nanosPerOp / TimeUnit.MICROSECONDS.toNanos(1));
+        return nanosPerOp;
+    }
+
+    /**
+     * Keeps a benchmark result reachable so the JIT cannot eliminate the work
+     * that produced it.
+     *
+     * @param value the result to consume
+     */
+    static void consume(Object value) {
+        sink = value;
+    }
+
+    /**
+     * Returns the heap in use after a few garbage collections, for comparing how
+     * much memory data structures retain.
+     *
+     * @return the used heap in bytes
+     * @throws InterruptedException if interrupted while waiting for collection
+     */
+    static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Runs an operation once after a garbage collection and returns the peak heap
+     * it used, summed over the heap memory pools. The peak includes garbage that was
+     * not yet collected, so it shows how much an operation allocates at once.
+     *
+     * @param operation the work to measure
+     * @return the peak heap in bytes
+     * @throws Exception if the operation fails
+     */
+    static long peakHeap(Operation operation) throws Exception {
+        long baseline = usedHeap();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        operation.run();
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return Math.max(0, peak - baseline);
+    }
+}
@@ -0,0 +1,93 @@
+package edu.rit.croatia.schema2script.benchmark;
+
+import model.Column;
+import model.CompactCatalog;
+import model.Relationship;
+import model.Table;
+import model.TableCatalog;
+import model.generator.SqlGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The CompactCatalogBenchmark class compares the heap retained by a large schema
+ * held as {@link Table} objects with the same schema held as a {@link CompactCatalog},
+ * and measures the cost of reading the compact form back.
+ *
+ * <p>Names are created as distinct strings, as a parser would create them. Run with:</p>
+ * <pre>
+ *     mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *         -Dexec.mainClass=edu.rit.croatia.schema2script.benchmark.CompactCatalogBenchmark
+ * </pre>
+ */
+public final class CompactCatalogBenchmark {
+
+    private static final int TABLES = 50_000;
+    private static final int COLUMNS_PER_TABLE = 20;
+    private static final int WARMUP = 2;
+    private static final int ITERATIONS = 5;
+
+    private CompactCatalogBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        BenchmarkSupport.consume(null);
+        long baseline = BenchmarkSupport.usedHeap();
+        List<Table> objects = catalog();
+        long objectHeap = BenchmarkSupport.usedHeap() - baseline;
+
+        CompactCatalog compact = CompactCatalog.of(objects);
+        long bothHeap = BenchmarkSupport.usedHeap() - baseline;
+        System.out.println(compact);
+        System.out.printf("%-48s %12d KiB%n", "retained heap, Table objects", objectHeap / 1024);
+        System.out.printf("%-48s %12d KiB%n", "retained heap, compact catalog", (bothHeap - objectHeap) / 1024);
+        System.out.printf("%-48s %12.1f B%n", "bytes per column, Table objects",
+                (double) objectHeap / compact.getTotalColumnCount());
+        System.out.printf("%-48s %12.1f B%n", "bytes per column, compact catalog",
+                (double) (bothHeap - objectHeap) / compact.getTotalColumnCount());
+
+        SqlGenerator generator = new SqlGenerator();
+        TableCatalog objectCatalog = new TableCatalog() {
+            @Override
+            public List<Table> getTables() {
+                return objects;
+            }
+
+            @Override
+            public Table getTable(String tableName) {
+                return null;
+            }
+        };
+        BenchmarkSupport.measure("CompactCatalog.of", WARMUP, ITERATIONS,
+                () -> BenchmarkSupport.consume(CompactCatalog.of(objects)));
+        BenchmarkSupport.measure("generate, Table objects", WARMUP, ITERATIONS,
+                () -> BenchmarkSupport.consume(generator.generate(objectCatalog)));
+        BenchmarkSupport.measure("generate, compact catalog", WARMUP, ITERATIONS,
+                () -> BenchmarkSupport.consume(generator.generate(compact)));
+        BenchmarkSupport.measure("compact getTable(name)", WARMUP * 10_000, ITERATIONS * 10_000,
+                () -> BenchmarkSupport.consume(compact.getTable("table_31337")));
+        BenchmarkSupport.consume(objects);
+    }
+
+    private static List<Table> catalog() {
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < TABLES; i++) {
+            Table table = new Table("table_" + i);
+            table.addColumn(new Column(new String("id"), new String("INT"), true));
+            for (int j = 1; j < COLUMNS_PER_TABLE; j++) {
+                table.addColumn(new Column("column_" + j, new String("VARCHAR(255)")));
+            }
+            table.addRelationship(new Relationship(new String("many-to-one"), "table_" + ((i + 1) % TABLES),
+                    "column_1", new String("id")));
+            tables.add(table);
+        }
+        return tables;
+    }
+}
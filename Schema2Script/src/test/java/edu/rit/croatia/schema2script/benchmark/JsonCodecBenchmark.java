@@ -0,0 +1,76 @@
+package edu.rit.croatia.schema2script.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import model.Column;
+import model.Relationship;
+import model.Table;
+import model.persistence.JsonCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The JsonCodecBenchmark class measures the per-call cost of creating a new
+ * {@link ObjectMapper} for every load and save, as the model used to, against the
+ * shared readers and writers of {@link JsonCodec}.
+ *
+ * <p>Run with:</p>
+ * <pre>
+ *     mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *         -Dexec.mainClass=edu.rit.croatia.schema2script.benchmark.JsonCodecBenchmark
+ * </pre>
+ */
+public final class JsonCodecBenchmark {
+
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    private JsonCodecBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark for a small and a medium schema.
+     *
+     * @param args unused
+     * @throws Exception if serialization fails
+     */
+    public static void main(String[] args) throws Exception {
+        for (int tableCount : new int[] {5, 100}) {
+            List<Table> tables = catalog(tableCount);
+            byte[] json = JsonCodec.tableListWriter().writeValueAsBytes(tables);
+            System.out.printf("Schema: %d tables, %d bytes%n", tableCount, json.length);
+            int iterations = ITERATIONS / tableCount * 5;
+
+            BenchmarkSupport.measure("save, new ObjectMapper per call", WARMUP / tableCount, iterations, () -> {
+                ObjectMapper mapper = new ObjectMapper();
+                mapper.enable(SerializationFeature.INDENT_OUTPUT);
+                BenchmarkSupport.consume(mapper.writeValueAsBytes(tables));
+            });
+            BenchmarkSupport.measure("save, shared JsonCodec writer", WARMUP / tableCount, iterations,
+                    () -> BenchmarkSupport.consume(JsonCodec.tableListWriter().writeValueAsBytes(tables)));
+            BenchmarkSupport.measure("load, new ObjectMapper per call", WARMUP / tableCount, iterations,
+                    () -> BenchmarkSupport.consume(new ObjectMapper().readValue(json,
+                            new TypeReference<List<Table>>() {
+                            })));
+            BenchmarkSupport.measure("load, shared JsonCodec reader", WARMUP / tableCount, iterations,
+                    () -> BenchmarkSupport.consume(JsonCodec.tableListReader().readValue(json)));
+        }
+    }
+
+    private static List<Table> catalog(int tableCount) {
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < tableCount; i++) {
+            Table table = new Table("table_" + i);
+            table.addColumn(new Column("id", "INT", true));
+            for (int j = 1; j < 8; j++) {
+                table.addColumn(new Column("column_" + j, "VARCHAR(255)"));
+            }
+            table.addRelationship(new Relationship("many-to-one", "table_" + ((i + 1) % tableCount), "column_1",
+                    "id"));
+            tables.add(table);
+        }
+        return tables;
+    }
+}
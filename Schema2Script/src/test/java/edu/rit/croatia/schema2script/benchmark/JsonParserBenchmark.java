@@ -0,0 +1,93 @@
+package edu.rit.croatia.schema2script.benchmark;
+
+import model.SchemaModel;
+import model.parser.JsonParser;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The JsonParserBenchmark class compares the streaming, tree and parallel modes of
+ * {@link JsonParser} on generated schema files, reporting throughput and the peak
+ * heap used by a parse. The streaming mode is also measured on a gzip-compressed copy
+ * of each file, which is decompressed while it is parsed.
+ *
+ * <p>Run with:</p>
+ * <pre>
+ *     mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *         -Dexec.mainClass=edu.rit.croatia.schema2script.benchmark.JsonParserBenchmark
+ * </pre>
+ */
+public final class JsonParserBenchmark {
+
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    private JsonParserBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark for a medium, a large and a very large schema file.
+     *
+     * @param args unused
+     * @throws Exception if a file cannot be written or parsed
+     */
+    public static void main(String[] args) throws Exception {
+        // The per-table debug logging would otherwise dominate the parse time
+        Configurator.setAllLevels("model", Level.WARN);
+        Path directory = Files.createTempDirectory("json-parser-benchmark");
+
+        for (int tableCount : new int[] {1_000, 10_000, 40_000}) {
+            File schemaFile = directory.resolve("input-" + tableCount + ".json").toFile();
+            Files.writeString(schemaFile.toPath(), schema(tableCount));
+            long bytes = schemaFile.length();
+            System.out.printf("Schema: %d tables, %d bytes%n", tableCount, bytes);
+
+            for (JsonParser.Mode mode : JsonParser.Mode.values()) {
+                JsonParser parser = new JsonParser(mode);
+                double nanosPerOp = BenchmarkSupport.measure("parse, " + mode.name().toLowerCase() + " mode",
+                        WARMUP, ITERATIONS, () -> parse(parser, schemaFile));
+                long peak = BenchmarkSupport.peakHeap(() -> parse(parser, schemaFile));
+                System.out.printf("%-48s %12.1f MB/s %8d KB peak heap%n", "", bytes / (nanosPerOp / 1_000.0),
+                        peak / 1024);
+            }
+
+            File compressedFile = directory.resolve("input-" + tableCount + ".json.gz").toFile();
+            try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressedFile.toPath()))) {
+                output.write(Files.readString(schemaFile.toPath()).getBytes(StandardCharsets.UTF_8));
+            }
+            JsonParser parser = new JsonParser();
+            double nanosPerOp = BenchmarkSupport.measure("parse, streaming mode, gzip", WARMUP, ITERATIONS,
+                    () -> parse(parser, compressedFile));
+            long peak = BenchmarkSupport.peakHeap(() -> parse(parser, compressedFile));
+            System.out.printf("%-48s %12.1f MB/s %8d KB peak heap (%d bytes compressed)%n", "",
+                    bytes / (nanosPerOp / 1_000.0), peak / 1024, compressedFile.length());
+        }
+    }
+
+    private static void parse(JsonParser parser, File schemaFile) throws Exception {
+        SchemaModel schema = parser.parse(schemaFile);
+        schema.close();
+        BenchmarkSupport.consume(schema);
+    }
+
+    private static String schema(int tableCount) {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < tableCount; i++) {
+            json.append(i == 0 ? "" : ",\n").append("  {\"tableName\": \"table_").append(i)
+                    .append("\", \"columns\": [{\"name\": \"id\", \"type\": \"INT\", \"primaryKey\": true}");
+            for (int j = 1; j < 8; j++) {
+                json.append(", {\"name\": \"column_").append(j).append("\", \"type\": \"VARCHAR(255)\"}");
+            }
+            json.append("], \"relationships\": [{\"relationshipType\": \"many-to-one\", \"relatedTable\": \"table_")
+                    .append((i + 1) % tableCount).append("\", \"foreignKey\": \"column_1\"}]}");
+        }
+        return json.append("\n]\n").toString();
+    }
+}
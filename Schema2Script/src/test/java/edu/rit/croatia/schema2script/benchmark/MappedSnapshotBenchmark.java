@@ -0,0 +1,90 @@
+package edu.rit.croatia.schema2script.benchmark;
+
+import model.Column;
+import model.Relationship;
+import model.Table;
+import model.persistence.BinarySchemaReader;
+import model.persistence.BinarySchemaWriter;
+import model.persistence.MappedSchemaSnapshot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The MappedSnapshotBenchmark class measures how quickly a large binary snapshot
+ * can be opened and queried through {@link MappedSchemaSnapshot}, compared with
+ * decoding it eagerly, and how much heap each approach retains.
+ *
+ * <p>Run with:</p>
+ * <pre>
+ *     mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *         -Dexec.mainClass=edu.rit.croatia.schema2script.benchmark.MappedSnapshotBenchmark
+ * </pre>
+ */
+public final class MappedSnapshotBenchmark {
+
+    private static final int TABLES = 100_000;
+    private static final int COLUMNS_PER_TABLE = 10;
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 10;
+
+    private MappedSnapshotBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark with a snapshot in a temporary file.
+     *
+     * @param args unused
+     * @throws Exception if the snapshot cannot be written or read
+     */
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("schema2script-bench", "." + BinarySchemaWriter.EXTENSION);
+        try {
+            BinarySchemaWriter.write(file, catalog(), false);
+            System.out.printf("Catalog: %d tables, %d bytes on disk%n", TABLES, Files.size(file));
+
+            BenchmarkSupport.measure("mapped open + size()", WARMUP, ITERATIONS,
+                    () -> BenchmarkSupport.consume(MappedSchemaSnapshot.open(file).size()));
+            BenchmarkSupport.measure("mapped open + getTable(name)", WARMUP, ITERATIONS,
+                    () -> BenchmarkSupport.consume(MappedSchemaSnapshot.open(file).getTable("table_73512")));
+            MappedSchemaSnapshot opened = MappedSchemaSnapshot.open(file);
+            opened.getTable("table_0");
+            BenchmarkSupport.measure("mapped getTable(name), index built", WARMUP * 1000, ITERATIONS * 1000,
+                    () -> BenchmarkSupport.consume(opened.getTable("table_99999")));
+            BenchmarkSupport.measure("eager BinarySchemaReader.read", WARMUP, ITERATIONS,
+                    () -> BenchmarkSupport.consume(BinarySchemaReader.read(file)));
+
+            BenchmarkSupport.consume(null);
+            long baseline = BenchmarkSupport.usedHeap();
+            MappedSchemaSnapshot lazy = MappedSchemaSnapshot.open(file);
+            for (int i = 0; i < 100; i++) {
+                lazy.getTable(i * 1000);
+            }
+            long lazyHeap = BenchmarkSupport.usedHeap() - baseline;
+            BenchmarkSupport.consume(lazy);
+            List<Table> eager = BinarySchemaReader.read(file);
+            long eagerHeap = BenchmarkSupport.usedHeap() - baseline;
+            System.out.printf("%-48s %12d KiB%n", "retained heap, 100 tables touched (mapped)", lazyHeap / 1024);
+            System.out.printf("%-48s %12d KiB%n", "retained heap, all tables decoded (eager)", eagerHeap / 1024);
+            BenchmarkSupport.consume(eager);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static List<Table> catalog() {
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < TABLES; i++) {
+            Table table = new Table("table_" + i);
+            table.addColumn(new Column("id", "INT", true));
+            for (int j = 1; j < COLUMNS_PER_TABLE; j++) {
+                table.addColumn(new Column("column_" + j, "VARCHAR(255)"));
+            }
+            table.addRelationship(new Relationship("many-to-one", "table_" + ((i + 1) % TABLES), "column_1", "id"));
+            tables.add(table);
+        }
+        return tables;
+    }
+}
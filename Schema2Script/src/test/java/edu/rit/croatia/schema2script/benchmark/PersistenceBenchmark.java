@@ -0,0 +1,74 @@
+package edu.rit.croatia.schema2script.benchmark;
+
+import model.Column;
+import model.SchemaMutation;
+import model.Table;
+import model.persistence.AtomicFileWriter;
+import model.persistence.DurabilityPolicy;
+import model.persistence.SchemaJournal;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * The PersistenceBenchmark class measures the cost of each {@link DurabilityPolicy}
+ * for journal appends, flushes and atomic snapshot replacement.
+ *
+ * <p>Run with:</p>
+ * <pre>
+ *     mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *         -Dexec.mainClass=edu.rit.croatia.schema2script.benchmark.PersistenceBenchmark
+ * </pre>
+ */
+public final class PersistenceBenchmark {
+
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1000;
+    private static final int EDITS_PER_FLUSH = 20;
+
+    private PersistenceBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark in a temporary directory.
+     *
+     * @param args unused
+     * @throws Exception if a write fails
+     */
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("schema2script-bench");
+        try {
+            Table table = new Table("users");
+            table.addColumn(new Column("id", "INT", true));
+            table.addColumn(new Column("email", "VARCHAR(255)"));
+            SchemaMutation mutation = SchemaMutation.addTable(table);
+            byte[] snapshot = "[{\"tableName\":\"users\"}]".repeat(500).getBytes(StandardCharsets.UTF_8);
+
+            for (DurabilityPolicy policy : DurabilityPolicy.values()) {
+                Path snapshotPath = Files.createDirectory(directory.resolve(policy.name())).resolve("schema.json");
+                try (SchemaJournal journal = new SchemaJournal(snapshotPath, policy)) {
+                    journal.rotate(snapshot).commit();
+                    BenchmarkSupport.measure(policy + " append", WARMUP, ITERATIONS,
+                            () -> journal.append(mutation));
+                    BenchmarkSupport.measure(policy + " " + EDITS_PER_FLUSH + " appends + sync", WARMUP / 10,
+                            ITERATIONS / 10, () -> {
+                                for (int i = 0; i < EDITS_PER_FLUSH; i++) {
+                                    journal.append(mutation);
+                                }
+                                journal.sync();
+                            });
+                    BenchmarkSupport.measure(policy + " snapshot replace (" + snapshot.length + " B)",
+                            WARMUP / 10, ITERATIONS / 10,
+                            () -> AtomicFileWriter.write(snapshotPath, snapshot, policy.forcesOnFlush()));
+                }
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
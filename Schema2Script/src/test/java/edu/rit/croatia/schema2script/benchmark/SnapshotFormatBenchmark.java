@@ -0,0 +1,108 @@
+package edu.rit.croatia.schema2script.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import model.Column;
+import model.Relationship;
+import model.SchemaModel;
+import model.Table;
+import model.parser.BinaryParser;
+import model.parser.JsonParser;
+import model.persistence.BinarySchemaReader;
+import model.persistence.BinarySchemaWriter;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The SnapshotFormatBenchmark class compares the JSON schema format with the binary
+ * snapshot format for bytes on disk and load time, both through the parsers and
+ * through the raw readers.
+ *
+ * <p>Run with:</p>
+ * <pre>
+ *     mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *         -Dexec.mainClass=edu.rit.croatia.schema2script.benchmark.SnapshotFormatBenchmark
+ * </pre>
+ */
+public final class SnapshotFormatBenchmark {
+
+    private static final int TABLES = 2000;
+    private static final int COLUMNS_PER_TABLE = 20;
+    private static final int RELATIONSHIPS_PER_TABLE = 3;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+
+    private SnapshotFormatBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark in a temporary directory.
+     *
+     * @param args unused
+     * @throws Exception if a snapshot cannot be written or loaded
+     */
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("schema2script-bench");
+        try {
+            List<Table> tables = catalog();
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            File jsonFile = directory.resolve("catalog.json").toFile();
+            File binaryFile = directory.resolve("catalog." + BinarySchemaWriter.EXTENSION).toFile();
+            mapper.writeValue(jsonFile, tables);
+            BinarySchemaWriter.write(binaryFile.toPath(), tables, false);
+            byte[] jsonBytes = Files.readAllBytes(jsonFile.toPath());
+            byte[] binaryBytes = Files.readAllBytes(binaryFile.toPath());
+
+            System.out.printf("Catalog: %d tables, %d columns, %d relationships%n", TABLES,
+                    TABLES * COLUMNS_PER_TABLE, TABLES * RELATIONSHIPS_PER_TABLE);
+            System.out.printf("%-48s %12d bytes%n", "JSON on disk", jsonBytes.length);
+            System.out.printf("%-48s %12d bytes%n", "binary on disk", binaryBytes.length);
+
+            BenchmarkSupport.measure("JsonParser.parse", WARMUP, ITERATIONS, () -> {
+                SchemaModel schema = new JsonParser().parse(jsonFile);
+                schema.close();
+                BenchmarkSupport.consume(schema);
+            });
+            BenchmarkSupport.measure("BinaryParser.parse", WARMUP, ITERATIONS, () -> {
+                SchemaModel schema = new BinaryParser().parse(binaryFile);
+                schema.close();
+                BenchmarkSupport.consume(schema);
+            });
+            BenchmarkSupport.measure("ObjectMapper.readValue (bytes)", WARMUP, ITERATIONS,
+                    () -> BenchmarkSupport.consume(mapper.readValue(jsonBytes, Table[].class)));
+            BenchmarkSupport.measure("BinarySchemaReader.read (bytes)", WARMUP, ITERATIONS,
+                    () -> BenchmarkSupport.consume(BinarySchemaReader.read(binaryBytes)));
+            BenchmarkSupport.measure("ObjectMapper.writeValueAsBytes", WARMUP, ITERATIONS,
+                    () -> BenchmarkSupport.consume(mapper.writeValueAsBytes(tables)));
+            BenchmarkSupport.measure("BinarySchemaWriter.write", WARMUP, ITERATIONS,
+                    () -> BenchmarkSupport.consume(BinarySchemaWriter.write(tables)));
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static List<Table> catalog() {
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < TABLES; i++) {
+            Table table = new Table("table_" + i);
+            table.addColumn(new Column("id", "INT", true));
+            for (int j = 1; j < COLUMNS_PER_TABLE; j++) {
+                table.addColumn(new Column("column_" + j, j % 2 == 0 ? "VARCHAR(255)" : "INT"));
+            }
+            for (int j = 1; j <= RELATIONSHIPS_PER_TABLE; j++) {
+                int related = (i + j) % TABLES;
+                table.addRelationship(new Relationship("many-to-one", "table_" + related, "column_" + j, "id"));
+            }
+            tables.add(table);
+        }
+        return tables;
+    }
+}
@@ -0,0 +1,111 @@
+package edu.rit.croatia.schema2script.benchmark;
+
+import model.SchemaModel;
+import model.parser.JsonParser;
+import model.parser.SchemaParser;
+import model.parser.XMLParser;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The XMLParserBenchmark class measures the throughput and peak heap of the streaming
+ * {@link XMLParser} on generated XML schema files, next to the streaming
+ * {@link JsonParser} on the equivalent JSON files. The table counts can be passed as
+ * arguments; a million tables is an XML file of several hundred megabytes and needs a
+ * heap of a few gigabytes for the model itself.
+ *
+ * <p>Run with:</p>
+ * <pre>
+ *     mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *         -Dexec.mainClass=edu.rit.croatia.schema2script.benchmark.XMLParserBenchmark \
+ *         -Dexec.args="10000 100000 1000000"
+ * </pre>
+ */
+public final class XMLParserBenchmark {
+
+    private static final int WARMUP = 1;
+    private static final int ITERATIONS = 3;
+
+    private XMLParserBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark for each table count.
+     *
+     * @param args the table counts; 10,000 and 100,000 if none are given
+     * @throws Exception if a file cannot be written or parsed
+     */
+    public static void main(String[] args) throws Exception {
+        // The per-table debug logging would otherwise dominate the parse time
+        Configurator.setAllLevels("model", Level.WARN);
+        Path directory = Files.createTempDirectory("xml-parser-benchmark");
+
+        String[] tableCounts = args.length > 0 ? args : new String[] {"10000", "100000"};
+        for (String tableCount : tableCounts) {
+            int tables = Integer.parseInt(tableCount);
+            File xmlFile = directory.resolve("input-" + tables + ".xml").toFile();
+            File jsonFile = directory.resolve("input-" + tables + ".json").toFile();
+            writeXml(xmlFile.toPath(), tables);
+            writeJson(jsonFile.toPath(), tables);
+            System.out.printf("Schema: %d tables, %d bytes of XML, %d bytes of JSON%n", tables, xmlFile.length(),
+                    jsonFile.length());
+
+            run("parse XML, streaming", new XMLParser(), xmlFile);
+            run("parse JSON, streaming", new JsonParser(), jsonFile);
+            Files.delete(xmlFile.toPath());
+            Files.delete(jsonFile.toPath());
+        }
+    }
+
+    private static void run(String name, SchemaParser parser, File schemaFile) throws Exception {
+        double nanosPerOp = BenchmarkSupport.measure(name, WARMUP, ITERATIONS, () -> parse(parser, schemaFile));
+        long peak = BenchmarkSupport.peakHeap(() -> parse(parser, schemaFile));
+        System.out.printf("%-48s %12.1f MB/s %8d MB peak heap%n", "", schemaFile.length() / (nanosPerOp / 1_000.0),
+                peak / (1024 * 1024));
+    }
+
+    private static void parse(SchemaParser parser, File schemaFile) throws Exception {
+        SchemaModel schema = parser.parse(schemaFile);
+        schema.close();
+        BenchmarkSupport.consume(schema);
+    }
+
+    private static void writeXml(Path path, int tableCount) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<schema>\n");
+            for (int i = 0; i < tableCount; i++) {
+                writer.write("  <table tableName=\"table_" + i + "\">\n    <columns>\n"
+                        + "      <column name=\"id\" type=\"INT\" primaryKey=\"true\"/>\n");
+                for (int j = 1; j < 8; j++) {
+                    writer.write("      <column name=\"column_" + j + "\" type=\"VARCHAR(255)\"/>\n");
+                }
+                writer.write("    </columns>\n    <relationships>\n"
+                        + "      <relationship relationshipType=\"many-to-one\" relatedTable=\"table_"
+                        + (i + 1) % tableCount + "\" foreignKey=\"column_1\"/>\n    </relationships>\n  </table>\n");
+            }
+            writer.write("</schema>\n");
+        }
+    }
+
+    private static void writeJson(Path path, int tableCount) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            writer.write("[\n");
+            for (int i = 0; i < tableCount; i++) {
+                writer.write((i == 0 ? "" : ",\n") + "  {\"tableName\": \"table_" + i
+                        + "\", \"columns\": [{\"name\": \"id\", \"type\": \"INT\", \"primaryKey\": true}");
+                for (int j = 1; j < 8; j++) {
+                    writer.write(", {\"name\": \"column_" + j + "\", \"type\": \"VARCHAR(255)\"}");
+                }
+                writer.write("], \"relationships\": [{\"relationshipType\": \"many-to-one\", \"relatedTable\": \"table_"
+                        + (i + 1) % tableCount + "\", \"foreignKey\": \"column_1\"}]}");
+            }
+            writer.write("\n]\n");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * The {@code edu.rit.croatia.schema2script.benchmark} package contains micro-benchmarks
+ * for performance-sensitive parts of the schema-to-script application. Benchmarks are
+ * plain {@code main} classes; they are named {@code *Benchmark} so that the test run
+ * does not pick them up.
+ *
+ * <p>Benchmarks in this package include:</p>
+ * <ul>
+ *   <li>{@link edu.rit.croatia.schema2script.benchmark.PersistenceBenchmark}: Measures the
+ *       cost of each {@link model.persistence.DurabilityPolicy} for journal appends,
+ *       flushes and atomic snapshot replacement.</li>
+ *   <li>{@link edu.rit.croatia.schema2script.benchmark.SnapshotFormatBenchmark}: Compares the
+ *       JSON and binary snapshot formats for load time and bytes on disk.</li>
+ *   <li>{@link edu.rit.croatia.schema2script.benchmark.MappedSnapshotBenchmark}: Measures opening
+ *       and querying a large memory-mapped snapshot against decoding it eagerly.</li>
+ *   <li>{@link edu.rit.croatia.schema2script.benchmark.CompactCatalogBenchmark}: Compares the heap
+ *       retained by a large schema as {@link model.Table} objects and as a {@link model.CompactCatalog}.</li>
+ *   <li>{@link edu.rit.croatia.schema2script.benchmark.JsonCodecBenchmark}: Measures the per-call
+ *       savings of the shared {@link model.persistence.JsonCodec} readers and writers over creating
+ *       a new {@code ObjectMapper} for every load and save.</li>
+ *   <li>{@link edu.rit.croatia.schema2script.benchmark.JsonParserBenchmark}: Compares the throughput
+ *       and peak heap of the streaming, tree and parallel modes of {@link model.parser.JsonParser}.</li>
+ *   <li>{@link edu.rit.croatia.schema2script.benchmark.XMLParserBenchmark}: Measures the throughput
+ *       and peak heap of the streaming {@link model.parser.XMLParser} on large XML schema files.</li>
+ * </ul>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ *     mvn -B test-compile exec:java -Dexec.classpathScope=test \
+ *         -Dexec.mainClass=edu.rit.croatia.schema2script.benchmark.PersistenceBenchmark
+ * </pre>
+ *
+ * @since 1.0
+ */
+package edu.rit.croatia.schema2script.benchmark;
@@ -0,0 +1,127 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.SchemaModel;
+import model.SchemaMutation;
+import model.Table;
+import model.persistence.AtomicFileWriter;
+import model.persistence.DurabilityPolicy;
+import model.persistence.SchemaJournal;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * The AtomicFileWriterTest class contains unit tests for the {@link AtomicFileWriter} class
+ * and for the durability policies of the {@link SchemaJournal}.
+ */
+public class AtomicFileWriterTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that an existing file is replaced and no temporary file is left behind.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Test
+    public void testWrite_ReplacesFileWithoutLeavingTempFiles() throws IOException {
+        Path target = temporaryFolder.getRoot().toPath().resolve("schema.sql");
+        Files.writeString(target, "CREATE TABLE old_table (id INT);");
+
+        AtomicFileWriter.write(target, "CREATE TABLE new_table (id INT);".getBytes(StandardCharsets.UTF_8), true);
+
+        assertEquals("CREATE TABLE new_table (id INT);", Files.readString(target));
+        try (Stream<Path> files = Files.list(target.getParent())) {
+            assertEquals("Only the target should remain", 1, files.count());
+        }
+    }
+
+    /**
+     * Tests that missing parent directories are created.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Test
+    public void testWrite_CreatesMissingDirectories() throws IOException {
+        Path target = temporaryFolder.getRoot().toPath().resolve("script").resolve("schema.sql");
+
+        AtomicFileWriter.write(target, new byte[]{'x'}, false);
+
+        assertArrayEquals(new byte[]{'x'}, Files.readAllBytes(target));
+    }
+
+    /**
+     * Tests that a failed replacement leaves the target untouched and cleans up
+     * its temporary file.
+     *
+     * @throws IOException if the test files cannot be created
+     */
+    @Test
+    public void testWrite_FailedMoveLeavesTargetIntact() throws IOException {
+        Path target = temporaryFolder.newFolder("schema.json").toPath();
+        Files.writeString(target.resolve("keep.txt"), "keep");
+
+        try {
+            AtomicFileWriter.write(target, new byte[]{'x'}, false);
+            fail("Replacing a non-empty directory should fail");
+        } catch (IOException e) {
+            assertTrue(Files.isDirectory(target));
+        }
+        try (Stream<Path> files = Files.list(target.getParent())) {
+            assertEquals("The temporary file should be removed", 1, files.count());
+        }
+    }
+
+    /**
+     * Tests that every durability policy journals and compacts the same records.
+     *
+     * @throws IOException if the journal cannot be written
+     */
+    @Test
+    public void testJournal_EveryPolicyPersistsRecords() throws IOException {
+        for (DurabilityPolicy policy : DurabilityPolicy.values()) {
+            Path snapshot = temporaryFolder.newFolder(policy.name()).toPath().resolve("schema.json");
+            SchemaJournal journal = new SchemaJournal(snapshot, policy);
+
+            journal.rotate("[]".getBytes(StandardCharsets.UTF_8)).commit();
+            Table table = new Table("users");
+            table.addColumn(new Column("id", "INT", true));
+            journal.append(SchemaMutation.addTable(table));
+            journal.sync();
+            journal.close();
+
+            assertEquals(policy.name(), "[]", Files.readString(snapshot));
+            assertEquals(policy.name(), 1, SchemaJournal.readSegments(snapshot).get(0).getMutations().size());
+        }
+    }
+
+    /**
+     * Tests that an unknown durability policy name falls back to the default.
+     */
+    @Test
+    public void testGetDefaultDurabilityPolicy_UnknownName_FallsBack() {
+        String previous = System.getProperty(SchemaModel.DURABILITY_PROPERTY);
+        try {
+            System.setProperty(SchemaModel.DURABILITY_PROPERTY, "force_every_write");
+            assertEquals(DurabilityPolicy.FORCE_EVERY_WRITE, SchemaModel.getDefaultDurabilityPolicy());
+            System.setProperty(SchemaModel.DURABILITY_PROPERTY, "sometimes");
+            assertEquals(DurabilityPolicy.FORCE_ON_FLUSH, SchemaModel.getDefaultDurabilityPolicy());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(SchemaModel.DURABILITY_PROPERTY);
+            } else {
+                System.setProperty(SchemaModel.DURABILITY_PROPERTY, previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package edu.rit.croatia.schema2script.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import model.Column;
+import model.Relationship;
+import model.SchemaModel;
+import model.Table;
+import model.exception.SchemaParsingException;
+import model.parser.BinaryParser;
+import model.persistence.BinarySchemaReader;
+import model.persistence.BinarySchemaWriter;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.*;
+
+/**
+ * The BinarySchemaFormatTest class contains unit tests for the {@link BinarySchemaWriter},
+ * {@link BinarySchemaReader} and {@link BinaryParser} classes.
+ */
+public class BinarySchemaFormatTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that tables, columns and relationships survive a round trip,
+     * including {@code null} fields, join tables and non-ASCII names.
+     *
+     * @throws IOException if the snapshot cannot be read
+     */
+    @Test
+    public void testRead_RoundTripPreservesSchema() throws IOException {
+        List<Table> tables = sampleTables();
+
+        List<Table> read = BinarySchemaReader.read(BinarySchemaWriter.write(tables));
+
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.writeValueAsString(tables), mapper.writeValueAsString(read));
+        assertTrue(read.get(2).isJoinTable());
+        assertNull(read.get(0).getRelationships().get(0).getThroughTable());
+    }
+
+    /**
+     * Tests that repeated names and types are stored once, making the snapshot
+     * smaller than the equivalent JSON.
+     *
+     * @throws IOException if the tables cannot be serialized as JSON
+     */
+    @Test
+    public void testWrite_SmallerThanJson() throws IOException {
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Table table = new Table("table_" + i);
+            for (int j = 0; j < 10; j++) {
+                table.addColumn(new Column("column_" + j, "VARCHAR(255)"));
+            }
+            tables.add(table);
+        }
+
+        byte[] binary = BinarySchemaWriter.write(tables);
+        byte[] json = new ObjectMapper().writeValueAsBytes(tables);
+
+        assertTrue("Binary snapshot should be less than a quarter of the JSON size",
+                binary.length * 4 < json.length);
+    }
+
+    /**
+     * Tests that a single flipped byte is detected by the checksum.
+     */
+    @Test
+    public void testRead_CorruptedSnapshot_ThrowsException() {
+        byte[] snapshot = BinarySchemaWriter.write(sampleTables());
+        snapshot[snapshot.length / 2] ^= 0x01;
+
+        IOException e = assertThrows(IOException.class, () -> BinarySchemaReader.read(snapshot));
+        assertEquals("Binary schema snapshot checksum mismatch", e.getMessage());
+    }
+
+    /**
+     * Tests that a truncated snapshot is rejected.
+     */
+    @Test(expected = IOException.class)
+    public void testRead_TruncatedSnapshot_ThrowsException() throws IOException {
+        byte[] snapshot = BinarySchemaWriter.write(sampleTables());
+        BinarySchemaReader.read(Arrays.copyOf(snapshot, snapshot.length - 10));
+    }
+
+    /**
+     * Tests that counts that decode to a negative number and versions below the
+     * first format version are rejected with an {@link IOException}.
+     *
+     * @throws IOException if a valid snapshot cannot be read
+     */
+    @Test
+    public void testRead_NegativeCountOrVersion_ThrowsException() throws IOException {
+        assertTrue(BinarySchemaReader.read(snapshot(1, EMPTY_SECTION, EMPTY_SECTION)).isEmpty());
+
+        IOException e = assertThrows(IOException.class,
+                () -> BinarySchemaReader.read(snapshot(1, NEGATIVE_COUNT, EMPTY_SECTION)));
+        assertEquals("Binary schema snapshot count -1 does not fit its section", e.getMessage());
+        assertThrows(IOException.class, () -> BinarySchemaReader.read(snapshot(1, EMPTY_SECTION, NEGATIVE_COUNT)));
+        e = assertThrows(IOException.class, () -> BinarySchemaReader.read(snapshot(0, EMPTY_SECTION, EMPTY_SECTION)));
+        assertEquals("Unsupported binary schema snapshot version 0", e.getMessage());
+        assertThrows(IOException.class, () -> BinarySchemaReader.read(snapshot(-1, EMPTY_SECTION, EMPTY_SECTION)));
+    }
+
+    /**
+     * Tests that {@link BinaryParser} loads a snapshot saved by the model.
+     *
+     * @throws SchemaParsingException if the snapshot cannot be parsed
+     */
+    @Test
+    public void testParse_SnapshotSavedByModel() throws SchemaParsingException {
+        SchemaModel schema = new SchemaModel();
+        sampleTables().forEach(schema::addTable);
+        File snapshot = new File(temporaryFolder.getRoot(), "schema.s2sb");
+        schema.saveToBinaryFile(snapshot.getPath());
+        schema.close();
+
+        SchemaModel parsed = new BinaryParser().parse(snapshot);
+        parsed.close();
+
+        assertEquals(3, parsed.getTables().size());
+        assertEquals("many-to-one", parsed.getTable("student").getRelationships().get(0).getRelationshipType());
+    }
+
+    /**
+     * Tests that a file that is not a binary snapshot is rejected with a
+     * {@link SchemaParsingException}.
+     *
+     * @throws IOException if the test file cannot be created
+     */
+    @Test(expected = SchemaParsingException.class)
+    public void testParse_NotASnapshot_ThrowsException() throws IOException, SchemaParsingException {
+        File file = temporaryFolder.newFile("schema.s2sb");
+        Files.writeString(file.toPath(), "[{\"tableName\":\"student\"}]");
+
+        new BinaryParser().parse(file);
+    }
+
+    /** A section holding only a count of zero. */
+    static final byte[] EMPTY_SECTION = {0};
+
+    /** A section holding only a five-byte count that decodes to -1. */
+    static final byte[] NEGATIVE_COUNT = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+
+    /**
+     * Builds a snapshot with the specified version, string table and tables section
+     * and a valid checksum, so that malformed contents reach the decoder.
+     *
+     * @param version the format version
+     * @param strings the contents of the string table
+     * @param tables  the contents of the tables section
+     * @return the snapshot bytes
+     */
+    static byte[] snapshot(int version, byte[] strings, byte[] tables) {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 5 + strings.length + 5 + tables.length + 4);
+        buffer.putInt(BinarySchemaWriter.MAGIC).putShort((short) version).putShort((short) 0);
+        buffer.put(BinarySchemaWriter.STRINGS_SECTION).putInt(strings.length).put(strings);
+        buffer.put(BinarySchemaWriter.TABLES_SECTION).putInt(tables.length).put(tables);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    private static List<Table> sampleTables() {
+        Table student = new Table("student");
+        student.addColumn(new Column("student_id", "INT", true));
+        student.addColumn(new Column("naziv_\u0161kole", "VARCHAR(100)"));
+        student.addRelationship(new Relationship("many-to-one", "course", "course_id", null));
+
+        Table course = new Table("course");
+        course.addColumn(new Column("course_id", "INT", true));
+        course.addRelationship(new Relationship("many-to-many", "student", "course_id", "student_id",
+                "student_course"));
+
+        Table studentCourse = new Table("student_course");
+        studentCourse.addColumn(new Column("student_id", "INT", true));
+        studentCourse.addColumn(new Column("course_id", "INT", true));
+        studentCourse.setJoinTable(true);
+        return new ArrayList<>(List.of(student, course, studentCourse));
+    }
+}
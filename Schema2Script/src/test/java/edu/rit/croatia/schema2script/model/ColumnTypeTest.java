@@ -0,0 +1,132 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.ColumnType;
+import model.SchemaModel;
+import model.Table;
+import model.exception.SchemaParsingException;
+import model.generator.OracleGenerator;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The ColumnTypeTest class contains unit tests for the {@link ColumnType} class.
+ * It verifies how type declarations are parsed and shared, and how the
+ * {@link OracleGenerator} maps them.
+ */
+public class ColumnTypeTest {
+
+    /**
+     * Tests that a character type is parsed into its base type and length.
+     */
+    @Test
+    public void testOf_CharacterTypeHasLength() {
+        ColumnType type = ColumnType.of("varchar( 100 )");
+
+        assertEquals("VARCHAR", type.getBaseType());
+        assertEquals(Integer.valueOf(100), type.getLength());
+        assertNull(type.getPrecision());
+        assertEquals("varchar( 100 )", type.getDeclaration());
+        assertEquals("VARCHAR(100)", type.getCanonicalDeclaration());
+        assertEquals("(100)", type.getParameters());
+    }
+
+    /**
+     * Tests that a numeric type is parsed into its precision and scale.
+     */
+    @Test
+    public void testOf_NumericTypeHasPrecisionAndScale() {
+        ColumnType type = ColumnType.of("DECIMAL(10,2)");
+
+        assertEquals("DECIMAL", type.getBaseType());
+        assertNull(type.getLength());
+        assertEquals(Integer.valueOf(10), type.getPrecision());
+        assertEquals(Integer.valueOf(2), type.getScale());
+        assertEquals("(10,2)", type.getParameters());
+    }
+
+    /**
+     * Tests that a declaration outside the supported form is kept verbatim.
+     */
+    @Test
+    public void testOf_UnparsableDeclarationKeptVerbatim() {
+        ColumnType type = ColumnType.of("ENUM('a','b')");
+
+        assertEquals("ENUM('A','B')", type.getBaseType());
+        assertEquals("", type.getParameters());
+        assertEquals("ENUM('a','b')", type.getDeclaration());
+    }
+
+    /**
+     * Tests that columns with the same declaration share one descriptor, including
+     * columns read back from JSON.
+     */
+    @Test
+    public void testOf_DescriptorsAreShared() {
+        Column first = new Column("id", new String("INT"), true);
+        Column second = new Column("count", new String("INT"));
+
+        assertSame(first.getColumnType(), second.getColumnType());
+        assertSame(first.getType(), second.getType());
+        assertNull(ColumnType.of(null));
+    }
+
+    /**
+     * Tests that declarations differing only in case and spacing keep their
+     * spelling but share the parsed type of their canonical form, and that
+     * declarations that cannot be parsed are not pooled.
+     */
+    @Test
+    public void testOf_SpellingsKeepDeclarationAndShareParsedType() {
+        ColumnType canonical = ColumnType.of("NUMERIC(12,4)");
+        ColumnType spelled = ColumnType.of("numeric(12, 4)");
+
+        assertEquals("numeric(12, 4)", spelled.getDeclaration());
+        assertEquals("NUMERIC(12,4)", spelled.getCanonicalDeclaration());
+        assertSame(canonical.getBaseType(), spelled.getBaseType());
+        assertSame(spelled, ColumnType.of("numeric(12, 4)"));
+        assertSame(canonical, ColumnType.of("NUMERIC(12,4)"));
+
+        int poolSize = ColumnType.poolSize();
+        ColumnType unparsable = ColumnType.of("ENUM('a','b')");
+        assertEquals("ENUM('a','b')", unparsable.getDeclaration());
+        assertNotSame(unparsable, ColumnType.of("ENUM('a','b')"));
+        assertEquals(poolSize, ColumnType.poolSize());
+    }
+
+    /**
+     * Tests that the Oracle generator maps column types from their descriptors.
+     *
+     * @throws SchemaParsingException if an error occurs during SQL generation
+     */
+    @Test
+    public void testOracleGenerator_MapsColumnTypes() throws SchemaParsingException {
+        Table table = new Table("student");
+        table.addColumn(new Column("student_id", "INT", true));
+        table.addColumn(new Column("email", "VARCHAR(100)"));
+        table.addColumn(new Column("gpa", "DECIMAL(3,2)"));
+        table.addColumn(new Column("active", "BOOLEAN"));
+        table.addColumn(new Column("enrolled", "DATE"));
+        SchemaModel schema = mock(SchemaModel.class);
+        when(schema.getTables()).thenReturn(List.of(table));
+
+        String expectedSQL = """
+            CREATE TABLE student (
+                student_id NUMBER,
+                email VARCHAR2(100),
+                gpa NUMBER(3,2),
+                active NUMBER(1),
+                enrolled DATE,
+                PRIMARY KEY (student_id)
+            );
+
+            COMMIT;
+            """;
+        assertEquals(expectedSQL, new OracleGenerator().generate(schema));
+    }
+}
@@ -0,0 +1,125 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.CompactCatalog;
+import model.Relationship;
+import model.Table;
+import model.exception.SchemaParsingException;
+import model.generator.SqlGenerator;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The CompactCatalogTest class contains unit tests for the {@link CompactCatalog} class.
+ * It verifies that tables decoded from the compact arrays match the tables they
+ * were built from.
+ */
+public class CompactCatalogTest {
+
+    private List<Table> tables;
+
+    /**
+     * Creates a small schema with a join table and a relationship without a
+     * related foreign key before each test.
+     */
+    @Before
+    public void setUp() {
+        tables = new ArrayList<>();
+        for (String name : List.of("student", "course")) {
+            Table table = new Table(name);
+            table.addColumn(new Column(name + "_id", "INT", true));
+            table.addColumn(new Column("name", "VARCHAR(100)"));
+            tables.add(table);
+        }
+        Table enrollment = new Table("enrollment");
+        enrollment.addColumn(new Column("student_id", "INT", true));
+        enrollment.addColumn(new Column("course_id", "INT", true));
+        enrollment.addRelationship(new Relationship("many-to-one", "student", "student_id", null));
+        enrollment.addRelationship(new Relationship("many-to-one", "course", "course_id", "course_id"));
+        enrollment.setJoinTable(true);
+        tables.add(enrollment);
+    }
+
+    /**
+     * Tests that every table, column and relationship is decoded as it was stored.
+     */
+    @Test
+    public void testGetTables_RoundTrip() {
+        CompactCatalog catalog = CompactCatalog.of(tables);
+
+        assertEquals(3, catalog.size());
+        assertEquals(6, catalog.getTotalColumnCount());
+        for (int i = 0; i < tables.size(); i++) {
+            Table expected = tables.get(i);
+            Table actual = catalog.getTables().get(i);
+            assertEquals(expected.getTableName(), actual.getTableName());
+            assertEquals(expected.isJoinTable(), actual.isJoinTable());
+            assertEquals(expected.getColumns().size(), actual.getColumns().size());
+            for (int j = 0; j < expected.getColumns().size(); j++) {
+                assertEquals(expected.getColumns().get(j).getName(), actual.getColumns().get(j).getName());
+                assertEquals(expected.getColumns().get(j).getType(), actual.getColumns().get(j).getType());
+                assertEquals(expected.getColumns().get(j).isPrimaryKey(), actual.getColumns().get(j).isPrimaryKey());
+            }
+            assertEquals(expected.getRelationships().size(), actual.getRelationships().size());
+        }
+        Relationship relationship = catalog.getTable("enrollment").getRelationships().get(0);
+        assertEquals("student", relationship.getRelatedTable());
+        assertNull(relationship.getRelatedForeignKey());
+    }
+
+    /**
+     * Tests that names and types are stored once in the string dictionary.
+     */
+    @Test
+    public void testOf_SharesStrings() {
+        CompactCatalog catalog = CompactCatalog.of(tables);
+
+        // student, student_id, INT, name, VARCHAR(100), course, course_id, enrollment, many-to-one
+        assertEquals(9, catalog.getDictionarySize());
+    }
+
+    /**
+     * Tests lookups by name, including names that are not in the catalog.
+     */
+    @Test
+    public void testGetTable_ByName() {
+        CompactCatalog catalog = CompactCatalog.of(tables);
+
+        assertEquals(1, catalog.indexOf("course"));
+        assertEquals("course", catalog.getTable("course").getTableName());
+        assertEquals(-1, catalog.indexOf("teacher"));
+        assertNull(catalog.getTable("teacher"));
+        assertNull(CompactCatalog.of(new ArrayList<>()).getTable("student"));
+    }
+
+    /**
+     * Tests that a script generated from the compact catalog matches the script
+     * generated from the tables it was built from.
+     *
+     * @throws SchemaParsingException if an error occurs during SQL generation
+     */
+    @Test
+    public void testGenerate_MatchesObjectGraph() throws SchemaParsingException {
+        CompactCatalog catalog = CompactCatalog.of(tables);
+        SqlGenerator generator = new SqlGenerator();
+
+        StringBuilder expected = new StringBuilder();
+        for (Table table : tables) {
+            expected.append(generator.generateCreateTableSQL(table));
+        }
+        assertEquals(expected.toString(), generator.generate(catalog));
+    }
+
+    /**
+     * Tests that decoded tables reject modification.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetTable_Frozen() {
+        CompactCatalog.of(tables).getTable(0).addColumn(new Column("extra", "INT"));
+    }
+}
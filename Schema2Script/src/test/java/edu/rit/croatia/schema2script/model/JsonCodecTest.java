@@ -0,0 +1,83 @@
+package edu.rit.croatia.schema2script.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import model.Column;
+import model.Relationship;
+import model.SchemaMutation;
+import model.Table;
+import model.persistence.JsonCodec;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The JsonCodecTest class contains unit tests for the {@link JsonCodec} class.
+ * It verifies that the shared readers and writers produce the same JSON as a
+ * freshly configured {@link ObjectMapper} and read it back.
+ */
+public class JsonCodecTest {
+
+    private static List<Table> tables() {
+        Table student = new Table("student");
+        student.addColumn(new Column("student_id", "INT", true));
+        student.addColumn(new Column("name", "VARCHAR(100)"));
+        Table enrollment = new Table("enrollment");
+        enrollment.addColumn(new Column("student_id", "INT", true));
+        enrollment.addRelationship(new Relationship("many-to-one", "student", "student_id", "student_id"));
+        enrollment.setJoinTable(true);
+        return List.of(student, enrollment);
+    }
+
+    /**
+     * Tests that the table list writer keeps the pretty-printed schema file format.
+     *
+     * @throws Exception if the tables cannot be serialized
+     */
+    @Test
+    public void testTableListWriter_MatchesSchemaFileFormat() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+
+        assertArrayEquals(mapper.writeValueAsBytes(tables()),
+                JsonCodec.tableListWriter().writeValueAsBytes(tables()));
+    }
+
+    /**
+     * Tests that a table list and a single table read back as written.
+     *
+     * @throws Exception if the tables cannot be serialized or read
+     */
+    @Test
+    public void testTableReaders_RoundTrip() throws Exception {
+        List<Table> read = JsonCodec.tableListReader().readValue(
+                JsonCodec.tableListWriter().writeValueAsBytes(tables()));
+
+        assertEquals(2, read.size());
+        assertEquals("VARCHAR(100)", read.get(0).getColumn("name").getType());
+        assertTrue(read.get(1).isJoinTable());
+        assertEquals("student", read.get(1).getRelationships().get(0).getRelatedTable());
+
+        Table table = JsonCodec.tableReader().readValue(JsonCodec.tableWriter().writeValueAsBytes(read.get(0)));
+        assertEquals("student", table.getTableName());
+        assertEquals(2, table.getColumns().size());
+    }
+
+    /**
+     * Tests that journal records read back as written.
+     *
+     * @throws Exception if the record cannot be serialized or read
+     */
+    @Test
+    public void testMutationCodec_RoundTrip() throws Exception {
+        SchemaMutation mutation = SchemaMutation.addColumn("student", new Column("email", "VARCHAR(255)"));
+
+        SchemaMutation read = JsonCodec.mutationReader().readValue(
+                JsonCodec.mutationWriter().writeValueAsBytes(mutation));
+
+        assertEquals(SchemaMutation.Type.ADD_COLUMN, read.getType());
+        assertEquals("email", read.getColumn().getName());
+    }
+}
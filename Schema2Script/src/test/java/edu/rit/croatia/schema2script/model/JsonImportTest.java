@@ -0,0 +1,197 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.SchemaChangeEvent;
+import model.SchemaModel;
+import model.Table;
+import model.exception.SchemaParsingException;
+import model.parser.JsonImport;
+import model.parser.JsonParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static edu.rit.croatia.schema2script.model.SchemaTestSupport.describe;
+import static org.junit.Assert.*;
+
+/**
+ * The JsonImportTest class contains unit tests for the {@link JsonImport} class and
+ * {@link SchemaModel#patchTables(List)}, verifying that re-importing a JSON schema
+ * file changes only the tables that differ from the previous import.
+ */
+public class JsonImportTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File schemaFile;
+    private SchemaModel schema;
+    private JsonImport schemaImport;
+
+    /**
+     * Parses and tracks a schema of twenty tables before each test.
+     *
+     * @throws Exception if the schema cannot be written or parsed
+     */
+    @Before
+    public void setUp() throws Exception {
+        schemaFile = temporaryFolder.newFile("import.json");
+        List<String> tables = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tables.add(table("table_" + i, "INT", null));
+        }
+        write(tables);
+        schema = new JsonParser().parse(schemaFile);
+        schemaImport = JsonImport.track(schema, schemaFile);
+    }
+
+    /**
+     * Closes the schema model after each test.
+     */
+    @After
+    public void tearDown() {
+        schema.close();
+    }
+
+    /**
+     * Tests that a re-import parses only added and changed tables, keeps the other
+     * tables as they are, and ends with the model a full parse would build.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testReimport_PatchesOnlyChangedTables() throws Exception {
+        List<Table> before = schema.snapshot().getTables();
+        List<String> tables = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            if (i == 3) {
+                continue;
+            }
+            tables.add(table("table_" + i, i == 7 ? "BIGINT" : "INT", null));
+            if (i == 10) {
+                tables.add(table("table_new", "INT", null));
+            }
+        }
+        // Move table_0 to the end
+        tables.add(tables.remove(0));
+        write(tables);
+        List<SchemaChangeEvent> events = new ArrayList<>();
+        schema.addChangeListener(events::add);
+
+        JsonImport.Changes changes = schemaImport.reimport(schemaFile);
+
+        assertEquals(new JsonImport.Changes(18, 2, 2), changes);
+        assertEquals(describe(parse()), describe(schema));
+        List<Table> after = schema.snapshot().getTables();
+        assertSame(before.get(1), after.get(0));
+        assertSame(before.get(19), after.get(18));
+        assertNotSame(before.get(7), after.get(5));
+        assertEquals(Set.of("table_0", "table_3", "table_7", "table_new"), affectedTables(events));
+
+        assertTrue(schema.undo());
+        assertEquals(describe(before), describe(schema.snapshot().getTables()));
+    }
+
+    /**
+     * Tests that re-importing an unchanged file changes nothing, and that tables
+     * edited in the model since the previous import are restored from the file.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testReimport_RestoresEditedTables() throws Exception {
+        assertEquals(new JsonImport.Changes(20, 0, 0), schemaImport.reimport(schemaFile));
+        assertFalse(schema.canUndo());
+
+        schema.storeData(new Column("email", "VARCHAR(100)"), "table_4");
+        schema.deleteTable("table_5");
+        assertEquals(new JsonImport.Changes(18, 2, 1), schemaImport.reimport(schemaFile));
+        assertEquals(describe(parse()), describe(schema));
+    }
+
+    /**
+     * Tests that join tables are marked as after a full parse when a changed table
+     * starts or stops referring to an unchanged table as its through table.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testReimport_MarksJoinTables() throws Exception {
+        List<String> tables = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tables.add(table("table_" + i, "INT", i == 2 ? "table_9" : null));
+        }
+        write(tables);
+        schemaImport.reimport(schemaFile);
+        assertTrue(schema.getTable("table_9").isJoinTable());
+        assertEquals(describe(parse()), describe(schema));
+
+        tables.set(2, table("table_2", "INT", null));
+        write(tables);
+        schemaImport.reimport(schemaFile);
+        assertFalse(schema.getTable("table_9").isJoinTable());
+        assertEquals(describe(parse()), describe(schema));
+    }
+
+    /**
+     * Tests that an invalid file is rejected with the message of a full parse and
+     * leaves the model and the remembered tables unchanged.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testReimport_InvalidFileLeavesModelUnchanged() throws Exception {
+        String original = describe(schema);
+        List<String> tables = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tables.add(i == 12 ? "{\"tableName\": \"table_12\"}" : table("table_" + i, "INT", null));
+        }
+        write(tables);
+        try {
+            schemaImport.reimport(schemaFile);
+            fail("Importing an invalid schema should fail");
+        } catch (SchemaParsingException e) {
+            assertEquals("Invalid JSON format: Missing or malformed 'columns' array in table: table_12",
+                    e.getMessage());
+        }
+        assertEquals(original, describe(schema));
+
+        tables.set(12, table("table_12", "INT", null));
+        write(tables);
+        assertEquals(new JsonImport.Changes(20, 0, 0), schemaImport.reimport(schemaFile));
+    }
+
+    private SchemaModel parse() throws Exception {
+        SchemaModel parsed = new JsonParser().parse(schemaFile);
+        parsed.close();
+        return parsed;
+    }
+
+    private void write(List<String> tables) throws Exception {
+        Files.writeString(schemaFile.toPath(), "[\n  " + String.join(",\n  ", tables) + "\n]\n");
+    }
+
+    private static String table(String tableName, String idType, String throughTable) {
+        return "{\"tableName\": \"" + tableName + "\", \"columns\": [{\"name\": \"id\", \"type\": \"" + idType
+                + "\", \"primaryKey\": true}], \"relationships\": [{\"relationshipType\": \"many-to-many\","
+                + " \"relatedTable\": \"table_0\", \"foreignKey\": \"id\""
+                + (throughTable == null ? "" : ", \"throughTable\": \"" + throughTable + "\"") + "}]}";
+    }
+
+    private static Set<String> affectedTables(List<SchemaChangeEvent> events) {
+        Set<String> tableNames = new HashSet<>();
+        for (SchemaChangeEvent event : events) {
+            tableNames.addAll(event.getAffectedTableNames());
+        }
+        return tableNames;
+    }
+}
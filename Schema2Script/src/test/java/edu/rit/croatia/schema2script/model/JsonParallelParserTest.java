@@ -0,0 +1,92 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.SchemaModel;
+import model.exception.SchemaParsingException;
+import model.parser.JsonParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static edu.rit.croatia.schema2script.model.SchemaTestSupport.describe;
+import static org.junit.Assert.*;
+
+/**
+ * The JsonParallelParserTest class contains unit tests for the parallel mode of the
+ * {@link JsonParser} class, which builds the tables of large documents concurrently.
+ */
+public class JsonParallelParserTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that the parallel mode builds the tables in their original order and
+     * marks join tables, both above and below the parallel threshold.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_SameModelAsSequential() throws Exception {
+        File schemaFile = write(schema(600, -1));
+        String expected = describe(parse(new JsonParser(JsonParser.Mode.TREE), schemaFile));
+
+        SchemaModel parallel = parse(new JsonParser(JsonParser.Mode.PARALLEL, 0), schemaFile);
+        assertEquals(expected, describe(parallel));
+        assertEquals("table_599", parallel.getTables().get(599).getTableName());
+        assertTrue(parallel.getTable("table_7").isJoinTable());
+        assertFalse(parallel.getTable("table_8").isJoinTable());
+
+        assertEquals(expected, describe(parse(new JsonParser(JsonParser.Mode.PARALLEL, 601), schemaFile)));
+    }
+
+    /**
+     * Tests that the parallel mode reports the first invalid table in the document,
+     * even when a later chunk fails as well.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_ReportsFirstInvalidTable() throws Exception {
+        File schemaFile = write(schema(800, 300).replace("\"tableName\": \"table_700\", \"columns\"",
+                "\"tableName\": \"table_700\", \"cols\""));
+
+        for (JsonParser parser : new JsonParser[] {new JsonParser(JsonParser.Mode.TREE),
+                new JsonParser(JsonParser.Mode.PARALLEL, 0)}) {
+            try {
+                parse(parser, schemaFile);
+                fail("Parsing should fail");
+            } catch (SchemaParsingException e) {
+                assertEquals("Invalid JSON format: Missing 'name' or 'type' in columns of table: table_300",
+                        e.getMessage());
+            }
+        }
+    }
+
+    private File write(String json) throws Exception {
+        File schemaFile = temporaryFolder.newFile();
+        Files.writeString(schemaFile.toPath(), json);
+        return schemaFile;
+    }
+
+    private static SchemaModel parse(JsonParser parser, File schemaFile) throws Exception {
+        SchemaModel schema = parser.parse(schemaFile);
+        schema.close();
+        return schema;
+    }
+
+    private static String schema(int tableCount, int invalidTable) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < tableCount; i++) {
+            json.append(i == 0 ? "" : ", ").append("{\"tableName\": \"table_").append(i)
+                    .append("\", \"columns\": [{\"name\": \"id\", \"type\": \"INT\", \"primaryKey\": true}, ")
+                    .append(i == invalidTable ? "{\"name\": \"code\"}" : "{\"name\": \"code\", \"type\": \"CHAR(4)\"}")
+                    .append("], \"relationships\": [{\"relationshipType\": \"many-to-many\", \"relatedTable\": \"table_")
+                    .append((i + 1) % tableCount).append("\", \"foreignKey\": \"id\", \"throughTable\": \"table_")
+                    .append(i / 10 * 10 + 7).append("\"}]}");
+        }
+        return json.append(']').toString();
+    }
+}
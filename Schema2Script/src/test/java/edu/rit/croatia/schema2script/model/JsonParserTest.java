@@ -2,12 +2,17 @@ package edu.rit.croatia.schema2script.model;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import model.SchemaModel;
 import model.Table;
 import model.exception.SchemaParsingException;
 import model.parser.JsonParser;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.util.ArrayList;
 
 import static org.junit.Assert.*;
@@ -18,6 +23,9 @@ import static org.junit.Assert.*;
  */
 public class JsonParserTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private JsonParser jsonParser;
     private ObjectMapper objectMapper;
 
@@ -143,4 +151,33 @@ public class JsonParserTest {
 
         assertEquals("Table should have 0 relationships", 0, table.getRelationships().size());
     }
+
+    /**
+     * Tests the {@link JsonParser#parse(File)} method with many tables and
+     * verifies that the parsed model is kept in memory without writing a schema file.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_ManyTables_InMemoryOnly() throws Exception {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 200; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"tableName\": \"table_").append(i)
+                    .append("\", \"columns\": [{\"name\": \"id\", \"type\": \"INT\", \"primaryKey\": true}]}");
+        }
+        json.append(']');
+        File schemaFile = temporaryFolder.newFile("schema.json");
+        Files.writeString(schemaFile.toPath(), json);
+
+        SchemaModel schema = jsonParser.parse(schemaFile);
+
+        assertEquals("All tables should be parsed", 200, schema.getTables().size());
+        assertFalse("Bulk load should be finished", schema.isBulkLoading());
+        assertFalse("Parsed models should not be persisted", schema.isPersistent());
+        assertNull(schema.getSchemaWriter());
+        assertNull(schema.getJournal());
+    }
 }
@@ -0,0 +1,118 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.SchemaModel;
+import model.exception.SchemaParsingException;
+import model.parser.JsonParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static edu.rit.croatia.schema2script.model.SchemaTestSupport.describe;
+import static org.junit.Assert.*;
+
+/**
+ * The JsonStreamingParserTest class contains unit tests that compare the streaming
+ * and tree modes of the {@link JsonParser} class, which must build the same model and
+ * report the same errors for any input.
+ */
+public class JsonStreamingParserTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that both modes build the same model from values that are converted to
+     * text or booleans, duplicate and unknown fields, and join tables.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_SameModelInBothModes() throws Exception {
+        String json = "[{\"tableName\": \"student\", \"comment\": {\"nested\": [1, 2, {\"a\": null}]},"
+                + " \"columns\": [{\"name\": \"id\", \"type\": \"INT\", \"primaryKey\": 1},"
+                + " {\"name\": 42, \"type\": \"VARCHAR(100)\", \"primaryKey\": \" true \"},"
+                + " {\"name\": 1.5, \"type\": true, \"primaryKey\": 0},"
+                + " {\"name\": \"extra\", \"type\": null, \"primaryKey\": [true]}],"
+                + " \"relationships\": [{\"relationshipType\": \"many-to-many\", \"relatedTable\": \"course\","
+                + " \"foreignKey\": \"id\", \"relatedForeignKey\": null, \"throughTable\": \"enrollment\"}]},"
+                + " {\"tableName\": \"course\", \"tableName\": \"class\", \"relationships\": \"none\","
+                + " \"columns\": [{\"name\": \"id\", \"type\": \"INT\", \"primaryKey\": false}]},"
+                + " {\"tableName\": \"enrollment\", \"columns\": [], \"relationships\": []}]";
+
+        String streamed = describe(parse(JsonParser.Mode.STREAMING, json));
+        assertEquals(describe(parse(JsonParser.Mode.TREE, json)), streamed);
+        assertTrue(streamed.contains("student(id INT PK, 42 VARCHAR(100) PK, 1.5 true, extra null, "));
+        assertTrue(streamed.contains("course.id.null.enrollment"));
+        assertTrue(streamed.contains("class(id INT, )"));
+        assertTrue(streamed.contains("enrollment join("));
+    }
+
+    /**
+     * Tests that both modes report every validation error with the same message.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_SameErrorsInBothModes() throws Exception {
+        String[][] cases = {
+                {"{\"tableName\": \"student\"}", "Root node must be an array of tables."},
+                {"\"tables\"", "Root node must be an array of tables."},
+                {"[[\"student\"]]", "Missing 'tableName' field."},
+                {"[{\"columns\": []}]", "Missing 'tableName' field."},
+                {"[{\"tableName\": \"student\"}]", "Missing or malformed 'columns' array in table: student"},
+                {"[{\"tableName\": \"student\", \"columns\": {}}]",
+                        "Missing or malformed 'columns' array in table: student"},
+                {"[{\"tableName\": \"student\", \"columns\": [{\"name\": \"id\"}]}]",
+                        "Missing 'name' or 'type' in columns of table: student"},
+                {"[{\"tableName\": \"student\", \"columns\": [\"id\"]}]",
+                        "Missing 'name' or 'type' in columns of table: student"},
+                {"[{\"tableName\": \"student\", \"columns\": [], \"relationships\": [{\"relatedTable\": \"x\","
+                        + " \"foreignKey\": \"x_id\"}]}]",
+                        "Missing required fields in relationships of table: student"},
+                // The first invalid table is reported, even when a later table is invalid too
+                {"[{\"tableName\": \"a\", \"columns\": []}, {\"tableName\": \"b\"}, {\"columns\": []}]",
+                        "Missing or malformed 'columns' array in table: b"}
+        };
+        for (String[] testCase : cases) {
+            String expected = "Invalid JSON format: " + testCase[1];
+            assertEquals(testCase[0], expected, parseError(JsonParser.Mode.TREE, testCase[0]));
+            assertEquals(testCase[0], expected, parseError(JsonParser.Mode.STREAMING, testCase[0]));
+        }
+    }
+
+    /**
+     * Tests that both modes report malformed JSON as a read error, even when it
+     * follows a table that fails validation.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_MalformedJsonTakesPrecedence() throws Exception {
+        for (String json : new String[] {"[{\"tableName\": \"a\"}, {\"tableName\": ]",
+                "[{\"tableName\": \"a\", \"columns\": []}", "{\"tableName\": "}) {
+            assertEquals(json, "Error reading the JSON schema file", parseError(JsonParser.Mode.TREE, json));
+            assertEquals(json, "Error reading the JSON schema file", parseError(JsonParser.Mode.STREAMING, json));
+        }
+    }
+
+    private SchemaModel parse(JsonParser.Mode mode, String json) throws Exception {
+        File schemaFile = temporaryFolder.newFile();
+        Files.writeString(schemaFile.toPath(), json);
+        SchemaModel schema = new JsonParser(mode).parse(schemaFile);
+        schema.close();
+        return schema;
+    }
+
+    private String parseError(JsonParser.Mode mode, String json) throws Exception {
+        try {
+            parse(mode, json);
+            fail("Parsing should fail in " + mode + " mode: " + json);
+            return null;
+        } catch (SchemaParsingException e) {
+            return e.getMessage();
+        }
+    }
+}
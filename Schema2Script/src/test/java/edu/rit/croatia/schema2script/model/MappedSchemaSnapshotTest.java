@@ -0,0 +1,200 @@
+package edu.rit.croatia.schema2script.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import model.Column;
+import model.Relationship;
+import model.Table;
+import model.persistence.BinarySchemaReader;
+import model.persistence.BinarySchemaWriter;
+import model.persistence.MappedSchemaSnapshot;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static org.junit.Assert.*;
+
+/**
+ * The MappedSchemaSnapshotTest class contains unit tests for the {@link MappedSchemaSnapshot}
+ * class. It verifies that tables are decoded only when accessed and match the eager reader.
+ */
+public class MappedSchemaSnapshotTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that the size and a lookup by name are answered without decoding
+     * any other table.
+     *
+     * @throws IOException if the snapshot cannot be written or mapped
+     */
+    @Test
+    public void testGetTable_ByName_DecodesOnlyThatTable() throws IOException {
+        MappedSchemaSnapshot snapshot = MappedSchemaSnapshot.open(write(sampleTables(1000)));
+
+        assertEquals(1000, snapshot.size());
+        assertEquals("table_500", snapshot.getTableName(500));
+        assertEquals(0, snapshot.getMaterializedCount());
+
+        Table table = snapshot.getTable("table_742");
+        assertNotNull(table);
+        assertEquals("table_741", table.getRelationships().get(0).getRelatedTable());
+        assertSame("Decoded tables should be shared", table, snapshot.getTable(742));
+        assertNull(snapshot.getTable("missing"));
+        assertEquals(1, snapshot.getMaterializedCount());
+    }
+
+    /**
+     * Tests that iterating the lazy list yields the same tables as the eager reader.
+     *
+     * @throws IOException if the snapshot cannot be written, mapped or read
+     */
+    @Test
+    public void testGetTables_IterationMatchesEagerReader() throws IOException {
+        Path file = write(sampleTables(50));
+        MappedSchemaSnapshot snapshot = MappedSchemaSnapshot.open(file);
+
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals(mapper.writeValueAsString(BinarySchemaReader.read(file)),
+                mapper.writeValueAsString(new ArrayList<>(snapshot.getTables())));
+        assertEquals(50, snapshot.getMaterializedCount());
+        assertTrue(snapshot.verifyChecksum());
+    }
+
+    /**
+     * Tests that duplicate table names resolve to the first table with the name,
+     * as they do in the schema model.
+     *
+     * @throws IOException if the snapshot cannot be written or mapped
+     */
+    @Test
+    public void testIndexOf_DuplicateNames_ResolvesToFirst() throws IOException {
+        List<Table> tables = sampleTables(10);
+        tables.add(new Table("table_3"));
+        MappedSchemaSnapshot snapshot = MappedSchemaSnapshot.open(write(tables));
+
+        assertEquals(3, snapshot.indexOf("table_3"));
+    }
+
+    /**
+     * Tests that a snapshot without the index sections is indexed by a scan.
+     *
+     * @throws IOException if the snapshot cannot be written or mapped
+     */
+    @Test
+    public void testOpen_WithoutIndexSections_ScansTables() throws IOException {
+        byte[] full = BinarySchemaWriter.write(sampleTables(20));
+        Path file = temporaryFolder.getRoot().toPath().resolve("legacy.s2sb");
+        Files.write(file, withoutIndexSections(full));
+
+        MappedSchemaSnapshot snapshot = MappedSchemaSnapshot.open(file);
+
+        assertEquals(20, snapshot.size());
+        assertEquals("table_12", snapshot.getTable("table_12").getTableName());
+        assertTrue(snapshot.verifyChecksum());
+    }
+
+    /**
+     * Tests that corruption is detected by an explicit checksum verification.
+     *
+     * @throws IOException if the snapshot cannot be written or mapped
+     */
+    @Test
+    public void testVerifyChecksum_CorruptedSnapshot_ReturnsFalse() throws IOException {
+        byte[] bytes = BinarySchemaWriter.write(sampleTables(5));
+        bytes[bytes.length - 8] ^= 0x01;
+        Path file = temporaryFolder.getRoot().toPath().resolve("corrupt.s2sb");
+        Files.write(file, bytes);
+
+        assertFalse(MappedSchemaSnapshot.open(file).verifyChecksum());
+    }
+
+    /**
+     * Tests that a file that is not a binary snapshot cannot be opened.
+     *
+     * @throws IOException expected exception
+     */
+    @Test(expected = IOException.class)
+    public void testOpen_NotASnapshot_ThrowsException() throws IOException {
+        Path file = temporaryFolder.newFile("schema.s2sb").toPath();
+        Files.writeString(file, "[{\"tableName\":\"student\"}]");
+
+        MappedSchemaSnapshot.open(file);
+    }
+
+    /**
+     * Tests that counts that decode to a negative number and versions below the
+     * first format version are rejected with an {@link IOException} when opening.
+     *
+     * @throws IOException if a test file cannot be written
+     */
+    @Test
+    public void testOpen_NegativeCountOrVersion_ThrowsException() throws IOException {
+        Path file = temporaryFolder.getRoot().toPath().resolve("malformed.s2sb");
+        Files.write(file, BinarySchemaFormatTest.snapshot(1, BinarySchemaFormatTest.NEGATIVE_COUNT,
+                BinarySchemaFormatTest.EMPTY_SECTION));
+        IOException e = assertThrows(IOException.class, () -> MappedSchemaSnapshot.open(file));
+        assertEquals("Binary schema snapshot count -1 does not fit its section", e.getMessage());
+
+        Files.write(file, BinarySchemaFormatTest.snapshot(1, BinarySchemaFormatTest.EMPTY_SECTION,
+                BinarySchemaFormatTest.NEGATIVE_COUNT));
+        assertThrows(IOException.class, () -> MappedSchemaSnapshot.open(file));
+
+        Files.write(file, BinarySchemaFormatTest.snapshot(0, BinarySchemaFormatTest.EMPTY_SECTION,
+                BinarySchemaFormatTest.EMPTY_SECTION));
+        e = assertThrows(IOException.class, () -> MappedSchemaSnapshot.open(file));
+        assertEquals("Unsupported binary schema snapshot version 0", e.getMessage());
+    }
+
+    private Path write(List<Table> tables) throws IOException {
+        Path file = temporaryFolder.getRoot().toPath().resolve("schema.s2sb");
+        BinarySchemaWriter.write(file, tables, false);
+        return file;
+    }
+
+    private static List<Table> sampleTables(int count) {
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Table table = new Table("table_" + i);
+            table.addColumn(new Column("id", "INT", true));
+            table.addColumn(new Column("name", "VARCHAR(100)"));
+            table.addRelationship(new Relationship("many-to-one", "table_" + (i == 0 ? count - 1 : i - 1),
+                    "parent_id", "id"));
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    private static byte[] withoutIndexSections(byte[] snapshot) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(snapshot, 0, snapshot.length - Integer.BYTES);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        byte[] header = new byte[8];
+        buffer.get(header);
+        output.write(header);
+        while (buffer.hasRemaining()) {
+            byte id = buffer.get();
+            byte[] payload = new byte[buffer.getInt()];
+            buffer.get(payload);
+            if (id == BinarySchemaWriter.STRINGS_SECTION || id == BinarySchemaWriter.TABLES_SECTION) {
+                output.writeByte(id);
+                output.writeInt(payload.length);
+                output.write(payload);
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        output.writeInt((int) crc.getValue());
+        return bytes.toByteArray();
+    }
+}
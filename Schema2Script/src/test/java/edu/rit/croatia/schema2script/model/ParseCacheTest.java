@@ -0,0 +1,145 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.SchemaModel;
+import model.exception.SchemaParsingException;
+import model.parser.JsonParser;
+import model.parser.ParseCache;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.*;
+
+/**
+ * The ParseCacheTest class contains unit tests for the {@link ParseCache} class,
+ * verifying content-keyed hits, defensive copies and least-recently-used eviction.
+ */
+public class ParseCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+
+    /**
+     * Tests that parsing an unchanged file again is a hit, and that every returned
+     * model is an independent copy of the cached one.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_HitReturnsIndependentCopy() throws Exception {
+        ParseCache cache = new ParseCache();
+        File schemaFile = write("schema.json", "student", "enrollment");
+
+        SchemaModel first = cache.parse(schemaFile, new JsonParser());
+        first.storeData(new Column("email", "VARCHAR(100)"), "student");
+        first.close();
+        SchemaModel second = cache.parse(schemaFile, new JsonParser());
+        second.deleteTable("enrollment");
+        second.close();
+        SchemaModel third = parse(cache, schemaFile);
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.size());
+        assertTrue(cache.getWeight() > 0);
+        assertEquals(2, third.getTables().size());
+        assertEquals(1, third.getTable("student").getColumns().size());
+        assertTrue(third.getTable("enrollment").isJoinTable());
+        assertFalse(third.getTable("student").isFrozen());
+        assertNotSame(second.getTable("student"), third.getTable("student"));
+    }
+
+    /**
+     * Tests that entries are keyed by content: the same content at another path is a
+     * hit, changed content is a miss and failed parses are not cached.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_KeyedByContent() throws Exception {
+        ParseCache cache = new ParseCache();
+        File schemaFile = write("schema.json", "student", "enrollment");
+        parse(cache, schemaFile);
+
+        File copy = temporaryFolder.newFile("copy.json");
+        Files.copy(schemaFile.toPath(), copy.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        parse(cache, copy);
+        assertEquals(1, cache.getHitCount());
+
+        write("schema.json", "teacher", "enrollment");
+        Files.setLastModifiedTime(schemaFile.toPath(), FileTime.fromMillis(schemaFile.lastModified() + 2_000));
+        assertNotNull(parse(cache, schemaFile).getTable("teacher"));
+        assertEquals(2, cache.getMissCount());
+
+        File invalid = temporaryFolder.newFile("invalid.json");
+        Files.writeString(invalid.toPath(), "[{\"tableName\": \"student\"}]");
+        for (int i = 0; i < 2; i++) {
+            try {
+                parse(cache, invalid);
+                fail("Parsing an invalid schema should fail");
+            } catch (SchemaParsingException e) {
+                // Expected
+            }
+        }
+        assertEquals(4, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+
+    /**
+     * Tests that the least recently used entries are evicted once the budget is
+     * exceeded.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testBudget_EvictsLeastRecentlyUsed() throws Exception {
+        File first = write("first.json", "table_a", "join_a");
+        File second = write("second.json", "table_b", "join_b");
+        File third = write("third.json", "table_c", "join_c");
+        ParseCache sizing = new ParseCache();
+        parse(sizing, first);
+        ParseCache cache = new ParseCache(sizing.getWeight() * 5 / 2);
+
+        parse(cache, first);
+        parse(cache, second);
+        parse(cache, first);
+        parse(cache, third);
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+        assertTrue(cache.getWeight() <= cache.getMaxWeight());
+
+        parse(cache, first);
+        assertEquals(2, cache.getHitCount());
+        parse(cache, second);
+        assertEquals(4, cache.getMissCount());
+
+        ParseCache disabled = new ParseCache(0);
+        parse(disabled, first);
+        parse(disabled, first);
+        assertEquals(0, disabled.getHitCount());
+        assertEquals(0, disabled.size());
+    }
+
+    private File write(String fileName, String tableName, String joinTableName) throws Exception {
+        File schemaFile = new File(temporaryFolder.getRoot(), fileName);
+        Files.writeString(schemaFile.toPath(), "[{\"tableName\": \"" + tableName + "\", \"columns\": ["
+                + "{\"name\": \"id\", \"type\": \"INT\", \"primaryKey\": true}], \"relationships\": ["
+                + "{\"relationshipType\": \"many-to-many\", \"relatedTable\": \"" + tableName + "\","
+                + " \"foreignKey\": \"id\", \"throughTable\": \"" + joinTableName + "\"}]},"
+                + " {\"tableName\": \"" + joinTableName + "\", \"columns\": []}]");
+        return schemaFile;
+    }
+
+    private static SchemaModel parse(ParseCache cache, File schemaFile) throws Exception {
+        SchemaModel schema = cache.parse(schemaFile, new JsonParser());
+        schema.close();
+        return schema;
+    }
+}
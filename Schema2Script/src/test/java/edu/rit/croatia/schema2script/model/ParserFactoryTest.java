@@ -2,6 +2,7 @@ package edu.rit.croatia.schema2script.model;
 
 import model.exception.SchemaParsingException;
 import model.factory.ParserFactory;
+import model.parser.BinaryParser;
 import model.parser.SchemaParser;
 import org.junit.Test;
 
@@ -29,6 +30,20 @@ public class ParserFactoryTest {
         assertNotNull("Parser should not be null", parser);
     }
 
+    /**
+     * Tests the {@link ParserFactory#get(String)} method with the binary snapshot
+     * format ("s2sb").
+     * Verifies that a {@link BinaryParser} is returned.
+     *
+     * @throws SchemaParsingException if the format is invalid (not expected in this
+     *                                test)
+     */
+    @Test
+    public void testGet_ValidFormat_BinarySnapshot() throws SchemaParsingException {
+        SchemaParser parser = parserFactory.get("s2sb");
+        assertTrue("Parser should be a BinaryParser", parser instanceof BinaryParser);
+    }
+
     /**
      * Tests the {@link ParserFactory#get(String)} method with a null format.
      * Expects a {@link SchemaParsingException} to be thrown.
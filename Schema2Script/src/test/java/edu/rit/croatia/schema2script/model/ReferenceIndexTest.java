@@ -0,0 +1,177 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.ReferencePolicy;
+import model.Relationship;
+import model.SchemaModel;
+import model.Table;
+import model.exception.ReferentialIntegrityException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+/**
+ * The ReferenceIndexTest class contains unit tests for the reverse relationship index
+ * of the {@link SchemaModel} class and for deleting and renaming referenced tables
+ * under a {@link ReferencePolicy}.
+ */
+public class ReferenceIndexTest {
+
+    private SchemaModel schema;
+
+    /**
+     * Creates a schema in which enrollment joins student and course, and student
+     * refers to itself, before each test.
+     */
+    @Before
+    public void setUp() {
+        schema = new SchemaModel();
+        for (String tableName : List.of("student", "course", "enrollment")) {
+            Table table = new Table(tableName);
+            table.addColumn(new Column(tableName + "_id", "INT", true));
+            schema.addTable(table);
+        }
+        schema.storeData(new Relationship("many-to-one", "student", "student_id", "student_id"), "enrollment");
+        schema.storeData(new Relationship("many-to-one", "course", "course_id", "course_id"), "enrollment");
+        schema.storeData(new Relationship("many-to-many", "course", "student_id", "course_id", "enrollment"),
+                "student");
+        schema.storeData(new Relationship("many-to-one", "student", "mentor_id", "student_id"), "student");
+    }
+
+    /**
+     * Closes the schema model after each test.
+     */
+    @After
+    public void tearDown() {
+        schema.close();
+    }
+
+    /**
+     * Tests that the dependents of a table follow added, replaced and removed
+     * relationships, including references through a join table.
+     */
+    @Test
+    public void testGetDependents_FollowsEdits() {
+        assertEquals(Set.of("enrollment", "student"), dependentNames("student"));
+        assertEquals(Set.of("enrollment", "student"), dependentNames("course"));
+        assertEquals(Set.of("student"), dependentNames("enrollment"));
+        assertTrue(schema.hasDependents("student"));
+        assertFalse(schema.hasDependents("missing"));
+
+        schema.editRelationship("enrollment", "course",
+                new Relationship("many-to-one", "student", "reviewer_id", "student_id"));
+        assertEquals(Set.of("student"), dependentNames("course"));
+
+        schema.deleteRelationship("student", "course");
+        assertEquals(Set.of(), dependentNames("course"));
+        assertEquals(Set.of(), dependentNames("enrollment"));
+
+        schema.deleteTable("enrollment");
+        assertEquals(Set.of("student"), dependentNames("student"));
+        assertFalse(schema.hasDependents("student"));
+
+        schema.undo();
+        assertEquals(Set.of("enrollment", "student"), dependentNames("student"));
+    }
+
+    /**
+     * Tests that a cascading delete removes every referencing relationship, and that
+     * undo restores the table and the relationships as one step.
+     */
+    @Test
+    public void testDeleteTable_Cascade() {
+        schema.deleteTable("course", ReferencePolicy.CASCADE);
+
+        assertNull(schema.getTable("course"));
+        assertEquals(List.of("student"), relatedTables("enrollment"));
+        assertEquals(List.of("student"), relatedTables("student"));
+        assertTrue(schema.getDependents("course").isEmpty());
+
+        assertTrue(schema.undo());
+        assertNotNull(schema.getTable("course"));
+        assertEquals(List.of("student", "course"), relatedTables("enrollment"));
+        assertEquals(List.of("course", "student"), relatedTables("student"));
+        assertEquals(Set.of("enrollment", "student"), dependentNames("course"));
+    }
+
+    /**
+     * Tests that a restricted delete or rename of a referenced table is rejected
+     * without changing the schema, and that the default policy leaves references.
+     */
+    @Test
+    public void testRestrictAndIgnore() {
+        try {
+            schema.deleteTable("course", ReferencePolicy.RESTRICT);
+            fail("Deleting a referenced table should be restricted");
+        } catch (ReferentialIntegrityException e) {
+            assertEquals("course", e.getTableName());
+            assertEquals(Set.of("enrollment", "student"), Set.copyOf(e.getDependentTableNames()));
+        }
+        try {
+            schema.editTableName("course", "class", ReferencePolicy.RESTRICT);
+            fail("Renaming a referenced table should be restricted");
+        } catch (ReferentialIntegrityException e) {
+            assertEquals("course", e.getTableName());
+        }
+        assertNotNull(schema.getTable("course"));
+
+        // A table that only refers to itself is not restricted
+        schema.deleteRelationship("enrollment", "student");
+        schema.editTableName("student", "pupil", ReferencePolicy.RESTRICT);
+        assertEquals(List.of("course", "pupil"), relatedTables("pupil"));
+
+        schema.deleteTable("course");
+        assertEquals(List.of("course"), relatedTables("enrollment"));
+        assertEquals(Set.of("enrollment", "pupil"), dependentNames("course"));
+    }
+
+    /**
+     * Tests that a cascading rename points related and through table references,
+     * including the table's references to itself, at the new name.
+     */
+    @Test
+    public void testEditTableName_Cascade() {
+        schema.editTableName("enrollment", "registration", ReferencePolicy.CASCADE);
+        Relationship manyToMany = schema.getTable("student").getRelationships().get(0);
+        assertEquals("registration", manyToMany.getThroughTable());
+        assertEquals("course", manyToMany.getRelatedTable());
+
+        schema.editTableName("student", "pupil", ReferencePolicy.CASCADE);
+        assertEquals(List.of("pupil", "course"), relatedTables("registration"));
+        assertEquals(List.of("course", "pupil"), relatedTables("pupil"));
+        assertEquals(Set.of("registration", "pupil"), dependentNames("pupil"));
+        assertTrue(schema.getDependents("student").isEmpty());
+
+        assertTrue(schema.undo());
+        assertEquals(List.of("student", "course"), relatedTables("registration"));
+        assertEquals(List.of("course", "student"), relatedTables("student"));
+    }
+
+    /**
+     * Tests that the index reflects tables populated directly during a bulk load.
+     */
+    @Test
+    public void testBulkLoad_RebuildsIndex() {
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            Table teacher = new Table("teacher");
+            schema.addTable(teacher);
+            teacher.addRelationship(new Relationship("one-to-many", "course", "teacher_id", "teacher_id"));
+        }
+
+        assertEquals(Set.of("enrollment", "student", "teacher"), dependentNames("course"));
+    }
+
+    private Set<String> dependentNames(String tableName) {
+        return schema.getDependents(tableName).stream().map(Table::getTableName).collect(Collectors.toSet());
+    }
+
+    private List<String> relatedTables(String tableName) {
+        return schema.getTable(tableName).getRelationships().stream().map(Relationship::getRelatedTable).toList();
+    }
+}
@@ -0,0 +1,155 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.SchemaChangeEvent;
+import model.SchemaChangeListener;
+import model.SchemaModel;
+import model.SchemaMutation;
+import model.Table;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.*;
+
+/**
+ * The SchemaChangeEventTest class contains unit tests for the change events that a
+ * {@link SchemaModel} publishes to its {@link SchemaChangeListener}s.
+ */
+public class SchemaChangeEventTest {
+
+    private SchemaModel schema;
+    private List<SchemaChangeEvent> events;
+
+    /**
+     * Creates an empty schema model with a recording listener before each test.
+     */
+    @Before
+    public void setUp() {
+        schema = new SchemaModel();
+        events = new CopyOnWriteArrayList<>();
+        schema.addChangeListener(events::add);
+    }
+
+    /**
+     * Flushes and closes the schema model after each test.
+     */
+    @After
+    public void tearDown() {
+        schema.close();
+    }
+
+    /**
+     * Tests that each edit is published as a typed change with a matching snapshot.
+     */
+    @Test
+    public void testEdits_PublishTypedChanges() {
+        Table table = new Table("student");
+        table.addColumn(new Column("id", "INT", true));
+        schema.addTable(table);
+        schema.storeData(new Column("name", "VARCHAR(100)"), "student");
+        schema.editTableName("student", "pupil");
+        schema.deleteColumn("pupil", "name");
+        schema.deleteTable("pupil");
+
+        List<SchemaMutation.Type> types = new ArrayList<>();
+        events.forEach(event -> event.getChanges().forEach(change -> types.add(change.getType())));
+        assertEquals(List.of(SchemaMutation.Type.ADD_TABLE, SchemaMutation.Type.ADD_COLUMN,
+                SchemaMutation.Type.RENAME_TABLE, SchemaMutation.Type.DELETE_COLUMN,
+                SchemaMutation.Type.DELETE_TABLE), types);
+
+        assertTrue(events.get(0).changesTableList());
+        assertFalse(events.get(1).changesTableList());
+        assertEquals(2, events.get(1).getSnapshot().getTable("student").getColumns().size());
+        assertEquals(Set.of("student", "pupil"), events.get(2).getAffectedTableNames());
+        assertEquals(0, events.get(4).getSnapshot().size());
+    }
+
+    /**
+     * Tests that a bulk load is published as a single reload event.
+     */
+    @Test
+    public void testBulkLoad_PublishesOneReload() {
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            for (int i = 0; i < 20; i++) {
+                schema.addTable(new Table("table_" + i));
+            }
+            assertTrue(events.isEmpty());
+        }
+
+        assertEquals(1, events.size());
+        assertTrue(events.get(0).isReload());
+        assertTrue(events.get(0).changesTableList());
+        assertEquals(20, events.get(0).getSnapshot().size());
+    }
+
+    /**
+     * Tests that a coalescing listener receives the changes made while its
+     * delivery was queued as one event.
+     */
+    @Test
+    public void testCoalescingListener_MergesQueuedChanges() {
+        List<Runnable> queued = new ArrayList<>();
+        List<SchemaChangeEvent> coalesced = new ArrayList<>();
+        schema.addChangeListener(coalesced::add, queued::add);
+
+        for (int i = 0; i < 10; i++) {
+            schema.addTable(new Table("table_" + i));
+        }
+        assertEquals(1, queued.size());
+        queued.get(0).run();
+
+        assertEquals(1, coalesced.size());
+        assertEquals(10, coalesced.get(0).getChanges().size());
+        assertEquals(10, coalesced.get(0).getSnapshot().size());
+        assertEquals(10, events.size());
+    }
+
+    /**
+     * Tests that a listener may edit the model from its callback, and that its
+     * change is delivered after the change being handled.
+     */
+    @Test
+    public void testListener_MayEditModel() {
+        schema.addChangeListener(event -> {
+            for (SchemaMutation change : event.getChanges()) {
+                if (change.getType() == SchemaMutation.Type.ADD_TABLE && !change.getTableName().endsWith("_audit")) {
+                    schema.addTable(new Table(change.getTableName() + "_audit"));
+                }
+            }
+        });
+
+        schema.addTable(new Table("student"));
+
+        assertEquals(2, events.size());
+        assertEquals("student", events.get(0).getChanges().get(0).getTableName());
+        assertEquals("student_audit", events.get(1).getChanges().get(0).getTableName());
+        assertNotNull(schema.getTable("student_audit"));
+    }
+
+    /**
+     * Tests that a failing listener does not prevent delivery to other listeners,
+     * and that removed listeners receive nothing.
+     */
+    @Test
+    public void testListeners_FailureIsolatedAndRemovable() {
+        SchemaChangeListener failing = event -> {
+            throw new IllegalStateException("listener failure");
+        };
+        List<SchemaChangeEvent> removed = new ArrayList<>();
+        SchemaChangeListener removedListener = removed::add;
+        schema.addChangeListener(failing);
+        schema.addChangeListener(removedListener);
+        assertTrue(schema.removeChangeListener(removedListener));
+
+        schema.addTable(new Table("student"));
+
+        assertEquals(1, events.size());
+        assertTrue(removed.isEmpty());
+    }
+}
@@ -0,0 +1,114 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.Relationship;
+import model.SchemaGraph;
+import model.SchemaModel;
+import model.Table;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The SchemaGraphTest class contains unit tests for the {@link SchemaGraph} class. It
+ * verifies that relationships are resolved to the tables they name, that missing
+ * tables are reported and that join tables are marked as the parsers always did.
+ */
+public class SchemaGraphTest {
+
+    private static Table table(String name, Relationship... relationships) {
+        Table table = new Table(name);
+        table.addColumn(new Column("id", "INT", true));
+        for (Relationship relationship : relationships) {
+            table.addRelationship(relationship);
+        }
+        return table;
+    }
+
+    /**
+     * Tests that edges point to the related and through tables, and that every table
+     * knows the edges that refer to it.
+     */
+    @Test
+    public void testLink_ResolvesEdgesAndReferences() {
+        Table students = table("students",
+                new Relationship("many-to-many", "courses", "student_id", "course_id", "enrollments"));
+        Table courses = table("courses", new Relationship("one-to-many", "students", "id", null, null));
+        Table enrollments = table("enrollments");
+
+        SchemaGraph graph = SchemaGraph.link(List.of(students, courses, enrollments));
+
+        SchemaGraph.Edge edge = graph.getEdges(students).get(0);
+        assertSame(courses, edge.relatedTable());
+        assertSame(enrollments, edge.throughTable());
+        assertTrue(edge.isResolved());
+        assertEquals(List.of(edge), graph.getReferences(enrollments));
+        assertEquals(2, graph.getReferences(students).size() + graph.getReferences(courses).size());
+        assertSame(students, graph.getEdges(courses).get(0).relatedTable());
+        assertTrue(graph.getEdges(enrollments).isEmpty());
+        assertTrue(graph.isJoinTable(enrollments));
+        assertFalse(graph.isJoinTable(courses));
+        assertTrue(graph.getDanglingReferences().isEmpty());
+    }
+
+    /**
+     * Tests that names no table has are reported instead of being resolved.
+     */
+    @Test
+    public void testLink_ReportsDanglingReferences() {
+        Relationship missingRelated = new Relationship("one-to-many", "teachers", "id", null, null);
+        Relationship missingThrough = new Relationship("many-to-many", "students", "id", "id", "pairs");
+        Table students = table("students", missingRelated, missingThrough);
+
+        SchemaGraph graph = SchemaGraph.link(List.of(students));
+
+        List<SchemaGraph.DanglingReference> dangling = graph.getDanglingReferences();
+        assertEquals(2, dangling.size());
+        assertEquals("teachers", dangling.get(0).missingTableName());
+        assertSame(missingRelated, dangling.get(0).relationship());
+        assertEquals("pairs", dangling.get(1).missingTableName());
+        assertFalse(graph.getEdges(students).get(0).isResolved());
+        SchemaGraph.Edge selfEdge = graph.getEdges(students).get(1);
+        assertSame(students, selfEdge.relatedTable());
+        assertNull(selfEdge.throughTable());
+        assertFalse(selfEdge.isResolved());
+        assertEquals(List.of(selfEdge), graph.getReferences(students));
+    }
+
+    /**
+     * Tests that only the first table with a through table name is marked, that
+     * stale marks are cleared, and that the graph of a model is linked once per snapshot.
+     */
+    @Test
+    public void testMarkJoinTables_FirstTableWithNameAndCachedPerSnapshot() {
+        Table first = table("links");
+        Table duplicate = table("links");
+        Table stale = table("stale");
+        stale.setJoinTable(true);
+        Table owner = table("owner", new Relationship("many-to-many", "owner", "id", "id", "links"));
+
+        SchemaGraph graph = SchemaGraph.link(List.of(first, duplicate, stale, owner));
+
+        assertEquals(2, graph.markJoinTables());
+        assertTrue(first.isJoinTable());
+        assertFalse(duplicate.isJoinTable());
+        assertFalse(stale.isJoinTable());
+        assertSame(first, graph.getTable("links"));
+        assertEquals(0, graph.markJoinTables());
+
+        SchemaModel schema = new SchemaModel();
+        try {
+            schema.addTable(table("a"));
+            SchemaGraph linked = schema.graph();
+            assertSame(linked, schema.graph());
+            assertSame(linked, schema.snapshot().graph());
+            schema.addTable(table("b"));
+            assertNotSame(linked, schema.graph());
+            assertEquals(2, schema.graph().getTables().size());
+        } finally {
+            schema.close();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.Relationship;
+import model.SchemaChangeEvent;
+import model.SchemaModel;
+import model.Table;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static edu.rit.croatia.schema2script.model.SchemaTestSupport.describe;
+import static org.junit.Assert.*;
+
+/**
+ * The SchemaHistoryTest class contains unit tests for undoing and redoing edits of
+ * a {@link SchemaModel}.
+ */
+public class SchemaHistoryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path schemaPath;
+    private SchemaModel schema;
+
+    /**
+     * Creates a schema with three tables, kept in a temporary schema file, before
+     * each test.
+     *
+     * @throws Exception if the folder cannot be created
+     */
+    @Before
+    public void setUp() throws Exception {
+        schemaPath = SchemaTestSupport.newSchemaPath(temporaryFolder);
+        schema = SchemaModel.persistentAt(schemaPath);
+        for (String tableName : List.of("student", "course", "teacher")) {
+            Table table = new Table(tableName);
+            table.addColumn(new Column(tableName + "_id", "INT", true));
+            table.addColumn(new Column("name", "VARCHAR(100)"));
+            table.addColumn(new Column("created", "DATE"));
+            schema.addTable(table);
+        }
+        schema.storeData(new Relationship("many-to-one", "course", "course_id", "course_id"), "student");
+        schema.storeData(new Relationship("many-to-one", "teacher", "teacher_id", "teacher_id"), "student");
+    }
+
+    /**
+     * Closes the schema model after each test.
+     */
+    @After
+    public void tearDown() {
+        schema.close();
+    }
+
+    /**
+     * Tests that every kind of edit is undone back to the exact previous state,
+     * including the positions of removed tables, columns and relationships, and
+     * that redo reapplies it.
+     */
+    @Test
+    public void testUndoRedo_RestoresExactState() {
+        String original = describe(schema);
+        List<Runnable> edits = List.of(
+                () -> schema.editColumn("course", "name", new Column("title", "VARCHAR(200)")),
+                () -> schema.storeData(new Column("credits", "INT"), "course"),
+                () -> schema.deleteColumn("student", "name"),
+                () -> schema.editTableName("teacher", "lecturer"),
+                () -> schema.deleteRelationship("student", "course"),
+                () -> schema.editRelationship("student", "teacher",
+                        new Relationship("many-to-one", "teacher", "advisor_id", "teacher_id")),
+                () -> schema.deleteTable("course"),
+                () -> schema.addTable(new Table("room")));
+
+        for (Runnable edit : edits) {
+            String before = describe(schema);
+            edit.run();
+            String after = describe(schema);
+            assertNotEquals(before, after);
+
+            assertTrue(schema.undo());
+            assertEquals(before, describe(schema));
+            assertEquals(before, describe(schema.snapshot().getTables()));
+            assertTrue(schema.redo());
+            assertEquals(after, describe(schema));
+            assertEquals(after, describe(schema.snapshot().getTables()));
+        }
+
+        while (schema.undo()) {
+            // Unwind every edit, including the ones made in setUp
+        }
+        assertTrue(schema.getTables().isEmpty());
+        while (schema.redo()) {
+            // Reapply every edit
+        }
+        for (int i = 0; i < edits.size(); i++) {
+            assertTrue(schema.undo());
+        }
+        assertEquals(original, describe(schema));
+    }
+
+    /**
+     * Tests that the edits of an edit group are undone as one step and that a new
+     * edit discards the steps that could be redone.
+     */
+    @Test
+    public void testEditGroup_UndoneAsOneStep() {
+        String before = describe(schema);
+        try (SchemaModel.EditGroup group = schema.beginEditGroup()) {
+            schema.editTableName("student", "pupil");
+            schema.editColumn("pupil", "student_id", new Column("pupil_id", "INT", true));
+            schema.deleteTable("course");
+            try {
+                schema.undo();
+                fail("Undo should be rejected while an edit group is open");
+            } catch (IllegalStateException e) {
+                // Expected
+            }
+        }
+
+        assertTrue(schema.undo());
+        assertEquals(before, describe(schema));
+        assertTrue(schema.canRedo());
+
+        schema.addTable(new Table("room"));
+        assertFalse(schema.canRedo());
+        assertFalse(schema.redo());
+    }
+
+    /**
+     * Tests that the history discards the oldest steps once it exceeds its budget.
+     */
+    @Test
+    public void testBudget_EvictsOldestSteps() {
+        schema.setHistoryBudget(2048);
+        for (int i = 0; i < 100; i++) {
+            schema.storeData(new Column("column_" + i, "VARCHAR(100)"), "teacher");
+        }
+
+        int undone = 0;
+        while (schema.undo()) {
+            undone++;
+        }
+        assertTrue("Some steps should have been evicted", undone < 100);
+        assertTrue("Recent steps should be kept", undone > 0);
+        assertEquals(3 + 100 - undone, schema.getTable("teacher").getColumns().size());
+        assertEquals("column_" + (99 - undone), last(schema.getTable("teacher").getColumns()).getName());
+
+        schema.setHistoryBudget(0);
+        assertFalse(schema.canRedo());
+        schema.deleteTable("teacher");
+        assertFalse(schema.undo());
+    }
+
+    /**
+     * Tests that undo publishes change events and is persisted, so that recovery
+     * restores the undone state even when a column was put back mid-table.
+     */
+    @Test
+    public void testUndo_PublishedAndRecovered() {
+        schema.flush();
+        List<SchemaChangeEvent> events = new ArrayList<>();
+        schema.addChangeListener(events::add);
+
+        schema.deleteColumn("course", "name");
+        schema.editTableName("teacher", "lecturer");
+        assertTrue(schema.undo());
+        assertTrue(schema.undo());
+        String expected = describe(schema);
+        schema.close();
+
+        assertEquals(4, events.size());
+        assertEquals("teacher", events.get(2).getSnapshot().getTables().get(2).getTableName());
+        assertEquals(expected, describe(events.get(3).getSnapshot().getTables()));
+
+        SchemaModel recovered = SchemaModel.recover(schemaPath);
+        recovered.close();
+        assertEquals(expected, describe(recovered));
+    }
+
+    private static <T> T last(List<T> list) {
+        return list.get(list.size() - 1);
+    }
+}
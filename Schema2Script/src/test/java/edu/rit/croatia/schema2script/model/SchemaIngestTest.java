@@ -0,0 +1,122 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.SchemaModel;
+import model.Table;
+import model.exception.SchemaParsingException;
+import model.parser.SchemaIngest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * The SchemaIngestTest class contains unit tests for the {@link SchemaIngest} class,
+ * verifying that schemas split across many files are merged in path order with
+ * duplicate and conflicting table definitions detected.
+ */
+public class SchemaIngestTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path directory;
+
+    /**
+     * Writes a schema split into JSON and XML files before each test.
+     *
+     * @throws Exception if the files cannot be written
+     */
+    @Before
+    public void setUp() throws Exception {
+        directory = temporaryFolder.newFolder("catalog").toPath();
+        Files.createDirectories(directory.resolve("sales"));
+        Files.writeString(directory.resolve("people.json"), "[" + table("student", null) + ", "
+                + table("course", "enrollment") + "]");
+        Files.writeString(directory.resolve("sales/orders.json"), "[" + table("order", null) + ", "
+                + table("student", null) + "]");
+        Files.writeString(directory.resolve("sales/items.xml"), "<schema><table tableName=\"item\"><columns>"
+                + "<column name=\"id\" type=\"INT\" primaryKey=\"true\"/></columns></table>"
+                + "<table tableName=\"enrollment\"><columns><column name=\"id\" type=\"INT\" primaryKey=\"true\"/>"
+                + "</columns></table></schema>");
+        Files.writeString(directory.resolve("notes.txt"), "not a schema");
+    }
+
+    /**
+     * Tests that every supported file of a directory is merged in path order, that
+     * identical duplicates are merged and join tables are marked across files, and
+     * that the merged model is kept in memory only.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testIngest_Directory() throws Exception {
+        SchemaIngest.Result result = new SchemaIngest(2, null).ingest(directory);
+        SchemaModel schema = result.model();
+
+        assertEquals(List.of("student", "course", "item", "enrollment", "order"), tableNames(schema));
+        assertTrue(schema.getTable("enrollment").isJoinTable());
+        assertFalse(schema.getTable("course").isJoinTable());
+        assertEquals(1, result.duplicateTables());
+        assertEquals(List.of(directory.resolve("people.json"), directory.resolve("sales/items.xml"),
+                directory.resolve("sales/orders.json")), result.files().stream().map(SchemaIngest.FileReport::file).toList());
+        assertEquals(List.of(2, 2, 2), result.files().stream().map(SchemaIngest.FileReport::tableCount).toList());
+        assertFalse(schema.isPersistent());
+    }
+
+    /**
+     * Tests that only the files matching a glob pattern are ingested.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testIngest_Glob() throws Exception {
+        SchemaIngest.Result result = new SchemaIngest().ingest(directory, "**.json");
+        result.model().close();
+
+        assertEquals(List.of("student", "course", "order"), tableNames(result.model()));
+        assertEquals(2, result.files().size());
+    }
+
+    /**
+     * Tests that a table defined differently in two files and an invalid file are
+     * both reported with the file names.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testIngest_ConflictsAndErrors() throws Exception {
+        Files.writeString(directory.resolve("sales/orders.json"), "[" + table("student", "course") + "]");
+        try {
+            new SchemaIngest(2, null).ingest(directory);
+            fail("Conflicting table definitions should be rejected");
+        } catch (SchemaParsingException e) {
+            assertEquals("Conflicting definitions of table student in people.json and orders.json", e.getMessage());
+        }
+
+        Files.writeString(directory.resolve("sales/orders.json"), "[{\"tableName\": \"order\"}]");
+        try {
+            new SchemaIngest(2, null).ingest(directory);
+            fail("An invalid schema file should be rejected");
+        } catch (SchemaParsingException e) {
+            assertEquals("Error in schema file orders.json: Invalid JSON format: "
+                    + "Missing or malformed 'columns' array in table: order", e.getMessage());
+        }
+    }
+
+    private static String table(String tableName, String throughTable) {
+        return "{\"tableName\": \"" + tableName + "\", \"columns\": [{\"name\": \"id\", \"type\": \"INT\","
+                + " \"primaryKey\": true}], \"relationships\": ["
+                + (throughTable == null ? "" : "{\"relationshipType\": \"many-to-many\", \"relatedTable\": \"student\","
+                        + " \"foreignKey\": \"id\", \"throughTable\": \"" + throughTable + "\"}") + "]}";
+    }
+
+    private static List<String> tableNames(SchemaModel schema) {
+        return schema.getTables().stream().map(Table::getTableName).toList();
+    }
+}
@@ -0,0 +1,179 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.SchemaModel;
+import model.exception.SchemaParsingException;
+import model.parser.BinaryParser;
+import model.parser.JsonParser;
+import model.parser.SchemaInput;
+import model.parser.XMLParser;
+import model.persistence.BinarySchemaWriter;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static edu.rit.croatia.schema2script.model.SchemaTestSupport.describe;
+import static org.junit.Assert.*;
+
+/**
+ * The SchemaInputTest class contains unit tests for the {@link SchemaInput} class and
+ * the stream, channel and path sources of the schema parsers, verifying that
+ * compressed schemas are detected and decompressed while they are parsed.
+ */
+public class SchemaInputTest {
+
+    private static final String JSON = "[{\"tableName\": \"student\", \"columns\": [{\"name\": \"id\", \"type\": \"INT\","
+            + " \"primaryKey\": true}], \"relationships\": [{\"relationshipType\": \"many-to-many\","
+            + " \"relatedTable\": \"course\", \"foreignKey\": \"id\", \"throughTable\": \"enrollment\"}]},"
+            + " {\"tableName\": \"course\", \"columns\": [{\"name\": \"id\", \"type\": \"INT\"}]},"
+            + " {\"tableName\": \"enrollment\", \"columns\": []}]";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private String expected;
+
+    /**
+     * Parses the uncompressed schema for comparison before each test.
+     *
+     * @throws Exception if the schema cannot be written or parsed
+     */
+    @Before
+    public void setUp() throws Exception {
+        expected = describe(new JsonParser().parse(write("plain.json", JSON.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /**
+     * Tests that gzip, zip and zlib compressed files are detected from their content
+     * and parse to the same model as the uncompressed file.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_CompressedFiles() throws Exception {
+        byte[] json = JSON.getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected, describe(new JsonParser().parse(write("schema.json.gz", gzip(json)))));
+        assertEquals(expected, describe(new JsonParser(JsonParser.Mode.TREE).parse(write("schema.json.zz", zlib(json)))));
+        assertEquals(expected, describe(new JsonParser().parse(write("schema.zip", zip(json)))));
+        // Detection does not depend on the file name
+        assertEquals(expected, describe(new JsonParser().parse(write("schema.json", gzip(json)))));
+
+        String xml = "<schema><table tableName=\"student\"><columns><column name=\"id\" type=\"INT\" primaryKey=\"true\"/>"
+                + "</columns><relationships><relationship relationshipType=\"many-to-many\" relatedTable=\"course\""
+                + " foreignKey=\"id\" throughTable=\"enrollment\"/></relationships></table>"
+                + "<table tableName=\"course\"><columns><column name=\"id\" type=\"INT\"/></columns></table>"
+                + "<table tableName=\"enrollment\"><columns/></table></schema>";
+        assertEquals(expected, describe(new XMLParser().parse(
+                write("schema.xml.gz", gzip(xml.getBytes(StandardCharsets.UTF_8))))));
+
+        SchemaModel parsed = new JsonParser().parse(write("binary.json", json));
+        parsed.close();
+        byte[] binary = BinarySchemaWriter.write(parsed.getTables());
+        assertEquals(expected, describe(new BinaryParser().parse(write("schema.s2sb.gz", gzip(binary)))));
+    }
+
+    /**
+     * Tests that schemas are parsed from streams, channels and paths of other file
+     * systems, and that streams and channels are left open.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_StreamChannelAndPath() throws Exception {
+        byte[] compressed = gzip(JSON.getBytes(StandardCharsets.UTF_8));
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayInputStream input = new ByteArrayInputStream(compressed) {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+        assertEquals(expected, describe(new JsonParser().parse(input)));
+        assertFalse(closed.get());
+
+        var channel = Channels.newChannel(new ByteArrayInputStream(compressed));
+        assertEquals(expected, describe(new JsonParser().parse(channel)));
+        assertTrue(channel.isOpen());
+
+        File archive = write("archive.zip", zip(JSON.getBytes(StandardCharsets.UTF_8)));
+        try (FileSystem zipFileSystem = FileSystems.newFileSystem(archive.toPath())) {
+            assertEquals(expected, describe(new JsonParser().parse(zipFileSystem.getPath("schemas", "schema.json"))));
+        }
+    }
+
+    /**
+     * Tests that formats are named by the extension before a compression suffix and
+     * that a corrupted compressed file is reported as a read error.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testFormatOfAndCorruptedInput() throws Exception {
+        assertEquals("json", SchemaInput.formatOf("schema.json"));
+        assertEquals("JSON", SchemaInput.formatOf("schema.JSON.gz"));
+        assertEquals("xml", SchemaInput.formatOf("schema.xml.zip"));
+        assertEquals("", SchemaInput.formatOf("schema.gz"));
+        assertEquals("", SchemaInput.formatOf("schema"));
+
+        byte[] compressed = gzip(JSON.getBytes(StandardCharsets.UTF_8));
+        byte[] truncated = Arrays.copyOf(compressed, compressed.length / 2);
+        try {
+            new JsonParser().parse(write("truncated.json.gz", truncated));
+            fail("A truncated gzip file should be rejected");
+        } catch (SchemaParsingException e) {
+            assertEquals("Error reading the JSON schema file", e.getMessage());
+        }
+    }
+
+    private File write(String fileName, byte[] content) throws IOException {
+        File file = temporaryFolder.getRoot().toPath().resolve(fileName).toFile();
+        Files.write(file.toPath(), content);
+        return file;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream output = new GZIPOutputStream(bytes)) {
+            output.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] zlib(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream output = new DeflaterOutputStream(bytes)) {
+            output.write(content);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] zip(byte[] content) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream output = new ZipOutputStream(bytes)) {
+            output.putNextEntry(new ZipEntry("schemas/"));
+            output.closeEntry();
+            output.putNextEntry(new ZipEntry("schemas/schema.json"));
+            output.write(content);
+            output.closeEntry();
+        }
+        return bytes.toByteArray();
+    }
+}
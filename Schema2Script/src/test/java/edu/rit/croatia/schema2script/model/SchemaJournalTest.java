@@ -0,0 +1,287 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.Relationship;
+import model.SchemaModel;
+import model.SchemaMutation;
+import model.Table;
+import model.persistence.SchemaJournal;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+/**
+ * The SchemaJournalTest class contains unit tests for the {@link SchemaJournal} class
+ * and for recovering a {@link SchemaModel} from its snapshot and journal.
+ */
+public class SchemaJournalTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path snapshotPath;
+
+    /**
+     * Chooses a schema file in a temporary folder for the models created by the test.
+     *
+     * @throws Exception if the folder cannot be created
+     */
+    @Before
+    public void setUp() throws Exception {
+        snapshotPath = SchemaTestSupport.newSchemaPath(temporaryFolder);
+    }
+
+    /**
+     * Tests that edits made after the first snapshot are journaled and replayed
+     * by {@link SchemaModel#recover(Path)}.
+     */
+    @Test
+    public void testRecover_ReplaysJournaledEdits() {
+        SchemaModel schema = SchemaModel.persistentAt(snapshotPath);
+        Table student = new Table("student");
+        student.addColumn(new Column("student_id", "INT", true));
+        schema.addTable(student);
+        schema.flush();
+
+        schema.storeData(new Column("name", "VARCHAR(100)"), "student");
+        schema.addTable(new Table("course"));
+        schema.storeData(new Column("course_id", "INT", true), "course");
+        schema.storeData(new Relationship("many-to-one", "course", "course_id", "course_id"), "student");
+        schema.editColumn("student", "name", new Column("full_name", "VARCHAR(200)"));
+        schema.editTableName("course", "class");
+        schema.close();
+        assertEquals("Only the first snapshot should be written", 1,
+                schema.getSchemaWriter().getCompletedWrites());
+
+        SchemaModel recovered = SchemaModel.recover(snapshotPath);
+        recovered.close();
+
+        assertEquals(List.of("student", "class"), tableNames(recovered));
+        Table recoveredStudent = recovered.getTable("student");
+        assertEquals("VARCHAR(200)", recoveredStudent.getColumn("full_name").getType());
+        assertNull(recoveredStudent.getColumn("name"));
+        assertEquals(1, recoveredStudent.getRelationships().size());
+        assertTrue(recovered.getTable("class").getColumn("course_id").isPrimaryKey());
+    }
+
+    /**
+     * Tests that passing the compaction threshold folds the journal into the
+     * snapshot and removes the superseded segments.
+     *
+     * @throws Exception if the journal cannot be read
+     */
+    @Test
+    public void testCompaction_FoldsJournalIntoSnapshot() throws Exception {
+        SchemaModel schema = SchemaModel.persistentAt(snapshotPath);
+        schema.setCompactionThreshold(512);
+        schema.addTable(new Table("wide"));
+        schema.flush();
+
+        for (int i = 0; i < 50; i++) {
+            schema.storeData(new Column("column_" + i, "VARCHAR(100)"), "wide");
+        }
+        schema.flush();
+        schema.close();
+
+        assertTrue("Threshold should trigger a compaction", schema.getSchemaWriter().getCompletedWrites() >= 2);
+        assertEquals("Only the current segment should remain", 1, SchemaJournal.readSegments(snapshotPath).size());
+        SchemaModel recovered = SchemaModel.recover(snapshotPath);
+        recovered.close();
+        assertEquals(50, recovered.getTable("wide").getColumns().size());
+    }
+
+    /**
+     * Tests that records appended by concurrent editors after they release the
+     * model lock, while compactions run in the background, recover to the final
+     * state of the model.
+     *
+     * @throws Exception if an editor fails
+     */
+    @Test(timeout = 60_000)
+    public void testRecover_ConcurrentEditsDuringCompaction() throws Exception {
+        SchemaModel schema = SchemaModel.persistentAt(snapshotPath);
+        schema.setCompactionThreshold(2_048);
+        schema.addTable(new Table("shared"));
+        schema.flush();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> editors = new ArrayList<>();
+            for (int e = 0; e < 4; e++) {
+                int editor = e;
+                editors.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        schema.storeData(new Column("e" + editor + "_c" + i, "INT"), "shared");
+                        if (i % 4 == 3) {
+                            schema.deleteColumn("shared", "e" + editor + "_c" + (i - 1));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> editor : editors) {
+                editor.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        schema.close();
+
+        SchemaModel recovered = SchemaModel.recover(snapshotPath);
+        recovered.close();
+        assertEquals(4 * 75, recovered.getTable("shared").getColumns().size());
+        assertEquals(columnNames(schema.getTable("shared")), columnNames(recovered.getTable("shared")));
+    }
+
+    /**
+     * Tests that edits after {@link SchemaModel#close()} are written as snapshots
+     * on the editing thread instead of being appended to the closed journal.
+     */
+    @Test
+    public void testClose_LaterEditsWriteSnapshots() {
+        SchemaModel schema = SchemaModel.persistentAt(snapshotPath);
+        schema.addTable(new Table("orders"));
+        schema.flush();
+        schema.storeData(new Column("id", "INT", true), "orders");
+        schema.close();
+        long writes = schema.getSchemaWriter().getCompletedWrites();
+
+        schema.storeData(new Column("total", "DECIMAL(10,2)"), "orders");
+        schema.addTable(new Table("customers"));
+
+        assertEquals(writes + 2, schema.getSchemaWriter().getCompletedWrites());
+        SchemaModel recovered = SchemaModel.recover(snapshotPath);
+        recovered.close();
+        assertEquals(List.of("orders", "customers"), tableNames(recovered));
+        assertEquals(List.of("id", "total"), columnNames(recovered.getTable("orders")));
+    }
+
+    /**
+     * Tests that a journal record is not changed by edits made before it is
+     * appended: while one editor waits to append an added table, another edits
+     * that table, and each edit is recovered once.
+     *
+     * @throws Exception if the editor fails
+     */
+    @Test(timeout = 60_000)
+    public void testRecover_RecordsKeepStateOfTheirEdit() throws Exception {
+        SchemaModel schema = SchemaModel.persistentAt(snapshotPath);
+        schema.addTable(new Table("course"));
+        schema.flush();
+
+        SchemaJournal journal = schema.getJournal();
+        Thread editor;
+        synchronized (journal) {
+            // Appends wait for the journal, so the added table is appended only after the next edit
+            editor = new Thread(() -> {
+                Table student = new Table("student");
+                student.addColumn(new Column("id", "INT", true));
+                schema.addTable(student);
+            });
+            editor.start();
+            while (editor.getState() != Thread.State.BLOCKED) {
+                Thread.onSpinWait();
+            }
+            schema.storeData(new Column("name", "VARCHAR(100)"), "student");
+        }
+        editor.join();
+        schema.close();
+
+        SchemaModel recovered = SchemaModel.recover(snapshotPath);
+        recovered.close();
+        assertEquals(List.of("id", "name"), columnNames(recovered.getTable("student")));
+    }
+
+    /**
+     * Tests that a compaction interrupted after rotating the journal but before
+     * writing the snapshot is recovered without losing or repeating records.
+     *
+     * @throws Exception if the journal cannot be written
+     */
+    @Test
+    public void testRecover_InterruptedCompaction() throws Exception {
+        SchemaModel schema = SchemaModel.persistentAt(snapshotPath);
+        schema.addTable(new Table("orders"));
+        schema.flush();
+        schema.storeData(new Column("id", "INT", true), "orders");
+        Path capture = temporaryFolder.newFile("capture.json").toPath();
+        schema.saveToFile(capture.toString());
+        schema.close();
+
+        // Rotate as a compaction would, then "crash" before committing the snapshot
+        SchemaJournal journal = new SchemaJournal(snapshotPath);
+        journal.rotate(Files.readAllBytes(capture));
+        journal.append(SchemaMutation.addColumn("orders", new Column("total", "DECIMAL(10,2)")));
+        journal.close();
+        assertEquals(2, SchemaJournal.readSegments(snapshotPath).size());
+
+        SchemaModel recovered = SchemaModel.recover(snapshotPath);
+        recovered.close();
+
+        assertEquals(List.of("id", "total"),
+                recovered.getTable("orders").getColumns().stream().map(Column::getName).toList());
+    }
+
+    /**
+     * Tests that a torn final record, as left by a crash during an append, is ignored.
+     *
+     * @throws Exception if the journal cannot be written
+     */
+    @Test
+    public void testRecover_IgnoresTornRecord() throws Exception {
+        SchemaModel schema = SchemaModel.persistentAt(snapshotPath);
+        schema.addTable(new Table("orders"));
+        schema.flush();
+        schema.storeData(new Column("id", "INT", true), "orders");
+        schema.close();
+
+        Path segment = SchemaJournal.readSegments(snapshotPath).get(0).getPath();
+        Files.writeString(segment, "{\"type\":\"ADD_COLUMN\",\"tableName\":\"ord", StandardOpenOption.APPEND);
+
+        SchemaModel recovered = SchemaModel.recover(snapshotPath);
+        recovered.close();
+
+        assertEquals(1, recovered.getTable("orders").getColumns().size());
+    }
+
+    /**
+     * Tests that a journal is not replayed over a schema file that was replaced
+     * by something it does not apply to.
+     *
+     * @throws Exception if the schema file cannot be written
+     */
+    @Test
+    public void testRecover_SkipsJournalOfReplacedSnapshot() throws Exception {
+        SchemaModel schema = SchemaModel.persistentAt(snapshotPath);
+        schema.addTable(new Table("orders"));
+        schema.flush();
+        schema.storeData(new Column("id", "INT", true), "orders");
+        schema.close();
+
+        Files.writeString(snapshotPath, "[{\"tableName\":\"customers\",\"columns\":[]}]");
+
+        SchemaModel recovered = SchemaModel.recover(snapshotPath);
+        recovered.close();
+
+        assertEquals(List.of("customers"), tableNames(recovered));
+    }
+
+    private static List<String> tableNames(SchemaModel schema) {
+        return schema.getTables().stream().map(Table::getTableName).toList();
+    }
+
+    private static List<String> columnNames(Table table) {
+        return table.getColumns().stream().map(Column::getName).toList();
+    }
+}
@@ -0,0 +1,152 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.SchemaModel;
+import model.SchemaSnapshot;
+import model.Table;
+import model.generator.SqlGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+/**
+ * The SchemaModelConcurrencyTest class contains multi-threaded stress tests for the
+ * {@link SchemaModel} class. Writers edit the model while readers look tables up,
+ * copy the table list and generate scripts from snapshots.
+ */
+public class SchemaModelConcurrencyTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int EDITS_PER_WRITER = 500;
+
+    private SchemaModel schema;
+    private ExecutorService executor;
+
+    /**
+     * Creates an empty schema model and a thread pool before each test.
+     */
+    @Before
+    public void setUp() {
+        schema = new SchemaModel();
+        executor = Executors.newFixedThreadPool(WRITERS + READERS);
+    }
+
+    /**
+     * Stops the thread pool and closes the schema model after each test.
+     */
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+        schema.close();
+    }
+
+    /**
+     * Tests that concurrent writers and readers neither fail nor lose edits, and
+     * that readers only ever observe complete mutations.
+     *
+     * @throws Exception if a worker fails
+     */
+    @Test(timeout = 60_000)
+    public void testConcurrentEditsAndReads() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<Future<?>> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            writers.add(executor.submit(worker(start, () -> {
+                for (int i = 0; i < EDITS_PER_WRITER; i++) {
+                    String tableName = "w" + writer + "_t" + i;
+                    Table table = new Table(tableName);
+                    table.addColumn(new Column("id", "INT", true));
+                    schema.addTable(table);
+                    schema.storeData(new Column("name", "VARCHAR(100)"), tableName);
+                    schema.editColumn(tableName, "name", new Column("name", "VARCHAR(200)"));
+                    if (i % 2 == 1) {
+                        schema.deleteTable(tableName);
+                    }
+                }
+                return null;
+            })));
+        }
+        List<Future<?>> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) {
+            readers.add(executor.submit(worker(start, () -> {
+                SqlGenerator generator = new SqlGenerator();
+                while (writing.get()) {
+                    SchemaSnapshot snapshot = schema.snapshot();
+                    for (Table table : snapshot.getTables()) {
+                        // Each snapshot table was captured between two mutations
+                        assertTrue(table.getColumns().size() >= 1 && table.getColumns().size() <= 2);
+                    }
+                    generator.generate(snapshot);
+                    for (Table table : schema.getTables()) {
+                        assertNotNull(table.getTableName());
+                    }
+                    schema.getTable("w0_t0");
+                    schema.isBulkLoading();
+                }
+                return null;
+            })));
+        }
+
+        start.countDown();
+        for (Future<?> future : writers) {
+            future.get();
+        }
+        writing.set(false);
+        for (Future<?> future : readers) {
+            future.get();
+        }
+
+        int expected = WRITERS * EDITS_PER_WRITER / 2;
+        assertEquals(expected, schema.getTables().size());
+        assertEquals(expected, schema.snapshot().size());
+        for (int w = 0; w < WRITERS; w++) {
+            assertNull(schema.getTable("w" + w + "_t1"));
+            Table table = schema.snapshot().getTable("w" + w + "_t0");
+            assertEquals("VARCHAR(200)", table.getColumn("name").getType());
+        }
+    }
+
+    /**
+     * Tests that the table list returned to a reader is not changed by later edits.
+     *
+     * @throws Exception if a worker fails
+     */
+    @Test(timeout = 60_000)
+    public void testGetTables_StableWhileEditing() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            schema.addTable(new Table("table_" + i));
+        }
+        List<Table> tables = schema.getTables();
+
+        executor.submit(() -> {
+            for (int i = 0; i < 100; i++) {
+                schema.deleteTable("table_" + i);
+            }
+        }).get(30, TimeUnit.SECONDS);
+
+        assertEquals(100, tables.size());
+        assertEquals(0, schema.getTables().size());
+    }
+
+    private static Callable<Void> worker(CountDownLatch start, Callable<Void> work) {
+        return () -> {
+            start.await();
+            return work.call();
+        };
+    }
+}
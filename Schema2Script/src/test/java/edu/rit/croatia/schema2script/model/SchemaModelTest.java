@@ -0,0 +1,244 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.Relationship;
+import model.SchemaModel;
+import model.Table;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * The SchemaModelTest class contains unit tests for the {@link SchemaModel} class.
+ * It verifies the name indexes and how mutations are published to the schema file.
+ */
+public class SchemaModelTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private SchemaModel schema;
+
+    /**
+     * Creates an empty schema model kept in a temporary schema file before each test.
+     *
+     * @throws Exception if the folder cannot be created
+     */
+    @Before
+    public void setUp() throws Exception {
+        schema = SchemaModel.persistentAt(SchemaTestSupport.newSchemaPath(temporaryFolder));
+    }
+
+    /**
+     * Flushes and closes the schema model after each test.
+     */
+    @After
+    public void tearDown() {
+        schema.close();
+    }
+
+    /**
+     * Tests that a model created with the constructor is kept in memory only, and
+     * that flushing and closing it have no effect.
+     */
+    @Test
+    public void testConstructor_InMemoryOnly() {
+        SchemaModel inMemory = new SchemaModel();
+        inMemory.addTable(new Table("student"));
+        inMemory.flush();
+        inMemory.close();
+        inMemory.addTable(new Table("course"));
+
+        assertFalse(inMemory.isPersistent());
+        assertNull(inMemory.getSchemaPath());
+        assertNull(inMemory.getSchemaWriter());
+        assertNull(inMemory.getJournal());
+        assertEquals(2, inMemory.getTables().size());
+        assertTrue(schema.isPersistent());
+    }
+
+    /**
+     * Tests that mutations inside a bulk load are published with a single write
+     * request when the session is closed.
+     */
+    @Test
+    public void testBeginBulkLoad_PublishesOnceOnClose() {
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            for (int i = 0; i < 50; i++) {
+                Table table = new Table("table_" + i);
+                table.addColumn(new Column("id", "INT", true));
+                schema.addTable(table);
+            }
+            schema.storeData(new Column("name", "VARCHAR(100)"), "table_0");
+            assertTrue(schema.isBulkLoading());
+            assertEquals("Nothing should be requested during the bulk load", 0,
+                    schema.getSchemaWriter().getRequestedWrites());
+        }
+
+        assertFalse(schema.isBulkLoading());
+        assertEquals(1, schema.getSchemaWriter().getRequestedWrites());
+        assertEquals(50, schema.getTables().size());
+    }
+
+    /**
+     * Tests that nested bulk loads publish only when the outermost session closes.
+     */
+    @Test
+    public void testBeginBulkLoad_NestedSessionsPublishOnce() {
+        SchemaModel.BulkLoad outer = schema.beginBulkLoad();
+        try (SchemaModel.BulkLoad inner = schema.beginBulkLoad()) {
+            schema.addTable(new Table("inner"));
+        }
+        assertEquals(0, schema.getSchemaWriter().getRequestedWrites());
+
+        outer.close();
+        outer.close();
+        assertEquals(1, schema.getSchemaWriter().getRequestedWrites());
+    }
+
+    /**
+     * Tests that a bulk load without mutations does not request a write.
+     */
+    @Test
+    public void testBeginBulkLoad_NoChangesNoWrite() {
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            assertTrue(schema.isBulkLoading());
+        }
+
+        assertEquals(0, schema.getSchemaWriter().getRequestedWrites());
+    }
+
+    /**
+     * Tests that the first mutation outside a bulk load requests a snapshot and
+     * later mutations are appended to the journal instead.
+     */
+    @Test
+    public void testAddTable_SnapshotThenJournal() {
+        schema.addTable(new Table("first"));
+        schema.flush();
+        assertEquals(1, schema.getSchemaWriter().getCompletedWrites());
+
+        schema.addTable(new Table("second"));
+        schema.storeData(new Column("id", "INT", true), "second");
+
+        assertEquals("Journaled edits should not request a snapshot", 1,
+                schema.getSchemaWriter().getRequestedWrites());
+        assertEquals(2, schema.getJournal().getAppendedRecords());
+    }
+
+    /**
+     * Tests that renaming a table moves it in the name index while keeping its
+     * position in the table list.
+     */
+    @Test
+    public void testEditTableName_UpdatesIndexAndKeepsOrder() {
+        schema.addTable(new Table("first"));
+        schema.addTable(new Table("second"));
+        schema.addTable(new Table("third"));
+
+        schema.editTableName("second", "renamed");
+
+        assertNull(schema.getTable("second"));
+        assertEquals("renamed", schema.getTable("renamed").getTableName());
+        assertEquals(java.util.List.of("first", "renamed", "third"),
+                schema.getTables().stream().map(Table::getTableName).toList());
+    }
+
+    /**
+     * Tests that deleting a table removes it from the name index.
+     */
+    @Test
+    public void testDeleteTable_RemovesFromIndex() {
+        schema.addTable(new Table("first"));
+        schema.addTable(new Table("second"));
+
+        schema.deleteTable("first");
+
+        assertNull(schema.getTable("first"));
+        assertNotNull(schema.getTable("second"));
+        assertEquals(1, schema.getTables().size());
+    }
+
+    /**
+     * Tests that column edits and deletions go through the column index.
+     */
+    @Test
+    public void testEditAndDeleteColumn_UpdatesColumnIndex() {
+        Table table = new Table("employee");
+        table.addColumn(new Column("id", "INT", true));
+        table.addColumn(new Column("name", "VARCHAR(100)"));
+        table.addColumn(new Column("email", "VARCHAR(100)"));
+        schema.addTable(table);
+
+        schema.editColumn("employee", "name", new Column("full_name", "VARCHAR(200)"));
+        schema.deleteColumn("employee", "email");
+
+        assertNull(table.getColumn("name"));
+        assertNull(table.getColumn("email"));
+        assertEquals("VARCHAR(200)", table.getColumn("full_name").getType());
+        assertEquals(java.util.List.of("id", "full_name"),
+                table.getColumns().stream().map(Column::getName).toList());
+    }
+
+    /**
+     * Tests that the column index follows edits, undos and deletions that move
+     * columns, and resolves duplicate names to the first column with the name.
+     */
+    @Test
+    public void testEditColumn_IndexFollowsMovedAndDuplicateColumns() {
+        Table table = new Table("audit");
+        table.addColumn(new Column("id", "INT", true));
+        table.addColumn(new Column("note", "TEXT"));
+        table.addColumn(new Column("at", "TIMESTAMP"));
+        table.addColumn(new Column("note", "VARCHAR(100)"));
+        schema.addTable(table);
+
+        schema.editColumn("audit", "note", new Column("summary", "TEXT"));
+        assertEquals("VARCHAR(100)", table.getColumn("note").getType());
+        assertEquals("TEXT", table.getColumn("summary").getType());
+
+        schema.undo();
+        assertNull(table.getColumn("summary"));
+        assertEquals("TEXT", table.getColumn("note").getType());
+
+        schema.deleteColumn("audit", "id");
+        schema.editColumn("audit", "at", new Column("created_at", "TIMESTAMP"));
+        schema.storeData(new Column("id", "BIGINT"), "audit");
+        assertEquals(java.util.List.of("note", "created_at", "note", "id"),
+                table.getColumns().stream().map(Column::getName).toList());
+        assertSame(table.getColumns().get(1), table.getColumn("created_at"));
+        assertEquals("TEXT", table.getColumn("note").getType());
+        assertEquals("BIGINT", table.getColumn("id").getType());
+        assertNull(table.getColumn("at"));
+    }
+
+    /**
+     * Tests that columns and relationships stored by table name reach the indexed table.
+     */
+    @Test
+    public void testStoreData_UsesTableIndex() {
+        schema.addTable(new Table("order"));
+        schema.addTable(new Table("customer"));
+
+        schema.storeData(new Column("customer_id", "INT"), "order");
+        schema.storeData(new Relationship("many-to-one", "customer", "customer_id", "id"), "order");
+        schema.storeData(new Column("ignored", "INT"), "missing");
+
+        Table order = schema.getTable("order");
+        assertNotNull(order.getColumn("customer_id"));
+        assertEquals(1, order.getRelationships().size());
+        assertTrue(schema.getTable("customer").getColumns().isEmpty());
+    }
+
+    /**
+     * Tests that the table list cannot be modified around the index.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetTables_IsReadOnly() {
+        schema.getTables().add(new Table("bypass"));
+    }
+}
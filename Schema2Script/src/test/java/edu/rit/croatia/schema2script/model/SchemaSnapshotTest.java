@@ -0,0 +1,155 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.Relationship;
+import model.SchemaModel;
+import model.SchemaSnapshot;
+import model.Table;
+import model.exception.SchemaParsingException;
+import model.generator.SqlGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * The SchemaSnapshotTest class contains unit tests for {@link SchemaSnapshot}s taken
+ * through {@link SchemaModel#snapshot()}. It verifies that snapshots are isolated
+ * from later edits and share the tables that did not change.
+ */
+public class SchemaSnapshotTest {
+
+    private SchemaModel schema;
+
+    /**
+     * Creates a schema model with 100 tables before each test.
+     */
+    @Before
+    public void setUp() {
+        schema = new SchemaModel();
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            for (int i = 0; i < 100; i++) {
+                Table table = new Table("table_" + i);
+                table.addColumn(new Column("id", "INT", true));
+                schema.addTable(table);
+            }
+        }
+    }
+
+    /**
+     * Flushes and closes the schema model after each test.
+     */
+    @After
+    public void tearDown() {
+        schema.close();
+    }
+
+    /**
+     * Tests that a snapshot does not see edits made after it was taken.
+     */
+    @Test
+    public void testSnapshot_IsolatedFromLaterEdits() {
+        SchemaSnapshot before = schema.snapshot();
+
+        schema.storeData(new Column("name", "VARCHAR(100)"), "table_5");
+        schema.editTableName("table_6", "renamed");
+        schema.deleteTable("table_7");
+        schema.addTable(new Table("added"));
+
+        assertEquals(100, before.size());
+        assertEquals(1, before.getTable("table_5").getColumns().size());
+        assertNotNull(before.getTable("table_6"));
+        assertNull(before.getTable("renamed"));
+        assertNotNull(before.getTable("table_7"));
+
+        SchemaSnapshot after = schema.snapshot();
+        assertEquals(100, after.size());
+        assertEquals(2, after.getTable("table_5").getColumns().size());
+        assertEquals("renamed", after.getTables().get(6).getTableName());
+        assertNull(after.getTable("table_7"));
+        assertEquals("table_8", after.getTables().get(7).getTableName());
+        assertEquals("added", after.getTables().get(99).getTableName());
+        assertTrue(after.getVersion() > before.getVersion());
+    }
+
+    /**
+     * Tests that an edit shares every unchanged table with the previous snapshot.
+     */
+    @Test
+    public void testSnapshot_SharesUnchangedTables() {
+        SchemaSnapshot before = schema.snapshot();
+
+        schema.editColumn("table_42", "id", new Column("id", "BIGINT", true));
+        SchemaSnapshot after = schema.snapshot();
+
+        assertNotSame(before.getTable("table_42"), after.getTable("table_42"));
+        assertEquals("INT", before.getTable("table_42").getColumn("id").getType());
+        assertEquals("BIGINT", after.getTable("table_42").getColumn("id").getType());
+        for (int i = 0; i < 100; i++) {
+            if (i != 42) {
+                assertSame(before.getTables().get(i), after.getTables().get(i));
+            }
+        }
+        assertSame("Taking a snapshot without edits should not copy anything", after, schema.snapshot());
+    }
+
+    /**
+     * Tests that the tables of a snapshot reject modification.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshot_TablesAreFrozen() {
+        Table table = schema.snapshot().getTable("table_0");
+        assertTrue(table.isFrozen());
+        table.addRelationship(new Relationship("one-to-many", "table_1", "id", "table_0_id"));
+    }
+
+    /**
+     * Tests that a snapshot reflects the state before a bulk load until the load
+     * ends, including tables the loader modified directly.
+     */
+    @Test
+    public void testSnapshot_PublishedAfterBulkLoad() {
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            schema.addTable(new Table("loaded"));
+            schema.getTable("table_3").setJoinTable(true);
+            assertNull(schema.snapshot().getTable("loaded"));
+        }
+
+        SchemaSnapshot snapshot = schema.snapshot();
+        assertNotNull(snapshot.getTable("loaded"));
+        assertTrue(snapshot.getTable("table_3").isJoinTable());
+    }
+
+    /**
+     * Tests that a script can be generated from a snapshot on another thread while
+     * the model is being edited.
+     *
+     * @throws Exception if the generating thread is interrupted
+     */
+    @Test
+    public void testSnapshot_GeneratesWhileEditing() throws Exception {
+        SchemaSnapshot snapshot = schema.snapshot();
+        String expected = new SqlGenerator().generate(snapshot);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread generator = new Thread(() -> {
+            try {
+                for (int i = 0; i < 50; i++) {
+                    assertEquals(expected, new SqlGenerator().generate(snapshot));
+                }
+            } catch (SchemaParsingException | AssertionError e) {
+                failure.set(e);
+            }
+        });
+        generator.start();
+        for (int i = 0; i < 200; i++) {
+            schema.storeData(new Column("extra_" + i, "INT"), "table_" + (i % 100));
+        }
+        generator.join();
+
+        assertNull(failure.get());
+        assertEquals(3, schema.snapshot().getTable("table_0").getColumns().size());
+    }
+}
@@ -0,0 +1,72 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.Relationship;
+import model.SchemaModel;
+import model.Table;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * The SchemaTestSupport class holds the fixtures shared by the tests in this package:
+ * a textual description of a schema for comparing models built in different ways,
+ * and a schema file location for persistent models.
+ */
+final class SchemaTestSupport {
+
+    private SchemaTestSupport() {
+    }
+
+    /**
+     * Describes the tables of a schema model, one line per table, with every
+     * property of their columns and relationships.
+     *
+     * @param schema the schema model to describe
+     * @return the description of its tables
+     */
+    static String describe(SchemaModel schema) {
+        return describe(schema.getTables());
+    }
+
+    /**
+     * Describes tables, one line per table, with every property of their columns
+     * and relationships.
+     *
+     * @param tables the tables to describe, in order
+     * @return the description of the tables
+     */
+    static String describe(List<Table> tables) {
+        StringBuilder description = new StringBuilder();
+        for (Table table : tables) {
+            description.append(table.getTableName()).append(table.isJoinTable() ? " join" : "").append('(');
+            for (Column column : table.getColumns()) {
+                description.append(column.getName()).append(' ').append(column.getType())
+                        .append(column.isPrimaryKey() ? " PK" : "").append(", ");
+            }
+            for (Relationship relationship : table.getRelationships()) {
+                description.append(relationship.getRelationshipType()).append(' ')
+                        .append(relationship.getRelatedTable()).append('.')
+                        .append(relationship.getForeignKey()).append('.')
+                        .append(relationship.getRelatedForeignKey()).append('.')
+                        .append(relationship.getThroughTable()).append(", ");
+            }
+            description.append(")\n");
+        }
+        return description.toString();
+    }
+
+    /**
+     * Chooses a schema file in a new folder of a temporary folder, e.g. for
+     * {@link SchemaModel#persistentAt(Path)}. The file itself is not created.
+     *
+     * @param temporaryFolder the temporary folder of the test
+     * @return the path of the schema file
+     * @throws IOException if the folder cannot be created
+     */
+    static Path newSchemaPath(TemporaryFolder temporaryFolder) throws IOException {
+        return temporaryFolder.newFolder("schema").toPath().resolve("schema.json");
+    }
+}
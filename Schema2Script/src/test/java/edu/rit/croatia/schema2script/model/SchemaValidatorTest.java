@@ -0,0 +1,157 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.ReferencePolicy;
+import model.Relationship;
+import model.SchemaModel;
+import model.Table;
+import model.validation.Diagnostic;
+import model.validation.SchemaValidator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * The SchemaValidatorTest class contains unit tests for the {@link SchemaValidator}
+ * class. It verifies each referential-integrity rule, that tables checked in parallel
+ * give the same diagnostics, and that incremental re-validation after edits agrees
+ * with validating the whole schema again.
+ */
+public class SchemaValidatorTest {
+
+    private SchemaModel schema;
+
+    /**
+     * Creates a valid schema in which enrollment joins student and course, and course
+     * refers to its instructor, before each test.
+     */
+    @Before
+    public void setUp() {
+        schema = new SchemaModel();
+        schema.addTable(table("student", "student_id INT"));
+        schema.addTable(table("instructor", "instructor_id INT"));
+        schema.addTable(table("course", "course_id INT", "instructor_id INT"));
+        schema.addTable(table("enrollment", "student_id INT", "course_id INT"));
+        schema.storeData(new Relationship("many-to-many", "course", "student_id", "course_id", "enrollment"),
+                "student");
+        schema.storeData(new Relationship("many-to-one", "instructor", "instructor_id", "instructor_id"), "course");
+        schema.storeData(new Relationship("many-to-one", "student", "student_id", null), "enrollment");
+        schema.storeData(new Relationship("many-to-one", "course", "course_id", null), "enrollment");
+    }
+
+    /**
+     * Closes the schema model after each test.
+     */
+    @After
+    public void tearDown() {
+        schema.close();
+    }
+
+    private static Table table(String tableName, String... columns) {
+        Table table = new Table(tableName);
+        for (String column : columns) {
+            String[] nameAndType = column.split(" ", 2);
+            table.addColumn(new Column(nameAndType[0], nameAndType[1]));
+        }
+        return table;
+    }
+
+    private static Set<String> describe(List<Diagnostic> diagnostics) {
+        Set<String> descriptions = new HashSet<>();
+        for (Diagnostic diagnostic : diagnostics) {
+            descriptions.add(diagnostic.tableName() + " " + diagnostic.severity() + " " + diagnostic.code());
+        }
+        return descriptions;
+    }
+
+    /**
+     * Tests that a valid schema has no diagnostics and that every rule reports the
+     * relationship it finds broken.
+     */
+    @Test
+    public void testValidate_ReportsEachRule() {
+        SchemaValidator validator = new SchemaValidator();
+        assertTrue(validator.validate(schema.snapshot()).isEmpty());
+
+        schema.addTable(table("review", "review_id INT", "course_id VARCHAR(10)", "student_id INT(11)"));
+        schema.storeData(new Relationship("many-to-one", "course", "course_id", null), "review");
+        schema.storeData(new Relationship("many-to-one", "student", "student_id", null), "review");
+        schema.storeData(new Relationship("many-to-one", "teacher", "teacher_id", null), "review");
+        schema.storeData(new Relationship("many-to-one", "instructor", "review_id", "id"), "review");
+        schema.storeData(new Relationship("many-to-many", "student", "review_id", "reader_id", "readings"),
+                "review");
+        schema.storeData(new Relationship("many-to-many", "course", "review_id", "topic_id", "enrollment"),
+                "review");
+
+        List<Diagnostic> diagnostics = validator.validate(schema.snapshot());
+
+        assertEquals(8, diagnostics.size());
+        assertEquals(Set.of("review ERROR TYPE_MISMATCH", "review WARNING TYPE_MISMATCH",
+                "review ERROR RELATED_TABLE_MISSING", "review ERROR FOREIGN_KEY_MISSING",
+                "review ERROR RELATED_KEY_MISSING", "review ERROR THROUGH_TABLE_MISSING"), describe(diagnostics));
+        assertEquals("Foreign key review.course_id (VARCHAR(10)) does not match course.course_id (INT)",
+                diagnostics.get(0).message());
+        assertSame(schema.snapshot().getTable("review").getRelationships().get(2), diagnostics.get(2).relationship());
+        assertTrue(validator.hasErrors());
+        assertEquals(8, validator.getDiagnostics("review").size());
+        assertTrue(validator.getDiagnostics("course").isEmpty());
+    }
+
+    /**
+     * Tests that tables checked on the fork/join pool give the same diagnostics, in
+     * the same order, as tables checked on one thread.
+     */
+    @Test
+    public void testValidate_ParallelMatchesSequential() {
+        try (SchemaModel.BulkLoad bulkLoad = schema.beginBulkLoad()) {
+            for (int i = 0; i < 1_000; i++) {
+                Table table = table("table_" + i, "id INT", "parent_id " + (i % 3 == 0 ? "BIGINT" : "INT"));
+                table.addRelationship(new Relationship("many-to-one", "table_" + (i + 7) % 1_010, "parent_id", "id"));
+                schema.addTable(table);
+            }
+        }
+
+        List<Diagnostic> sequential = new SchemaValidator(Integer.MAX_VALUE).validate(schema.snapshot());
+        List<Diagnostic> parallel = new SchemaValidator(1).validate(schema.snapshot());
+
+        assertEquals(331 + 7, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+
+    /**
+     * Tests that re-validating only the tables touched by edits, delivered as change
+     * events, ends with the diagnostics of a full validation.
+     */
+    @Test
+    public void testRevalidate_FollowsEditsIncrementally() {
+        SchemaValidator validator = new SchemaValidator();
+        validator.validate(schema.snapshot());
+        schema.addChangeListener(validator);
+
+        schema.deleteColumn("instructor", "instructor_id");
+        assertEquals(Set.of("course ERROR RELATED_KEY_MISSING"), describe(validator.getDiagnostics()));
+
+        schema.editTableName("enrollment", "enrolment", ReferencePolicy.IGNORE);
+        assertEquals(Set.of("course ERROR RELATED_KEY_MISSING", "student ERROR THROUGH_TABLE_MISSING"),
+                describe(validator.getDiagnostics()));
+
+        schema.storeData(new Column("instructor_id", "BIGINT"), "instructor");
+        schema.editTableName("enrolment", "enrollment", ReferencePolicy.IGNORE);
+        schema.editColumn("enrollment", "course_id", new Column("course_id", "INT"));
+        assertEquals(Set.of("course ERROR TYPE_MISMATCH"), describe(validator.getDiagnostics()));
+
+        schema.undo();
+        schema.undo();
+        schema.deleteTable("course", ReferencePolicy.IGNORE);
+        assertEquals(describe(new SchemaValidator().validate(schema.snapshot())),
+                describe(validator.getDiagnostics()));
+        assertEquals(new SchemaValidator().validate(schema.snapshot()).size(), validator.getDiagnostics().size());
+        assertTrue(validator.hasErrors());
+    }
+}
@@ -0,0 +1,176 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.Column;
+import model.SchemaModel;
+import model.Table;
+import model.persistence.ShardedSchemaStore;
+import model.persistence.StorageLayout;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * The ShardedSchemaStoreTest class contains unit tests for the {@link ShardedSchemaStore} class
+ * and for a {@link SchemaModel} using the {@link StorageLayout#SHARDED} layout.
+ */
+public class ShardedSchemaStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private String previousLayout;
+    private Path schemaDirectory;
+
+    /**
+     * Creates a temporary folder for the schema and selects the sharded layout.
+     *
+     * @throws Exception if the folder cannot be created
+     */
+    @Before
+    public void setUp() throws Exception {
+        previousLayout = System.getProperty(SchemaModel.STORAGE_LAYOUT_PROPERTY);
+        schemaDirectory = temporaryFolder.newFolder("schema").toPath();
+        System.setProperty(SchemaModel.STORAGE_LAYOUT_PROPERTY, StorageLayout.SHARDED.name());
+    }
+
+    /**
+     * Restores the layout used by other tests.
+     */
+    @After
+    public void tearDown() {
+        restore(SchemaModel.STORAGE_LAYOUT_PROPERTY, previousLayout);
+    }
+
+    /**
+     * Tests that a save after editing one table rewrites only that table's shard
+     * and that the shards it replaces are deleted.
+     *
+     * @throws IOException if the store cannot be written
+     */
+    @Test
+    public void testCapture_RewritesOnlyDirtyTables() throws IOException {
+        ShardedSchemaStore store = new ShardedSchemaStore(temporaryFolder.newFolder("shards").toPath());
+        List<Table> tables = sampleTables(3);
+
+        ShardedSchemaStore.Capture first = store.capture(tables);
+        first.write(false);
+        assertEquals(3, first.getDirtyShardCount());
+        assertFalse(tables.get(1).isDirty());
+
+        tables.get(1).addColumn(new Column("email", "VARCHAR(255)"));
+        ShardedSchemaStore.Capture second = store.capture(tables);
+        second.write(false);
+
+        assertEquals("Only the edited table should be rewritten", 1, second.getDirtyShardCount());
+        assertEquals(4, store.getShardsWritten());
+        assertEquals("Three shards and the manifest should remain", 4, fileNames(store.getDirectory()).size());
+    }
+
+    /**
+     * Tests that loading restores the tables in order, clean, and with the same
+     * state checksum as the save.
+     *
+     * @throws IOException if the store cannot be read or written
+     */
+    @Test
+    public void testLoad_RestoresTablesInOrder() throws IOException {
+        Path directory = temporaryFolder.newFolder("shards").toPath();
+        ShardedSchemaStore store = new ShardedSchemaStore(directory);
+        List<Table> tables = sampleTables(20);
+        ShardedSchemaStore.Capture capture = store.capture(tables);
+        capture.write(false);
+
+        ShardedSchemaStore reopened = new ShardedSchemaStore(directory);
+        List<Table> loaded = reopened.load();
+
+        assertEquals(tables.stream().map(Table::getTableName).collect(Collectors.toList()),
+                loaded.stream().map(Table::getTableName).collect(Collectors.toList()));
+        assertTrue(loaded.get(7).getColumn("id").isPrimaryKey());
+        assertTrue(loaded.stream().noneMatch(Table::isDirty));
+        assertEquals(capture.getChecksum(), reopened.checksum(loaded));
+    }
+
+    /**
+     * Tests that a shard that does not match its manifest checksum fails the load.
+     *
+     * @throws IOException if the store cannot be written
+     */
+    @Test(expected = IOException.class)
+    public void testLoad_CorruptShard_ThrowsException() throws IOException {
+        Path directory = temporaryFolder.newFolder("shards").toPath();
+        new ShardedSchemaStore(directory).capture(sampleTables(2)).write(false);
+        Path shard = directory.resolve(fileNames(directory).stream()
+                .filter(name -> name.startsWith("table_1")).findFirst().orElseThrow());
+        Files.writeString(shard, "{\"tableName\":\"table_1\"}");
+
+        new ShardedSchemaStore(directory).load();
+    }
+
+    /**
+     * Tests that a model in the sharded layout is recovered from its shards and
+     * journal, and that a compaction only rewrites the edited table.
+     *
+     * @throws IOException if the shard directory cannot be listed
+     */
+    @Test
+    public void testRecover_ShardedLayout() throws IOException {
+        Path schemaPath = schemaDirectory.resolve("schema.json");
+        SchemaModel schema = SchemaModel.persistentAt(schemaPath);
+        sampleTables(5).forEach(schema::addTable);
+        schema.flush();
+        schema.storeData(new Column("email", "VARCHAR(255)"), "table_3");
+        schema.updateSchemaFile();
+        schema.close();
+
+        Path shardDirectory = schemaDirectory.resolve("schema.json" + SchemaModel.SHARD_DIRECTORY_SUFFIX);
+        assertEquals("Five shards and the manifest should remain", 6, fileNames(shardDirectory).size());
+        assertFalse("No single-file snapshot should be written", Files.exists(schemaDirectory.resolve("schema.json")));
+
+        SchemaModel recovered = SchemaModel.recover(schemaPath);
+        recovered.storeData(new Column("phone", "VARCHAR(20)"), "table_0");
+        recovered.close();
+        assertEquals(5, recovered.getTables().size());
+        assertNotNull(recovered.getTable("table_3").getColumn("email"));
+
+        SchemaModel reopened = SchemaModel.recover(schemaPath);
+        reopened.close();
+        assertNotNull("Journaled edits should be replayed", reopened.getTable("table_0").getColumn("phone"));
+    }
+
+    private static List<Table> sampleTables(int count) {
+        List<Table> tables = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Table table = new Table("table_" + i);
+            table.addColumn(new Column("id", "INT", true));
+            table.addColumn(new Column("name", "VARCHAR(100)"));
+            tables.add(table);
+        }
+        return tables;
+    }
+
+    private static List<String> fileNames(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).collect(Collectors.toList());
+        }
+    }
+
+    private static void restore(String property, String value) {
+        if (value == null) {
+            System.clearProperty(property);
+        } else {
+            System.setProperty(property, value);
+        }
+    }
+}
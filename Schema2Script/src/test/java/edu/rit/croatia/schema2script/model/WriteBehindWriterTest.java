@@ -0,0 +1,195 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.persistence.WriteBehindWriter;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * The WriteBehindWriterTest class contains unit tests for the {@link WriteBehindWriter} class.
+ * It verifies that bursts of requests are coalesced and that flushing writes synchronously.
+ */
+public class WriteBehindWriterTest {
+
+    /**
+     * Tests that a burst of requests within the debounce interval results in a
+     * single write and that the absorbed requests are counted as coalesced.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting
+     */
+    @Test
+    public void testMarkDirty_BurstIsCoalesced() throws InterruptedException {
+        AtomicInteger writes = new AtomicInteger();
+        CountDownLatch written = new CountDownLatch(1);
+        WriteBehindWriter writer = new WriteBehindWriter(() -> {
+            writes.incrementAndGet();
+            written.countDown();
+        }, 50, 5000);
+
+        for (int i = 0; i < 100; i++) {
+            writer.markDirty();
+        }
+
+        assertTrue("Write should happen after the debounce interval", written.await(5, TimeUnit.SECONDS));
+        writer.close();
+        assertEquals("Burst should produce a single write", 1, writes.get());
+        assertEquals(100, writer.getRequestedWrites());
+        assertEquals(99, writer.getCoalescedWrites());
+        assertEquals(1, writer.getCompletedWrites());
+    }
+
+    /**
+     * Tests that continuous requests cannot postpone the write beyond the
+     * maximum latency bound.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting
+     */
+    @Test
+    public void testMarkDirty_MaxLatencyBoundsContinuousRequests() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(1);
+        WriteBehindWriter writer = new WriteBehindWriter(written::countDown, 200, 300);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (written.getCount() > 0 && System.nanoTime() < deadline) {
+            writer.markDirty();
+            Thread.sleep(10);
+        }
+
+        assertEquals("Write should happen while requests keep arriving", 0, written.getCount());
+        writer.close();
+    }
+
+    /**
+     * Tests that {@link WriteBehindWriter#flush()} performs the pending write on
+     * the calling thread and leaves nothing pending.
+     */
+    @Test
+    public void testFlush_WritesPendingChangesImmediately() {
+        AtomicInteger writes = new AtomicInteger();
+        WriteBehindWriter writer = new WriteBehindWriter(writes::incrementAndGet, 10_000, 10_000);
+
+        writer.markDirty();
+        writer.markDirty();
+        writer.flush();
+
+        assertEquals(1, writes.get());
+        assertFalse(writer.isDirty());
+
+        writer.flush();
+        assertEquals("Flush without pending changes should not write", 1, writes.get());
+        writer.close();
+    }
+
+    /**
+     * Tests that a failed write is counted and retried by the next flush.
+     */
+    @Test
+    public void testFlush_FailedWriteIsRetried() {
+        AtomicInteger attempts = new AtomicInteger();
+        WriteBehindWriter writer = new WriteBehindWriter(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("disk full");
+            }
+        }, 10_000, 10_000);
+
+        writer.markDirty();
+        writer.flush();
+        assertEquals(1, writer.getFailedWrites());
+        assertTrue("Failed write should stay pending", writer.isDirty());
+
+        writer.flush();
+        assertEquals(2, attempts.get());
+        assertEquals(1, writer.getCompletedWrites());
+        writer.close();
+    }
+
+    /**
+     * Tests that requests after {@link WriteBehindWriter#close()} are written
+     * synchronously.
+     */
+    @Test
+    public void testMarkDirty_AfterCloseWritesSynchronously() {
+        AtomicInteger writes = new AtomicInteger();
+        WriteBehindWriter writer = new WriteBehindWriter(writes::incrementAndGet, 10_000, 10_000);
+        writer.close();
+
+        writer.markDirty();
+
+        assertEquals(1, writes.get());
+    }
+
+    /**
+     * Tests that a failed background write is retried with backoff without any
+     * further request or flush.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting
+     */
+    @Test
+    public void testMarkDirty_FailedWriteIsRetriedInBackground() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        WriteBehindWriter writer = new WriteBehindWriter(() -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new IOException("disk full");
+            }
+        }, 20, 20);
+
+        writer.markDirty();
+
+        // The write is counted only after the task returns, so wait for the count
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.getCompletedWrites() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals("Failed write should be retried", 1, writer.getCompletedWrites());
+        assertEquals(3, attempts.get());
+        assertEquals(2, writer.getFailedWrites());
+        assertFalse(writer.isDirty());
+        writer.close();
+    }
+
+    /**
+     * Tests that a request made after a failed write, when the maximum latency of
+     * the first request has passed, waits for the retry instead of writing at once.
+     *
+     * @throws InterruptedException if the test is interrupted while waiting
+     */
+    @Test
+    public void testMarkDirty_RequestAfterFailureKeepsBackoff() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        WriteBehindWriter writer = new WriteBehindWriter(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("disk full");
+            }
+        }, 20, 20);
+
+        writer.markDirty();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.getFailedWrites() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        long failedAt = System.nanoTime();
+        writer.markDirty();
+        while (writer.getCompletedWrites() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(1, writer.getCompletedWrites());
+        assertEquals(2, attempts.get());
+        assertTrue("Retry should wait for the backoff",
+                System.nanoTime() - failedAt >= TimeUnit.MILLISECONDS.toNanos(WriteBehindWriter.MIN_RETRY_MILLIS / 2));
+        writer.close();
+    }
+
+    /**
+     * Tests that invalid latency bounds are rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructor_DebounceAboveMaxLatency_ThrowsException() {
+        new WriteBehindWriter(() -> { }, 500, 100);
+    }
+}
@@ -0,0 +1,134 @@
+package edu.rit.croatia.schema2script.model;
+
+import model.SchemaModel;
+import model.exception.SchemaParsingException;
+import model.parser.JsonParser;
+import model.parser.SchemaParser;
+import model.parser.XMLParser;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static edu.rit.croatia.schema2script.model.SchemaTestSupport.describe;
+import static org.junit.Assert.*;
+
+/**
+ * The XMLParserTest class contains unit tests for the {@link XMLParser} class,
+ * verifying that XML schema files are mapped to the model with the same rules as
+ * JSON schema files.
+ */
+public class XMLParserTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    /**
+     * Tests that an XML schema builds the same model as the equivalent JSON schema,
+     * including primary keys, join tables and ignored unknown content.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_SameModelAsJson() throws Exception {
+        String xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<!-- catalog -->\n<schema>\n"
+                + "  <table tableName=\"student\" comment=\"ignored\">\n"
+                + "    <description><p>Ignored</p></description>\n"
+                + "    <columns>\n"
+                + "      <column name=\"student_id\" type=\"INT\" primaryKey=\" true \"/>\n"
+                + "      <column name=\"name\" type=\"VARCHAR(100)\" primaryKey=\"yes\"></column>\n"
+                + "    </columns>\n"
+                + "    <relationships>\n"
+                + "      <relationship relationshipType=\"many-to-many\" relatedTable=\"course\""
+                + " foreignKey=\"student_id\" relatedForeignKey=\"course_id\" throughTable=\"enrollment\"/>\n"
+                + "    </relationships>\n"
+                + "  </table>\n"
+                + "  <table tableName=\"course\"><columns><column name=\"course_id\" type=\"INT\"/></columns></table>\n"
+                + "  <table tableName=\"enrollment\"><columns/><relationships/></table>\n"
+                + "</schema>\n";
+        String json = "[{\"tableName\": \"student\", \"columns\": ["
+                + "{\"name\": \"student_id\", \"type\": \"INT\", \"primaryKey\": \" true \"},"
+                + " {\"name\": \"name\", \"type\": \"VARCHAR(100)\", \"primaryKey\": \"yes\"}],"
+                + " \"relationships\": [{\"relationshipType\": \"many-to-many\", \"relatedTable\": \"course\","
+                + " \"foreignKey\": \"student_id\", \"relatedForeignKey\": \"course_id\","
+                + " \"throughTable\": \"enrollment\"}]},"
+                + " {\"tableName\": \"course\", \"columns\": [{\"name\": \"course_id\", \"type\": \"INT\"}]},"
+                + " {\"tableName\": \"enrollment\", \"columns\": [], \"relationships\": []}]";
+
+        SchemaModel schema = parse(new XMLParser(), xml);
+        assertEquals(describe(parse(new JsonParser(), json)), describe(schema));
+        assertEquals(3, schema.getTables().size());
+        assertTrue(schema.getTable("student").getColumn("student_id").isPrimaryKey());
+        assertTrue(schema.getTable("enrollment").isJoinTable());
+    }
+
+    /**
+     * Tests that each validation rule of the JSON format is enforced for XML.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_ValidationErrors() throws Exception {
+        String[][] cases = {
+                {"<tables/>", "Root element must be a schema of tables."},
+                {"<schema><view/></schema>", "Expected a 'table' element but found: view"},
+                {"<schema><table><columns/></table></schema>", "Missing 'tableName' attribute."},
+                {"<schema><table tableName=\"student\"/></schema>", "Missing 'columns' element in table: student"},
+                {"<schema><table tableName=\"student\"><columns><column name=\"id\"/></columns></table></schema>",
+                        "Missing 'name' or 'type' in columns of table: student"},
+                {"<schema><table tableName=\"student\"><columns><key name=\"id\" type=\"INT\"/></columns>"
+                        + "</table></schema>", "Missing 'name' or 'type' in columns of table: student"},
+                {"<schema><table tableName=\"student\"><columns/><relationships><relationship"
+                        + " relatedTable=\"course\" foreignKey=\"course_id\"/></relationships></table></schema>",
+                        "Missing required fields in relationships of table: student"},
+                // The first invalid table is reported, even when a later table is invalid too
+                {"<schema><table tableName=\"a\"><columns/></table><table tableName=\"b\"/><table/></schema>",
+                        "Missing 'columns' element in table: b"}
+        };
+        for (String[] testCase : cases) {
+            assertEquals(testCase[0], "Invalid XML format: " + testCase[1], parseError(testCase[0]));
+        }
+    }
+
+    /**
+     * Tests that malformed XML is reported as a read error, even when it follows a
+     * table that fails validation, and that a missing file is reported.
+     *
+     * @throws Exception if an error occurs during testing
+     */
+    @Test
+    public void testParse_MalformedXml() throws Exception {
+        for (String xml : new String[] {"", "<schema><table tableName=\"a\"/><table></schema>",
+                "<schema><table tableName=\"a\"><columns/></table>", "[{\"tableName\": \"a\"}]"}) {
+            assertEquals(xml, "Error reading the XML schema file", parseError(xml));
+        }
+
+        File missing = new File(temporaryFolder.getRoot(), "missing.xml");
+        try {
+            new XMLParser().parse(missing);
+            fail("Parsing a missing file should fail");
+        } catch (SchemaParsingException e) {
+            assertEquals("Schema file does not exist: " + missing.getAbsolutePath(), e.getMessage());
+        }
+    }
+
+    private SchemaModel parse(SchemaParser parser, String content) throws Exception {
+        File schemaFile = temporaryFolder.newFile();
+        Files.writeString(schemaFile.toPath(), content);
+        SchemaModel schema = parser.parse(schemaFile);
+        schema.close();
+        return schema;
+    }
+
+    private String parseError(String xml) throws Exception {
+        try {
+            parse(new XMLParser(), xml);
+            fail("Parsing should fail: " + xml);
+            return null;
+        } catch (SchemaParsingException e) {
+            return e.getMessage();
+        }
+    }
+}
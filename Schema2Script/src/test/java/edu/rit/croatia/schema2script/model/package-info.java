@@ -6,14 +6,65 @@
  *
  * <p>This package includes tests for various components of the application, such as:</p>
  * <ul>
+ *   <li>{@link AtomicFileWriterTest}: Tests the {@link model.persistence.AtomicFileWriter} class,
+ *       verifying that files are replaced atomically and left intact when a write fails.</li>
+ *   <li>{@link BinarySchemaFormatTest}: Tests the {@link model.persistence.BinarySchemaWriter},
+ *       {@link model.persistence.BinarySchemaReader} and {@link model.parser.BinaryParser} classes,
+ *       verifying round trips and rejection of corrupted snapshots.</li>
+ *   <li>{@link ColumnTypeTest}: Tests the {@link model.ColumnType} class, verifying how column type
+ *       declarations are parsed and shared, and how the {@link model.generator.OracleGenerator} maps them.</li>
+ *   <li>{@link CompactCatalogTest}: Tests the {@link model.CompactCatalog} class, verifying that
+ *       tables decoded from the compact arrays match the tables they were built from.</li>
  *   <li>{@link GeneratorFactoryTest}: Tests the functionality of the {@link model.factory.GeneratorFactory}
  *       class, verifying SQL generator retrieval based on supported formats.</li>
+ *   <li>{@link JsonCodecTest}: Tests the {@link model.persistence.JsonCodec} class, verifying that the
+ *       shared readers and writers keep the schema file format and read it back.</li>
+ *   <li>{@link JsonImportTest}: Tests the {@link model.parser.JsonImport} class, verifying that re-imports
+ *       parse only changed tables, keep unchanged ones and end with the model a full parse builds.</li>
  *   <li>{@link JsonParserTest}: Tests the methods of the {@link model.parser.JsonParser} class,
  *       ensuring proper parsing of columns, relationships, and schema validation for JSON files.</li>
+ *   <li>{@link JsonParallelParserTest}: Tests the parallel mode of the {@link model.parser.JsonParser}
+ *       class, verifying that tables built concurrently keep their order and the first error is reported.</li>
+ *   <li>{@link JsonStreamingParserTest}: Compares the streaming and tree modes of the
+ *       {@link model.parser.JsonParser} class, verifying that they build the same model and report the same errors.</li>
+ *   <li>{@link MappedSchemaSnapshotTest}: Tests the {@link model.persistence.MappedSchemaSnapshot}
+ *       class, verifying that tables of a memory-mapped snapshot are decoded only when accessed.</li>
+ *   <li>{@link ParseCacheTest}: Tests the {@link model.parser.ParseCache} class, verifying
+ *       content-keyed hits, defensive copies and least-recently-used eviction within the budget.</li>
  *   <li>{@link ParserFactoryTest}: Tests the {@link model.factory.ParserFactory} class,
  *       verifying schema parser retrieval based on file formats like JSON and XML.</li>
+ *   <li>{@link ShardedSchemaStoreTest}: Tests the {@link model.persistence.ShardedSchemaStore} class,
+ *       verifying that only dirty tables are rewritten and that shards load back in order.</li>
  *   <li>{@link SqlGeneratorTest}: Tests the {@link model.generator.SqlGenerator} class,
  *       ensuring correct SQL script generation for valid and invalid schemas.</li>
+ *   <li>{@link SchemaGraphTest}: Tests the {@link model.SchemaGraph} class, verifying that relationships
+ *       resolve to tables, missing tables are reported and join tables are marked as before.</li>
+ *   <li>{@link SchemaHistoryTest}: Tests undo and redo of {@link model.SchemaModel} edits, verifying
+ *       exact restoration, edit groups, the memory budget and recovery of undone edits.</li>
+ *   <li>{@link SchemaIngestTest}: Tests the {@link model.parser.SchemaIngest} class, verifying that
+ *       schemas split across files are merged in path order with duplicates and conflicts detected.</li>
+ *   <li>{@link SchemaInputTest}: Tests the {@link model.parser.SchemaInput} class and the stream, channel
+ *       and path sources of the parsers, verifying that compressed schemas are decompressed transparently.</li>
+ *   <li>{@link SchemaJournalTest}: Tests the {@link model.persistence.SchemaJournal} class,
+ *       verifying journal compaction and crash-safe recovery of a schema model.</li>
+ *   <li>{@link ReferenceIndexTest}: Tests the reverse relationship index of the {@link model.SchemaModel}
+ *       class, verifying dependents lookups and restricted and cascading deletes and renames.</li>
+ *   <li>{@link SchemaChangeEventTest}: Tests the change events published by the {@link model.SchemaModel}
+ *       class, verifying typed changes, bulk-load reloads and coalesced delivery.</li>
+ *   <li>{@link SchemaModelConcurrencyTest}: Stress-tests the {@link model.SchemaModel} class with
+ *       concurrent writers and readers, verifying that no edits are lost and readers see complete mutations.</li>
+ *   <li>{@link SchemaModelTest}: Tests the {@link model.SchemaModel} class, verifying how
+ *       mutations and bulk loads are published to the schema file.</li>
+ *   <li>{@link SchemaSnapshotTest}: Tests the {@link model.SchemaSnapshot} class, verifying that
+ *       snapshots are isolated from later edits and share unchanged tables.</li>
+ *   <li>{@link SchemaTestSupport}: Fixtures shared by the tests, describing schema models for
+ *       comparison and choosing schema files for persistent models.</li>
+ *   <li>{@link SchemaValidatorTest}: Tests the {@link model.validation.SchemaValidator} class, verifying
+ *       each referential-integrity rule, parallel checks and incremental re-validation after edits.</li>
+ *   <li>{@link XMLParserTest}: Tests the {@link model.parser.XMLParser} class, verifying that XML
+ *       schema files build the same model as JSON and are validated with the same rules.</li>
+ *   <li>{@link WriteBehindWriterTest}: Tests the {@link model.persistence.WriteBehindWriter} class,
+ *       verifying that bursts of write requests are coalesced, flushed on demand and retried after failures.</li>
  * </ul>
  *
  * <p>These unit tests are written using JUnit 4 and include assertions and exception handling